@@ -0,0 +1,71 @@
+package ed.collections.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ed.collections.QueueADT;
+import ed.collections.StackADT;
+
+/**
+ * {@code BenchmarkMain} runs the JMH benchmarks of the library.
+ * It accepts the usual JMH command line and, unless they are given explicitly
+ * with {@code -p}, fills the {@value StackBenchmark#IMPLEMENTATION_PARAM} and
+ * {@value QueueBenchmark#IMPLEMENTATION_PARAM} parameters with every
+ * {@link Semantics#PLAIN} implementation discovered by {@link Implementations},
+ * so priority, blocking and versioned collections are only run when named
+ * explicitly. Unless another
+ * profiler is requested with {@code -prof}, the GC profiler is enabled so
+ * that allocation rates are reported next to the timings.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class BenchmarkMain {
+
+    /** Prevents instantiation of this utility class. */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks selected by the command line arguments.
+     *
+     * @param args the JMH command line arguments
+     * @throws CommandLineOptionException if the arguments cannot be parsed
+     * @throws RunnerException if a benchmark cannot be run
+     * @throws IOException if the help text cannot be printed */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getParameter(StackBenchmark.IMPLEMENTATION_PARAM).hasValue()) {
+            options.param(StackBenchmark.IMPLEMENTATION_PARAM,
+                    Implementations.discover(StackADT.class).toArray(new String[0]));
+        }
+        if (!commandLine.getParameter(QueueBenchmark.IMPLEMENTATION_PARAM).hasValue()) {
+            options.param(QueueBenchmark.IMPLEMENTATION_PARAM,
+                    Implementations.discover(QueueADT.class).toArray(new String[0]));
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+
+        Runner runner = new Runner(options.build());
+        if (commandLine.shouldList() || commandLine.shouldListWithParams()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+
+}
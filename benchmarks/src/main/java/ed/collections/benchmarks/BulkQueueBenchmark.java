@@ -0,0 +1,129 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code BulkQueueBenchmark} compares moving a batch of {@code batch} elements
+ * through a {@link QueueADT} one call at a time with the bulk
+ * {@link QueueADT#enqueueAll(Object[], int, int)} and
+ * {@link QueueADT#drainTo(Object[], int)} operations, and compares draining
+ * one queue into another element by element with {@link QueueADT#drainTo(QueueADT)}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkQueueBenchmark {
+
+    /** the implementation under test, relative to {@code ed.collections} */
+    @Param({"CircularArrayQueue", "LinkedQueue"})
+    public String queueImpl;
+
+    /** the number of elements moved by each operation */
+    @Param({"16", "1024", "65536"})
+    public int batch;
+
+    /** the elements enqueued onto the queue, allocated up front */
+    private Integer[] elements;
+    /** the array the dequeued elements are stored in */
+    private Integer[] drained;
+    /** a queue that is empty between operations */
+    private QueueADT<Integer> queue;
+    /** a queue that holds {@code batch} elements between operations */
+    private QueueADT<Integer> source;
+    /** a queue that is empty between operations and receives the elements of {@code source} */
+    private QueueADT<Integer> target;
+
+    /** Allocates the elements and the queues under test. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new Integer[batch];
+        for (int i = 0; i < batch; i++) {
+            elements[i] = i;
+        }
+        drained = new Integer[batch];
+
+        queue = Implementations.newQueue(queueImpl, batch, true);
+        source = Implementations.newQueue(queueImpl, batch, true);
+        target = Implementations.newQueue(queueImpl, batch, true);
+        source.enqueueAll(elements, 0, batch);
+    }
+
+    /**
+     * Enqueues {@code batch} elements one at a time and dequeues them into an array one at a time.
+     *
+     * @return the array holding the dequeued elements
+     * @throws EmptyCollectionException never, only enqueued elements are dequeued */
+    @Benchmark
+    public Integer[] elementLoop() throws EmptyCollectionException {
+        for (Integer element : elements) {
+            queue.enqueue(element);
+        }
+        for (int i = 0; i < batch; i++) {
+            drained[i] = queue.dequeue();
+        }
+
+        return drained;
+    }
+
+    /**
+     * Enqueues {@code batch} elements with one bulk call and drains them into an array with another.
+     *
+     * @return the array holding the dequeued elements */
+    @Benchmark
+    public Integer[] bulk() {
+        queue.enqueueAll(elements, 0, batch);
+        queue.drainTo(drained, batch);
+
+        return drained;
+    }
+
+    /**
+     * Moves every element of one queue to another and back, one element at a time.
+     *
+     * @return the queue holding the elements
+     * @throws EmptyCollectionException never, only queues that are not empty are dequeued */
+    @Benchmark
+    public QueueADT<Integer> transferLoop() throws EmptyCollectionException {
+        while (!source.isEmpty()) {
+            target.enqueue(source.dequeue());
+        }
+        while (!target.isEmpty()) {
+            source.enqueue(target.dequeue());
+        }
+
+        return source;
+    }
+
+    /**
+     * Moves every element of one queue to another and back with {@link QueueADT#drainTo(QueueADT)}.
+     *
+     * @return the queue holding the elements */
+    @Benchmark
+    public QueueADT<Integer> transferBulk() {
+        source.drainTo(target);
+        target.drainTo(source);
+
+        return source;
+    }
+
+}
@@ -0,0 +1,92 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code BulkStackBenchmark} compares pushing and popping a batch of
+ * {@code batch} elements one call at a time with the bulk
+ * {@link StackADT#pushAll(Object[], int, int)} and
+ * {@link StackADT#popN(Object[], int)} operations.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkStackBenchmark {
+
+    /** the implementation under test, relative to {@code ed.collections} */
+    @Param({"ArrayStack", "LinkedStack"})
+    public String stackImpl;
+
+    /** the number of elements moved by each operation */
+    @Param({"16", "1024", "65536"})
+    public int batch;
+
+    /** the elements pushed onto the stack, allocated up front */
+    private Integer[] elements;
+    /** the array the popped elements are stored in */
+    private Integer[] popped;
+    /** a stack that is empty between operations */
+    private StackADT<Integer> stack;
+
+    /** Allocates the elements and the stack under test. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new Integer[batch];
+        for (int i = 0; i < batch; i++) {
+            elements[i] = i;
+        }
+        popped = new Integer[batch];
+
+        stack = Implementations.newStack(stackImpl, batch, true);
+    }
+
+    /**
+     * Pushes {@code batch} elements one at a time and pops them into an array one at a time.
+     *
+     * @return the array holding the popped elements
+     * @throws EmptyCollectionException never, only pushed elements are popped */
+    @Benchmark
+    public Integer[] elementLoop() throws EmptyCollectionException {
+        for (Integer element : elements) {
+            stack.push(element);
+        }
+        for (int i = 0; i < batch; i++) {
+            popped[i] = stack.pop();
+        }
+
+        return popped;
+    }
+
+    /**
+     * Pushes {@code batch} elements with one bulk call and pops them into an array with another.
+     *
+     * @return the array holding the popped elements */
+    @Benchmark
+    public Integer[] bulk() {
+        stack.pushAll(elements, 0, batch);
+        stack.popN(popped, batch);
+
+        return popped;
+    }
+
+}
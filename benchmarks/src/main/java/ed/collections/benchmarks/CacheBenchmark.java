@@ -0,0 +1,234 @@
+package ed.collections.benchmarks;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.cache.BoundedCache;
+import ed.collections.cache.CacheADT;
+import ed.collections.cache.ConcurrentBoundedCache;
+import ed.collections.cache.EvictionPolicy;
+
+/**
+ * {@code CacheBenchmark} measures the caches of the {@code ed.collections.cache}
+ * package against an access-ordered {@link LinkedHashMap}, the usual JDK LRU
+ * cache, on a cache-aside workload: look a key up and, on a miss, put it.
+ * Keys follow a Zipf distribution with exponent 0.99 over fifty times as many
+ * keys as the cache holds, and one request in ten is for a key never seen
+ * before, like a scan, so the workload rewards a policy that keeps popular
+ * keys. The {@code hits} and {@code misses} counters reported next to the
+ * time give the hit rate of each policy. {@code lookup} runs on one thread
+ * and {@code sharedLookup} on four sharing the cache; there the
+ * {@link BoundedCache} and the {@link LinkedHashMap} are guarded by a
+ * monitor, so every hit takes a lock, while the {@link ConcurrentBoundedCache}
+ * only buffers it.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    /** constant to represent the number of requests generated up front, a power of two */
+    private static final int TRACE_LENGTH = 1 << 20;
+    /** constant to represent the number of distinct popular keys per cached entry */
+    private static final int KEYS_PER_ENTRY = 50;
+    /** constant to represent the exponent of the Zipf distribution */
+    private static final double ZIPF_EXPONENT = 0.99;
+    /** constant to represent one request in how many is for a key never seen before */
+    private static final int SCAN_PERIOD = 10;
+
+    /** the implementation under test and, for the caches of this library, its eviction policy */
+    @Param({"LinkedHashMap", "BoundedCache:LRU", "BoundedCache:WINDOW_TINY_LFU",
+            "ConcurrentBoundedCache:LRU", "ConcurrentBoundedCache:WINDOW_TINY_LFU"})
+    public String cacheImpl;
+
+    /** the largest number of entries the cache holds */
+    @Param({"1000", "10000"})
+    public int maximumSize;
+
+    /** the requested keys, allocated up front */
+    private Integer[] trace;
+    /** the cache under test, unless it is the {@code LinkedHashMap} */
+    private CacheADT<Integer, Integer> cache;
+    /** the map under test when {@code cacheImpl} is {@code LinkedHashMap} */
+    private LinkedHashMap<Integer, Integer> map;
+    /** whether the cache under test must be guarded by a monitor when shared */
+    private boolean locked;
+
+    /**
+     * {@code Cursor} is the position of one thread in the trace; the threads
+     * start a quarter of the trace apart so they do not request the same keys
+     * at the same time. */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /** constant to represent the number of requests between the starts of two threads */
+        private static final int STRIDE = TRACE_LENGTH / 4;
+        /** int that represents the number of cursors created, used to stagger them */
+        private static int created;
+
+        /** int that represents the index of the next request */
+        int next;
+
+        /** Places the cursor a quarter of the trace after the previous one. */
+        @Setup(Level.Trial)
+        public void setUp() {
+            synchronized (Cursor.class) {
+                next = created++ * STRIDE & (TRACE_LENGTH - 1);
+            }
+        }
+
+    }
+
+    /**
+     * {@code Outcome} counts the hits and misses of one thread; JMH reports
+     * their totals next to the time of each iteration. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+
+        /** number of lookups that found their key */
+        public long hits;
+        /** number of lookups that did not find their key */
+        public long misses;
+
+        /** Resets the counters before every iteration. */
+        @Setup(Level.Iteration)
+        public void setUp() {
+            hits = misses = 0;
+        }
+
+    }
+
+    /** Generates the trace and creates the cache under test. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int keys = KEYS_PER_ENTRY * maximumSize;
+        double[] cumulative = new double[keys];
+        double sum = 0;
+        for (int i = 0; i < keys; i++) {
+            sum += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = sum;
+        }
+
+        Integer[] popular = new Integer[keys];
+        for (int i = 0; i < keys; i++) {
+            popular[i] = i;
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        trace = new Integer[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            if (i % SCAN_PERIOD == 0) {
+                trace[i] = keys + i;
+            } else {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                trace[i] = popular[Math.min(index < 0 ? -index - 1 : index, keys - 1)];
+            }
+        }
+
+        String[] parts = cacheImpl.split(":");
+        if (parts[0].equals("LinkedHashMap")) {
+            map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+            locked = true;
+        } else if (parts[0].equals("BoundedCache")) {
+            cache = new BoundedCache<>(maximumSize, EvictionPolicy.valueOf(parts[1]));
+            locked = true;
+        } else {
+            cache = new ConcurrentBoundedCache<>(maximumSize, EvictionPolicy.valueOf(parts[1]));
+            locked = false;
+        }
+    }
+
+    /**
+     * Looks the next key of the trace up and puts it on a miss.
+     *
+     * @param key the key to be requested
+     * @param outcome the counters of the calling thread
+     * @return the value found or put */
+    private Integer lookupOrLoad(Integer key, Outcome outcome) {
+        if (map != null) {
+            Integer value = map.get(key);
+            if (value == null) {
+                outcome.misses++;
+                map.put(key, key);
+                return key;
+            }
+            outcome.hits++;
+            return value;
+        }
+
+        Integer value = cache.get(key);
+        if (value == null) {
+            outcome.misses++;
+            cache.put(key, key);
+            return key;
+        }
+        outcome.hits++;
+        return value;
+    }
+
+    /**
+     * Requests the next key of the trace from a cache used by a single thread.
+     *
+     * @param cursor the position of the calling thread in the trace
+     * @param outcome the counters of the calling thread
+     * @return the value found or put */
+    @Benchmark
+    @Threads(1)
+    public Integer lookup(Cursor cursor, Outcome outcome) {
+        Integer key = trace[cursor.next];
+        cursor.next = (cursor.next + 1) & (TRACE_LENGTH - 1);
+
+        return lookupOrLoad(key, outcome);
+    }
+
+    /**
+     * Requests the next key of the trace from a cache shared by four threads,
+     * holding the monitor of the cache when it is not thread-safe.
+     *
+     * @param cursor the position of the calling thread in the trace
+     * @param outcome the counters of the calling thread
+     * @return the value found or put */
+    @Benchmark
+    @Threads(4)
+    public Integer sharedLookup(Cursor cursor, Outcome outcome) {
+        Integer key = trace[cursor.next];
+        cursor.next = (cursor.next + 1) & (TRACE_LENGTH - 1);
+
+        if (!locked) {
+            return lookupOrLoad(key, outcome);
+        }
+
+        synchronized (this) {
+            return lookupOrLoad(key, outcome);
+        }
+    }
+
+}
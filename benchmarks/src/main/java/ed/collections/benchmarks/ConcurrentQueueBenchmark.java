@@ -0,0 +1,216 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.BlockingCircularArrayQueue;
+import ed.collections.BlockingLinkedQueue;
+import ed.collections.BlockingQueueADT;
+import ed.collections.CircularArrayQueue;
+import ed.collections.LockFreeLinkedQueue;
+import ed.collections.MpmcArrayQueue;
+import ed.collections.SpscArrayQueue;
+
+/**
+ * {@code ConcurrentQueueBenchmark} measures the throughput of handing elements
+ * from producer threads to consumer threads through the thread-safe queues,
+ * compared with a {@link CircularArrayQueue} guarded by a monitor.
+ * By default one producer and one consumer run against each other, which is
+ * the hand-off {@link SpscArrayQueue} is built for; use {@code -tg} to run more
+ * producers and consumers against the multi-producer queues.
+ * Failed offers and empty polls are counted as operations, just like in the
+ * spin loops the queues are used from.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentQueueBenchmark {
+
+    /** constant to represent the capacity of the bounded queues */
+    private static final int CAPACITY = 1024;
+    /** constant to represent the element handed over, allocated up front */
+    private static final Integer ELEMENT = 42;
+
+    /** the implementation under test */
+    @Param({"SpscArrayQueue", "MpmcArrayQueue", "LockFreeLinkedQueue", "LockedCircularArrayQueue",
+            "BlockingCircularArrayQueue", "BlockingLinkedQueue"})
+    public String impl;
+
+    /** the queue under test, behind a common offer/poll interface */
+    private Handoff<Integer> handoff;
+
+    /** Creates the queue under test. */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        switch (impl) {
+            case "SpscArrayQueue": {
+                SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(CAPACITY);
+                handoff = new Handoff<>() {
+                    @Override
+                    public boolean offer(Integer element) {
+                        return queue.offer(element);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+                break;
+            }
+            case "MpmcArrayQueue": {
+                MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(CAPACITY);
+                handoff = new Handoff<>() {
+                    @Override
+                    public boolean offer(Integer element) {
+                        return queue.offer(element);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+                break;
+            }
+            case "LockFreeLinkedQueue": {
+                LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+                handoff = new Handoff<>() {
+                    @Override
+                    public boolean offer(Integer element) {
+                        if (queue.size() >= CAPACITY) {
+                            return false;
+                        }
+                        queue.enqueue(element);
+                        return true;
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+                break;
+            }
+            case "LockedCircularArrayQueue": {
+                CircularArrayQueue<Integer> queue = new CircularArrayQueue<>(CAPACITY);
+                handoff = new Handoff<>() {
+                    @Override
+                    public boolean offer(Integer element) {
+                        synchronized (queue) {
+                            if (queue.size() >= CAPACITY) {
+                                return false;
+                            }
+                            queue.enqueue(element);
+                            return true;
+                        }
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        synchronized (queue) {
+                            if (queue.isEmpty()) {
+                                return null;
+                            }
+                            try {
+                                return queue.dequeue();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    }
+                };
+                break;
+            }
+            case "BlockingCircularArrayQueue":
+                handoff = blocking(new BlockingCircularArrayQueue<>(CAPACITY));
+                break;
+            case "BlockingLinkedQueue":
+                handoff = blocking(new BlockingLinkedQueue<>(CAPACITY));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + impl);
+        }
+    }
+
+    /**
+     * Adapts a bounded blocking queue to the common interface, using its non-blocking operations.
+     *
+     * @param queue the queue to be adapted
+     * @return the adapted queue */
+    private static Handoff<Integer> blocking(BlockingQueueADT<Integer> queue) {
+        return new Handoff<>() {
+            @Override
+            public boolean offer(Integer element) {
+                return queue.offer(element);
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+        };
+    }
+
+    /**
+     * Offers one element to the queue.
+     *
+     * @return whether the element was accepted */
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public boolean offer() {
+        return handoff.offer(ELEMENT);
+    }
+
+    /**
+     * Polls one element from the queue.
+     *
+     * @return the polled element, or {@code null} if the queue was empty */
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public Integer poll() {
+        return handoff.poll();
+    }
+
+    /**
+     * {@code Handoff} gives the queues under test a common, non-throwing interface.
+     *
+     * @param <T> the type of elements handed over */
+    private interface Handoff<T> {
+
+        /**
+         * Offers an element to the queue.
+         *
+         * @param element the element to be offered
+         * @return whether the element was accepted */
+        boolean offer(T element);
+
+        /**
+         * Polls an element from the queue.
+         *
+         * @return the polled element, or {@code null} if the queue was empty */
+        T poll();
+
+    }
+
+}
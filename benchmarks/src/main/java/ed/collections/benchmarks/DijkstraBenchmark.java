@@ -0,0 +1,179 @@
+package ed.collections.benchmarks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.HeapPriorityQueue;
+import ed.collections.IndexedPriorityQueue;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code DijkstraBenchmark} runs single-source shortest paths over a random
+ * directed graph of {@code vertices} vertices with {@code degree} weighted
+ * edges each, stored as adjacency arrays.
+ * The {@code lazyDeletion} variant enqueues a new entry into a
+ * {@link HeapPriorityQueue} whenever a distance improves and skips stale
+ * entries as they are dequeued, so the queue may hold one entry per edge;
+ * the {@code decreaseKey} variant keeps one entry per vertex in an
+ * {@link IndexedPriorityQueue} and updates it in place. Run it with the GC
+ * profiler (the default in {@link BenchmarkMain}) to compare the memory
+ * allocated by both.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DijkstraBenchmark {
+
+    /** constant to represent the number of bits taken by the vertex in a lazy-deletion entry */
+    private static final int VERTEX_BITS = 24;
+
+    /** the number of vertices of the graph */
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /** the number of edges leaving every vertex */
+    @Param({"8"})
+    public int degree;
+
+    /** the index of the first edge of every vertex, with one extra entry marking the end */
+    private int[] edgeStart;
+    /** the vertex every edge leads to */
+    private int[] edgeTarget;
+    /** the weight of every edge */
+    private int[] edgeWeight;
+    /** the distance from the source to every vertex, reused between runs */
+    private long[] distance;
+
+    /** Generates the random graph. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (vertices > 1 << VERTEX_BITS) {
+            throw new IllegalArgumentException("Graph cannot have more than " + (1 << VERTEX_BITS) + " vertices.");
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        int edges = vertices * degree;
+
+        edgeStart = new int[vertices + 1];
+        edgeTarget = new int[edges];
+        edgeWeight = new int[edges];
+        distance = new long[vertices];
+
+        for (int v = 0; v <= vertices; v++) {
+            edgeStart[v] = v * degree;
+        }
+        for (int e = 0; e < edges; e++) {
+            edgeTarget[e] = random.nextInt(vertices);
+            edgeWeight[e] = 1 + random.nextInt(1000);
+        }
+    }
+
+    /**
+     * Computes the shortest distances from vertex zero, enqueueing a new entry
+     * on every improvement and discarding stale entries when they are dequeued.
+     * Each entry packs the distance and the vertex into one {@code Long}.
+     *
+     * @return the sum of the distances of the reachable vertices
+     * @throws EmptyCollectionException never, the queue is checked before dequeueing */
+    @Benchmark
+    public long lazyDeletion() throws EmptyCollectionException {
+        Arrays.fill(distance, Long.MAX_VALUE);
+        HeapPriorityQueue<Long> queue = new HeapPriorityQueue<>();
+
+        distance[0] = 0;
+        queue.enqueue(0L);
+        while (!queue.isEmpty()) {
+            long entry = queue.dequeue();
+            int v = (int) (entry & ((1 << VERTEX_BITS) - 1));
+            long d = entry >>> VERTEX_BITS;
+            if (d > distance[v]) {
+                continue;
+            }
+
+            for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++) {
+                int w = edgeTarget[e];
+                long candidate = d + edgeWeight[e];
+                if (candidate < distance[w]) {
+                    distance[w] = candidate;
+                    queue.enqueue(candidate << VERTEX_BITS | w);
+                }
+            }
+        }
+
+        return sumOfDistances();
+    }
+
+    /**
+     * Computes the shortest distances from vertex zero, keeping one entry per
+     * vertex and lowering it in place with {@link IndexedPriorityQueue#decreaseKey(int, Object)}.
+     *
+     * @return the sum of the distances of the reachable vertices
+     * @throws EmptyCollectionException never, the queue is checked before dequeueing */
+    @Benchmark
+    public long decreaseKey() throws EmptyCollectionException {
+        Arrays.fill(distance, Long.MAX_VALUE);
+        IndexedPriorityQueue<Long> queue = new IndexedPriorityQueue<>();
+        int[] handleOf = new int[vertices];
+        int[] vertexOf = new int[vertices];
+        Arrays.fill(handleOf, -1);
+
+        distance[0] = 0;
+        handleOf[0] = queue.insert(0L);
+        vertexOf[handleOf[0]] = 0;
+        while (!queue.isEmpty()) {
+            int v = vertexOf[queue.firstHandle()];
+            long d = queue.dequeue();
+            handleOf[v] = -1;
+
+            for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++) {
+                int w = edgeTarget[e];
+                long candidate = d + edgeWeight[e];
+                if (candidate < distance[w]) {
+                    distance[w] = candidate;
+                    if (handleOf[w] == -1) {
+                        handleOf[w] = queue.insert(candidate);
+                        vertexOf[handleOf[w]] = w;
+                    } else {
+                        queue.decreaseKey(handleOf[w], candidate);
+                    }
+                }
+            }
+        }
+
+        return sumOfDistances();
+    }
+
+    /**
+     * Adds up the distances of the vertices reachable from the source.
+     *
+     * @return the sum of the finite distances */
+    private long sumOfDistances() {
+        long sum = 0;
+        for (long d : distance) {
+            if (d != Long.MAX_VALUE) {
+                sum += d;
+            }
+        }
+
+        return sum;
+    }
+
+}
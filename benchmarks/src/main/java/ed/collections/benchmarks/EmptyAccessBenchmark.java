@@ -0,0 +1,74 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.ArrayStack;
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code EmptyAccessBenchmark} measures the cost of reaching an empty stack,
+ * which is how drain loops end: through {@link StackADT#pop()} with a regular
+ * {@link EmptyCollectionException}, through {@code pop()} with the stackless,
+ * preallocated exception enabled, and through {@link StackADT#tryPop()}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmptyAccessBenchmark {
+
+    /** the stack under test, always empty */
+    private final StackADT<Integer> stack = new ArrayStack<>();
+
+    /**
+     * Pops from the empty stack and catches the exception.
+     *
+     * @return the caught exception */
+    @Benchmark
+    public Object popThrowing() {
+        try {
+            return stack.pop();
+        } catch (EmptyCollectionException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Pops from the empty stack and catches the exception, with the stackless
+     * mode of {@link EmptyCollectionException} enabled.
+     *
+     * @return the caught exception */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + EmptyCollectionException.STACKLESS_PROPERTY + "=true")
+    public Object popStackless() {
+        try {
+            return stack.pop();
+        } catch (EmptyCollectionException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Pops from the empty stack without an exception.
+     *
+     * @return {@code null}, since the stack is empty */
+    @Benchmark
+    public Object tryPop() {
+        return stack.tryPop();
+    }
+
+}
@@ -0,0 +1,146 @@
+package ed.collections.benchmarks;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.candidates.HashIndexedUnorderedList;
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code HashIndexedListBenchmark} compares a {@link HashIndexedUnorderedList}
+ * with a {@link LinkedHashSet}, the closest structure in the JDK: both keep
+ * the insertion order and find an element by hashing.
+ * The {@code build} operation adds {@code size} distinct elements to a
+ * collection presized to hold them, so nothing is reallocated and the
+ * {@code gc.alloc.rate.norm} reported by the GC profiler, divided by
+ * {@code size}, is the memory each entry costs. The elements themselves are
+ * allocated up front and are not counted. They are distinct random numbers,
+ * like session or request identifiers, so neither structure benefits from
+ * keys that hash to neighbouring buckets. The {@code touch} operation finds
+ * an element, removes it and adds it again at the rear, the access pattern
+ * of a session or deduplication list.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashIndexedListBenchmark {
+
+    /** the implementation under test */
+    @Param({"HashIndexedUnorderedList", "LinkedHashSet"})
+    public String listImpl;
+
+    /** the number of elements held by the collection */
+    @Param({"1000", "1000000"})
+    public int size;
+
+    /** the elements added to the collections, allocated up front */
+    private Integer[] elements;
+    /** int that represents the index of the next element to be touched */
+    private int next;
+    /** the list under test when {@code listImpl} is {@code HashIndexedUnorderedList} */
+    private HashIndexedUnorderedList<Integer> list;
+    /** the set under test when {@code listImpl} is {@code LinkedHashSet} */
+    private LinkedHashSet<Integer> set;
+
+    /** Allocates the elements and fills the collection used by {@code touch}. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        HashSet<Integer> distinct = new HashSet<>();
+
+        elements = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Integer element;
+            do {
+                element = random.nextInt();
+            } while (!distinct.add(element));
+            elements[i] = element;
+        }
+
+        if (listImpl.equals("LinkedHashSet")) {
+            set = fillSet();
+        } else {
+            list = fillList();
+        }
+    }
+
+    /**
+     * Fills a new presized list with every element.
+     *
+     * @return the filled list */
+    private HashIndexedUnorderedList<Integer> fillList() {
+        HashIndexedUnorderedList<Integer> filled = new HashIndexedUnorderedList<>(size);
+        for (Integer element : elements) {
+            filled.addToRear(element);
+        }
+
+        return filled;
+    }
+
+    /**
+     * Fills a new presized set with every element.
+     *
+     * @return the filled set */
+    private LinkedHashSet<Integer> fillSet() {
+        LinkedHashSet<Integer> filled = new LinkedHashSet<>((int) (size / 0.75f) + 1);
+        for (Integer element : elements) {
+            filled.add(element);
+        }
+
+        return filled;
+    }
+
+    /**
+     * Adds every element to a new collection presized to hold them.
+     *
+     * @return the filled collection */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object build() {
+        return listImpl.equals("LinkedHashSet") ? fillSet() : fillList();
+    }
+
+    /**
+     * Finds an element, removes it and adds it again at the rear.
+     *
+     * @return whether the element was found
+     * @throws EmptyCollectionException never, the list is not empty
+     * @throws NoSuchElementException never, the element is in the list */
+    @Benchmark
+    public boolean touch() throws EmptyCollectionException, NoSuchElementException {
+        Integer element = elements[next];
+        next = next + 1 == size ? 0 : next + 1;
+
+        if (set != null) {
+            boolean found = set.remove(element);
+            set.add(element);
+            return found;
+        }
+
+        boolean found = list.contains(element);
+        list.remove(element);
+        list.addToRear(element);
+        return found;
+    }
+
+}
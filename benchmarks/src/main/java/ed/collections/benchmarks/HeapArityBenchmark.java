@@ -0,0 +1,106 @@
+package ed.collections.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.HeapPriorityQueue;
+import ed.collections.ResizePolicy;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code HeapArityBenchmark} measures how the arity of a
+ * {@link HeapPriorityQueue} affects its cost. The {@code hold} operation
+ * dequeues the least element and enqueues a larger random one, the classic
+ * steady-state workload of a scheduler, on a heap holding {@code size}
+ * elements; once the heap outgrows the caches, wider nodes trade extra
+ * comparisons for fewer levels, and so fewer cache misses, per operation.
+ * The {@code heapify} operation builds a heap of {@code size} elements from
+ * an array bottom-up.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapArityBenchmark {
+
+    /** constant to represent the number of precomputed increments, a power of two */
+    private static final int INCREMENTS = 1 << 16;
+
+    /** the number of children of every element of the heap */
+    @Param({"2", "4", "8"})
+    public int arity;
+
+    /** the number of elements held by the heap between operations */
+    @Param({"1000", "1000000"})
+    public int size;
+
+    /** the random elements the heap is built from */
+    private Long[] elements;
+    /** the random amounts added to a dequeued element before it is enqueued again */
+    private long[] increments;
+    /** int that represents the index of the next increment */
+    private int next;
+    /** a heap that holds {@code size} elements between operations */
+    private HeapPriorityQueue<Long> queue;
+
+    /** Generates the elements and builds the heap used by {@code hold}. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        elements = new Long[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = random.nextLong(size);
+        }
+
+        increments = new long[INCREMENTS];
+        for (int i = 0; i < INCREMENTS; i++) {
+            increments[i] = 1 + random.nextLong(size);
+        }
+
+        queue = new HeapPriorityQueue<>(elements, arity, null);
+    }
+
+    /**
+     * Dequeues the least element and enqueues it again with a random increment.
+     *
+     * @return the dequeued element
+     * @throws EmptyCollectionException never, the heap is not empty */
+    @Benchmark
+    public Long hold() throws EmptyCollectionException {
+        Long least = queue.dequeue();
+        queue.enqueue(least + increments[next++ & (INCREMENTS - 1)]);
+
+        return least;
+    }
+
+    /**
+     * Builds a heap from the elements array.
+     *
+     * @return the heap that was built */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public HeapPriorityQueue<Long> heapify() {
+        HeapPriorityQueue<Long> heap = new HeapPriorityQueue<>(arity, size, null, ResizePolicy.DEFAULT);
+        heap.enqueueAll(elements, 0, size);
+
+        return heap;
+    }
+
+}
@@ -0,0 +1,307 @@
+package ed.collections.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.function.Supplier;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import ed.collections.QueueADT;
+import ed.collections.StackADT;
+
+/**
+ * {@code Implementations} discovers the {@link StackADT} and {@link QueueADT}
+ * implementations shipped with the library and instantiates them by name, so
+ * that the benchmarks run against every implementation without listing them.
+ * An implementation is picked up when it is a public, concrete, top-level class
+ * with a public no-argument constructor. Each one is tagged with its
+ * {@link Semantics}, and only the {@link Semantics#PLAIN} ones are returned
+ * unless others are asked for, so a priority or blocking queue is not
+ * compared with plain first-in-first-out ones. Classes that cannot be loaded
+ * are reported on the standard error stream and skipped. Names are given
+ * relative to the {@code ed.collections} package, for example
+ * {@code ArrayStack} or {@code offheap.MappedQueue}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class Implementations {
+
+    /** constant to represent the package every implementation name is relative to */
+    private static final String BASE_PACKAGE = "ed.collections.";
+    /** constant to represent the extension of compiled class files */
+    private static final String CLASS_EXTENSION = ".class";
+
+    /** Prevents instantiation of this utility class. */
+    private Implementations() {
+    }
+
+    /**
+     * Returns the names of every implementation of the specified interface found
+     * next to it on the class path that follows its plain contract.
+     *
+     * @param adt the interface whose implementations are looked for
+     * @return the names of the implementations, relative to {@code ed.collections} */
+    public static List<String> discover(Class<?> adt) {
+        return discover(adt, Semantics.PLAIN);
+    }
+
+    /**
+     * Returns the names of every implementation of the specified interface found
+     * next to it on the class path that has the specified semantics.
+     *
+     * @param adt the interface whose implementations are looked for
+     * @param semantics the semantics of the implementations to be returned
+     * @return the names of the implementations, relative to {@code ed.collections} */
+    public static List<String> discover(Class<?> adt, Semantics semantics) {
+        List<String> names = new ArrayList<>();
+
+        for (String className : libraryClassNames()) {
+            try {
+                Class<?> candidate = Class.forName(className, false, adt.getClassLoader());
+                if (isBenchmarkable(adt, candidate) && Semantics.of(candidate) == semantics) {
+                    names.add(className.substring(BASE_PACKAGE.length()));
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Skipping " + className + ": " + e);
+            }
+        }
+
+        names.sort(null);
+
+        return names;
+    }
+
+    /**
+     * Checks whether the candidate class can be instantiated by the benchmarks
+     * as an implementation of the specified interface.
+     *
+     * @param adt the interface being benchmarked
+     * @param candidate the class being checked
+     * @return {@code true} if the candidate is a public, concrete, top-level
+     * implementation with a public no-argument constructor */
+    private static boolean isBenchmarkable(Class<?> adt, Class<?> candidate) {
+        int modifiers = candidate.getModifiers();
+        if (!adt.isAssignableFrom(candidate) || candidate.isInterface() || candidate.getEnclosingClass() != null
+                || !Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers)) {
+            return false;
+        }
+
+        try {
+            candidate.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lists the names of every class in the library, reading the directory or
+     * jar file that {@link StackADT} was loaded from.
+     *
+     * @return the fully qualified names of the library classes */
+    private static List<String> libraryClassNames() {
+        List<String> classNames = new ArrayList<>();
+
+        try {
+            Path location = Paths.get(StackADT.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+            if (Files.isDirectory(location)) {
+                try (Stream<Path> files = Files.walk(location)) {
+                    files.map(file -> location.relativize(file).toString().replace(location.getFileSystem().getSeparator(), "/"))
+                            .filter(Implementations::isTopLevelClassFile)
+                            .forEach(file -> classNames.add(toClassName(file)));
+                }
+            } else {
+                try (JarFile jar = new JarFile(location.toFile())) {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String entry = entries.nextElement().getName();
+                        if (isTopLevelClassFile(entry)) {
+                            classNames.add(toClassName(entry));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the library classes.", e);
+        }
+
+        return classNames;
+    }
+
+    /**
+     * Checks whether the specified path names a top-level class of the library.
+     *
+     * @param path the path of a file, relative to the class path root
+     * @return {@code true} if the path names a top-level class file */
+    private static boolean isTopLevelClassFile(String path) {
+        return path.startsWith(BASE_PACKAGE.replace('.', '/')) && path.endsWith(CLASS_EXTENSION) && !path.contains("$");
+    }
+
+    /**
+     * Converts the path of a class file into the name of its class.
+     *
+     * @param path the path of a class file, relative to the class path root
+     * @return the fully qualified name of the class */
+    private static String toClassName(String path) {
+        return path.substring(0, path.length() - CLASS_EXTENSION.length()).replace('/', '.');
+    }
+
+    /**
+     * Creates a new stack of the named implementation.
+     * When {@code presize} is set and the implementation has a constructor taking
+     * an {@code int}, it is given the expected number of elements.
+     *
+     * @param name the name of the implementation, relative to {@code ed.collections}
+     * @param expectedSize the number of elements the stack will hold
+     * @param presize whether the stack should be created with room for {@code expectedSize} elements
+     * @param <T> the type of elements stored in the stack
+     * @return a new, empty stack */
+    public static <T> StackADT<T> newStack(String name, int expectedSize, boolean presize) {
+        return Implementations.<T>stackSupplier(name, expectedSize, presize).get();
+    }
+
+    /**
+     * Creates a new queue of the named implementation.
+     * When {@code presize} is set and the implementation has a constructor taking
+     * an {@code int}, it is given the expected number of elements.
+     *
+     * @param name the name of the implementation, relative to {@code ed.collections}
+     * @param expectedSize the number of elements the queue will hold
+     * @param presize whether the queue should be created with room for {@code expectedSize} elements
+     * @param <T> the type of elements stored in the queue
+     * @return a new, empty queue */
+    public static <T> QueueADT<T> newQueue(String name, int expectedSize, boolean presize) {
+        return Implementations.<T>queueSupplier(name, expectedSize, presize).get();
+    }
+
+    /**
+     * Returns a supplier of new, empty stacks of the named implementation.
+     * The implementation and its constructor are resolved once, here, so a
+     * benchmark that creates stacks inside its timed method only pays for the
+     * constructor itself.
+     *
+     * @param name the name of the implementation, relative to {@code ed.collections}
+     * @param expectedSize the number of elements every stack will hold
+     * @param presize whether every stack should be created with room for {@code expectedSize} elements
+     * @param <T> the type of elements stored in the stacks
+     * @return a supplier of new, empty stacks
+     * @throws IllegalArgumentException if the implementation cannot be
+     * instantiated, or is bounded and cannot be given room for {@code expectedSize} elements */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<StackADT<T>> stackSupplier(String name, int expectedSize, boolean presize) {
+        Supplier<Object> factory = factory(name, expectedSize, presize);
+        return () -> (StackADT<T>) factory.get();
+    }
+
+    /**
+     * Returns a supplier of new, empty queues of the named implementation.
+     * The implementation and its constructor are resolved once, here, so a
+     * benchmark that creates queues inside its timed method only pays for the
+     * constructor itself.
+     *
+     * @param name the name of the implementation, relative to {@code ed.collections}
+     * @param expectedSize the number of elements every queue will hold
+     * @param presize whether every queue should be created with room for {@code expectedSize} elements
+     * @param <T> the type of elements stored in the queues
+     * @return a supplier of new, empty queues
+     * @throws IllegalArgumentException if the implementation cannot be
+     * instantiated, or is bounded and cannot be given room for {@code expectedSize} elements */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<QueueADT<T>> queueSupplier(String name, int expectedSize, boolean presize) {
+        Supplier<Object> factory = factory(name, expectedSize, presize);
+        return () -> (QueueADT<T>) factory.get();
+    }
+
+    /**
+     * Resolves the named implementation and the constructor that gives it the
+     * requested room, and returns a supplier that only calls that constructor.
+     * Bounded implementations, recognised by a public {@code capacity()} method,
+     * are always given room for {@code expectedSize} elements.
+     *
+     * @param name the name of the implementation, relative to {@code ed.collections}
+     * @param expectedSize the number of elements every instance will hold
+     * @param presize whether every instance should be created with room for {@code expectedSize} elements
+     * @return a supplier of new instances of the implementation
+     * @throws IllegalArgumentException if the implementation cannot be
+     * instantiated, or is bounded and cannot be given room for {@code expectedSize} elements */
+    private static Supplier<Object> factory(String name, int expectedSize, boolean presize) {
+        Constructor<?> constructor;
+        Object[] arguments;
+
+        try {
+            Class<?> implementation = Class.forName(BASE_PACKAGE + name);
+            constructor = implementation.getConstructor();
+            arguments = new Object[0];
+
+            int capacity = capacityOf(constructor.newInstance());
+            if (presize || capacity < expectedSize) {
+                Constructor<?> sized = sizedConstructor(implementation);
+                if (sized != null) {
+                    constructor = sized;
+                    arguments = new Object[] {Math.max(1, expectedSize)};
+                } else if (capacity < expectedSize) {
+                    throw new IllegalArgumentException(name + " cannot hold " + expectedSize + " elements.");
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot instantiate " + name + ".", e);
+        }
+
+        Constructor<?> resolved = constructor;
+        Object[] resolvedArguments = arguments;
+
+        return () -> {
+            try {
+                return resolved.newInstance(resolvedArguments);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot instantiate " + name + ".", e);
+            }
+        };
+    }
+
+    /**
+     * Returns the public constructor of an implementation that takes its
+     * initial capacity.
+     *
+     * @param implementation the class of the implementation
+     * @return the constructor taking an {@code int}, or {@code null} if there is none */
+    private static Constructor<?> sizedConstructor(Class<?> implementation) {
+        for (Constructor<?> constructor : implementation.getConstructors()) {
+            Class<?>[] parameters = constructor.getParameterTypes();
+            if (parameters.length == 1 && parameters[0] == int.class) {
+                return constructor;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the fixed capacity of a bounded implementation.
+     *
+     * @param instance the instance being checked
+     * @return the value of its public {@code capacity()} method, or
+     * {@link Integer#MAX_VALUE} if it does not have one */
+    private static int capacityOf(Object instance) {
+        try {
+            Method capacity = instance.getClass().getMethod("capacity");
+            return (int) capacity.invoke(instance);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.ArrayStack;
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.instrument.InstrumentedStack;
+import ed.collections.instrument.OperationMetrics;
+
+/**
+ * {@code InstrumentationBenchmark} measures what the instrumentation layer
+ * costs an {@link ArrayStack} in each of its modes: {@code disabled}, a plain
+ * stack whose resize hook has no listener and whose Flight Recorder event is
+ * off; {@code listener}, a plain stack whose reallocations are counted by an
+ * {@link OperationMetrics}; and {@code decorated}, a stack wrapped by an
+ * {@link InstrumentedStack}. The {@code pushPop} operation runs on a stack
+ * holding {@code size} elements and never resizes it, and {@code growth}
+ * pushes {@code size} elements onto a new stack of the default capacity, so
+ * the hook runs on every expansion.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    /** the instrumentation applied to the stack under test */
+    @Param({"disabled", "listener", "decorated"})
+    public String mode;
+
+    /** the number of elements held by the stack */
+    @Param({"1000", "1000000"})
+    public int size;
+
+    /** the elements pushed onto the stack, allocated up front */
+    private Integer[] elements;
+    /** a stack that holds {@code size} elements between operations */
+    private StackADT<Integer> filled;
+
+    /** Allocates the elements and fills the stack used by {@code pushPop}. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+        }
+
+        filled = newStack();
+        for (Integer element : elements) {
+            filled.push(element);
+        }
+    }
+
+    /**
+     * Creates an empty stack of the default capacity with the instrumentation of the current mode.
+     *
+     * @return the new stack */
+    private StackADT<Integer> newStack() {
+        ArrayStack<Integer> stack = new ArrayStack<>();
+
+        switch (mode) {
+            case "disabled":
+                return stack;
+            case "listener":
+                stack.setResizeListener(new OperationMetrics());
+                return stack;
+            case "decorated":
+                return new InstrumentedStack<>(stack);
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    /**
+     * Pushes one element onto a stack holding {@code size} elements and pops one.
+     *
+     * @return the popped element
+     * @throws EmptyCollectionException never, the stack is not empty */
+    @Benchmark
+    public Integer pushPop() throws EmptyCollectionException {
+        filled.push(elements[0]);
+        return filled.pop();
+    }
+
+    /**
+     * Pushes {@code size} elements onto a new stack, expanding it as it fills.
+     *
+     * @return the filled stack */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public StackADT<Integer> growth() {
+        StackADT<Integer> stack = newStack();
+        for (Integer element : elements) {
+            stack.push(element);
+        }
+
+        return stack;
+    }
+
+}
@@ -0,0 +1,94 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.BlockingCircularArrayQueue;
+import ed.collections.BlockingLinkedQueue;
+import ed.collections.LockFreeLinkedQueue;
+import ed.collections.QueueADT;
+import ed.collections.instrument.InstrumentedQueue;
+
+/**
+ * {@code InstrumentedQueueContentionBenchmark} measures what an
+ * {@link InstrumentedQueue} costs a thread-safe queue shared by many threads
+ * that each enqueue and then poll an element. For a {@link LockFreeLinkedQueue}
+ * {@code size()} sums its counter cells and for a
+ * {@link BlockingCircularArrayQueue} it takes the lock again, so the decorator
+ * only samples their size for its high-water mark; a {@link BlockingLinkedQueue}
+ * keeps its size in one atomic counter, which the decorator reads after every
+ * insertion. It runs with as many threads as there are processors; use
+ * {@code -t} to change that.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class InstrumentedQueueContentionBenchmark {
+
+    /** constant to represent the number of elements left in the queue between operations */
+    private static final int BASELINE_SIZE = 64;
+    /** constant to represent the element enqueued, allocated up front */
+    private static final Integer ELEMENT = 42;
+
+    /** the queue under test */
+    @Param({"LockFreeLinkedQueue", "BlockingLinkedQueue", "BlockingCircularArrayQueue"})
+    public String impl;
+
+    /** whether the queue is wrapped by an {@link InstrumentedQueue} */
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    /** the queue shared by the threads */
+    private QueueADT<Integer> queue;
+
+    /** Creates the queue under test, holding a few elements so it is rarely empty. */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        QueueADT<Integer> plain;
+        switch (impl) {
+            case "LockFreeLinkedQueue":
+                plain = new LockFreeLinkedQueue<>();
+                break;
+            case "BlockingLinkedQueue":
+                plain = new BlockingLinkedQueue<>();
+                break;
+            default:
+                plain = new BlockingCircularArrayQueue<>();
+                break;
+        }
+        queue = instrumented ? new InstrumentedQueue<>(plain) : plain;
+
+        for (int i = 0; i < BASELINE_SIZE; i++) {
+            queue.enqueue(ELEMENT);
+        }
+    }
+
+    /**
+     * Enqueues one element and polls one element.
+     *
+     * @return the polled element */
+    @Benchmark
+    public Integer enqueuePoll() {
+        queue.enqueue(ELEMENT);
+        return queue.poll();
+    }
+
+}
@@ -0,0 +1,125 @@
+package ed.collections.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.LinkedQueue;
+import ed.collections.QueueADT;
+import ed.collections.offheap.ElementSerializer;
+import ed.collections.offheap.MappedQueue;
+
+/**
+ * {@code MappedQueueBenchmark} measures sustained append throughput of
+ * {@link MappedQueue}, compared with {@link LinkedQueue}.
+ * Every measured batch appends one million payloads to a freshly created
+ * queue, so the mapped queue rolls over several segment files per batch.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = MappedQueueBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = MappedQueueBenchmark.BATCH_SIZE)
+@Fork(1)
+public class MappedQueueBenchmark {
+
+    /** constant to represent the number of payloads appended per measured batch */
+    static final int BATCH_SIZE = 1_000_000;
+    /** constant to represent the segment size used by the mapped queue */
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /** serializer that stores a payload as its raw bytes */
+    private static final ElementSerializer<byte[]> BYTES = new ElementSerializer<>() {
+        @Override
+        public int serializedSize(byte[] element) {
+            return element.length;
+        }
+
+        @Override
+        public void write(byte[] element, ByteBuffer buffer) {
+            buffer.put(element);
+        }
+
+        @Override
+        public byte[] read(ByteBuffer buffer) {
+            byte[] element = new byte[buffer.remaining()];
+            buffer.get(element);
+            return element;
+        }
+    };
+
+    /** the implementation under test */
+    @Param({"MappedQueue", "LinkedQueue"})
+    public String impl;
+
+    /** the size of each payload, in bytes */
+    @Param({"32", "256"})
+    public int payloadSize;
+
+    /** the payload appended to the queue */
+    private byte[] payload;
+    /** the directory holding the mapped queue files */
+    private Path directory;
+    /** the queue under test */
+    private QueueADT<byte[]> queue;
+
+    /**
+     * Creates an empty queue for the next iteration.
+     *
+     * @throws IOException if the mapped queue cannot be created */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        payload = new byte[payloadSize];
+
+        if ("MappedQueue".equals(impl)) {
+            directory = Files.createTempDirectory("mapped-queue-benchmark");
+            queue = new MappedQueue<>(directory, SEGMENT_SIZE, BYTES);
+        } else {
+            queue = new LinkedQueue<>();
+        }
+    }
+
+    /**
+     * Closes the queue and deletes its files.
+     *
+     * @throws IOException if the files cannot be deleted */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (queue instanceof MappedQueue) {
+            ((MappedQueue<byte[]>) queue).close();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+        queue = null;
+    }
+
+    /** Appends one payload to the queue. */
+    @Benchmark
+    public void append() {
+        queue.enqueue(payload);
+    }
+
+}
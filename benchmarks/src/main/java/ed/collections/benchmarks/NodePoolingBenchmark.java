@@ -0,0 +1,102 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ed.collections.LinkedQueue;
+import ed.collections.LinkedStack;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code NodePoolingBenchmark} measures the steady-state cost of
+ * {@link LinkedStack} and {@link LinkedQueue} with and without their node
+ * free-list, on structures holding {@code size} elements between operations.
+ * Run it with the GC profiler (the default in {@link BenchmarkMain}): with a
+ * pool at least as large as {@code burst}, {@code gc.alloc.rate.norm} drops to
+ * zero bytes per operation.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodePoolingBenchmark {
+
+    /** the number of removed nodes each structure keeps for reuse, zero disabling reuse */
+    @Param({"0", "64"})
+    public int pooledNodes;
+
+    /** the number of elements held by the structures between operations */
+    @Param({"1000"})
+    public int size;
+
+    /** the number of elements added and then removed by each burst operation */
+    @Param({"1", "64"})
+    public int burst;
+
+    /** the element added to the structures */
+    private Integer element;
+    /** a stack that holds {@code size} elements between operations */
+    private LinkedStack<Integer> stack;
+    /** a queue that holds {@code size} elements between operations */
+    private LinkedQueue<Integer> queue;
+
+    /** Allocates and fills the structures under test. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        element = 42;
+        stack = new LinkedStack<>(pooledNodes);
+        queue = new LinkedQueue<>(pooledNodes);
+
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+            queue.enqueue(i);
+        }
+    }
+
+    /**
+     * Pushes {@code burst} elements onto the stack and pops them again.
+     *
+     * @param blackhole sink for the popped elements
+     * @throws EmptyCollectionException never, the stack is not empty */
+    @Benchmark
+    public void stackBurst(Blackhole blackhole) throws EmptyCollectionException {
+        for (int i = 0; i < burst; i++) {
+            stack.push(element);
+        }
+        for (int i = 0; i < burst; i++) {
+            blackhole.consume(stack.pop());
+        }
+    }
+
+    /**
+     * Enqueues {@code burst} elements onto the queue and dequeues as many.
+     *
+     * @param blackhole sink for the dequeued elements
+     * @throws EmptyCollectionException never, the queue is not empty */
+    @Benchmark
+    public void queueBurst(Blackhole blackhole) throws EmptyCollectionException {
+        for (int i = 0; i < burst; i++) {
+            queue.enqueue(element);
+        }
+        for (int i = 0; i < burst; i++) {
+            blackhole.consume(queue.dequeue());
+        }
+    }
+
+}
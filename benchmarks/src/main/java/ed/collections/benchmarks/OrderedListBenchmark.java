@@ -0,0 +1,109 @@
+package ed.collections.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.candidates.ArrayOrderedList;
+import ed.collections.candidates.ConcurrentSkipListOrderedList;
+import ed.collections.candidates.OrderedListADT;
+import ed.collections.candidates.SkipListOrderedList;
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code OrderedListBenchmark} compares the array-backed ordered list, whose
+ * insertions and removals shift the elements after the position, with the
+ * skip-list implementations, on lists holding {@code size} random keys.
+ * Each operation adds a random key and removes another one, so the size of
+ * the list stays the same for the whole trial.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderedListBenchmark {
+
+    /** constant to represent the number of precomputed keys, a power of two */
+    private static final int KEYS = 1 << 16;
+
+    /** the simple name of the ordered list under test */
+    @Param({"ArrayOrderedList", "SkipListOrderedList", "ConcurrentSkipListOrderedList"})
+    public String listImpl;
+
+    /** the number of elements held by the list between operations */
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** the list under test */
+    private OrderedListADT<Integer> list;
+    /** the random keys, each one added once and removed {@code size} operations later */
+    private Integer[] keys;
+    /** int that represents the index of the next key to be added */
+    private int next;
+    /** int that represents how many searches have been made */
+    private int probe;
+
+    /** Allocates the list and fills it with the first {@code size} keys. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = switch (listImpl) {
+            case "ArrayOrderedList" -> new ArrayOrderedList<>();
+            case "SkipListOrderedList" -> new SkipListOrderedList<>();
+            case "ConcurrentSkipListOrderedList" -> new ConcurrentSkipListOrderedList<>();
+            default -> throw new IllegalArgumentException("Unknown list implementation: " + listImpl);
+        };
+
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Integer[Math.max(KEYS, Integer.highestOneBit(size) << 1)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt();
+        }
+
+        for (next = 0; next < size; next++) {
+            list.add(keys[next]);
+        }
+    }
+
+    /**
+     * Adds the next key and removes the key that was added {@code size} operations ago.
+     *
+     * @return the removed key
+     * @throws EmptyCollectionException never, the list is not empty
+     * @throws NoSuchElementException never, the removed key is in the list */
+    @Benchmark
+    public Integer addRemove() throws EmptyCollectionException, NoSuchElementException {
+        int mask = keys.length - 1;
+        list.add(keys[next & mask]);
+        Integer removed = list.remove(keys[(next - size) & mask]);
+        next++;
+
+        return removed;
+    }
+
+    /**
+     * Searches for one of the keys in the list, cycling through all of them.
+     *
+     * @return whether the key was found */
+    @Benchmark
+    public boolean contains() {
+        probe = probe + 1 == size ? 0 : probe + 1;
+        return list.contains(keys[(next - 1 - probe) & (keys.length - 1)]);
+    }
+
+}
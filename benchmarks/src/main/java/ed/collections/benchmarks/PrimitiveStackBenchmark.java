@@ -0,0 +1,141 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.ArrayStack;
+import ed.collections.CircularArrayQueue;
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.primitives.IntArrayStack;
+import ed.collections.primitives.IntCircularArrayQueue;
+
+/**
+ * {@code PrimitiveStackBenchmark} compares the primitive {@link IntArrayStack}
+ * and {@link IntCircularArrayQueue} with {@link ArrayStack} and
+ * {@link CircularArrayQueue} holding boxed {@code Integer} values.
+ * Values are taken outside the {@code Integer} cache, so the generic versions
+ * pay for one box per element, which the GC profiler reports as allocation.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveStackBenchmark {
+
+    /** constant to represent the first value pushed, outside the {@code Integer} cache */
+    private static final int FIRST_VALUE = 1_000;
+
+    /** the number of values pushed and popped per operation */
+    @Param({"1000", "1000000"})
+    public int size;
+
+    /** the boxed stack under test */
+    private ArrayStack<Integer> boxedStack;
+    /** the primitive stack under test */
+    private IntArrayStack intStack;
+    /** the boxed queue under test */
+    private CircularArrayQueue<Integer> boxedQueue;
+    /** the primitive queue under test */
+    private IntCircularArrayQueue intQueue;
+
+    /** Creates the collections under test, already sized for {@code size} values. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxedStack = new ArrayStack<>(size);
+        intStack = new IntArrayStack(size);
+        boxedQueue = new CircularArrayQueue<>(size);
+        intQueue = new IntCircularArrayQueue(size);
+    }
+
+    /**
+     * Pushes {@code size} boxed values and pops them, summing them up.
+     *
+     * @return the sum of the popped values
+     * @throws EmptyCollectionException never, only pushed values are popped */
+    @Benchmark
+    public long boxedStack() throws EmptyCollectionException {
+        for (int i = 0; i < size; i++) {
+            boxedStack.push(FIRST_VALUE + i);
+        }
+
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += boxedStack.pop();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Pushes {@code size} primitive values and pops them, summing them up.
+     *
+     * @return the sum of the popped values
+     * @throws EmptyCollectionException never, only pushed values are popped */
+    @Benchmark
+    public long intStack() throws EmptyCollectionException {
+        for (int i = 0; i < size; i++) {
+            intStack.push(FIRST_VALUE + i);
+        }
+
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += intStack.pop();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Enqueues {@code size} boxed values and dequeues them, summing them up.
+     *
+     * @return the sum of the dequeued values
+     * @throws EmptyCollectionException never, only enqueued values are dequeued */
+    @Benchmark
+    public long boxedQueue() throws EmptyCollectionException {
+        for (int i = 0; i < size; i++) {
+            boxedQueue.enqueue(FIRST_VALUE + i);
+        }
+
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += boxedQueue.dequeue();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Enqueues {@code size} primitive values and dequeues them, summing them up.
+     *
+     * @return the sum of the dequeued values
+     * @throws EmptyCollectionException never, only enqueued values are dequeued */
+    @Benchmark
+    public long intQueue() throws EmptyCollectionException {
+        for (int i = 0; i < size; i++) {
+            intQueue.enqueue(FIRST_VALUE + i);
+        }
+
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += intQueue.dequeue();
+        }
+
+        return sum;
+    }
+
+}
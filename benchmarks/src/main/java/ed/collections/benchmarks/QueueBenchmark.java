@@ -0,0 +1,133 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code QueueBenchmark} measures every {@link QueueADT} implementation through
+ * the interface alone: single enqueue/dequeue pairs on a queue holding
+ * {@code size} elements, a mixed sequence of operations, filling an empty queue
+ * with {@code size} elements and draining it again, and growing a new queue
+ * from its default capacity to {@code size} elements.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    /** name of the parameter holding the implementation under test */
+    public static final String IMPLEMENTATION_PARAM = "queueImpl";
+
+    /** the implementation under test, relative to {@code ed.collections} */
+    @Param({"CircularArrayQueue", "LinkedQueue"})
+    public String queueImpl;
+
+    /** the number of elements held by the queue */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /** the elements enqueued onto the queue, allocated up front */
+    private Integer[] elements;
+    /** a queue that holds {@code size} elements between operations */
+    private QueueADT<Integer> filled;
+    /** a queue that is empty between operations */
+    private QueueADT<Integer> empty;
+    /** the supplier of the queues created by {@code growthFromEmpty}, with their default capacity */
+    private Supplier<QueueADT<Integer>> factory;
+
+    /** Allocates the elements and the queues under test, and resolves the queue supplier. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+        }
+
+        filled = Implementations.newQueue(queueImpl, size + 2, true);
+        for (Integer element : elements) {
+            filled.enqueue(element);
+        }
+
+        empty = Implementations.newQueue(queueImpl, size, true);
+        factory = Implementations.queueSupplier(queueImpl, size, false);
+    }
+
+    /**
+     * Enqueues one element onto a queue holding {@code size} elements and dequeues one.
+     *
+     * @return the dequeued element
+     * @throws EmptyCollectionException never, the queue is not empty */
+    @Benchmark
+    public Integer enqueueDequeue() throws EmptyCollectionException {
+        filled.enqueue(elements[0]);
+        return filled.dequeue();
+    }
+
+    /**
+     * Runs a mixed sequence of enqueues, inspections, dequeues and size queries
+     * that leaves the queue with the same number of elements.
+     *
+     * @param blackhole sink for the results of the operations
+     * @throws EmptyCollectionException never, the queue is not empty */
+    @Benchmark
+    public void mixed(Blackhole blackhole) throws EmptyCollectionException {
+        filled.enqueue(elements[0]);
+        filled.enqueue(elements[size - 1]);
+        blackhole.consume(filled.first());
+        blackhole.consume(filled.dequeue());
+        blackhole.consume(filled.size());
+        blackhole.consume(filled.dequeue());
+        blackhole.consume(filled.isEmpty());
+    }
+
+    /**
+     * Enqueues {@code size} elements onto an empty queue and dequeues all of them.
+     *
+     * @param blackhole sink for the dequeued elements
+     * @throws EmptyCollectionException never, only enqueued elements are dequeued */
+    @Benchmark
+    public void burstFillThenDrain(Blackhole blackhole) throws EmptyCollectionException {
+        for (Integer element : elements) {
+            empty.enqueue(element);
+        }
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(empty.dequeue());
+        }
+    }
+
+    /**
+     * Creates a queue with its default capacity and enqueues {@code size} elements.
+     *
+     * @return the filled queue */
+    @Benchmark
+    public QueueADT<Integer> growthFromEmpty() {
+        QueueADT<Integer> queue = factory.get();
+        for (Integer element : elements) {
+            queue.enqueue(element);
+        }
+
+        return queue;
+    }
+
+}
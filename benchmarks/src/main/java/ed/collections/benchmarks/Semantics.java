@@ -0,0 +1,55 @@
+package ed.collections.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.util.Comparator;
+
+import ed.collections.BlockingQueueADT;
+
+/**
+ * {@code Semantics} tags the implementations found by {@link Implementations}
+ * with the behaviour they add to, or change from, their interface, so that a
+ * benchmark only compares implementations that do the same work. Only
+ * {@link #PLAIN} implementations are benchmarked unless others are asked for.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public enum Semantics {
+
+    /** the plain contract of the interface: first in first out for queues, last in first out for stacks */
+    PLAIN,
+    /** elements are removed in priority order rather than in insertion order */
+    PRIORITY,
+    /** every operation takes a lock and bounded instances block or fail when full */
+    BLOCKING,
+    /** every update installs a new persistent version, which can be kept as a snapshot */
+    VERSIONED;
+
+    /**
+     * Returns the semantics of the specified implementation.
+     * Blocking queues are recognised by {@link BlockingQueueADT}, priority queues
+     * by a public constructor taking a {@link Comparator} and versioned
+     * collections by a public {@code snapshot()} method.
+     *
+     * @param implementation the class of the implementation
+     * @return the semantics of the implementation */
+    public static Semantics of(Class<?> implementation) {
+        if (BlockingQueueADT.class.isAssignableFrom(implementation)) {
+            return BLOCKING;
+        }
+
+        for (Constructor<?> constructor : implementation.getConstructors()) {
+            for (Class<?> parameter : constructor.getParameterTypes()) {
+                if (parameter == Comparator.class) {
+                    return PRIORITY;
+                }
+            }
+        }
+
+        try {
+            implementation.getMethod("snapshot");
+            return VERSIONED;
+        } catch (NoSuchMethodException e) {
+            return PLAIN;
+        }
+    }
+
+}
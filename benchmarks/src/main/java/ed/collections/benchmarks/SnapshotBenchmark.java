@@ -0,0 +1,123 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.ArrayStack;
+import ed.collections.persistent.PersistentStack;
+import ed.collections.persistent.VersionedStack;
+
+/**
+ * {@code SnapshotBenchmark} measures how long it takes to take a consistent
+ * snapshot of a stack holding {@code size} elements and sum it. The
+ * {@code copy} benchmarks lock an {@link ArrayStack} and copy its elements
+ * into a new array, which is what readers have to do when the stack may
+ * change under them; the {@code versioned} benchmarks read the current
+ * version of a {@link VersionedStack}, which takes no lock and copies
+ * nothing, and then traverses it. The {@code SnapshotOnly} variants leave the
+ * traversal out, so they show the cost of the snapshot by itself.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    /** the number of elements held by the stacks */
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** the mutable stack that is copied under its lock */
+    private ArrayStack<Integer> arrayStack;
+    /** the stack whose versions are handed out as snapshots */
+    private VersionedStack<Integer> versionedStack;
+
+    /** Fills both stacks with the same elements. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        arrayStack = new ArrayStack<>(size);
+        versionedStack = new VersionedStack<>();
+        for (int i = 0; i < size; i++) {
+            arrayStack.push(i);
+            versionedStack.push(i);
+        }
+    }
+
+    /**
+     * Copies the elements of the array stack while holding its lock.
+     *
+     * @return the copied elements */
+    private Object[] copy() {
+        synchronized (arrayStack) {
+            Object[] elements = new Object[arrayStack.size()];
+            int i = 0;
+            for (Integer element : arrayStack) {
+                elements[i++] = element;
+            }
+
+            return elements;
+        }
+    }
+
+    /**
+     * Copies the array stack under its lock.
+     *
+     * @return the copied elements */
+    @Benchmark
+    public Object[] copySnapshotOnly() {
+        return copy();
+    }
+
+    /**
+     * Reads the current version of the versioned stack.
+     *
+     * @return the current version */
+    @Benchmark
+    public PersistentStack<Integer> versionedSnapshotOnly() {
+        return versionedStack.snapshot();
+    }
+
+    /**
+     * Copies the array stack under its lock and sums the copy.
+     *
+     * @return the sum of the elements */
+    @Benchmark
+    public long copyAndSum() {
+        long sum = 0;
+        for (Object element : copy()) {
+            sum += (Integer) element;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Reads the current version of the versioned stack and sums it.
+     *
+     * @return the sum of the elements */
+    @Benchmark
+    public long versionedAndSum() {
+        long sum = 0;
+        for (Integer element : versionedStack.snapshot()) {
+            sum += element;
+        }
+
+        return sum;
+    }
+
+}
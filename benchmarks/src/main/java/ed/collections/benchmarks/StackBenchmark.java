@@ -0,0 +1,133 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code StackBenchmark} measures every {@link StackADT} implementation through
+ * the interface alone: single push/pop pairs on a stack holding {@code size}
+ * elements, a mixed sequence of operations, filling an empty stack with
+ * {@code size} elements and draining it again, and growing a new stack from
+ * its default capacity to {@code size} elements.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+
+    /** name of the parameter holding the implementation under test */
+    public static final String IMPLEMENTATION_PARAM = "stackImpl";
+
+    /** the implementation under test, relative to {@code ed.collections} */
+    @Param({"ArrayStack", "LinkedStack"})
+    public String stackImpl;
+
+    /** the number of elements held by the stack */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /** the elements pushed onto the stack, allocated up front */
+    private Integer[] elements;
+    /** a stack that holds {@code size} elements between operations */
+    private StackADT<Integer> filled;
+    /** a stack that is empty between operations */
+    private StackADT<Integer> empty;
+    /** the supplier of the stacks created by {@code growthFromEmpty}, with their default capacity */
+    private Supplier<StackADT<Integer>> factory;
+
+    /** Allocates the elements and the stacks under test, and resolves the stack supplier. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+        }
+
+        filled = Implementations.newStack(stackImpl, size + 2, true);
+        for (Integer element : elements) {
+            filled.push(element);
+        }
+
+        empty = Implementations.newStack(stackImpl, size, true);
+        factory = Implementations.stackSupplier(stackImpl, size, false);
+    }
+
+    /**
+     * Pushes one element onto a stack holding {@code size} elements and pops it.
+     *
+     * @return the popped element
+     * @throws EmptyCollectionException never, the stack is not empty */
+    @Benchmark
+    public Integer pushPop() throws EmptyCollectionException {
+        filled.push(elements[0]);
+        return filled.pop();
+    }
+
+    /**
+     * Runs a mixed sequence of pushes, peeks, pops and size queries that leaves
+     * the stack as it found it.
+     *
+     * @param blackhole sink for the results of the operations
+     * @throws EmptyCollectionException never, the stack is not empty */
+    @Benchmark
+    public void mixed(Blackhole blackhole) throws EmptyCollectionException {
+        filled.push(elements[0]);
+        filled.push(elements[size - 1]);
+        blackhole.consume(filled.peek());
+        blackhole.consume(filled.pop());
+        blackhole.consume(filled.size());
+        blackhole.consume(filled.pop());
+        blackhole.consume(filled.isEmpty());
+    }
+
+    /**
+     * Pushes {@code size} elements onto an empty stack and pops all of them.
+     *
+     * @param blackhole sink for the popped elements
+     * @throws EmptyCollectionException never, only pushed elements are popped */
+    @Benchmark
+    public void burstFillThenDrain(Blackhole blackhole) throws EmptyCollectionException {
+        for (Integer element : elements) {
+            empty.push(element);
+        }
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(empty.pop());
+        }
+    }
+
+    /**
+     * Creates a stack with its default capacity and pushes {@code size} elements.
+     *
+     * @return the filled stack */
+    @Benchmark
+    public StackADT<Integer> growthFromEmpty() {
+        StackADT<Integer> stack = factory.get();
+        for (Integer element : elements) {
+            stack.push(element);
+        }
+
+        return stack;
+    }
+
+}
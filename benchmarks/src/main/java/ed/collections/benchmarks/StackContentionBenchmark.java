@@ -0,0 +1,87 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.LinkedStack;
+import ed.collections.LockFreeLinkedStack;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code StackContentionBenchmark} measures the throughput of a stack shared by
+ * many threads that each push and then pop an element, comparing
+ * {@link LockFreeLinkedStack} with a {@link LinkedStack} guarded by a monitor.
+ * It runs with as many threads as there are processors; use {@code -t} to
+ * measure how throughput scales with the number of threads, for example
+ * {@code -t 1}, {@code -t 4}, {@code -t 32}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class StackContentionBenchmark {
+
+    /** constant to represent the number of elements left on the stack between operations */
+    private static final int BASELINE_DEPTH = 64;
+    /** constant to represent the element pushed, allocated up front */
+    private static final Integer ELEMENT = 42;
+
+    /** the implementation under test */
+    @Param({"LockFreeLinkedStack", "LockedLinkedStack"})
+    public String impl;
+
+    /** the lock-free stack, when it is the implementation under test */
+    private LockFreeLinkedStack<Integer> lockFree;
+    /** the locked stack, when it is the implementation under test */
+    private LinkedStack<Integer> locked;
+
+    /** Creates the stack under test, holding a few elements so it is rarely empty. */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        lockFree = new LockFreeLinkedStack<>();
+        locked = new LinkedStack<>();
+
+        for (int i = 0; i < BASELINE_DEPTH; i++) {
+            lockFree.push(ELEMENT);
+            locked.push(ELEMENT);
+        }
+    }
+
+    /**
+     * Pushes one element and pops one element.
+     *
+     * @return the popped element
+     * @throws EmptyCollectionException never, the stack is pre-filled */
+    @Benchmark
+    public Integer pushPop() throws EmptyCollectionException {
+        if ("LockFreeLinkedStack".equals(impl)) {
+            lockFree.push(ELEMENT);
+            return lockFree.tryPop();
+        }
+
+        synchronized (locked) {
+            locked.push(ELEMENT);
+        }
+        synchronized (locked) {
+            return locked.pop();
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code StreamBenchmark} measures a sum over the elements of a queue holding
+ * {@code size} elements, through a sequential and a parallel stream. Before
+ * the queue is filled, half as many elements are enqueued and dequeued, so
+ * the contents of a circular buffer wrap around the end of its array and the
+ * spliterator has to split across the wrap. The gap between the two
+ * benchmarks shows how well each implementation's spliterator shares the
+ * work among the cores of the machine.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+    /** the implementation under test, relative to {@code ed.collections} */
+    @Param({"CircularArrayQueue", "LinkedQueue", "ChunkedLinkedQueue"})
+    public String queueImpl;
+
+    /** the number of elements held by the queue */
+    @Param({"1000000"})
+    public int size;
+
+    /** a queue that holds {@code size} elements, wrapped around its buffer */
+    private QueueADT<Integer> queue;
+
+    /**
+     * Fills the queue under test after moving its front to the middle of the buffer.
+     *
+     * @throws EmptyCollectionException never, the queue is not empty when dequeued */
+    @Setup(Level.Trial)
+    public void setUp() throws EmptyCollectionException {
+        queue = Implementations.newQueue(queueImpl, size + 2, true);
+
+        for (int i = 0; i < size / 2; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < size / 2; i++) {
+            queue.dequeue();
+        }
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(i);
+        }
+    }
+
+    /**
+     * Sums the elements of the queue with a sequential stream.
+     *
+     * @return the sum of the elements */
+    @Benchmark
+    public long sequentialSum() {
+        return queue.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Sums the elements of the queue with a parallel stream.
+     *
+     * @return the sum of the elements */
+    @Benchmark
+    public long parallelSum() {
+        return queue.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+}
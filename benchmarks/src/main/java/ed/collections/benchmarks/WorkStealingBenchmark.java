@@ -0,0 +1,184 @@
+package ed.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ed.collections.ArrayStack;
+import ed.collections.WorkStealingDeque;
+
+/**
+ * {@code WorkStealingBenchmark} measures a task scheduler's worker deque: one
+ * owner thread pushes two tasks and pops one on every operation, keeping a
+ * backlog of at most {@code backlog} tasks, while thief threads take the
+ * oldest tasks. {@link WorkStealingDeque} is compared with an
+ * {@link ArrayStack} guarded by a monitor, from which thieves pop under the
+ * same lock as the owner.
+ * By default one owner runs against one thief; use {@code -tg 1,N} to run
+ * {@code N} thieves, for example {@code -tg 1,63} for 64 threads in total.
+ * Empty pops and steals are counted as operations, just like in the loops
+ * of an idle worker.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkStealingBenchmark {
+
+    /** constant to represent the task pushed by the owner, allocated up front */
+    private static final Integer TASK = 42;
+
+    /** the implementation under test */
+    @Param({"WorkStealingDeque", "LockedArrayStack"})
+    public String impl;
+
+    /** the number of pending tasks above which the owner stops pushing */
+    @Param({"1024"})
+    public int backlog;
+
+    /** the deque under test, behind a common push/pop/steal interface */
+    private Worker<Integer> worker;
+
+    /** Creates the deque under test. */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        switch (impl) {
+            case "WorkStealingDeque": {
+                WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+                worker = new Worker<>() {
+                    @Override
+                    public void push(Integer task) {
+                        deque.push(task);
+                    }
+
+                    @Override
+                    public Integer pop() {
+                        return deque.tryPop();
+                    }
+
+                    @Override
+                    public Integer steal() {
+                        return deque.steal();
+                    }
+
+                    @Override
+                    public int size() {
+                        return deque.size();
+                    }
+                };
+                break;
+            }
+            case "LockedArrayStack": {
+                ArrayStack<Integer> stack = new ArrayStack<>();
+                worker = new Worker<>() {
+                    @Override
+                    public void push(Integer task) {
+                        synchronized (stack) {
+                            stack.push(task);
+                        }
+                    }
+
+                    @Override
+                    public Integer pop() {
+                        synchronized (stack) {
+                            return stack.tryPop();
+                        }
+                    }
+
+                    @Override
+                    public Integer steal() {
+                        synchronized (stack) {
+                            return stack.tryPop();
+                        }
+                    }
+
+                    @Override
+                    public int size() {
+                        synchronized (stack) {
+                            return stack.size();
+                        }
+                    }
+                };
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + impl);
+        }
+    }
+
+    /**
+     * Pushes two tasks, unless the backlog is full, and pops one, as the owner thread.
+     *
+     * @return the popped task, or {@code null} if the deque was empty */
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer owner() {
+        if (worker.size() < backlog) {
+            worker.push(TASK);
+            worker.push(TASK);
+        }
+
+        return worker.pop();
+    }
+
+    /**
+     * Steals one task, as a thief thread.
+     *
+     * @return the stolen task, or {@code null} if the deque was empty */
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer thief() {
+        return worker.steal();
+    }
+
+    /**
+     * {@code Worker} gives the deques under test a common, non-throwing interface.
+     *
+     * @param <T> the type of tasks stored */
+    private interface Worker<T> {
+
+        /**
+         * Pushes a task, as the owner thread.
+         *
+         * @param task the task to be pushed */
+        void push(T task);
+
+        /**
+         * Pops the most recently pushed task, as the owner thread.
+         *
+         * @return the popped task, or {@code null} if the deque was empty */
+        T pop();
+
+        /**
+         * Takes a task, as a thief thread.
+         *
+         * @return the stolen task, or {@code null} if the deque was empty */
+        T steal();
+
+        /**
+         * Returns the number of pending tasks.
+         *
+         * @return the number of pending tasks */
+        int size();
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package ed.collections;
+
+/**
+ * {@code ArrayChunk} represents a fixed-size segment of an unrolled linked
+ * structure. Each chunk stores up to {@code elements.length} elements in a
+ * contiguous array and a reference to the next chunk, so that a whole run of
+ * elements is reached through a single link.
+ *
+ * @param <T> the type of elements stored in this chunk
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class ArrayChunk<T> {
+
+    /** array of generic elements stored in this chunk */
+    final T[] elements;
+    /** reference to the next chunk in the structure, or in the pool */
+    ArrayChunk<T> next;
+
+    /**
+     * Creates an empty chunk able to hold the specified number of elements.
+     *
+     * @param length the number of elements the chunk can hold */
+    @SuppressWarnings("unchecked")
+    ArrayChunk(int length) {
+        elements = (T[]) new Object[length];
+        next = null;
+    }
+
+}
@@ -0,0 +1,85 @@
+package ed.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.function.IntSupplier;
+
+/**
+ * {@code ArrayIterator} walks the logical positions of an array-backed
+ * collection, laid out as described in {@link ArraySpliterator}, checking on
+ * every step that the collection has not been modified behind its back.
+ * Elements cannot be removed through it.
+ *
+ * @param <T> the type of elements returned by this iterator
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class ArrayIterator<T> implements Iterator<T> {
+
+    /** the array holding the elements */
+    private final Object[] array;
+    /** int that represents the index in the array of logical position zero */
+    private final int origin;
+    /** whether logical positions run towards the start of the array */
+    private final boolean descending;
+    /** int that represents the number of elements to be returned */
+    private final int size;
+    /** the source of the collection's modification count */
+    private final IntSupplier modCount;
+    /** the modification count the collection is expected to have */
+    private final int expectedModCount;
+
+    /** int that represents the next logical position to be returned */
+    private int index;
+
+    /**
+     * Creates an iterator positioned before logical position zero.
+     *
+     * @param array the array holding the elements
+     * @param origin the index in the array of logical position zero
+     * @param descending whether logical positions run towards the start of the array
+     * @param size the number of elements in the collection
+     * @param modCount the source of the collection's modification count */
+    ArrayIterator(Object[] array, int origin, boolean descending, int size, IntSupplier modCount) {
+        this.array = array;
+        this.origin = origin;
+        this.descending = descending;
+        this.size = size;
+        this.modCount = modCount;
+        expectedModCount = modCount.getAsInt();
+        index = 0;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements */
+    @Override
+    public boolean hasNext() {
+        return index < size;
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * @return the next element in the iteration
+     * @throws ConcurrentModificationException if the collection was modified outside this iterator
+     * @throws java.util.NoSuchElementException if the iteration has no more elements */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (modCount.getAsInt() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (!hasNext()) {
+            throw new java.util.NoSuchElementException();
+        }
+
+        int position = index++;
+        if (descending) {
+            return (T) array[origin - position];
+        }
+
+        int physical = origin + position;
+        return (T) array[physical >= array.length ? physical - array.length : physical];
+    }
+
+}
@@ -0,0 +1,192 @@
+package ed.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * {@code ArraySpliterator} traverses and splits a range of logical positions
+ * of an array-backed collection. Logical position {@code i} is stored at
+ * {@code origin - i} in a descending collection such as {@link ArrayStack},
+ * whose top element is at the end of the array, and at {@code origin + i},
+ * wrapping around to the start of the array, in a circular one such as
+ * {@link CircularArrayQueue}.
+ * {@link #trySplit()} hands the first half of the remaining range to a new
+ * spliterator, so a parallel stream splits the elements evenly no matter
+ * where they wrap. The spliterator is fail-fast: it compares the
+ * collection's modification count with the one it started with after every
+ * element, and after a bulk traversal, and throws a
+ * {@link ConcurrentModificationException} if they differ.
+ *
+ * @param <T> the type of elements returned by this spliterator
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class ArraySpliterator<T> implements Spliterator<T> {
+
+    /** the array holding the elements */
+    private final Object[] array;
+    /** int that represents the index in the array of logical position zero */
+    private final int origin;
+    /** whether logical positions run towards the start of the array */
+    private final boolean descending;
+    /** the characteristics reported besides {@code SIZED} and {@code SUBSIZED} */
+    private final int characteristics;
+    /** the source of the collection's modification count */
+    private final IntSupplier modCount;
+    /** the modification count the collection is expected to have */
+    private final int expectedModCount;
+
+    /** int that represents the next logical position to be traversed */
+    private int index;
+    /** int that represents the logical position after the last one to be traversed */
+    private final int fence;
+
+    /**
+     * Creates a spliterator over the specified range of logical positions.
+     *
+     * @param array the array holding the elements
+     * @param origin the index in the array of logical position zero
+     * @param descending whether logical positions run towards the start of the array
+     * @param from the first logical position to be traversed
+     * @param to the logical position after the last one to be traversed
+     * @param characteristics the characteristics reported besides {@code SIZED} and {@code SUBSIZED}
+     * @param modCount the source of the collection's modification count */
+    ArraySpliterator(Object[] array, int origin, boolean descending, int from, int to, int characteristics, IntSupplier modCount) {
+        this(array, origin, descending, from, to, characteristics, modCount, modCount.getAsInt());
+    }
+
+    /**
+     * Creates a spliterator over the specified range of logical positions,
+     * expecting the specified modification count.
+     *
+     * @param array the array holding the elements
+     * @param origin the index in the array of logical position zero
+     * @param descending whether logical positions run towards the start of the array
+     * @param from the first logical position to be traversed
+     * @param to the logical position after the last one to be traversed
+     * @param characteristics the characteristics reported besides {@code SIZED} and {@code SUBSIZED}
+     * @param modCount the source of the collection's modification count
+     * @param expectedModCount the modification count the collection is expected to have */
+    private ArraySpliterator(Object[] array, int origin, boolean descending, int from, int to, int characteristics,
+                             IntSupplier modCount, int expectedModCount) {
+        this.array = array;
+        this.origin = origin;
+        this.descending = descending;
+        this.characteristics = characteristics;
+        this.modCount = modCount;
+        this.expectedModCount = expectedModCount;
+        index = from;
+        fence = to;
+    }
+
+    /**
+     * Returns the index in the array of the specified logical position.
+     *
+     * @param position the logical position
+     * @return the index in the array */
+    private int indexOf(int position) {
+        if (descending) {
+            return origin - position;
+        }
+
+        int physical = origin + position;
+        return physical >= array.length ? physical - array.length : physical;
+    }
+
+    /**
+     * Checks that the collection has not been structurally modified since this spliterator was created.
+     *
+     * @throws ConcurrentModificationException if it has */
+    private void checkForComodification() {
+        if (modCount.getAsInt() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs the action on the next element, if there is one.
+     *
+     * @param action the action to be performed
+     * @return {@code false} if no elements remained, {@code true} otherwise
+     * @throws ConcurrentModificationException if the collection was modified */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (index >= fence) {
+            return false;
+        }
+
+        action.accept((T) array[indexOf(index++)]);
+        checkForComodification();
+
+        return true;
+    }
+
+    /**
+     * Performs the action on every remaining element, reading each contiguous
+     * run of the array in a plain loop.
+     *
+     * @param action the action to be performed
+     * @throws ConcurrentModificationException if the collection was modified */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+
+        int from = index;
+        index = fence;
+        if (descending) {
+            for (int i = origin - from, end = origin - fence; i > end; i--) {
+                action.accept((T) array[i]);
+            }
+        } else {
+            int start = indexOf(from);
+            int headLength = Math.min(fence - from, array.length - start);
+            for (int i = start, end = start + headLength; i < end; i++) {
+                action.accept((T) array[i]);
+            }
+            for (int i = 0, end = fence - from - headLength; i < end; i++) {
+                action.accept((T) array[i]);
+            }
+        }
+
+        checkForComodification();
+    }
+
+    /**
+     * Hands the first half of the remaining positions to a new spliterator.
+     *
+     * @return a spliterator over the first half, or {@code null} if fewer than two elements remain */
+    @Override
+    public Spliterator<T> trySplit() {
+        int from = index;
+        int middle = (from + fence) >>> 1;
+        if (from >= middle) {
+            return null;
+        }
+
+        index = middle;
+        return new ArraySpliterator<>(array, origin, descending, from, middle, characteristics, modCount, expectedModCount);
+    }
+
+    /**
+     * Returns the number of elements that remain to be traversed.
+     *
+     * @return the exact number of remaining elements */
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    /**
+     * Returns the characteristics of this spliterator.
+     *
+     * @return the characteristics given on creation, plus {@code SIZED} and {@code SUBSIZED} */
+    @Override
+    public int characteristics() {
+        return characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+}
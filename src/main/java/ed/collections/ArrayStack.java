@@ -1,6 +1,9 @@
 package ed.collections;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
 import ed.collections.exceptions.EmptyCollectionException;
 
 /**
@@ -8,25 +11,33 @@ import ed.collections.exceptions.EmptyCollectionException;
  * It stores elements in a generic array and supports typical stack
  * operations such as {@code push}, {@code pop}, and {@code peek}.
  * When the internal array becomes full, its capacity is automatically
- * expanded by a fixed expansion factor.
+ * expanded according to a {@link ResizePolicy}; the policy may also shrink
+ * the array once enough elements have been removed.
+ * Iterating from the top to the bottom walks the array backwards, and the
+ * spliterator splits that index range evenly so parallel streams share the
+ * work; both are fail-fast.
  *
  * @param <T> the type of elements stored in this stack
  * @author José Azevedo (8240127@estg.ipp.pt) */
-public class ArrayStack<T> implements StackADT<T> {
+public class ArrayStack<T> implements StackADT<T>, Resizable {
 
-    /** constant to represent the default capacity of the array */
-    private static final int DEFAULT_CAPACITY = 100;
-    /** constant to represent the expanding factor of the array capacity */
-    private static final int EXPAND_FACTOR = 2;
+    /** the policy that decides how the array grows and shrinks */
+    private final ResizePolicy resizePolicy;
 
     /** int that represents both the number of elements and the next available position in the array */
     private int top;
+    /** int that represents the number of elements at or below which the array shrinks, or -1 */
+    private int shrinkLimit;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** the listener notified after every reallocation of the array, or {@code null} */
+    private ResizeListener resizeListener;
     /** array of generic elements to represent the stack */
     private T[] stack;
 
     /** Creates an empty stack using the default constructor. */
     public ArrayStack() {
-        this(DEFAULT_CAPACITY);
+        this(ResizePolicy.DEFAULT_CAPACITY);
     }
 
     /**
@@ -34,21 +45,91 @@ public class ArrayStack<T> implements StackADT<T> {
      *
      * @param initialCapacity represents the specified capacity
      * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
-    @SuppressWarnings("unchecked")
     public ArrayStack(int initialCapacity) {
+        this(initialCapacity, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates an empty stack using the specified capacity and resize policy.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @param resizePolicy the policy that decides how the array grows and shrinks
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    @SuppressWarnings("unchecked")
+    public ArrayStack(int initialCapacity, ResizePolicy resizePolicy) {
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("Capacity cannot be negative or zero.");
         }
 
-        top = 0;
+        this.resizePolicy = resizePolicy;
+        top = modCount = 0;
         stack = (T[]) new Object[initialCapacity];
+        shrinkLimit = resizePolicy.shrinkLimit(initialCapacity);
     }
 
     /**
      * Expands the capacity of this stack's underlying array when it becomes full.
-     * The capacity is multiplied by the expansion factor. */
+     * The new capacity is chosen by the resize policy. */
     private void expandCapacity() {
-        stack = Arrays.copyOf(stack, stack.length * EXPAND_FACTOR);
+        resize(resizePolicy.grow(stack.length, top + 1));
+    }
+
+    /**
+     * Shrinks the capacity of this stack's underlying array once enough
+     * elements have been removed. The new capacity is chosen by the resize policy. */
+    private void shrinkCapacity() {
+        resize(resizePolicy.shrink(stack.length, top));
+    }
+
+    /**
+     * Moves the elements of this stack to an array of the specified length.
+     *
+     * @param capacity the length of the new array, not less than the number of elements */
+    private void resize(int capacity) {
+        int oldCapacity = stack.length;
+        stack = Arrays.copyOf(stack, capacity);
+        shrinkLimit = resizePolicy.shrinkLimit(capacity);
+
+        ResizeEvent.record(this, oldCapacity, capacity, top, resizeListener);
+    }
+
+    /**
+     * Returns the listener notified after every reallocation of this stack's array.
+     *
+     * @return the listener, or {@code null} if none is set */
+    @Override
+    public ResizeListener getResizeListener() {
+        return resizeListener;
+    }
+
+    /**
+     * Sets the listener notified after every reallocation of this stack's array.
+     *
+     * @param listener the listener to be notified, or {@code null} to notify none */
+    @Override
+    public void setResizeListener(ResizeListener listener) {
+        resizeListener = listener;
+    }
+
+    /**
+     * Increases the capacity of this stack, if necessary, so that it can hold
+     * at least the specified number of elements without expanding again.
+     *
+     * @param minCapacity the desired minimum capacity */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > stack.length) {
+            resize(resizePolicy.grow(stack.length, minCapacity));
+        }
+    }
+
+    /**
+     * Reduces the capacity of this stack's underlying array to its current
+     * number of elements, keeping room for at least one element. */
+    public void trimToSize() {
+        int capacity = Math.max(top, 1);
+        if (capacity < stack.length) {
+            resize(capacity);
+        }
     }
 
     /**
@@ -63,6 +144,59 @@ public class ArrayStack<T> implements StackADT<T> {
         }
 
         stack[top++] = element;
+        modCount++;
+    }
+
+    /**
+     * Pushes a range of elements from an array onto this stack, in order,
+     * so that the last element of the range ends up on top.
+     * The array is expanded at most once and the range is moved with a single block copy.
+     *
+     * @param src the array holding the elements to be pushed
+     * @param off the index of the first element to be pushed
+     * @param len the number of elements to be pushed
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void pushAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        if (len > stack.length - top) {
+            resize(resizePolicy.grow(stack.length, top + len));
+        }
+
+        System.arraycopy(src, off, stack, top, len);
+        top += len;
+        modCount++;
+    }
+
+    /**
+     * Pops up to {@code max} elements from this stack into an array, in the
+     * order they are popped, so that the former top element is stored first.
+     * Because the order is reversed the elements are moved in a single pass,
+     * and the vacated slots are cleared with one block fill.
+     *
+     * @param dst the array that receives the popped elements, from index zero
+     * @param max the largest number of elements to be popped
+     * @return int number of elements popped
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater than the length of {@code dst} */
+    @Override
+    public int popN(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = Math.min(max, top);
+        for (int i = 0; i < count; i++) {
+            dst[i] = stack[top - 1 - i];
+        }
+
+        Arrays.fill(stack, top - count, top, null);
+        top -= count;
+        modCount++;
+
+        if (count > 0 && top <= shrinkLimit) {
+            shrinkCapacity();
+        }
+
+        return count;
     }
 
     /**
@@ -76,12 +210,31 @@ public class ArrayStack<T> implements StackADT<T> {
     @Override
     public T pop() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Stack");
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return tryPop();
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns a
+     * reference to it, or returns {@code null} if the stack is empty.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    public T tryPop() {
+        if (isEmpty()) {
+            return null;
         }
 
         top--;
         T result = stack[top];
         stack[top] = null;
+        modCount++;
+
+        if (top <= shrinkLimit) {
+            shrinkCapacity();
+        }
 
         return result;
     }
@@ -97,12 +250,22 @@ public class ArrayStack<T> implements StackADT<T> {
     @Override
     public T peek() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Stack");
+            throw EmptyCollectionException.of("Stack");
         }
 
         return stack[top - 1];
     }
 
+    /**
+     * Returns a reference to the element at the top of this stack,
+     * or {@code null} if the stack is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : stack[top - 1];
+    }
+
     /**
      * Returns true if this stack contains no elements.
      *
@@ -121,6 +284,25 @@ public class ArrayStack<T> implements StackADT<T> {
         return top;
     }
 
+    /**
+     * Returns a fail-fast iterator over the elements in this stack, from the top to the bottom.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayIterator<>(stack, top - 1, true, top, () -> modCount);
+    }
+
+    /**
+     * Returns a fail-fast spliterator over the elements in this stack, from
+     * the top to the bottom, that splits the index range in halves.
+     *
+     * @return a spliterator over the elements in this stack */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(stack, top - 1, true, 0, top, Spliterator.ORDERED, () -> modCount);
+    }
+
     /**
      * Returns a string representation of this stack.
      *
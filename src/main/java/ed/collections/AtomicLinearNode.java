@@ -0,0 +1,96 @@
+package ed.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * {@code AtomicLinearNode} represents a single node in a linked structure that
+ * is shared between threads. Like {@link LinearNode}, each node stores an element
+ * and a reference to the next node, but the reference can be updated atomically
+ * with a compare-and-set, which is what lock-free linked structures are built on.
+ *
+ * @param <T> the type of element stored in this node
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class AtomicLinearNode<T> {
+
+    /** handle used to read, write and CAS the {@code next} reference */
+    private static final VarHandle NEXT;
+    /** handle used to read and clear the {@code element} reference */
+    private static final VarHandle ELEMENT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEXT = lookup.findVarHandle(AtomicLinearNode.class, "next", AtomicLinearNode.class);
+            ELEMENT = lookup.findVarHandle(AtomicLinearNode.class, "element", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** reference to the next node in list */
+    private volatile AtomicLinearNode<T> next;
+    /** element stored in this node */
+    private volatile T element;
+
+    /** Creates an empty node. */
+    public AtomicLinearNode() {
+        this(null);
+    }
+
+    /**
+     * Creates a node storing the specified element.
+     * The element is written with a plain store; it becomes visible to other
+     * threads once the node itself is published through a CAS or volatile write.
+     *
+     * @param element element to be stored */
+    public AtomicLinearNode(T element) {
+        ELEMENT.set(this, element);
+    }
+
+    /**
+     * Returns the node that follows this one.
+     *
+     * @return AtomicLinearNode&lt;T&gt; reference to next node */
+    public AtomicLinearNode<T> getNext() {
+        return next;
+    }
+
+    /**
+     * Sets the node that follows this one using a plain store.
+     * Intended for nodes that have not been published to other threads yet.
+     *
+     * @param next node to follow this one */
+    public void setNext(AtomicLinearNode<T> next) {
+        NEXT.set(this, next);
+    }
+
+    /**
+     * Atomically sets the node that follows this one to {@code update}
+     * if it currently is {@code expected}.
+     *
+     * @param expected the expected next node
+     * @param update the new next node
+     * @return {@code true} if successful, {@code false} if the next node was not {@code expected} */
+    public boolean casNext(AtomicLinearNode<T> expected, AtomicLinearNode<T> update) {
+        return NEXT.compareAndSet(this, expected, update);
+    }
+
+    /**
+     * Returns the element stored in this node.
+     *
+     * @return T element stored in this node */
+    public T getElement() {
+        return element;
+    }
+
+    /**
+     * Replaces the element stored in this node using a release store.
+     * Lock-free structures use it to drop references to removed elements.
+     *
+     * @param element the new element of this node */
+    public void setElement(T element) {
+        ELEMENT.setRelease(this, element);
+    }
+
+}
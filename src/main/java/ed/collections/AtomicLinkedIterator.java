@@ -0,0 +1,73 @@
+package ed.collections;
+
+import java.util.Iterator;
+
+/**
+ * {@code AtomicLinkedIterator} follows a chain of {@link AtomicLinearNode}
+ * objects shared by concurrent threads. It is weakly consistent: it never
+ * throws a {@link java.util.ConcurrentModificationException}, it returns
+ * each element at most once, and it may or may not reflect changes made
+ * after it was created. Nodes whose element has already been cleared by a
+ * removal are skipped, and the next element is read ahead so that
+ * {@link #hasNext()} and {@link #next()} always agree.
+ * Elements cannot be removed through it.
+ *
+ * @param <T> the type of elements returned by this iterator
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class AtomicLinkedIterator<T> implements Iterator<T> {
+
+    /** reference to the node after the one holding the next element */
+    private AtomicLinearNode<T> current;
+    /** the next element to be returned, or {@code null} if there is none */
+    private T nextElement;
+
+    /**
+     * Creates an iterator positioned before the first live element of the specified node chain.
+     *
+     * @param first the first node of the chain, or {@code null} if it is empty */
+    AtomicLinkedIterator(AtomicLinearNode<T> first) {
+        current = first;
+        advance();
+    }
+
+    /** Reads ahead to the next node that still holds an element. */
+    private void advance() {
+        while (current != null) {
+            T element = current.getElement();
+            current = current.getNext();
+            if (element != null) {
+                nextElement = element;
+                return;
+            }
+        }
+
+        nextElement = null;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements */
+    @Override
+    public boolean hasNext() {
+        return nextElement != null;
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * @return the next element in the iteration
+     * @throws java.util.NoSuchElementException if the iteration has no more elements */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new java.util.NoSuchElementException();
+        }
+
+        T result = nextElement;
+        advance();
+
+        return result;
+    }
+
+}
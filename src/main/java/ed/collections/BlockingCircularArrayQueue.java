@@ -0,0 +1,476 @@
+package ed.collections;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code BlockingCircularArrayQueue} class provides a thread-safe,
+ * blocking implementation of the {@link BlockingQueueADT} interface on top of
+ * a {@link CircularArrayQueue}.
+ * Every operation runs under a single {@link ReentrantLock}; producers wait on
+ * a {@code notFull} condition and consumers on a {@code notEmpty} condition,
+ * so waiting threads are parked instead of spinning or holding a monitor.
+ * The queue is unbounded unless a capacity is given, in which case
+ * {@link #put(Object)} waits for space and the underlying array is allocated
+ * at that capacity up front so that it never has to expand.
+ * {@link #enqueueAll(Object[], int, int)} adds a batch atomically: all of it
+ * or, if it does not fit, none of it.
+ * The time spent waiting is recorded in a {@link WaitMetrics} object.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class BlockingCircularArrayQueue<T> implements BlockingQueueADT<T> {
+
+    /** int that represents the largest number of elements this queue can hold */
+    private final int capacity;
+    /** the queue that stores the elements, only accessed while holding {@code lock} */
+    private final CircularArrayQueue<T> queue;
+    /** the lock guarding every access to {@code queue} */
+    private final ReentrantLock lock;
+    /** condition signalled when an element is added */
+    private final Condition notEmpty;
+    /** condition signalled when an element is removed */
+    private final Condition notFull;
+    /** counters of the time spent waiting in this queue */
+    private final WaitMetrics metrics;
+
+    /** Creates an empty, unbounded queue. */
+    public BlockingCircularArrayQueue() {
+        this(Integer.MAX_VALUE, new CircularArrayQueue<>());
+    }
+
+    /**
+     * Creates an empty queue that holds at most the specified number of elements.
+     *
+     * @param capacity the largest number of elements the queue can hold
+     * @throws IllegalArgumentException if {@code capacity} is less than or equal to zero */
+    public BlockingCircularArrayQueue(int capacity) {
+        this(capacity, new CircularArrayQueue<>(capacity));
+    }
+
+    /**
+     * Creates an empty queue with the specified capacity, backed by the specified queue.
+     *
+     * @param capacity the largest number of elements the queue can hold
+     * @param queue the empty queue that stores the elements */
+    private BlockingCircularArrayQueue(int capacity, CircularArrayQueue<T> queue) {
+        this.capacity = capacity;
+        this.queue = queue;
+        lock = new ReentrantLock();
+        notEmpty = lock.newCondition();
+        notFull = lock.newCondition();
+        metrics = new WaitMetrics();
+    }
+
+    /**
+     * Adds an element to the underlying queue and wakes up a waiting consumer.
+     * Must be called while holding the lock, with the queue not full.
+     *
+     * @param element the element to be added */
+    private void insert(T element) {
+        queue.enqueue(element);
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes an element from the underlying queue and wakes up a waiting producer.
+     * Must be called while holding the lock, with the queue not empty.
+     *
+     * @return the element removed from the front of the queue */
+    private T extract() {
+        T result = queue.poll();
+        notFull.signal();
+
+        return result;
+    }
+
+    /**
+     * Checks that an element can be stored in this queue.
+     *
+     * @param element the element to be checked
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    private static void checkElement(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue, waiting
+     * if necessary for space to become available.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public void put(T element) throws InterruptedException {
+        checkElement(element);
+
+        lock.lockInterruptibly();
+        try {
+            if (queue.size() == capacity) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.size() == capacity) {
+                        notFull.await();
+                    }
+                } finally {
+                    metrics.recordPutWait(System.nanoTime() - start);
+                }
+            }
+            insert(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, waiting
+     * if necessary until an element becomes available.
+     *
+     * @return the element removed from the front of the queue
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (queue.isEmpty()) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.isEmpty()) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    metrics.recordTakeWait(System.nanoTime() - start);
+                }
+            }
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue if there is
+     * space for it, without waiting.
+     *
+     * @param element the element to be added to the queue
+     * @return {@code true} if the element was added, {@code false} if the queue is full
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public boolean offer(T element) {
+        checkElement(element);
+
+        lock.lock();
+        try {
+            if (queue.size() == capacity) {
+                return false;
+            }
+            insert(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue, waiting up to the
+     * specified time for space to become available.
+     *
+     * @param element the element to be added to the queue
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the element was added, {@code false} if the time elapsed first
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        checkElement(element);
+
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            if (queue.size() == capacity) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.size() == capacity) {
+                        if (nanos <= 0) {
+                            metrics.recordTimeout();
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    metrics.recordPutWait(System.nanoTime() - start);
+                }
+            }
+            insert(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, waiting up
+     * to the specified time for an element to become available.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of {@code timeout}
+     * @return the element removed from the front of the queue, or {@code null}
+     * if the time elapsed first
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            if (queue.isEmpty()) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.isEmpty()) {
+                        if (nanos <= 0) {
+                            metrics.recordTimeout();
+                            return null;
+                        }
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    metrics.recordTakeWait(System.nanoTime() - start);
+                }
+            }
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue without waiting.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws IllegalStateException if the queue is full */
+    @Override
+    public void enqueue(T element) {
+        if (!offer(element)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in
+     * order, without waiting. Either every element is added or none is: the
+     * elements are checked before taking the lock, and the space for all of
+     * them is checked once while holding it, so a batch that does not fit
+     * leaves the queue unchanged. The elements are copied in one block and
+     * every waiting consumer is woken up.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src}
+     * @throws IllegalArgumentException if any of the elements is {@code null}
+     * @throws IllegalStateException if the queue does not have room for {@code len} more elements */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off; i < off + len; i++) {
+            checkElement(src[i]);
+        }
+
+        lock.lock();
+        try {
+            if (len > capacity - queue.size()) {
+                throw new IllegalStateException("Queue is full.");
+            }
+            queue.enqueueAll(src, off, len);
+            if (len > 0) {
+                notEmpty.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, or returns
+     * {@code null} if the queue is empty, without waiting.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return queue.isEmpty() ? null : extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue without waiting.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        T result = poll();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        lock.lock();
+        try {
+            return queue.peekOrNull();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements this queue can still accept without
+     * waiting, or {@link Integer#MAX_VALUE} if it is unbounded.
+     *
+     * @return the remaining capacity of this queue */
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the counters of the time spent waiting in this queue.
+     *
+     * @return the wait metrics of this queue */
+    @Override
+    public WaitMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this queue, from
+     * the front to the rear, taken while holding the lock. It never throws a
+     * {@link java.util.ConcurrentModificationException} and does not reflect
+     * later changes.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over a snapshot of the elements in this queue,
+     * taken while holding the lock, which splits the snapshot array evenly.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(snapshot(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the capacity
+     * and a list of the elements in logical order.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            StringBuilder stringBuilder = new StringBuilder("BlockingCircularArrayQueue{ size = " + queue.size()
+                    + ", capacity = " + (capacity == Integer.MAX_VALUE ? "unbounded" : capacity) + "\n");
+
+            int i = 1;
+            for (T element : queue) {
+                stringBuilder.append(String.format("\t%d -> %s\n", i++, element));
+            }
+
+            return stringBuilder.append("}").toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the elements of this queue in logical order while holding the lock.
+     *
+     * @return an array holding the elements of the queue */
+    private Object[] snapshot() {
+        lock.lock();
+        try {
+            Object[] elements = new Object[queue.size()];
+            int i = 0;
+            for (T element : queue) {
+                elements[i++] = element;
+            }
+
+            return elements;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,610 @@
+package ed.collections;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code BlockingLinkedQueue} class provides a thread-safe, blocking
+ * linked implementation of the {@link BlockingQueueADT} interface that lets
+ * one producer and one consumer work at the same time.
+ * Like {@link LinkedQueue}, the elements are stored in {@link LinearNode}
+ * objects, but the queue keeps a dummy node at the front: {@code head} refers
+ * to the dummy and the element at the front of the queue lives in the node
+ * that follows it. Producers only touch {@code rear} and consumers only touch
+ * {@code head}, so each end is guarded by its own {@link ReentrantLock}
+ * ({@code putLock} and {@code takeLock}), and the number of elements is kept
+ * in an {@link AtomicInteger} shared by both.
+ * The queue is unbounded unless a capacity is given, in which case
+ * {@link #put(Object)} waits for space and
+ * {@link #enqueueAll(Object[], int, int)} adds a batch only if all of it fits.
+ * The time spent waiting is recorded in a {@link WaitMetrics} object.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class BlockingLinkedQueue<T> implements BlockingQueueADT<T> {
+
+    /** int that represents the largest number of elements this queue can hold */
+    private final int capacity;
+    /** number of elements currently stored in this queue */
+    private final AtomicInteger count;
+    /** the lock held by consumers */
+    private final ReentrantLock takeLock;
+    /** condition signalled when an element is added */
+    private final Condition notEmpty;
+    /** the lock held by producers */
+    private final ReentrantLock putLock;
+    /** condition signalled when an element is removed */
+    private final Condition notFull;
+    /** counters of the time spent waiting in this queue */
+    private final WaitMetrics metrics;
+
+    /** reference to the dummy node that precedes the element at the front of this queue */
+    private LinearNode<T> head;
+    /** reference to the last node in the queue, which is the dummy node when the queue is empty */
+    private LinearNode<T> rear;
+
+    /** Creates an empty, unbounded queue. */
+    public BlockingLinkedQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an empty queue that holds at most the specified number of elements.
+     *
+     * @param capacity the largest number of elements the queue can hold
+     * @throws IllegalArgumentException if {@code capacity} is less than or equal to zero */
+    public BlockingLinkedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+
+        this.capacity = capacity;
+        count = new AtomicInteger();
+        takeLock = new ReentrantLock();
+        notEmpty = takeLock.newCondition();
+        putLock = new ReentrantLock();
+        notFull = putLock.newCondition();
+        metrics = new WaitMetrics();
+        head = rear = new LinearNode<>();
+    }
+
+    /**
+     * Links a node after the last one. Must be called while holding {@code putLock}.
+     *
+     * @param node the node to be linked */
+    private void link(LinearNode<T> node) {
+        rear.setNext(node);
+        rear = node;
+    }
+
+    /**
+     * Unlinks the node that follows the dummy, which becomes the new dummy.
+     * Must be called while holding {@code takeLock}, with the queue not empty.
+     *
+     * @return the element that was stored in the unlinked node */
+    private T unlink() {
+        LinearNode<T> dummy = head;
+        LinearNode<T> first = dummy.getNext();
+
+        dummy.setNext(null);
+        head = first;
+
+        T result = first.getElement();
+        first.setElement(null);
+
+        return result;
+    }
+
+    /** Wakes up a waiting consumer; called by producers after adding to an empty queue. */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /** Wakes up a waiting producer; called by consumers after removing from a full queue. */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * Checks that an element can be stored in this queue.
+     *
+     * @param element the element to be checked
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    private static void checkElement(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue, waiting
+     * if necessary for space to become available.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public void put(T element) throws InterruptedException {
+        checkElement(element);
+
+        LinearNode<T> newNode = new LinearNode<>(element);
+        int previous;
+
+        putLock.lockInterruptibly();
+        try {
+            if (count.get() == capacity) {
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == capacity) {
+                        notFull.await();
+                    }
+                } finally {
+                    metrics.recordPutWait(System.nanoTime() - start);
+                }
+            }
+            link(newNode);
+            previous = count.getAndIncrement();
+            if (previous + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+
+        if (previous == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, waiting
+     * if necessary until an element becomes available.
+     *
+     * @return the element removed from the front of the queue
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public T take() throws InterruptedException {
+        T result;
+        int previous;
+
+        takeLock.lockInterruptibly();
+        try {
+            if (count.get() == 0) {
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == 0) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    metrics.recordTakeWait(System.nanoTime() - start);
+                }
+            }
+            result = unlink();
+            previous = count.getAndDecrement();
+            if (previous > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        if (previous == capacity) {
+            signalNotFull();
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue if there is
+     * space for it, without waiting.
+     *
+     * @param element the element to be added to the queue
+     * @return {@code true} if the element was added, {@code false} if the queue is full
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public boolean offer(T element) {
+        checkElement(element);
+
+        if (count.get() == capacity) {
+            return false;
+        }
+
+        LinearNode<T> newNode = new LinearNode<>(element);
+        int previous;
+
+        putLock.lock();
+        try {
+            if (count.get() == capacity) {
+                return false;
+            }
+            link(newNode);
+            previous = count.getAndIncrement();
+            if (previous + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+
+        if (previous == 0) {
+            signalNotEmpty();
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in
+     * order, without waiting. Either every element is added or none is: the
+     * nodes are linked to each other before taking {@code putLock}, and the
+     * space for all of them is checked once while holding it, so a batch that
+     * does not fit leaves the queue unchanged.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src}
+     * @throws IllegalArgumentException if any of the elements is {@code null}
+     * @throws IllegalStateException if the queue does not have room for {@code len} more elements */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        if (len == 0) {
+            return;
+        }
+
+        checkElement(src[off]);
+        LinearNode<T> first = new LinearNode<>(src[off]);
+        LinearNode<T> last = first;
+        for (int i = off + 1; i < off + len; i++) {
+            checkElement(src[i]);
+            LinearNode<T> node = new LinearNode<>(src[i]);
+            last.setNext(node);
+            last = node;
+        }
+
+        int previous;
+
+        putLock.lock();
+        try {
+            if (len > capacity - count.get()) {
+                throw new IllegalStateException("Queue is full.");
+            }
+            rear.setNext(first);
+            rear = last;
+            previous = count.getAndAdd(len);
+            if (previous + len < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+
+        if (previous == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue, waiting up to the
+     * specified time for space to become available.
+     *
+     * @param element the element to be added to the queue
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the element was added, {@code false} if the time elapsed first
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        checkElement(element);
+
+        LinearNode<T> newNode = new LinearNode<>(element);
+        long nanos = unit.toNanos(timeout);
+        int previous;
+
+        putLock.lockInterruptibly();
+        try {
+            if (count.get() == capacity) {
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == capacity) {
+                        if (nanos <= 0) {
+                            metrics.recordTimeout();
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    metrics.recordPutWait(System.nanoTime() - start);
+                }
+            }
+            link(newNode);
+            previous = count.getAndIncrement();
+            if (previous + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+
+        if (previous == 0) {
+            signalNotEmpty();
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, waiting up
+     * to the specified time for an element to become available.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of {@code timeout}
+     * @return the element removed from the front of the queue, or {@code null}
+     * if the time elapsed first
+     * @throws InterruptedException if interrupted while waiting */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        T result;
+        int previous;
+
+        takeLock.lockInterruptibly();
+        try {
+            if (count.get() == 0) {
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == 0) {
+                        if (nanos <= 0) {
+                            metrics.recordTimeout();
+                            return null;
+                        }
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    metrics.recordTakeWait(System.nanoTime() - start);
+                }
+            }
+            result = unlink();
+            previous = count.getAndDecrement();
+            if (previous > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        if (previous == capacity) {
+            signalNotFull();
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue without waiting.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws IllegalStateException if the queue is full */
+    @Override
+    public void enqueue(T element) {
+        if (!offer(element)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, or returns
+     * {@code null} if the queue is empty, without waiting.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        if (count.get() == 0) {
+            return null;
+        }
+
+        T result;
+        int previous;
+
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            result = unlink();
+            previous = count.getAndDecrement();
+            if (previous > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        if (previous == capacity) {
+            signalNotFull();
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue without waiting.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        T result = poll();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        if (count.get() == 0) {
+            return null;
+        }
+
+        takeLock.lock();
+        try {
+            return count.get() == 0 ? null : head.getNext().getElement();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements this queue can still accept without
+     * waiting, or {@link Integer#MAX_VALUE} if it is unbounded.
+     *
+     * @return the remaining capacity of this queue */
+    @Override
+    public int remainingCapacity() {
+        return capacity - count.get();
+    }
+
+    /**
+     * Returns the counters of the time spent waiting in this queue.
+     *
+     * @return the wait metrics of this queue */
+    @Override
+    public WaitMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty; {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this queue, from
+     * the front to the rear, taken while holding both locks. It never throws a
+     * {@link java.util.ConcurrentModificationException} and does not reflect
+     * later changes.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over a snapshot of the elements in this queue,
+     * taken while holding both locks, which splits the snapshot array evenly.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(snapshot(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the capacity and the ordered list
+     * of elements; both locks are held while it is built.
+     *
+     * @return a string representation of this {@code BlockingLinkedQueue} */
+    @Override
+    public String toString() {
+        putLock.lock();
+        takeLock.lock();
+        try {
+            StringBuilder stringBuilder = new StringBuilder("BlockingLinkedQueue{ size = " + count.get()
+                    + ", capacity = " + (capacity == Integer.MAX_VALUE ? "unbounded" : capacity) + "\n");
+
+            LinearNode<T> current = head.getNext();
+            int i = 1;
+            while (current != null) {
+                stringBuilder.append(String.format("\t%d -> %s\n", i++, current.getElement()));
+                current = current.getNext();
+            }
+
+            return stringBuilder.append("}").toString();
+        } finally {
+            takeLock.unlock();
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * Copies the elements of this queue in logical order while holding both locks.
+     *
+     * @return an array holding the elements of the queue */
+    private Object[] snapshot() {
+        putLock.lock();
+        takeLock.lock();
+        try {
+            Object[] elements = new Object[count.get()];
+            int i = 0;
+            for (LinearNode<T> current = head.getNext(); current != null; current = current.getNext()) {
+                elements[i++] = current.getElement();
+            }
+
+            return elements;
+        } finally {
+            takeLock.unlock();
+            putLock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package ed.collections;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BlockingQueueADT} extends {@link QueueADT} with operations that
+ * wait for the queue to become non-empty when removing an element, and for
+ * space to become available when adding one to a queue with a bounded capacity.
+ * The {@link QueueADT} operations keep their non-blocking behaviour:
+ * {@link #enqueue(Object)} throws when a bounded queue is full, and
+ * {@link #dequeue()} throws when the queue is empty.
+ * Blocking queues do not accept {@code null} elements, so that {@code null}
+ * can be returned to report that no element was available.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface BlockingQueueADT<T> extends QueueADT<T> {
+
+    /**
+     * Adds the specified element to the rear of this queue, waiting
+     * if necessary for space to become available.
+     *
+     * @param element the element to be added to the queue
+     * @throws InterruptedException if interrupted while waiting */
+    public void put(T element) throws InterruptedException;
+
+    /**
+     * Removes and returns the element at the front of this queue, waiting
+     * if necessary until an element becomes available.
+     *
+     * @return the element removed from the front of the queue
+     * @throws InterruptedException if interrupted while waiting */
+    public T take() throws InterruptedException;
+
+    /**
+     * Adds the specified element to the rear of this queue if there is
+     * space for it, without waiting.
+     *
+     * @param element the element to be added to the queue
+     * @return {@code true} if the element was added, {@code false} if the queue is full */
+    public boolean offer(T element);
+
+    /**
+     * Adds the specified element to the rear of this queue, waiting up to the
+     * specified time for space to become available.
+     *
+     * @param element the element to be added to the queue
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the element was added, {@code false} if the time elapsed first
+     * @throws InterruptedException if interrupted while waiting */
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Removes and returns the element at the front of this queue, waiting up
+     * to the specified time for an element to become available.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit the unit of {@code timeout}
+     * @return the element removed from the front of the queue, or {@code null}
+     * if the time elapsed first
+     * @throws InterruptedException if interrupted while waiting */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns the number of elements this queue can still accept without
+     * waiting, or {@link Integer#MAX_VALUE} if it is unbounded.
+     *
+     * @return the remaining capacity of this queue */
+    public int remainingCapacity();
+
+    /**
+     * Returns the counters of the time spent waiting in this queue.
+     *
+     * @return the wait metrics of this queue */
+    public WaitMetrics metrics();
+
+}
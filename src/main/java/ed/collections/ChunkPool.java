@@ -0,0 +1,68 @@
+package ed.collections;
+
+/**
+ * {@code ChunkPool} keeps a bounded number of drained {@link ArrayChunk}
+ * objects so that an unrolled structure can take them back instead of
+ * allocating new ones. The pooled chunks are linked through their own
+ * {@code next} reference, so the pool itself allocates nothing.
+ * A pool belongs to a single structure and is not thread-safe.
+ *
+ * @param <T> the type of elements stored in the chunks
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class ChunkPool<T> {
+
+    /** int that represents the number of elements each chunk can hold */
+    private final int chunkSize;
+    /** int that represents the largest number of chunks kept in the pool */
+    private final int maxChunks;
+
+    /** int that represents the number of chunks currently in the pool */
+    private int pooled;
+    /** reference to the first chunk in the pool */
+    private ArrayChunk<T> first;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param chunkSize the number of elements each chunk can hold
+     * @param maxChunks the largest number of chunks kept in the pool */
+    ChunkPool(int chunkSize, int maxChunks) {
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        pooled = 0;
+        first = null;
+    }
+
+    /**
+     * Returns an empty chunk, taken from the pool if one is available.
+     *
+     * @return an empty chunk that is not linked to any other chunk */
+    ArrayChunk<T> obtain() {
+        if (first == null) {
+            return new ArrayChunk<>(chunkSize);
+        }
+
+        ArrayChunk<T> chunk = first;
+        first = chunk.next;
+        chunk.next = null;
+        pooled--;
+
+        return chunk;
+    }
+
+    /**
+     * Gives a drained chunk back to the pool, or lets it be collected if the
+     * pool is already full. The chunk must hold no elements.
+     *
+     * @param chunk the chunk that is no longer used */
+    void recycle(ArrayChunk<T> chunk) {
+        if (pooled < maxChunks) {
+            chunk.next = first;
+            first = chunk;
+            pooled++;
+        } else {
+            chunk.next = null;
+        }
+    }
+
+}
@@ -0,0 +1,351 @@
+package ed.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code ChunkedLinkedQueue} class provides an unrolled linked
+ * implementation of the {@link QueueADT} interface. Instead of one
+ * {@link LinearNode} per element, the queue links fixed-size array segments
+ * ({@link ArrayChunk} objects): elements are added to the segment at the rear
+ * and removed from the segment at the front, so consecutive elements share a
+ * segment and are reached without following a link.
+ * The queue grows without bound and never copies its elements: when the rear
+ * segment is full a new one is linked after it. Drained segments are kept in a
+ * small pool owned by the queue and reused when a new segment is needed, so a
+ * queue whose size stays within a few segments stops allocating.
+ * All operations run in constant time O(1).
+ * The iterator is fail-fast and reads each segment in turn; the spliterator
+ * splits off batches of the elements it returns.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class ChunkedLinkedQueue<T> implements QueueADT<T> {
+
+    /** constant to represent the default number of elements in each segment */
+    private static final int DEFAULT_CHUNK_SIZE = 128;
+    /** constant to represent the default number of drained segments kept for reuse */
+    private static final int DEFAULT_POOLED_CHUNKS = 4;
+
+    /** int that represents the number of elements each segment can hold */
+    private final int chunkSize;
+    /** the pool of drained segments available for reuse */
+    private final ChunkPool<T> pool;
+
+    /** int that represents the number of elements currently stored in this queue */
+    private int size;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** reference to the segment holding the element at the front of the queue */
+    private ArrayChunk<T> head;
+    /** int that represents the index of the front element within {@code head} */
+    private int headIndex;
+    /** reference to the segment holding the element at the rear of the queue */
+    private ArrayChunk<T> tail;
+    /** int that represents the index of the next available position within {@code tail} */
+    private int tailIndex;
+
+    /** Creates an empty queue with the default segment size and pool size. */
+    public ChunkedLinkedQueue() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_POOLED_CHUNKS);
+    }
+
+    /**
+     * Creates an empty queue with the specified segment size and pool size.
+     *
+     * @param chunkSize the number of elements each segment can hold
+     * @param pooledChunks the largest number of drained segments kept for reuse
+     * @throws IllegalArgumentException if {@code chunkSize} is less than or equal to zero
+     * or {@code pooledChunks} is negative */
+    public ChunkedLinkedQueue(int chunkSize, int pooledChunks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size cannot be negative or zero.");
+        }
+        if (pooledChunks < 0) {
+            throw new IllegalArgumentException("Pooled chunks cannot be negative.");
+        }
+
+        this.chunkSize = chunkSize;
+        pool = new ChunkPool<>(chunkSize, pooledChunks);
+        size = headIndex = tailIndex = modCount = 0;
+        head = tail = new ArrayChunk<>(chunkSize);
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue.
+     * A new segment is linked after the rear one if it is full.
+     *
+     * @param element the element to be added to the queue */
+    @Override
+    public void enqueue(T element) {
+        if (tailIndex == chunkSize) {
+            linkTail();
+        }
+
+        tail.elements[tailIndex++] = element;
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in order,
+     * with one block copy per segment filled.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        int remaining = len;
+        while (remaining > 0) {
+            if (tailIndex == chunkSize) {
+                linkTail();
+            }
+
+            int length = Math.min(remaining, chunkSize - tailIndex);
+            System.arraycopy(src, off + len - remaining, tail.elements, tailIndex, length);
+            tailIndex += length;
+            remaining -= length;
+        }
+
+        size += len;
+        modCount++;
+    }
+
+    /** Links an empty segment, taken from the pool if possible, after the rear segment. */
+    private void linkTail() {
+        ArrayChunk<T> chunk = pool.obtain();
+
+        tail.next = chunk;
+        tail = chunk;
+        tailIndex = 0;
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return poll();
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue,
+     * or returns {@code null} if the queue is empty.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        T result = head.elements[headIndex];
+        head.elements[headIndex++] = null;
+
+        size--;
+        modCount++;
+
+        advanceHead();
+
+        return result;
+    }
+
+    /**
+     * Removes up to {@code max} elements from the front of this queue and
+     * stores them in an array, in queue order, with one block copy per segment drained.
+     *
+     * @param dst the array that receives the removed elements, from index zero
+     * @param max the largest number of elements to be removed
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater
+     * than the length of {@code dst} */
+    @Override
+    public int drainTo(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = Math.min(max, size);
+        int copied = 0;
+        while (copied < count) {
+            int available = head == tail ? tailIndex - headIndex : chunkSize - headIndex;
+            int length = Math.min(count - copied, available);
+
+            System.arraycopy(head.elements, headIndex, dst, copied, length);
+            Arrays.fill(head.elements, headIndex, headIndex + length, null);
+            headIndex += length;
+            copied += length;
+            size -= length;
+            modCount++;
+
+            advanceHead();
+        }
+
+        return count;
+    }
+
+    /**
+     * Moves past the front segment once all of its elements have been removed,
+     * returning it to the pool. When the queue becomes empty, its single
+     * remaining segment is rewound so that it is filled again from the start. */
+    private void advanceHead() {
+        if (headIndex == chunkSize && head != tail) {
+            ArrayChunk<T> drained = head;
+
+            head = head.next;
+            headIndex = 0;
+            pool.recycle(drained);
+        }
+
+        if (size == 0) {
+            headIndex = tailIndex = 0;
+        }
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return head.elements[headIndex];
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : head.elements[headIndex];
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this queue, from the front to the rear.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkedLinkedQueueIterator();
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the segment size
+     * and a list of the elements in logical order.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("ChunkedLinkedQueue{ size = " + size + ", chunkSize = " + chunkSize + "\n");
+
+        ArrayChunk<T> chunk = head;
+        int index = headIndex;
+        for (int i = 1; i <= size; i++) {
+            if (index == chunkSize) {
+                chunk = chunk.next;
+                index = 0;
+            }
+            stringBuilder.append(String.format("\t%d -> %s\n", i, chunk.elements[index++]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code ChunkedLinkedQueueIterator} reads the segments from {@code head}
+     * onwards, checking on every step that the queue has not been modified
+     * behind its back. */
+    private class ChunkedLinkedQueueIterator implements Iterator<T> {
+
+        /** the modification count the queue is expected to have */
+        private final int expectedModCount;
+
+        /** reference to the segment holding the next element to be returned */
+        private ArrayChunk<T> chunk;
+        /** int that represents the index of the next element within {@code chunk} */
+        private int index;
+        /** int that represents the number of elements still to be returned */
+        private int remaining;
+
+        /** Creates an iterator positioned before the front element. */
+        private ChunkedLinkedQueueIterator() {
+            expectedModCount = modCount;
+            chunk = head;
+            index = headIndex;
+            remaining = size;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the queue was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            if (index == chunkSize) {
+                chunk = chunk.next;
+                index = 0;
+            }
+            remaining--;
+
+            return chunk.elements[index++];
+        }
+
+    }
+
+}
@@ -0,0 +1,351 @@
+package ed.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code ChunkedLinkedStack} represents an unrolled linked implementation of
+ * a stack. Elements are stored in fixed-size array segments
+ * ({@link ArrayChunk} objects), each linked to the segment below it, and are
+ * pushed and popped at the end of the top segment.
+ * The stack grows without bound and never copies its elements: when the top
+ * segment is full a new one is placed above it. A segment that has been
+ * emptied is only released by the next pop below it, so pushing and popping
+ * around a segment boundary does not keep linking and unlinking segments.
+ * Released segments are kept in a small pool owned by the stack and reused
+ * when a new segment is needed.
+ * The iterator is fail-fast and reads each segment from its end, top
+ * segment first; the spliterator splits off batches of the elements it returns.
+ *
+ * @param <T> the type of elements stored in this stack
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class ChunkedLinkedStack<T> implements StackADT<T> {
+
+    /** constant to represent the default number of elements in each segment */
+    private static final int DEFAULT_CHUNK_SIZE = 128;
+    /** constant to represent the default number of released segments kept for reuse */
+    private static final int DEFAULT_POOLED_CHUNKS = 4;
+
+    /** int that represents the number of elements each segment can hold */
+    private final int chunkSize;
+    /** the pool of released segments available for reuse */
+    private final ChunkPool<T> pool;
+
+    /** int that represents the number of elements in this stack */
+    private int size;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** reference to the segment holding the top element of this stack */
+    private ArrayChunk<T> top;
+    /** int that represents both the number of elements in {@code top} and its next available position */
+    private int topIndex;
+
+    /** Creates an empty stack with the default segment size and pool size. */
+    public ChunkedLinkedStack() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_POOLED_CHUNKS);
+    }
+
+    /**
+     * Creates an empty stack with the specified segment size and pool size.
+     *
+     * @param chunkSize the number of elements each segment can hold
+     * @param pooledChunks the largest number of released segments kept for reuse
+     * @throws IllegalArgumentException if {@code chunkSize} is less than or equal to zero
+     * or {@code pooledChunks} is negative */
+    public ChunkedLinkedStack(int chunkSize, int pooledChunks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size cannot be negative or zero.");
+        }
+        if (pooledChunks < 0) {
+            throw new IllegalArgumentException("Pooled chunks cannot be negative.");
+        }
+
+        this.chunkSize = chunkSize;
+        pool = new ChunkPool<>(chunkSize, pooledChunks);
+        size = topIndex = modCount = 0;
+        top = new ArrayChunk<>(chunkSize);
+    }
+
+    /**
+     * Adds the specified element to the top of this stack,
+     * placing a new segment above the top one if it is full.
+     *
+     * @param element generic element to be pushed onto stack */
+    @Override
+    public void push(T element) {
+        if (topIndex == chunkSize) {
+            linkTop();
+        }
+
+        top.elements[topIndex++] = element;
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Pushes a range of elements from an array onto this stack, in order,
+     * so that the last element of the range ends up on top.
+     * The range is moved with one block copy per segment filled.
+     *
+     * @param src the array holding the elements to be pushed
+     * @param off the index of the first element to be pushed
+     * @param len the number of elements to be pushed
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void pushAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        int remaining = len;
+        while (remaining > 0) {
+            if (topIndex == chunkSize) {
+                linkTop();
+            }
+
+            int length = Math.min(remaining, chunkSize - topIndex);
+            System.arraycopy(src, off + len - remaining, top.elements, topIndex, length);
+            topIndex += length;
+            remaining -= length;
+        }
+
+        size += len;
+        modCount++;
+    }
+
+    /** Places an empty segment, taken from the pool if possible, above the top segment. */
+    private void linkTop() {
+        ArrayChunk<T> chunk = pool.obtain();
+
+        chunk.next = top;
+        top = chunk;
+        topIndex = 0;
+    }
+
+    /**
+     * Removes the element at the top of this stack and
+     * returns a reference to it.
+     * Throws an EmptyCollectionException if the stack is empty.
+     *
+     * @return T element removed from top of stack
+     * @throws EmptyCollectionException if a pop is attempted
+     * on empty stack */
+    @Override
+    public T pop() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return tryPop();
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns a
+     * reference to it, or returns {@code null} if the stack is empty.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    public T tryPop() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        if (topIndex == 0) {
+            unlinkTop();
+        }
+
+        T result = top.elements[--topIndex];
+        top.elements[topIndex] = null;
+
+        size--;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Pops up to {@code max} elements from this stack into an array, in the
+     * order they are popped, so that the former top element is stored first.
+     *
+     * @param dst the array that receives the popped elements, from index zero
+     * @param max the largest number of elements to be popped
+     * @return int number of elements popped
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater than the length of {@code dst} */
+    @Override
+    public int popN(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = Math.min(max, size);
+        int popped = 0;
+        while (popped < count) {
+            if (topIndex == 0) {
+                unlinkTop();
+            }
+
+            int length = Math.min(count - popped, topIndex);
+            for (int i = 0; i < length; i++) {
+                dst[popped + i] = top.elements[topIndex - 1 - i];
+            }
+
+            Arrays.fill(top.elements, topIndex - length, topIndex, null);
+            topIndex -= length;
+            popped += length;
+        }
+
+        size -= count;
+        modCount++;
+
+        return count;
+    }
+
+    /** Releases the empty top segment to the pool and moves to the full segment below it. */
+    private void unlinkTop() {
+        ArrayChunk<T> released = top;
+
+        top = top.next;
+        topIndex = chunkSize;
+        pool.recycle(released);
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack.
+     * The element is not removed from the stack.
+     * Throws an EmptyCollectionException if the stack is empty.
+     *
+     * @return T element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted
+     * on empty stack */
+    @Override
+    public T peek() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return peekOrNull();
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack,
+     * or {@code null} if the stack is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        return topIndex == 0 ? top.next.elements[chunkSize - 1] : top.elements[topIndex - 1];
+    }
+
+    /**
+     * Returns true if this stack contains no elements.
+     *
+     * @return boolean {@code true} if this stack is empty, {@code false} otherwise. */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in this stack.
+     *
+     * @return int number of elements in this stack */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this stack, from the top to the bottom.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkedLinkedStackIterator();
+    }
+
+    /**
+     * Returns a string representation of this stack.
+     *
+     * @return String representation of this stack */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("ChunkedLinkedStack { size = " + size + ", chunkSize = " + chunkSize + "\n");
+
+        ArrayChunk<T> chunk = top;
+        int index = topIndex;
+        for (int i = size; i >= 1; i--) {
+            if (index == 0) {
+                chunk = chunk.next;
+                index = chunkSize;
+            }
+            stringBuilder.append(String.format("\t%d -> %s\n", i, chunk.elements[--index]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code ChunkedLinkedStackIterator} reads the segments from {@code top}
+     * downwards, each from its end, checking on every step that the stack has
+     * not been modified behind its back. */
+    private class ChunkedLinkedStackIterator implements Iterator<T> {
+
+        /** the modification count the stack is expected to have */
+        private final int expectedModCount;
+
+        /** reference to the segment holding the next element to be returned */
+        private ArrayChunk<T> chunk;
+        /** int that represents the index after the next element within {@code chunk} */
+        private int index;
+        /** int that represents the number of elements still to be returned */
+        private int remaining;
+
+        /** Creates an iterator positioned before the top element. */
+        private ChunkedLinkedStackIterator() {
+            expectedModCount = modCount;
+            chunk = top;
+            index = topIndex;
+            remaining = size;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the stack was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            if (index == 0) {
+                chunk = chunk.next;
+                index = chunkSize;
+            }
+            remaining--;
+
+            return chunk.elements[--index];
+        }
+
+    }
+
+}
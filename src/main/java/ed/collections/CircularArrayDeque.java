@@ -0,0 +1,311 @@
+package ed.collections;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code CircularArrayDeque} class provides an array-based implementation
+ * of the {@link DequeADT} interface using a circular array, in the same way as
+ * {@link CircularArrayQueue}, but with both ends movable: {@code head} moves
+ * backwards when an element is added to the front and {@code tail} moves
+ * forwards when one is added to the rear.
+ * The length of the array is always a power of two, so positions wrap around
+ * with a bitmask instead of the {@code %} operator. When the array is full,
+ * its length is doubled and the elements are moved with at most two block copies.
+ * All operations run in constant time O(1), amortized over the expansions.
+ * The iterator and the spliterator traverse the elements from the first to
+ * the last and are fail-fast; the spliterator splits the logical index range
+ * in halves.
+ *
+ * @param <T> the type of elements stored in this deque
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class CircularArrayDeque<T> implements DequeADT<T>, Resizable {
+
+    /** constant to represent the largest power of two that can be used as a capacity */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** int that represents the number of elements currently stored in this deque */
+    private int size;
+    /** int that represents the index of the first element of the deque */
+    private int head;
+    /** int that represents the index of the next available position after the last element */
+    private int tail;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** the listener notified after every reallocation of the array, or {@code null} */
+    private ResizeListener resizeListener;
+    /** the array of generic elements used to represent the deque, with a power-of-two length */
+    private T[] deque;
+
+    /** Creates an empty deque with the default capacity. */
+    public CircularArrayDeque() {
+        this(ResizePolicy.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque able to hold at least the specified number of
+     * elements before expanding. The capacity is rounded up to the next power of two.
+     *
+     * @param initialCapacity the minimum initial capacity of the underlying array
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero
+     * or greater than {@code 2^30} */
+    @SuppressWarnings("unchecked")
+    public CircularArrayDeque(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity cannot be greater than " + MAXIMUM_CAPACITY + ".");
+        }
+
+        int length = initialCapacity == 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+
+        size = head = tail = modCount = 0;
+        deque = (T[]) new Object[length];
+    }
+
+    /**
+     * Doubles the capacity of this deque when the underlying array is full.
+     * The elements are copied in their logical order, starting from {@code head},
+     * with one block copy for the elements between {@code head} and the end of
+     * the array and one for those that wrapped around to its beginning.
+     *
+     * @throws IllegalStateException if the deque already has the largest possible capacity */
+    @SuppressWarnings("unchecked")
+    private void expandCapacity() {
+        if (deque.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Deque is full.");
+        }
+
+        T[] expanded = (T[]) new Object[deque.length << 1];
+        int headLength = deque.length - head;
+
+        System.arraycopy(deque, head, expanded, 0, headLength);
+        System.arraycopy(deque, 0, expanded, headLength, head);
+
+        head = 0;
+        tail = size;
+        deque = expanded;
+
+        ResizeEvent.record(this, expanded.length >> 1, expanded.length, size, resizeListener);
+    }
+
+    /**
+     * Returns the listener notified after every reallocation of this deque's array.
+     *
+     * @return the listener, or {@code null} if none is set */
+    @Override
+    public ResizeListener getResizeListener() {
+        return resizeListener;
+    }
+
+    /**
+     * Sets the listener notified after every reallocation of this deque's array.
+     *
+     * @param listener the listener to be notified, or {@code null} to notify none */
+    @Override
+    public void setResizeListener(ResizeListener listener) {
+        resizeListener = listener;
+    }
+
+    /**
+     * Adds the specified element to the front of this deque.
+     * Expands the internal capacity if the deque is full.
+     *
+     * @param element the element to be added */
+    @Override
+    public void addFirst(T element) {
+        if (size == deque.length) {
+            expandCapacity();
+        }
+
+        head = (head - 1) & (deque.length - 1);
+        deque[head] = element;
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds the specified element to the rear of this deque.
+     * Expands the internal capacity if the deque is full.
+     *
+     * @param element the element to be added */
+    @Override
+    public void addLast(T element) {
+        if (size == deque.length) {
+            expandCapacity();
+        }
+
+        deque[tail] = element;
+        tail = (tail + 1) & (deque.length - 1);
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the first element of this deque.
+     *
+     * @return the element removed from the front of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return pollFirst();
+    }
+
+    /**
+     * Removes and returns the last element of this deque.
+     *
+     * @return the element removed from the rear of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return pollLast();
+    }
+
+    /**
+     * Removes and returns the first element of this deque,
+     * or returns {@code null} if the deque is empty.
+     *
+     * @return the element removed from the front of the deque, or {@code null} if it is empty */
+    @Override
+    public T pollFirst() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        T result = deque[head];
+        deque[head] = null;
+        head = (head + 1) & (deque.length - 1);
+
+        size--;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Removes and returns the last element of this deque,
+     * or returns {@code null} if the deque is empty.
+     *
+     * @return the element removed from the rear of the deque, or {@code null} if it is empty */
+    @Override
+    public T pollLast() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        tail = (tail - 1) & (deque.length - 1);
+        T result = deque[tail];
+        deque[tail] = null;
+
+        size--;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the first element of this deque.
+     *
+     * @return the element at the front of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T peekFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return deque[head];
+    }
+
+    /**
+     * Returns, without removing, the last element of this deque.
+     *
+     * @return the element at the rear of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T peekLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return deque[(tail - 1) & (deque.length - 1)];
+    }
+
+    /**
+     * Returns, without removing, the first element of this deque,
+     * or {@code null} if the deque is empty.
+     *
+     * @return the element at the front of the deque, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : deque[head];
+    }
+
+    /**
+     * Checks whether this deque contains no elements.
+     *
+     * @return {@code true} if this deque is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this deque.
+     *
+     * @return the number of elements in this deque */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this deque, from the first to the last.
+     *
+     * @return an iterator over the elements in this deque */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayIterator<>(deque, head, false, size, () -> modCount);
+    }
+
+    /**
+     * Returns a fail-fast spliterator over the elements in this deque, from
+     * the first to the last, that splits the logical index range in halves.
+     *
+     * @return a spliterator over the elements in this deque */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(deque, head, false, 0, size, Spliterator.ORDERED, () -> modCount);
+    }
+
+    /**
+     * Returns a string representation of this deque.
+     * The string includes the current size, array capacity,
+     * and a list of the elements from first to last.
+     *
+     * @return a string representation of this deque */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("CircularArrayDeque{ size = " + size + ", arrayDeque.length = " + deque.length + "\n");
+
+        for (int i = 0; i < size; i++) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i + 1, deque[(head + i) & (deque.length - 1)]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
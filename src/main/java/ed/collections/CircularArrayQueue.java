@@ -1,5 +1,10 @@
 package ed.collections;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+
 import ed.collections.exceptions.EmptyCollectionException;
 
 /**
@@ -8,20 +13,28 @@ import ed.collections.exceptions.EmptyCollectionException;
  * maintains elements in a FIFO (First-In-First-Out) order, where new elements
  * are added to the rear and removed from the front.
  * When the array reaches its full capacity, it is automatically expanded
- * by a fixed expansion factor. The circular logic ensures that enqueue and
- * dequeue operations both run in constant time O(1).
+ * according to a {@link ResizePolicy}, which may also shrink the array once
+ * enough elements have been removed. The circular logic ensures that enqueue
+ * and dequeue operations both run in constant time O(1).
+ * The iterator and the spliterator are fail-fast; the spliterator splits the
+ * logical index range in halves, whether or not the elements wrap around the
+ * end of the array, so parallel streams share the work evenly.
  *
  * @param <T> the type of elements stored in this queue
  * @author José Azevedo (8240127@estg.ipp.pt) */
-public class CircularArrayQueue<T> implements QueueADT<T> {
+public class CircularArrayQueue<T> implements QueueADT<T>, Resizable {
 
-    /** constant to represent the default capacity of the array */
-    private static final int DEFAULT_CAPACITY = 10;
-    /** constant to represent the expanding factor of the array capacity */
-    private static final int EXPAND_FACTOR = 2;
+    /** the policy that decides how the array grows and shrinks */
+    private final ResizePolicy resizePolicy;
 
     /** int that represents the number of elements currently stored in this queue */
     private int size;
+    /** int that represents the number of elements at or below which the array shrinks, or -1 */
+    private int shrinkLimit;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** the listener notified after every reallocation of the array, or {@code null} */
+    private ResizeListener resizeListener;
     /** int that represents the index of the element at the front of the queue. */
     private int front;
     /** int that represents the index of the next available position at the rear of the queue */
@@ -31,7 +44,7 @@ public class CircularArrayQueue<T> implements QueueADT<T> {
 
     /** Creates an empty queue with the default capacity. */
     public CircularArrayQueue() {
-        this(DEFAULT_CAPACITY);
+        this(ResizePolicy.DEFAULT_CAPACITY);
     }
 
     /**
@@ -39,34 +52,104 @@ public class CircularArrayQueue<T> implements QueueADT<T> {
      *
      * @param initialCapacity the initial capacity of the underlying array
      * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
-    @SuppressWarnings("unchecked")
     public CircularArrayQueue(int initialCapacity) {
+        this(initialCapacity, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates an empty queue with the specified initial capacity and resize policy.
+     *
+     * @param initialCapacity the initial capacity of the underlying array
+     * @param resizePolicy the policy that decides how the array grows and shrinks
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    @SuppressWarnings("unchecked")
+    public CircularArrayQueue(int initialCapacity, ResizePolicy resizePolicy) {
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("Capacity cannot be negative or zero.");
         }
 
-        size = front = rear = 0;
+        this.resizePolicy = resizePolicy;
+        size = front = rear = modCount = 0;
         queue = (T[]) new Object[initialCapacity];
+        shrinkLimit = resizePolicy.shrinkLimit(initialCapacity);
     }
 
     /**
      * Expands the capacity of this queue when the underlying array is full.
-     * The new capacity is determined by multiplying the current length by
-     * {@link #EXPAND_FACTOR}.
-     * All elements are copied to the new array in their logical order,
-     * starting from the current {@code front} position. */
+     * The new capacity is chosen by the resize policy. */
     private void expandCapacity() {
-        CircularArrayQueue<T> tmpQueue = new CircularArrayQueue<>(queue.length * EXPAND_FACTOR);
-        while (!isEmpty()) {
-            try {
-                tmpQueue.enqueue(this.dequeue());
-            } catch (EmptyCollectionException e) {}
-        }
+        resize(resizePolicy.grow(queue.length, size + 1));
+    }
+
+    /**
+     * Shrinks the capacity of this queue once enough elements have been removed.
+     * The new capacity is chosen by the resize policy. */
+    private void shrinkCapacity() {
+        resize(resizePolicy.shrink(queue.length, size));
+    }
 
-        queue = tmpQueue.queue;
-        size = tmpQueue.size;
+    /**
+     * Moves the elements of this queue to an array of the specified length.
+     * The elements are copied in their logical order, starting from the current
+     * {@code front} position, with at most two block copies: one for the elements
+     * between {@code front} and the end of the array and one for those that
+     * wrapped around to its beginning.
+     *
+     * @param capacity the length of the new array, not less than the number of elements */
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        T[] resized = (T[]) new Object[capacity];
+        int headLength = Math.min(size, queue.length - front);
+
+        System.arraycopy(queue, front, resized, 0, headLength);
+        System.arraycopy(queue, 0, resized, headLength, size - headLength);
+
+        int oldCapacity = queue.length;
+        queue = resized;
         front = 0;
-        rear  = size;
+        rear = size == capacity ? 0 : size;
+        shrinkLimit = resizePolicy.shrinkLimit(capacity);
+
+        ResizeEvent.record(this, oldCapacity, capacity, size, resizeListener);
+    }
+
+    /**
+     * Returns the listener notified after every reallocation of this queue's array.
+     *
+     * @return the listener, or {@code null} if none is set */
+    @Override
+    public ResizeListener getResizeListener() {
+        return resizeListener;
+    }
+
+    /**
+     * Sets the listener notified after every reallocation of this queue's array.
+     *
+     * @param listener the listener to be notified, or {@code null} to notify none */
+    @Override
+    public void setResizeListener(ResizeListener listener) {
+        resizeListener = listener;
+    }
+
+    /**
+     * Increases the capacity of this queue, if necessary, so that it can hold
+     * at least the specified number of elements without expanding again.
+     *
+     * @param minCapacity the desired minimum capacity */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > queue.length) {
+            resize(resizePolicy.grow(queue.length, minCapacity));
+        }
+    }
+
+    /**
+     * Reduces the capacity of this queue's underlying array to its current
+     * number of elements, keeping room for at least one element. */
+    public void trimToSize() {
+        int capacity = Math.max(size, 1);
+        if (capacity < queue.length) {
+            resize(capacity);
+        }
     }
 
     /**
@@ -82,9 +165,122 @@ public class CircularArrayQueue<T> implements QueueADT<T> {
 
         queue[rear] = element;
 
-        rear = (rear + 1) % queue.length;
+        if (++rear == queue.length) {
+            rear = 0;
+        }
 
         size++;
+        modCount++;
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in order.
+     * The array is expanded at most once and the range is moved with at most
+     * two block copies: one up to the end of the array and one for the part
+     * that wraps around to its beginning.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        if (len > queue.length - size) {
+            resize(resizePolicy.grow(queue.length, size + len));
+        }
+
+        int tailLength = Math.min(len, queue.length - rear);
+
+        System.arraycopy(src, off, queue, rear, tailLength);
+        System.arraycopy(src, off + tailLength, queue, 0, len - tailLength);
+
+        rear = tailLength < len ? len - tailLength : rear + len;
+        if (rear == queue.length) {
+            rear = 0;
+        }
+
+        size += len;
+        modCount++;
+    }
+
+    /**
+     * Removes up to {@code max} elements from the front of this queue and
+     * stores them in an array, in queue order, with at most two block copies.
+     *
+     * @param dst the array that receives the removed elements, from index zero
+     * @param max the largest number of elements to be removed
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater
+     * than the length of {@code dst} */
+    @Override
+    public int drainTo(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = Math.min(max, size);
+        int headLength = Math.min(count, queue.length - front);
+
+        System.arraycopy(queue, front, dst, 0, headLength);
+        System.arraycopy(queue, 0, dst, headLength, count - headLength);
+
+        discard(count, headLength);
+
+        return count;
+    }
+
+    /**
+     * Removes every element of this queue and adds it to the rear of the
+     * destination queue, in queue order.
+     * When the destination is another unbounded array or linked queue, the
+     * elements are handed over as at most two ranges of the underlying array;
+     * any other destination receives them one at a time.
+     *
+     * @param dst the queue that receives the elements
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if {@code dst} is this queue */
+    @Override
+    public int drainTo(QueueADT<? super T> dst) {
+        if (!(dst instanceof CircularArrayQueue || dst instanceof LinkedQueue)) {
+            return QueueADT.super.drainTo(dst);
+        }
+        if (dst == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself.");
+        }
+
+        int count = size;
+        int headLength = Math.min(count, queue.length - front);
+
+        dst.enqueueAll(queue, front, headLength);
+        dst.enqueueAll(queue, 0, count - headLength);
+
+        discard(count, headLength);
+
+        return count;
+    }
+
+    /**
+     * Removes the specified number of elements from the front of this queue
+     * without returning them, clearing their slots with at most two block fills.
+     *
+     * @param count the number of elements to be removed, not greater than the size
+     * @param headLength the number of those elements stored between {@code front}
+     * and the end of the array */
+    private void discard(int count, int headLength) {
+        Arrays.fill(queue, front, front + headLength, null);
+        Arrays.fill(queue, 0, count - headLength, null);
+
+        front = headLength < count ? count - headLength : front + count;
+        if (front == queue.length) {
+            front = 0;
+        }
+
+        size -= count;
+        modCount++;
+
+        if (count > 0 && size <= shrinkLimit) {
+            shrinkCapacity();
+        }
     }
 
     /**
@@ -95,14 +291,36 @@ public class CircularArrayQueue<T> implements QueueADT<T> {
     @Override
     public T dequeue() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Queue");
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return poll();
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue,
+     * or returns {@code null} if the queue is empty.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        if (isEmpty()) {
+            return null;
         }
 
         T result = queue[front];
+        queue[front] = null;
 
-        front = (front + 1) % queue.length;
+        if (++front == queue.length) {
+            front = 0;
+        }
 
         size--;
+        modCount++;
+
+        if (size <= shrinkLimit) {
+            shrinkCapacity();
+        }
 
         return result;
     }
@@ -115,12 +333,22 @@ public class CircularArrayQueue<T> implements QueueADT<T> {
     @Override
     public T first() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Queue");
+            throw EmptyCollectionException.of("Queue");
         }
 
         return queue[front];
     }
 
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : queue[front];
+    }
+
     /**
      * Checks whether this queue contains no elements.
      *
@@ -139,6 +367,25 @@ public class CircularArrayQueue<T> implements QueueADT<T> {
         return size;
     }
 
+    /**
+     * Returns a fail-fast iterator over the elements in this queue, from the front to the rear.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayIterator<>(queue, front, false, size, () -> modCount);
+    }
+
+    /**
+     * Returns a fail-fast spliterator over the elements in this queue, from
+     * the front to the rear, that splits the logical index range in halves.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(queue, front, false, 0, size, Spliterator.ORDERED, () -> modCount);
+    }
+
     /**
      * Returns a string representation of this queue.
      * The string includes the current size, array capacity,
@@ -0,0 +1,183 @@
+package ed.collections;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code DequeADT} defines the basic operations of a generic double-ended
+ * queue abstract data type (ADT), in which elements can be added, removed
+ * and inspected at both ends.
+ * A deque is also a {@link StackADT}, whose top is the first element, and a
+ * {@link QueueADT}, whose front is the first element and whose rear is the
+ * last one, so the same instance can be handed to code written against either
+ * interface without copying its elements. Either way, the elements are
+ * traversed from the first to the last.
+ *
+ * @param <T> the type of elements stored in this deque
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface DequeADT<T> extends StackADT<T>, QueueADT<T> {
+
+    /** Adds one element to the front of this deque.
+     *  @param element element to be added */
+    public void addFirst(T element);
+
+    /** Adds one element to the rear of this deque.
+     *  @param element element to be added */
+    public void addLast(T element);
+
+    /** Removes and returns the first element of this deque.
+     *  @return T element removed from the front of the deque
+     *  @throws EmptyCollectionException if the deque is empty */
+    public T removeFirst() throws EmptyCollectionException;
+
+    /** Removes and returns the last element of this deque.
+     *  @return T element removed from the rear of the deque
+     *  @throws EmptyCollectionException if the deque is empty */
+    public T removeLast() throws EmptyCollectionException;
+
+    /** Returns without removing the first element of this deque.
+     *  @return T element at the front of the deque
+     *  @throws EmptyCollectionException if the deque is empty */
+    public T peekFirst() throws EmptyCollectionException;
+
+    /** Returns without removing the last element of this deque.
+     *  @return T element at the rear of the deque
+     *  @throws EmptyCollectionException if the deque is empty */
+    public T peekLast() throws EmptyCollectionException;
+
+    /** Removes and returns the first element of this deque, or returns
+     *  {@code null} if the deque is empty, without creating an exception.
+     *  @return T element removed from the front of the deque, or {@code null} if it is empty */
+    public default T pollFirst() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return removeFirst();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /** Removes and returns the last element of this deque, or returns
+     *  {@code null} if the deque is empty, without creating an exception.
+     *  @return T element removed from the rear of the deque, or {@code null} if it is empty */
+    public default T pollLast() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return removeLast();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /** Returns without removing the first element of this deque, or returns
+     *  {@code null} if the deque is empty, without creating an exception.
+     *  @return T element at the front of the deque, or {@code null} if it is empty */
+    @Override
+    public default T peekOrNull() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return peekFirst();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /** Adds one element to the top of this stack view, which is the front of this deque.
+     *  @param element element to be pushed onto stack */
+    @Override
+    public default void push(T element) {
+        addFirst(element);
+    }
+
+    /** Removes and returns the top element of this stack view, which is the first element of this deque.
+     *  @return T element removed from the top of the stack
+     *  @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public default T pop() throws EmptyCollectionException {
+        return removeFirst();
+    }
+
+    /** Returns without removing the top element of this stack view, which is the first element of this deque.
+     *  @return T element on top of the stack
+     *  @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public default T peek() throws EmptyCollectionException {
+        return peekFirst();
+    }
+
+    /** Removes and returns the top element of this stack view, or returns {@code null} if the deque is empty.
+     *  @return T element removed from the top of the stack, or {@code null} if it is empty */
+    @Override
+    public default T tryPop() {
+        return pollFirst();
+    }
+
+    /** Adds one element to the rear of this queue view, which is the rear of this deque.
+     *  @param element the element to be added to the queue */
+    @Override
+    public default void enqueue(T element) {
+        addLast(element);
+    }
+
+    /** Removes and returns the element at the front of this queue view, which is the first element of this deque.
+     *  @return the element removed from the front of the queue
+     *  @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public default T dequeue() throws EmptyCollectionException {
+        return removeFirst();
+    }
+
+    /** Returns without removing the element at the front of this queue view, which is the first element of this deque.
+     *  @return the element at the front of the queue
+     *  @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public default T first() throws EmptyCollectionException {
+        return peekFirst();
+    }
+
+    /** Removes and returns the element at the front of this queue view, or returns {@code null} if the deque is empty.
+     *  @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public default T poll() {
+        return pollFirst();
+    }
+
+    /** Returns an iterator over the elements in this deque, from the first to the last.
+     *  @return an iterator over the elements in this deque */
+    @Override
+    public Iterator<T> iterator();
+
+    /** Returns a spliterator over the elements in this deque, from the first to the last.
+     *  @return a spliterator over the elements in this deque */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return QueueADT.super.spliterator();
+    }
+
+    /** Returns a sequential stream over the elements in this deque, from the first to the last.
+     *  @return a sequential stream over the elements in this deque */
+    @Override
+    public default Stream<T> stream() {
+        return QueueADT.super.stream();
+    }
+
+    /** Returns a possibly parallel stream over the elements in this deque.
+     *  @return a parallel stream over the elements in this deque */
+    @Override
+    public default Stream<T> parallelStream() {
+        return QueueADT.super.parallelStream();
+    }
+
+}
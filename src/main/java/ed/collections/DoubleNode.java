@@ -0,0 +1,81 @@
+package ed.collections;
+
+/**
+ * {@code DoubleNode} represents a single node in a doubly-linked structure.
+ * Each node stores an element and references to both the previous and the
+ * next node in the list.
+ *
+ * @param <T> the type of element stored in this node
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class DoubleNode<T> {
+
+    /** reference to the previous node in list */
+    private DoubleNode<T> previous;
+    /** reference to the next node in list */
+    private DoubleNode<T> next;
+    /** element stored in this node */
+    private T element;
+
+    /** Creates an empty node. */
+    public DoubleNode() {
+        this(null);
+    }
+
+    /**
+     * Creates a node storing the specified element.
+     *
+     * @param element element to be stored */
+    public DoubleNode(T element) {
+        previous = next = null;
+        this.element = element;
+    }
+
+    /**
+     * Returns the node that precedes this one.
+     *
+     * @return DoubleNode&lt;T&gt; reference to previous node */
+    public DoubleNode<T> getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Sets the node that precedes this one.
+     *
+     * @param previous node to precede this one */
+    public void setPrevious(DoubleNode<T> previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Returns the node that follows this one.
+     *
+     * @return DoubleNode&lt;T&gt; reference to next node */
+    public DoubleNode<T> getNext() {
+        return next;
+    }
+
+    /**
+     * Sets the node that follows this one.
+     *
+     * @param next node to follow this one */
+    public void setNext(DoubleNode<T> next) {
+        this.next = next;
+    }
+
+    /**
+     * Returns the element stored in this node.
+     *
+     * @return T element stored in this node */
+    public T getElement() {
+        return element;
+    }
+
+    /**
+     * Sets the element stored in this node.
+     *
+     * @param element element to be stored */
+    public void setElement(T element) {
+        this.element = element;
+    }
+
+}
@@ -0,0 +1,417 @@
+package ed.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code HeapPriorityQueue} represents a priority queue backed by an implicit
+ * d-ary heap stored in a generic array: the children of the element at index
+ * {@code i} are stored at indices {@code d * i + 1} to {@code d * i + d}, and
+ * every element is no greater than its children according to a
+ * {@link Comparator}, or to the natural ordering of the elements if none is given.
+ * {@link #dequeue()} and {@link #first()} therefore return the least element,
+ * and elements that compare as equal are returned in no particular order.
+ * {@code enqueue} and {@code dequeue} run in O(log n). A larger arity makes
+ * the heap shallower, so an element moves up fewer levels and a removal
+ * reads its children from fewer, contiguous cache lines, at the price of
+ * comparing more children per level.
+ * A queue built from an array, or extended by a batch at least as large as
+ * itself, is heapified bottom-up in O(n) instead of inserting one element at
+ * a time. When the array becomes full its capacity is expanded according to
+ * a {@link ResizePolicy}, which may also shrink it once enough elements have
+ * been removed.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class HeapPriorityQueue<T> implements QueueADT<T>, Resizable {
+
+    /** constant to represent the default number of children of every element */
+    private static final int DEFAULT_ARITY = 4;
+
+    /** int that represents the number of children of every element */
+    private final int arity;
+    /** the ordering of the elements in this queue */
+    private final Comparator<? super T> comparator;
+    /** the policy that decides how the array grows and shrinks */
+    private final ResizePolicy resizePolicy;
+
+    /** int that represents both the number of elements and the next available position in the array */
+    private int count;
+    /** int that represents the number of elements at or below which the array shrinks, or -1 */
+    private int shrinkLimit;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** the listener notified after every reallocation of the array, or {@code null} */
+    private ResizeListener resizeListener;
+    /** array of generic elements to represent the heap */
+    private T[] heap;
+
+    /**
+     * Creates an empty queue, using the default capacity and arity, whose
+     * elements are ordered by their natural ordering. The elements must
+     * implement {@link Comparable}. */
+    public HeapPriorityQueue() {
+        this(ResizePolicy.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue, using the specified capacity and the default
+     * arity, whose elements are ordered by their natural ordering.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public HeapPriorityQueue(int initialCapacity) {
+        this(DEFAULT_ARITY, initialCapacity, null, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates an empty queue, using the default capacity and arity, whose
+     * elements are ordered by the specified comparator.
+     *
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering */
+    public HeapPriorityQueue(Comparator<? super T> comparator) {
+        this(DEFAULT_ARITY, ResizePolicy.DEFAULT_CAPACITY, comparator, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates an empty queue with the specified arity, capacity, ordering and resize policy.
+     *
+     * @param arity the number of children of every element
+     * @param initialCapacity represents the specified capacity
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering
+     * @param resizePolicy the policy that decides how the array grows and shrinks
+     * @throws IllegalArgumentException if {@code arity} is less than two or
+     * {@code initialCapacity} is less than or equal to zero */
+    @SuppressWarnings("unchecked")
+    public HeapPriorityQueue(int arity, int initialCapacity, Comparator<? super T> comparator, ResizePolicy resizePolicy) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity cannot be less than two.");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+
+        this.arity = arity;
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+        this.resizePolicy = resizePolicy;
+        count = modCount = 0;
+        heap = (T[]) new Object[initialCapacity];
+        shrinkLimit = resizePolicy.shrinkLimit(initialCapacity);
+    }
+
+    /**
+     * Creates a queue holding a copy of the specified elements, arranged into
+     * a heap bottom-up in O(n) time.
+     *
+     * @param elements the elements to be stored in the queue
+     * @param arity the number of children of every element
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering
+     * @throws IllegalArgumentException if {@code arity} is less than two or any element is {@code null} */
+    public HeapPriorityQueue(T[] elements, int arity, Comparator<? super T> comparator) {
+        this(arity, Math.max(elements.length, 1), comparator, ResizePolicy.DEFAULT);
+
+        enqueueAll(elements, 0, elements.length);
+    }
+
+    /**
+     * Returns the number of children of every element in this queue.
+     *
+     * @return int arity of the heap */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Moves the elements of this queue to an array of the specified length.
+     *
+     * @param capacity the length of the new array, not less than the number of elements */
+    private void resize(int capacity) {
+        int oldCapacity = heap.length;
+        heap = Arrays.copyOf(heap, capacity);
+        shrinkLimit = resizePolicy.shrinkLimit(capacity);
+
+        ResizeEvent.record(this, oldCapacity, capacity, count, resizeListener);
+    }
+
+    /**
+     * Returns the listener notified after every reallocation of this queue's array.
+     *
+     * @return the listener, or {@code null} if none is set */
+    @Override
+    public ResizeListener getResizeListener() {
+        return resizeListener;
+    }
+
+    /**
+     * Sets the listener notified after every reallocation of this queue's array.
+     *
+     * @param listener the listener to be notified, or {@code null} to notify none */
+    @Override
+    public void setResizeListener(ResizeListener listener) {
+        resizeListener = listener;
+    }
+
+    /**
+     * Increases the capacity of this queue, if necessary, so that it can hold
+     * at least the specified number of elements without expanding again.
+     *
+     * @param minCapacity the desired minimum capacity */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > heap.length) {
+            resize(resizePolicy.grow(heap.length, minCapacity));
+        }
+    }
+
+    /**
+     * Checks that an element can be stored in this queue.
+     *
+     * @param element the element to be checked
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    private static void checkElement(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+    }
+
+    /**
+     * Moves the specified element up from the hole at the specified index,
+     * shifting every greater ancestor down one level, and stores it where it stops.
+     *
+     * @param index the index of the hole the element starts at
+     * @param element the element to be placed */
+    private void siftUp(int index, T element) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            T parentElement = heap[parent];
+            if (comparator.compare(element, parentElement) >= 0) {
+                break;
+            }
+            heap[index] = parentElement;
+            index = parent;
+        }
+
+        heap[index] = element;
+    }
+
+    /**
+     * Moves the specified element down from the hole at the specified index,
+     * shifting the least child up one level while it is less than the
+     * element, and stores the element where it stops.
+     *
+     * @param index the index of the hole the element starts at
+     * @param element the element to be placed */
+    private void siftDown(int index, T element) {
+        int firstLeaf = count < 2 ? 0 : (count - 2) / arity + 1;
+        while (index < firstLeaf) {
+            int first = arity * index + 1;
+            int last = Math.min(first + arity, count);
+
+            int least = first;
+            T leastElement = heap[first];
+            for (int child = first + 1; child < last; child++) {
+                if (comparator.compare(heap[child], leastElement) < 0) {
+                    least = child;
+                    leastElement = heap[child];
+                }
+            }
+
+            if (comparator.compare(element, leastElement) <= 0) {
+                break;
+            }
+            heap[index] = leastElement;
+            index = least;
+        }
+
+        heap[index] = element;
+    }
+
+    /** Restores the heap order over the whole array, sifting down every parent from the last one up. */
+    private void heapify() {
+        for (int i = count < 2 ? -1 : (count - 2) / arity; i >= 0; i--) {
+            siftDown(i, heap[i]);
+        }
+    }
+
+    /**
+     * Adds the specified element to this queue, according to its priority,
+     * expanding the capacity of the array if necessary.
+     *
+     * @param element the element to be added to this queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws ClassCastException if no comparator was given and the element is not {@link Comparable} */
+    @Override
+    public void enqueue(T element) {
+        checkElement(element);
+
+        if (count == heap.length) {
+            resize(resizePolicy.grow(heap.length, count + 1));
+        }
+
+        siftUp(count++, element);
+        modCount++;
+    }
+
+    /**
+     * Adds a range of elements from an array to this queue.
+     * The array is expanded at most once. A range at least as large as the
+     * queue is appended with a single block copy and the whole heap is
+     * rebuilt bottom-up in O(n); a smaller range is inserted one element at a time.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src}
+     * @throws IllegalArgumentException if any element of the range is {@code null} */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off; i < off + len; i++) {
+            checkElement(src[i]);
+        }
+
+        if (len > heap.length - count) {
+            resize(resizePolicy.grow(heap.length, count + len));
+        }
+
+        if (len >= count) {
+            System.arraycopy(src, off, heap, count, len);
+            count += len;
+            heapify();
+        } else {
+            for (int i = off; i < off + len; i++) {
+                siftUp(count++, src[i]);
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the least element of this queue.
+     *
+     * @return the least element of this queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return poll();
+    }
+
+    /**
+     * Removes and returns the least element of this queue,
+     * or returns {@code null} if the queue is empty.
+     *
+     * @return the least element of this queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        T result = heap[0];
+        T last = heap[--count];
+        heap[count] = null;
+        if (count > 0) {
+            siftDown(0, last);
+        }
+        modCount++;
+
+        if (count <= shrinkLimit) {
+            resize(resizePolicy.shrink(heap.length, count));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns without removing the least element of this queue.
+     *
+     * @return the least element of this queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Returns without removing the least element of this queue,
+     * or returns {@code null} if the queue is empty.
+     *
+     * @return the least element of this queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return heap[0];
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this queue, in the
+     * order they are stored in the heap array, which is not the order in
+     * which they would be dequeued.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayIterator<>(heap, 0, false, count, () -> modCount);
+    }
+
+    /**
+     * Returns a fail-fast spliterator over the elements in this queue, in the
+     * order they are stored in the heap array, that splits the index range in
+     * halves. It does not report {@code ORDERED}, since that order is not the
+     * priority order.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(heap, 0, false, 0, count, Spliterator.NONNULL, () -> modCount);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The elements are listed in the order they are stored in the heap array,
+     * which is not the order in which they would be dequeued.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("HeapPriorityQueue{ size = " + count + ", arity = " + arity
+                + ", heap.length = " + heap.length + "\n");
+
+        for (int i = 0; i < count; i++) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i + 1, heap[i]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
@@ -0,0 +1,469 @@
+package ed.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code IndexedPriorityQueue} represents a priority queue whose elements
+ * can be found and reprioritised after they have been added. Every element
+ * added through {@link #insert(Object)} is given an int handle, which stays
+ * valid until that element leaves the queue, and through which it can be
+ * replaced by a lesser ({@link #decreaseKey(int, Object)}) or greater
+ * ({@link #increaseKey(int, Object)}) element, or removed
+ * ({@link #remove(int)}), in O(log n).
+ * The queue is an implicit d-ary heap, ordered like {@link HeapPriorityQueue},
+ * kept in two parallel arrays holding, for every heap position, the element
+ * and its handle; a third array maps every handle to its current heap
+ * position. Positions are plain ints, so no wrapper object is allocated per
+ * element. Handles of elements that left the queue are reused by later
+ * insertions, so a handle must not be used once its element is gone.
+ * When the arrays become full their capacity is expanded according to
+ * {@link ResizePolicy#DEFAULT}; they never shrink, because the handles index them.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class IndexedPriorityQueue<T> implements QueueADT<T> {
+
+    /** constant to represent the default number of children of every element */
+    private static final int DEFAULT_ARITY = 4;
+    /** constant to represent the position of a handle that is not in use */
+    private static final int UNUSED = -1;
+
+    /** int that represents the number of children of every element */
+    private final int arity;
+    /** the ordering of the elements in this queue */
+    private final Comparator<? super T> comparator;
+
+    /** int that represents the number of elements in the queue */
+    private int count;
+    /** int that represents the lowest handle that has never been given out */
+    private int nextHandle;
+    /** int that represents the number of handles waiting to be reused */
+    private int freeCount;
+    /** int that counts the changes to the heap array, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** array of generic elements in heap order */
+    private T[] heap;
+    /** the handle of the element at every heap position */
+    private int[] handles;
+    /** the heap position of the element with every handle, or {@value #UNUSED} */
+    private int[] positions;
+    /** the handles released by elements that left the queue, used as a stack */
+    private int[] freeHandles;
+
+    /**
+     * Creates an empty queue, using the default capacity and arity, whose
+     * elements are ordered by their natural ordering. The elements must
+     * implement {@link Comparable}. */
+    public IndexedPriorityQueue() {
+        this(ResizePolicy.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue, using the specified capacity and the default
+     * arity, whose elements are ordered by their natural ordering.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public IndexedPriorityQueue(int initialCapacity) {
+        this(DEFAULT_ARITY, initialCapacity, null);
+    }
+
+    /**
+     * Creates an empty queue, using the default capacity and arity, whose
+     * elements are ordered by the specified comparator.
+     *
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering */
+    public IndexedPriorityQueue(Comparator<? super T> comparator) {
+        this(DEFAULT_ARITY, ResizePolicy.DEFAULT_CAPACITY, comparator);
+    }
+
+    /**
+     * Creates an empty queue with the specified arity, capacity and ordering.
+     *
+     * @param arity the number of children of every element
+     * @param initialCapacity represents the specified capacity
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering
+     * @throws IllegalArgumentException if {@code arity} is less than two or
+     * {@code initialCapacity} is less than or equal to zero */
+    @SuppressWarnings("unchecked")
+    public IndexedPriorityQueue(int arity, int initialCapacity, Comparator<? super T> comparator) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity cannot be less than two.");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+
+        this.arity = arity;
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+        count = nextHandle = freeCount = modCount = 0;
+        heap = (T[]) new Object[initialCapacity];
+        handles = new int[initialCapacity];
+        positions = new int[initialCapacity];
+        freeHandles = new int[initialCapacity];
+        Arrays.fill(positions, UNUSED);
+    }
+
+    /**
+     * Expands the capacity of every array when the queue becomes full.
+     * The new capacity is chosen by the default resize policy. */
+    private void expandCapacity() {
+        int capacity = ResizePolicy.DEFAULT.grow(heap.length, count + 1);
+
+        heap = Arrays.copyOf(heap, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+
+        int oldLength = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldLength, capacity, UNUSED);
+    }
+
+    /**
+     * Checks that an element can be stored in this queue.
+     *
+     * @param element the element to be checked
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    private static void checkElement(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+    }
+
+    /**
+     * Returns the heap position of the element with the specified handle.
+     *
+     * @param handle the handle of the element
+     * @return the heap position of the element
+     * @throws IllegalArgumentException if the handle does not belong to an element in the queue */
+    private int positionOf(int handle) {
+        if (handle < 0 || handle >= positions.length || positions[handle] == UNUSED) {
+            throw new IllegalArgumentException("Handle is not in the queue.");
+        }
+
+        return positions[handle];
+    }
+
+    /**
+     * Stores an element and its handle at the specified heap position.
+     *
+     * @param index the heap position
+     * @param element the element to be stored
+     * @param handle the handle of the element */
+    private void place(int index, T element, int handle) {
+        heap[index] = element;
+        handles[index] = handle;
+        positions[handle] = index;
+    }
+
+    /**
+     * Moves the specified element up from the hole at the specified index,
+     * shifting every greater ancestor down one level, and stores it where it stops.
+     *
+     * @param index the index of the hole the element starts at
+     * @param element the element to be placed
+     * @param handle the handle of the element */
+    private void siftUp(int index, T element, int handle) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            if (comparator.compare(element, heap[parent]) >= 0) {
+                break;
+            }
+            place(index, heap[parent], handles[parent]);
+            index = parent;
+        }
+
+        place(index, element, handle);
+    }
+
+    /**
+     * Moves the specified element down from the hole at the specified index,
+     * shifting the least child up one level while it is less than the
+     * element, and stores the element where it stops.
+     *
+     * @param index the index of the hole the element starts at
+     * @param element the element to be placed
+     * @param handle the handle of the element */
+    private void siftDown(int index, T element, int handle) {
+        int firstLeaf = count < 2 ? 0 : (count - 2) / arity + 1;
+        while (index < firstLeaf) {
+            int first = arity * index + 1;
+            int last = Math.min(first + arity, count);
+
+            int least = first;
+            for (int child = first + 1; child < last; child++) {
+                if (comparator.compare(heap[child], heap[least]) < 0) {
+                    least = child;
+                }
+            }
+
+            if (comparator.compare(element, heap[least]) <= 0) {
+                break;
+            }
+            place(index, heap[least], handles[least]);
+            index = least;
+        }
+
+        place(index, element, handle);
+    }
+
+    /**
+     * Removes the element at the specified heap position, filling the hole
+     * with the last element of the heap, and releases its handle.
+     *
+     * @param index the heap position of the element to be removed
+     * @return the removed element */
+    private T removeAt(int index) {
+        T result = heap[index];
+        int handle = handles[index];
+
+        count--;
+        T last = heap[count];
+        int lastHandle = handles[count];
+        heap[count] = null;
+
+        if (index < count) {
+            if (index > 0 && comparator.compare(last, heap[(index - 1) / arity]) < 0) {
+                siftUp(index, last, lastHandle);
+            } else {
+                siftDown(index, last, lastHandle);
+            }
+        }
+
+        positions[handle] = UNUSED;
+        freeHandles[freeCount++] = handle;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Adds the specified element to this queue, according to its priority,
+     * and returns the handle through which it can later be changed or removed.
+     *
+     * @param element the element to be added to this queue
+     * @return int handle of the element, valid while the element is in the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws ClassCastException if no comparator was given and the element is not {@link Comparable} */
+    public int insert(T element) {
+        checkElement(element);
+
+        if (count == heap.length) {
+            expandCapacity();
+        }
+
+        int handle = freeCount > 0 ? freeHandles[--freeCount] : nextHandle++;
+        siftUp(count++, element, handle);
+        modCount++;
+
+        return handle;
+    }
+
+    /**
+     * Adds the specified element to this queue, according to its priority.
+     *
+     * @param element the element to be added to this queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws ClassCastException if no comparator was given and the element is not {@link Comparable} */
+    @Override
+    public void enqueue(T element) {
+        insert(element);
+    }
+
+    /**
+     * Replaces the element with the specified handle by a lesser or equal
+     * one, moving it towards the front of the queue.
+     *
+     * @param handle the handle of the element to be replaced
+     * @param element the new element
+     * @throws IllegalArgumentException if the handle does not belong to an element in the queue,
+     * if {@code element} is {@code null} or if it is greater than the current element */
+    public void decreaseKey(int handle, T element) {
+        checkElement(element);
+
+        int index = positionOf(handle);
+        if (comparator.compare(element, heap[index]) > 0) {
+            throw new IllegalArgumentException("Element cannot be greater than the current one.");
+        }
+
+        siftUp(index, element, handle);
+        modCount++;
+    }
+
+    /**
+     * Replaces the element with the specified handle by a greater or equal
+     * one, moving it towards the rear of the queue.
+     *
+     * @param handle the handle of the element to be replaced
+     * @param element the new element
+     * @throws IllegalArgumentException if the handle does not belong to an element in the queue,
+     * if {@code element} is {@code null} or if it is less than the current element */
+    public void increaseKey(int handle, T element) {
+        checkElement(element);
+
+        int index = positionOf(handle);
+        if (comparator.compare(element, heap[index]) < 0) {
+            throw new IllegalArgumentException("Element cannot be less than the current one.");
+        }
+
+        siftDown(index, element, handle);
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the element with the specified handle, which is released.
+     *
+     * @param handle the handle of the element to be removed
+     * @return the removed element
+     * @throws IllegalArgumentException if the handle does not belong to an element in the queue */
+    public T remove(int handle) {
+        return removeAt(positionOf(handle));
+    }
+
+    /**
+     * Returns the element with the specified handle.
+     *
+     * @param handle the handle of the element
+     * @return the element with the specified handle
+     * @throws IllegalArgumentException if the handle does not belong to an element in the queue */
+    public T get(int handle) {
+        return heap[positionOf(handle)];
+    }
+
+    /**
+     * Returns true if the specified handle belongs to an element in this queue.
+     *
+     * @param handle the handle being checked
+     * @return true if the handle is in use, false otherwise */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positions.length && positions[handle] != UNUSED;
+    }
+
+    /**
+     * Returns the handle of the least element of this queue, which is the
+     * element the next {@link #dequeue()} removes.
+     *
+     * @return the handle of the least element
+     * @throws EmptyCollectionException if the queue is empty */
+    public int firstHandle() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return handles[0];
+    }
+
+    /**
+     * Removes and returns the least element of this queue, releasing its handle.
+     *
+     * @return the least element of this queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return removeAt(0);
+    }
+
+    /**
+     * Removes and returns the least element of this queue, releasing its
+     * handle, or returns {@code null} if the queue is empty.
+     *
+     * @return the least element of this queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        return isEmpty() ? null : removeAt(0);
+    }
+
+    /**
+     * Returns without removing the least element of this queue.
+     *
+     * @return the least element of this queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Returns without removing the least element of this queue,
+     * or returns {@code null} if the queue is empty.
+     *
+     * @return the least element of this queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return heap[0];
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this queue, in the
+     * order they are stored in the heap array, which is not the order in
+     * which they would be dequeued.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayIterator<>(heap, 0, false, count, () -> modCount);
+    }
+
+    /**
+     * Returns a fail-fast spliterator over the elements in this queue, in the
+     * order they are stored in the heap array, that splits the index range in
+     * halves. It does not report {@code ORDERED}, since that order is not the
+     * priority order.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(heap, 0, false, 0, count, Spliterator.NONNULL, () -> modCount);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * Every element is listed with its handle, in the order they are stored
+     * in the heap array, which is not the order in which they would be dequeued.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("IndexedPriorityQueue{ size = " + count + ", arity = " + arity
+                + ", heap.length = " + heap.length + "\n");
+
+        for (int i = 0; i < count; i++) {
+            stringBuilder.append(String.format("\t%d -> %s (handle %d)\n", i + 1, heap[i], handles[i]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
@@ -3,6 +3,8 @@ package ed.collections;
 /**
  * {@code LinearNode} represents a single node in a linked structure.
  * Each node stores an element and a reference to the next node in the list.
+ * The element can be replaced, so that a structure can reuse a node after
+ * its element has been removed.
  *
  * @param <T> the type of element stored in this node
  * @author José Azevedo (8240127@estg.ipp.pt) */
@@ -11,7 +13,7 @@ public class LinearNode<T>  {
     /** reference to the next node in list */
     private LinearNode<T> next;
     /** element stored in this node */
-    private final T element;
+    private T element;
 
     /** Creates an empty node. */
     public LinearNode() {
@@ -51,4 +53,12 @@ public class LinearNode<T>  {
         return element;
     }
 
+    /**
+     * Sets the element stored in this node.
+     *
+     * @param element element to be stored */
+    public void setElement(T element) {
+        this.element = element;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+package ed.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code LinkedDeque} class provides a doubly-linked implementation of the
+ * {@link DequeADT} interface. Internally, the deque is represented using
+ * {@link DoubleNode} objects: {@code front} refers to the node holding the
+ * first element and {@code rear} to the node holding the last one, and every
+ * node knows both of its neighbours, so elements can be added and removed at
+ * either end in constant time O(1).
+ * The iterator is fail-fast and walks the nodes from {@code front}; the
+ * spliterator splits off batches of the elements it returns.
+ *
+ * @param <T> the type of elements stored in this deque
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class LinkedDeque<T> implements DequeADT<T> {
+
+    /** int that represents the number of elements currently stored in this deque */
+    private int size;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+
+    /** reference to the first node in the deque, which contains the first element */
+    private DoubleNode<T> front;
+    /** reference to the last node in the deque, which contains the last element */
+    private DoubleNode<T> rear;
+
+    /** Creates an empty deque using the default constructor. */
+    public LinkedDeque() {
+        size = modCount = 0;
+        front = rear = null;
+    }
+
+    /**
+     * Adds the specified element to the front of this deque.
+     *
+     * @param element the element to be added */
+    @Override
+    public void addFirst(T element) {
+        DoubleNode<T> newNode = new DoubleNode<>(element);
+
+        if (isEmpty()) {
+            rear = newNode;
+        } else {
+            newNode.setNext(front);
+            front.setPrevious(newNode);
+        }
+
+        front = newNode;
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds the specified element to the rear of this deque.
+     *
+     * @param element the element to be added */
+    @Override
+    public void addLast(T element) {
+        DoubleNode<T> newNode = new DoubleNode<>(element);
+
+        if (isEmpty()) {
+            front = newNode;
+        } else {
+            newNode.setPrevious(rear);
+            rear.setNext(newNode);
+        }
+
+        rear = newNode;
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the first element of this deque.
+     *
+     * @return the element removed from the front of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return pollFirst();
+    }
+
+    /**
+     * Removes and returns the last element of this deque.
+     *
+     * @return the element removed from the rear of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return pollLast();
+    }
+
+    /**
+     * Removes and returns the first element of this deque,
+     * or returns {@code null} if the deque is empty.
+     *
+     * @return the element removed from the front of the deque, or {@code null} if it is empty */
+    @Override
+    public T pollFirst() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        DoubleNode<T> removed = front;
+        front = removed.getNext();
+        removed.setNext(null);
+
+        size--;
+        modCount++;
+
+        if (isEmpty()) {
+            rear = null;
+        } else {
+            front.setPrevious(null);
+        }
+
+        return removed.getElement();
+    }
+
+    /**
+     * Removes and returns the last element of this deque,
+     * or returns {@code null} if the deque is empty.
+     *
+     * @return the element removed from the rear of the deque, or {@code null} if it is empty */
+    @Override
+    public T pollLast() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        DoubleNode<T> removed = rear;
+        rear = removed.getPrevious();
+        removed.setPrevious(null);
+
+        size--;
+        modCount++;
+
+        if (isEmpty()) {
+            front = null;
+        } else {
+            rear.setNext(null);
+        }
+
+        return removed.getElement();
+    }
+
+    /**
+     * Returns, without removing, the first element of this deque.
+     *
+     * @return the element at the front of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T peekFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return front.getElement();
+    }
+
+    /**
+     * Returns, without removing, the last element of this deque.
+     *
+     * @return the element at the rear of the deque
+     * @throws EmptyCollectionException if the deque is empty */
+    @Override
+    public T peekLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Deque");
+        }
+
+        return rear.getElement();
+    }
+
+    /**
+     * Returns, without removing, the first element of this deque,
+     * or {@code null} if the deque is empty.
+     *
+     * @return the element at the front of the deque, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : front.getElement();
+    }
+
+    /**
+     * Checks whether this deque contains no elements.
+     *
+     * @return {@code true} if this deque is empty; {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this deque.
+     *
+     * @return the number of elements in this deque */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this deque, from the first to the last.
+     *
+     * @return an iterator over the elements in this deque */
+    @Override
+    public Iterator<T> iterator() {
+        return new LinkedDequeIterator();
+    }
+
+    /**
+     * Returns a string representation of this deque.
+     * The string includes the current size and the elements from first to last.
+     *
+     * @return a string representation of this {@code LinkedDeque} */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("LinkedDeque{ size = " + size + "\n");
+
+        DoubleNode<T> current = front;
+        int i = 1;
+        while (current != null) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i++, current.getElement()));
+            current = current.getNext();
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code LinkedDequeIterator} follows the {@code next} references from
+     * {@code front}, checking on every step that the deque has not been
+     * modified behind its back. */
+    private class LinkedDequeIterator implements Iterator<T> {
+
+        /** reference to the node holding the next element to be returned */
+        private DoubleNode<T> current;
+        /** the modification count the deque is expected to have */
+        private final int expectedModCount;
+
+        /** Creates an iterator positioned before the first element. */
+        private LinkedDequeIterator() {
+            current = front;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the deque was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            T result = current.getElement();
+            current = current.getNext();
+
+            return result;
+        }
+
+    }
+
+}
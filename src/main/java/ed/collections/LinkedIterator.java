@@ -0,0 +1,67 @@
+package ed.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.function.IntSupplier;
+
+/**
+ * {@code LinkedIterator} follows a chain of {@link LinearNode} objects from
+ * its first node, checking on every step that the collection owning the
+ * chain has not been modified behind its back. Because the check comes
+ * before a node is read, it also protects the iterator from nodes that a
+ * {@link NodePool} has recycled. Elements cannot be removed through it.
+ *
+ * @param <T> the type of elements returned by this iterator
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class LinkedIterator<T> implements Iterator<T> {
+
+    /** the source of the collection's modification count */
+    private final IntSupplier modCount;
+    /** the modification count the collection is expected to have */
+    private final int expectedModCount;
+
+    /** reference to the node holding the next element to be returned */
+    private LinearNode<T> current;
+
+    /**
+     * Creates an iterator positioned before the element of the specified node.
+     *
+     * @param first the first node of the chain, or {@code null} if it is empty
+     * @param modCount the source of the collection's modification count */
+    LinkedIterator(LinearNode<T> first, IntSupplier modCount) {
+        this.modCount = modCount;
+        expectedModCount = modCount.getAsInt();
+        current = first;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements */
+    @Override
+    public boolean hasNext() {
+        return current != null;
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * @return the next element in the iteration
+     * @throws ConcurrentModificationException if the collection was modified outside this iterator
+     * @throws java.util.NoSuchElementException if the iteration has no more elements */
+    @Override
+    public T next() {
+        if (modCount.getAsInt() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (!hasNext()) {
+            throw new java.util.NoSuchElementException();
+        }
+
+        T result = current.getElement();
+        current = current.getNext();
+
+        return result;
+    }
+
+}
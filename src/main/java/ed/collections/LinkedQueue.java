@@ -1,5 +1,8 @@
 package ed.collections;
 
+import java.util.Iterator;
+import java.util.Objects;
+
 import ed.collections.exceptions.EmptyCollectionException;
 
 /**
@@ -11,13 +14,23 @@ import ed.collections.exceptions.EmptyCollectionException;
  * {@code rear} node refers to the last element.
  * All operations (enqueue, dequeue, first, size, isEmpty) run in constant
  * time O(1).
+ * Optionally, the queue keeps a bounded free-list of the nodes left behind by
+ * removed elements and reuses them for new elements, so that a queue whose
+ * size stays within the pool capacity enqueues and dequeues without allocating.
+ * The iterator is fail-fast and walks the nodes from the front; the
+ * spliterator splits off batches of the elements it returns.
  *
  * @param <T> the type of elements stored in this queue
  * @author José Azevedo (8240127@estg.ipp.pt) */
 public class LinkedQueue<T> implements QueueADT<T> {
 
+    /** the free-list of nodes available for reuse */
+    private final NodePool<T> nodePool;
+
     /** int that represents the number of elements currently stored in this queue */
     private int size;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
 
     /** reference to the first node in the queue, which contains the element
      * at the front of this queue */
@@ -26,9 +39,24 @@ public class LinkedQueue<T> implements QueueADT<T> {
      * at the rear of the queue */
     private LinearNode<T> rear;
 
-    /** Creates an empty queue using the default constructor. */
+    /** Creates an empty queue using the default constructor, without node reuse. */
     public LinkedQueue() {
-        size = 0;
+        this(0);
+    }
+
+    /**
+     * Creates an empty queue that keeps up to the specified number of
+     * removed nodes for reuse.
+     *
+     * @param pooledNodes the largest number of removed nodes kept for reuse
+     * @throws IllegalArgumentException if {@code pooledNodes} is negative */
+    public LinkedQueue(int pooledNodes) {
+        if (pooledNodes < 0) {
+            throw new IllegalArgumentException("Pooled nodes cannot be negative.");
+        }
+
+        nodePool = new NodePool<>(pooledNodes);
+        size = modCount = 0;
         front = rear = null;
     }
 
@@ -38,7 +66,7 @@ public class LinkedQueue<T> implements QueueADT<T> {
      * @param element the element to be added to the queue */
     @Override
     public void enqueue(T element) {
-        LinearNode<T> newNode = new LinearNode<>(element);
+        LinearNode<T> newNode = nodePool.obtain(element);
 
         if (isEmpty()) {
             front = newNode;
@@ -49,6 +77,119 @@ public class LinkedQueue<T> implements QueueADT<T> {
         rear = newNode;
 
         size++;
+        modCount++;
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in order.
+     * The nodes are linked to each other first and the finished chain is then
+     * attached to the rear of the queue in a single step.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        if (len == 0) {
+            return;
+        }
+
+        LinearNode<T> first = nodePool.obtain(src[off]);
+        LinearNode<T> last = first;
+        for (int i = off + 1; i < off + len; i++) {
+            LinearNode<T> newNode = nodePool.obtain(src[i]);
+            last.setNext(newNode);
+            last = newNode;
+        }
+
+        append(first, last, len);
+    }
+
+    /**
+     * Attaches an already linked chain of nodes to the rear of this queue.
+     *
+     * @param first the first node of the chain
+     * @param last the last node of the chain
+     * @param count the number of nodes in the chain */
+    private void append(LinearNode<T> first, LinearNode<T> last, int count) {
+        if (isEmpty()) {
+            front = first;
+        } else {
+            rear.setNext(first);
+        }
+
+        rear = last;
+
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Removes up to {@code max} elements from the front of this queue and
+     * stores them in an array, in queue order.
+     *
+     * @param dst the array that receives the removed elements, from index zero
+     * @param max the largest number of elements to be removed
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater
+     * than the length of {@code dst} */
+    @Override
+    public int drainTo(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = Math.min(max, size);
+        LinearNode<T> current = front;
+        for (int i = 0; i < count; i++) {
+            LinearNode<T> removed = current;
+            dst[i] = removed.getElement();
+            current = removed.getNext();
+            nodePool.recycle(removed);
+        }
+
+        front = current;
+        size -= count;
+        modCount++;
+
+        if (isEmpty()) {
+            rear = null;
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes every element of this queue and adds it to the rear of the
+     * destination queue, in queue order.
+     * When the destination is another {@code LinkedQueue}, the whole chain of
+     * nodes is moved over in constant time; any other destination receives
+     * the elements one at a time.
+     *
+     * @param dst the queue that receives the elements
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if {@code dst} is this queue */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(QueueADT<? super T> dst) {
+        if (!(dst instanceof LinkedQueue)) {
+            return QueueADT.super.drainTo(dst);
+        }
+        if (dst == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself.");
+        }
+
+        int count = size;
+        if (count > 0) {
+            ((LinkedQueue<T>) dst).append(front, rear, count);
+
+            size = 0;
+            modCount++;
+            front = rear = null;
+        }
+
+        return count;
     }
 
     /**
@@ -60,14 +201,31 @@ public class LinkedQueue<T> implements QueueADT<T> {
     @Override
     public T dequeue() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Queue");
+            throw EmptyCollectionException.of("Queue");
         }
 
-        T result = front.getElement();
+        return poll();
+    }
 
-        front = front.getNext();
+    /**
+     * Removes and returns the element at the front of this queue,
+     * or returns {@code null} if the queue is empty.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        LinearNode<T> removed = front;
+        T result = removed.getElement();
+
+        front = removed.getNext();
+        nodePool.recycle(removed);
 
         size--;
+        modCount++;
 
         if (isEmpty()) {
             rear = null;
@@ -85,12 +243,22 @@ public class LinkedQueue<T> implements QueueADT<T> {
     @Override
     public T first() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Queue");
+            throw EmptyCollectionException.of("Queue");
         }
 
         return front.getElement();
     }
 
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : front.getElement();
+    }
+
     /**
      * Checks whether this queue contains no elements.
      *
@@ -109,6 +277,15 @@ public class LinkedQueue<T> implements QueueADT<T> {
         return size;
     }
 
+    /**
+     * Returns a fail-fast iterator over the elements in this queue, from the front to the rear.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new LinkedIterator<>(front, () -> modCount);
+    }
+
     /**
      * Returns a string representation of this queue.
      * The string includes the current size and the ordered list of elements.
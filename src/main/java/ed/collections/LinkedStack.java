@@ -1,24 +1,52 @@
 package ed.collections;
 
+import java.util.Iterator;
+import java.util.Objects;
+
 import ed.collections.exceptions.EmptyCollectionException;
 
 /**
  * {@code LinkedStack} represents a linked-node implementation of a stack.
  * It uses {@link LinearNode} objects to store elements, with each new element
  * added to the top of the list.
+ * Optionally, the stack keeps a bounded free-list of the nodes left behind by
+ * popped elements and reuses them for pushed elements, so that push/pop cycles
+ * within the pool capacity run without allocating.
+ * The iterator is fail-fast and walks the nodes from the top; the spliterator
+ * splits off batches of the elements it returns.
  *
  * @param <T> the type of elements stored in this stack
  * @author José Azevedo (8240127@estg.ipp.pt) */
 public class LinkedStack<T> implements StackADT<T> {
 
+    /** the free-list of nodes available for reuse */
+    private final NodePool<T> nodePool;
+
     /** int that represents the number of elements in this stack */
     private int size;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
     /** reference to the first node in list, which stores the top element of this stack */
     private LinearNode<T> top;
 
-    /** Creates an empty stack using the default constructor. */
+    /** Creates an empty stack using the default constructor, without node reuse. */
     public LinkedStack() {
-        size = 0;
+        this(0);
+    }
+
+    /**
+     * Creates an empty stack that keeps up to the specified number of
+     * popped nodes for reuse.
+     *
+     * @param pooledNodes the largest number of popped nodes kept for reuse
+     * @throws IllegalArgumentException if {@code pooledNodes} is negative */
+    public LinkedStack(int pooledNodes) {
+        if (pooledNodes < 0) {
+            throw new IllegalArgumentException("Pooled nodes cannot be negative.");
+        }
+
+        nodePool = new NodePool<>(pooledNodes);
+        size = modCount = 0;
         top = null;
     }
 
@@ -28,12 +56,74 @@ public class LinkedStack<T> implements StackADT<T> {
      * @param element generic element to be pushed onto stack */
     @Override
     public void push(T element) {
-        LinearNode<T> newNode = new LinearNode<>(element);
+        LinearNode<T> newNode = nodePool.obtain(element);
 
         newNode.setNext(top);
         top = newNode;
 
         size++;
+        modCount++;
+    }
+
+    /**
+     * Pushes a range of elements from an array onto this stack, in order,
+     * so that the last element of the range ends up on top.
+     * The nodes are linked to each other first and the finished chain is then
+     * placed on top of the stack in a single step.
+     *
+     * @param src the array holding the elements to be pushed
+     * @param off the index of the first element to be pushed
+     * @param len the number of elements to be pushed
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void pushAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        if (len == 0) {
+            return;
+        }
+
+        LinearNode<T> bottom = nodePool.obtain(src[off]);
+        LinearNode<T> chain = bottom;
+        for (int i = off + 1; i < off + len; i++) {
+            LinearNode<T> newNode = nodePool.obtain(src[i]);
+            newNode.setNext(chain);
+            chain = newNode;
+        }
+
+        bottom.setNext(top);
+        top = chain;
+
+        size += len;
+        modCount++;
+    }
+
+    /**
+     * Pops up to {@code max} elements from this stack into an array, in the
+     * order they are popped, so that the former top element is stored first.
+     *
+     * @param dst the array that receives the popped elements, from index zero
+     * @param max the largest number of elements to be popped
+     * @return int number of elements popped
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater than the length of {@code dst} */
+    @Override
+    public int popN(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = Math.min(max, size);
+        LinearNode<T> current = top;
+        for (int i = 0; i < count; i++) {
+            LinearNode<T> removed = current;
+            dst[i] = removed.getElement();
+            current = removed.getNext();
+            nodePool.recycle(removed);
+        }
+
+        top = current;
+        size -= count;
+        modCount++;
+
+        return count;
     }
 
     /**
@@ -47,13 +137,30 @@ public class LinkedStack<T> implements StackADT<T> {
     @Override
     public T pop() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Stack");
+            throw EmptyCollectionException.of("Stack");
         }
 
-        T result = top.getElement();
-        top = top.getNext();
+        return tryPop();
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns a
+     * reference to it, or returns {@code null} if the stack is empty.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    public T tryPop() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        LinearNode<T> removed = top;
+        T result = removed.getElement();
+        top = removed.getNext();
+        nodePool.recycle(removed);
 
         size--;
+        modCount++;
 
         return result;
     }
@@ -69,12 +176,22 @@ public class LinkedStack<T> implements StackADT<T> {
     @Override
     public T peek() throws EmptyCollectionException {
         if (isEmpty()) {
-            throw new EmptyCollectionException("Stack");
+            throw EmptyCollectionException.of("Stack");
         }
 
         return top.getElement();
     }
 
+    /**
+     * Returns a reference to the element at the top of this stack,
+     * or {@code null} if the stack is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return isEmpty() ? null : top.getElement();
+    }
+
     /**
      * Returns true if this stack contains no elements.
      *
@@ -93,6 +210,15 @@ public class LinkedStack<T> implements StackADT<T> {
         return size;
     }
 
+    /**
+     * Returns a fail-fast iterator over the elements in this stack, from the top to the bottom.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return new LinkedIterator<>(top, () -> modCount);
+    }
+
     /**
      * Returns a string representation of this stack.
      *
@@ -0,0 +1,247 @@
+package ed.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code LockFreeLinkedQueue} class provides an unbounded, non-blocking
+ * linked implementation of the {@link QueueADT} interface, based on the
+ * Michael-Scott queue algorithm. It can be shared by any number of threads.
+ * Internally, the queue is represented using {@link AtomicLinearNode} objects
+ * and always keeps a dummy node at the front: {@code head} refers to the dummy
+ * and the element at the front of the queue lives in the node that follows it.
+ * Producers only CAS {@code tail} and the last node's {@code next}, consumers
+ * only CAS {@code head}, so both ends make progress independently.
+ * The number of elements is kept in a {@link LongAdder}, so {@link #size()}
+ * runs in O(1) without becoming a contention point, but under concurrent
+ * access it is only an estimate. {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class LockFreeLinkedQueue<T> implements QueueADT<T> {
+
+    /** handle used to CAS the {@code head} reference */
+    private static final VarHandle HEAD;
+    /** handle used to CAS the {@code tail} reference */
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(LockFreeLinkedQueue.class, "head", AtomicLinearNode.class);
+            TAIL = lookup.findVarHandle(LockFreeLinkedQueue.class, "tail", AtomicLinearNode.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** approximate number of elements currently stored in this queue */
+    private final LongAdder size;
+
+    /** reference to the dummy node that precedes the element at the front of this queue */
+    private volatile AtomicLinearNode<T> head;
+    /** reference to the last node in the queue, or to a node close to it */
+    private volatile AtomicLinearNode<T> tail;
+
+    /** Creates an empty queue using the default constructor. */
+    public LockFreeLinkedQueue() {
+        AtomicLinearNode<T> dummy = new AtomicLinearNode<>();
+
+        size = new LongAdder();
+        head = tail = dummy;
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public void enqueue(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        AtomicLinearNode<T> newNode = new AtomicLinearNode<>(element);
+
+        while (true) {
+            AtomicLinearNode<T> last = tail;
+            AtomicLinearNode<T> next = last.getNext();
+
+            if (last == tail) {
+                if (next == null) {
+                    if (last.casNext(null, newNode)) {
+                        TAIL.compareAndSet(this, last, newNode);
+                        break;
+                    }
+                } else {
+                    TAIL.compareAndSet(this, last, next);
+                }
+            }
+        }
+
+        size.increment();
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, or returns
+     * {@code null} if the queue is empty. Unlike {@link #dequeue()}, an empty
+     * queue is reported without creating an exception.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        while (true) {
+            AtomicLinearNode<T> dummy = head;
+            AtomicLinearNode<T> last = tail;
+            AtomicLinearNode<T> next = dummy.getNext();
+
+            if (dummy == head) {
+                if (dummy == last) {
+                    if (next == null) {
+                        return null;
+                    }
+                    TAIL.compareAndSet(this, last, next);
+                } else {
+                    T result = next.getElement();
+                    if (HEAD.compareAndSet(this, dummy, next)) {
+                        next.setElement(null);
+                        size.decrement();
+                        return result;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        T result = poll();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     * Under concurrent access the returned element may already have been
+     * dequeued by another thread by the time this method returns.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     * Under concurrent access the returned element may already have been
+     * dequeued by another thread by the time this method returns.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        while (true) {
+            AtomicLinearNode<T> dummy = head;
+            AtomicLinearNode<T> next = dummy.getNext();
+
+            if (next == null) {
+                return null;
+            }
+
+            T result = next.getElement();
+            if (result != null && dummy == head) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     * Unlike {@link #size()}, the answer is exact at the moment it is read.
+     *
+     * @return {@code true} if this queue is empty; {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return head.getNext() == null;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     * Under concurrent access the value is an estimate that may be momentarily
+     * off by the number of operations still in flight.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        long sum = size.sum();
+        return (int) Math.max(0, Math.min(sum, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this queue, from the front to the rear.
+     * It never throws a {@link java.util.ConcurrentModificationException} and
+     * may or may not see elements added or removed while it is in use.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new AtomicLinkedIterator<>(head.getNext());
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in this queue.
+     * Its size is unknown, since other threads may change it at any time,
+     * so it splits in batches.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size and the ordered list of elements,
+     * as observed while traversing the nodes.
+     *
+     * @return a string representation of this {@code LockFreeLinkedQueue} */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("LockFreeLinkedQueue{ size = " + size() + "\n");
+
+        AtomicLinearNode<T> current = head.getNext();
+        int i = 1;
+        while (current != null) {
+            T element = current.getElement();
+            if (element != null) {
+                stringBuilder.append(String.format("\t%d -> %s\n", i++, element));
+            }
+            current = current.getNext();
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
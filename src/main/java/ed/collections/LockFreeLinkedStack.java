@@ -0,0 +1,276 @@
+package ed.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code LockFreeLinkedStack} represents an unbounded, non-blocking linked
+ * implementation of a stack that can be shared by any number of threads.
+ * It is a Treiber stack: {@code push} and {@code pop} swing the {@code top}
+ * reference with a CAS over {@link AtomicLinearNode} objects.
+ * When that CAS fails because of contention, the thread falls back to an
+ * elimination array: a pushing thread parks its node in a random slot for a
+ * short while, and a popping thread that finds it there takes the node
+ * directly, so the two operations cancel out without touching {@code top}.
+ * The number of elements is kept in a {@link LongAdder}, so {@link #size()}
+ * runs in O(1), but under concurrent access it is only an estimate.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this stack
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class LockFreeLinkedStack<T> implements StackADT<T> {
+
+    /** constant to represent the largest number of slots in the elimination array */
+    private static final int MAXIMUM_ELIMINATION_SLOTS = 32;
+    /** constant to represent how many times a parked push waits for a matching pop */
+    private static final int ELIMINATION_SPINS = 64;
+
+    /** handle used to CAS the {@code top} reference */
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(LockFreeLinkedStack.class, "top", AtomicLinearNode.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** slots where a contended push offers its node to a contended pop */
+    private final AtomicReferenceArray<AtomicLinearNode<T>> eliminationSlots;
+    /** approximate number of elements in this stack */
+    private final LongAdder size;
+
+    /** reference to the first node in list, which stores the top element of this stack */
+    private volatile AtomicLinearNode<T> top;
+
+    /** Creates an empty stack with an elimination array sized to the available processors. */
+    public LockFreeLinkedStack() {
+        this(Math.min(Runtime.getRuntime().availableProcessors(), MAXIMUM_ELIMINATION_SLOTS));
+    }
+
+    /**
+     * Creates an empty stack with the specified number of elimination slots.
+     *
+     * @param eliminationSlots the number of slots in the elimination array
+     * @throws IllegalArgumentException if {@code eliminationSlots} is less than or equal to zero */
+    public LockFreeLinkedStack(int eliminationSlots) {
+        if (eliminationSlots <= 0) {
+            throw new IllegalArgumentException("Elimination slots cannot be negative or zero.");
+        }
+
+        this.eliminationSlots = new AtomicReferenceArray<>(eliminationSlots);
+        size = new LongAdder();
+        top = null;
+    }
+
+    /**
+     * Adds the specified element to the top of this stack.
+     *
+     * @param element generic element to be pushed onto stack
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public void push(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        AtomicLinearNode<T> newNode = new AtomicLinearNode<>(element);
+
+        while (true) {
+            AtomicLinearNode<T> current = top;
+            newNode.setNext(current);
+            if (TOP.compareAndSet(this, current, newNode) || eliminatePush(newNode)) {
+                break;
+            }
+        }
+
+        size.increment();
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns a reference to it,
+     * or returns {@code null} if the stack is empty. Unlike {@link #pop()}, an
+     * empty stack is reported without creating an exception.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    public T tryPop() {
+        while (true) {
+            AtomicLinearNode<T> current = top;
+            if (current == null) {
+                return null;
+            }
+
+            if (TOP.compareAndSet(this, current, current.getNext())) {
+                size.decrement();
+                return current.getElement();
+            }
+
+            AtomicLinearNode<T> eliminated = eliminatePop();
+            if (eliminated != null) {
+                size.decrement();
+                return eliminated.getElement();
+            }
+        }
+    }
+
+    /**
+     * Parks the node of a contended push in a random elimination slot and waits
+     * briefly for a pop to take it.
+     *
+     * @param node the node that could not be pushed onto {@code top}
+     * @return {@code true} if a pop took the node, {@code false} if the push must be retried */
+    private boolean eliminatePush(AtomicLinearNode<T> node) {
+        int slot = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+        if (!eliminationSlots.compareAndSet(slot, null, node)) {
+            return false;
+        }
+
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (eliminationSlots.get(slot) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+
+        return !eliminationSlots.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * Looks for a node parked by a contended push in a random elimination slot.
+     *
+     * @return the node taken from the slot, or {@code null} if none was available */
+    private AtomicLinearNode<T> eliminatePop() {
+        int slot = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+        AtomicLinearNode<T> node = eliminationSlots.get(slot);
+
+        if (node != null && eliminationSlots.compareAndSet(slot, node, null)) {
+            return node;
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the element at the top of this stack and
+     * returns a reference to it.
+     * Throws an EmptyCollectionException if the stack is empty.
+     *
+     * @return T element removed from top of stack
+     * @throws EmptyCollectionException if a pop is attempted
+     * on empty stack */
+    @Override
+    public T pop() throws EmptyCollectionException {
+        T result = tryPop();
+        if (result == null) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack.
+     * The element is not removed from the stack, but under concurrent access
+     * it may already have been popped by another thread by the time this
+     * method returns.
+     *
+     * @return T element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted
+     * on empty stack */
+    @Override
+    public T peek() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack,
+     * or {@code null} if the stack is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        AtomicLinearNode<T> current = top;
+
+        return current == null ? null : current.getElement();
+    }
+
+    /**
+     * Returns true if this stack contains no elements.
+     * Unlike {@link #size()}, the answer is exact at the moment it is read.
+     *
+     * @return boolean {@code true} if this stack is empty, {@code false} otherwise. */
+    @Override
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    /**
+     * Returns the number of elements in this stack.
+     * Under concurrent access the value is an estimate that may be momentarily
+     * off by the number of operations still in flight.
+     *
+     * @return int number of elements in this stack */
+    @Override
+    public int size() {
+        long sum = size.sum();
+        return (int) Math.max(0, Math.min(sum, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this stack, from the top to the bottom.
+     * It never throws a {@link java.util.ConcurrentModificationException} and
+     * may or may not see elements added or removed while it is in use.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return new AtomicLinkedIterator<>(top);
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in this stack.
+     * Its size is unknown, since other threads may change it at any time,
+     * so it splits in batches.
+     *
+     * @return a spliterator over the elements in this stack */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Returns a string representation of this stack,
+     * as observed while traversing the nodes.
+     *
+     * @return String representation of this stack */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("LockFreeLinkedStack { size = " + size() + "\n");
+
+        int i = 1;
+        AtomicLinearNode<T> current = top;
+        while (current != null) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i++, current.getElement()));
+            current = current.getNext();
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
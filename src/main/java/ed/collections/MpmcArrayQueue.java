@@ -0,0 +1,384 @@
+package ed.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code MpmcArrayQueue} class provides a bounded, lock-free implementation
+ * of the {@link QueueADT} interface that can be shared by any number of
+ * producer and consumer threads (multi-producer, multi-consumer).
+ * Elements are kept in a ring buffer whose capacity is rounded up to a power
+ * of two, so a position is mapped to its slot with a bitmask instead of the
+ * {@code %} wrap used by {@link CircularArrayQueue}.
+ * Every slot carries a sequence number that tells producers and consumers
+ * whether the slot is ready to be written or read; the {@code head} and
+ * {@code tail} counters are only ever advanced with a CAS, so no locks are taken.
+ * Besides the {@link QueueADT} operations, the queue offers the non-throwing
+ * {@link #offer(Object)} and {@link #poll()} variants, which are the
+ * preferred calls inside spin loops. {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class MpmcArrayQueue<T> implements QueueADT<T> {
+
+    /** constant to represent the default capacity of the ring buffer */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /** constant to represent the largest power of two that can be used as a capacity */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** handle used to read and CAS the {@code head} counter */
+    private static final VarHandle HEAD;
+    /** handle used to read and CAS the {@code tail} counter */
+    private static final VarHandle TAIL;
+    /** handle used to publish and read the slots of the ring buffer */
+    private static final VarHandle SLOT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(MpmcArrayQueue.class, "head", long.class);
+            TAIL = lookup.findVarHandle(MpmcArrayQueue.class, "tail", long.class);
+            SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** bitmask that maps a position onto an index of the ring buffer */
+    private final int mask;
+    /** array of generic elements used to represent the ring buffer */
+    private final T[] buffer;
+    /** sequence number of each slot, used to coordinate producers and consumers */
+    private final AtomicLongArray sequences;
+
+    /** long that represents the position of the next element to be dequeued */
+    private volatile long head;
+    /** long that represents the position of the next slot to be enqueued into */
+    private volatile long tail;
+
+    /** Creates an empty queue with the default capacity. */
+    public MpmcArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue able to hold at least the specified number of elements.
+     * The effective capacity is rounded up to the next power of two.
+     *
+     * @param capacity the minimum capacity of the ring buffer
+     * @throws IllegalArgumentException if {@code capacity} is less than or equal to zero
+     * or greater than {@code 2^30} */
+    @SuppressWarnings("unchecked")
+    public MpmcArrayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity cannot be greater than " + MAXIMUM_CAPACITY + ".");
+        }
+
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        mask = length - 1;
+        buffer = (T[]) new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.lazySet(i, i);
+        }
+        head = tail = 0;
+    }
+
+    /**
+     * Returns the number of elements this queue can hold.
+     *
+     * @return the capacity of the ring buffer */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Inserts the specified element at the rear of this queue if there is room for it.
+     *
+     * @param element the element to be added to the queue
+     * @return {@code true} if the element was added, {@code false} if the queue is full
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        long position = tail;
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (TAIL.compareAndSet(this, position, position + 1)) {
+                    SLOT.setRelease(buffer, index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail;
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, or returns
+     * {@code null} if the queue is empty. Unlike {@link #dequeue()}, an empty
+     * queue is reported without creating an exception.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        long position = head;
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (HEAD.compareAndSet(this, position, position + 1)) {
+                    @SuppressWarnings("unchecked")
+                    T result = (T) SLOT.getAcquire(buffer, index);
+                    SLOT.setOpaque(buffer, index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return result;
+                }
+                position = head;
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head;
+            }
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws IllegalStateException if the queue is full */
+    @Override
+    public void enqueue(T element) {
+        if (!offer(element)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        T result = poll();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     * Under concurrent access the returned element may already have been
+     * dequeued by another thread by the time this method returns.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     * Under concurrent access the returned element may already have been
+     * dequeued by another thread by the time this method returns.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        while (true) {
+            long position = head;
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference < 0) {
+                return null;
+            }
+            if (difference == 0) {
+                @SuppressWarnings("unchecked")
+                T result = (T) SLOT.getAcquire(buffer, index);
+                if (result != null && position == head) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     * Under concurrent access the value is a snapshot that may already be stale.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        long after = head;
+        while (true) {
+            long before = after;
+            long currentTail = tail;
+            after = head;
+            if (before == after) {
+                long size = currentTail - after;
+                return (int) Math.max(0, Math.min(size, buffer.length));
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this queue,
+     * from the front to the rear. It never throws a
+     * {@link java.util.ConcurrentModificationException}; elements dequeued
+     * while it is in use are skipped, and it stops at the first slot that has
+     * not been published yet.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new MpmcArrayQueueIterator();
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in this queue.
+     * Its size is unknown, since producers and consumers may change it at any
+     * time, so it splits in batches.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the ring buffer capacity
+     * and the elements in logical order, as observed at the time of the call.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("MpmcArrayQueue{ size = " + size() + ", capacity = " + buffer.length + "\n");
+
+        long start = head;
+        long end = tail;
+        for (long position = start, i = 1; position < end && i <= buffer.length; position++, i++) {
+            Object element = SLOT.getAcquire(buffer, (int) position & mask);
+            if (element != null) {
+                stringBuilder.append(String.format("\t%d -> %s\n", i, element));
+            }
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code MpmcArrayQueueIterator} walks the positions of the ring buffer
+     * from {@code head}, trusting a slot only while its sequence number says
+     * it holds the element of the position being read. The next element is
+     * read ahead so that {@link #hasNext()} and {@link #next()} always agree.
+     *
+     * @author José Azevedo (8240127@estg.ipp.pt) */
+    private final class MpmcArrayQueueIterator implements Iterator<T> {
+
+        /** long that represents the position after the one holding the next element */
+        private long position;
+        /** the next element to be returned, or {@code null} if there is none */
+        private T nextElement;
+
+        /** Creates an iterator positioned before the current front of the queue. */
+        MpmcArrayQueueIterator() {
+            position = head;
+            advance();
+        }
+
+        /** Reads ahead to the next position whose slot still holds a published element. */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - (position + 1);
+
+                if (difference < 0) {
+                    nextElement = null;
+                    return;
+                }
+                if (difference == 0) {
+                    T element = (T) SLOT.getAcquire(buffer, index);
+                    if (element != null && sequences.get(index) == position + 1) {
+                        nextElement = element;
+                        position++;
+                        return;
+                    }
+                }
+                position = Math.max(position + 1, head);
+            }
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return nextElement != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            T result = nextElement;
+            advance();
+
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package ed.collections;
+
+/**
+ * {@code NodePool} keeps a bounded free-list of {@link LinearNode} objects
+ * whose elements have been removed, so that a linked structure can reuse them
+ * instead of allocating a new node for every element it stores.
+ * The free nodes are linked through their own {@code next} reference, so the
+ * pool itself allocates nothing. A pool with a capacity of zero never keeps a
+ * node and simply allocates on every request.
+ * A pool belongs to a single structure and is not thread-safe.
+ *
+ * @param <T> the type of elements stored in the nodes
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class NodePool<T> {
+
+    /** int that represents the largest number of nodes kept in the pool */
+    private final int maxNodes;
+
+    /** int that represents the number of nodes currently in the pool */
+    private int pooled;
+    /** reference to the first node in the free-list */
+    private LinearNode<T> first;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param maxNodes the largest number of nodes kept in the pool */
+    NodePool(int maxNodes) {
+        this.maxNodes = maxNodes;
+        pooled = 0;
+        first = null;
+    }
+
+    /**
+     * Returns a node storing the specified element, taken from the free-list
+     * if one is available.
+     *
+     * @param element element to be stored
+     * @return a node storing {@code element} that is not linked to any other node */
+    LinearNode<T> obtain(T element) {
+        if (first == null) {
+            return new LinearNode<>(element);
+        }
+
+        LinearNode<T> node = first;
+        first = node.getNext();
+        node.setNext(null);
+        node.setElement(element);
+        pooled--;
+
+        return node;
+    }
+
+    /**
+     * Gives a node that is no longer part of the structure back to the pool,
+     * or lets it be collected if the pool is already full. The element of the
+     * node is cleared either way.
+     *
+     * @param node the node that is no longer used */
+    void recycle(LinearNode<T> node) {
+        node.setElement(null);
+
+        if (pooled < maxNodes) {
+            node.setNext(first);
+            first = node;
+            pooled++;
+        } else {
+            node.setNext(null);
+        }
+    }
+
+}
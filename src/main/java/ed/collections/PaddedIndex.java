@@ -0,0 +1,60 @@
+package ed.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * {@code PaddedIndex} holds a counter that is written by a single thread and
+ * read by another, together with that thread's cached copy of its peer's counter.
+ * The fields are surrounded by padding so that two indices allocated next to
+ * each other never share a cache line, which avoids false sharing between a
+ * producer and a consumer.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class PaddedIndex {
+
+    /** handle used to publish and read {@code value} with release/acquire semantics */
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedIndex.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** padding that keeps {@code value} away from the preceding object */
+    long p01, p02, p03, p04, p05, p06, p07, p08;
+    /** the counter owned by a single writer thread */
+    private long value;
+    /** the owner's last observed value of the peer's counter */
+    long peerCache;
+    /** padding that keeps {@code peerCache} away from the following object */
+    long p11, p12, p13, p14, p15, p16, p17, p18;
+
+    /**
+     * Returns the counter using a plain read; only valid from the owner thread.
+     *
+     * @return the current value of the counter */
+    long getPlain() {
+        return value;
+    }
+
+    /**
+     * Returns the counter with acquire semantics, for use by the peer thread.
+     *
+     * @return the current value of the counter */
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Publishes a new value of the counter with release semantics.
+     *
+     * @param newValue the new value of the counter */
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+}
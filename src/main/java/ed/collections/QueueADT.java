@@ -1,15 +1,24 @@
 package ed.collections;
 
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import ed.collections.exceptions.EmptyCollectionException;
 
 /**
  * {@code QueueADT} defines the basic operations of a generic queue
  * abstract data type (ADT), including methods for adding, removing,
  * and inspecting elements.
+ * A queue is {@link Iterable}: its elements are traversed from the front
+ * to the rear, the order in which they would be dequeued, without removing them.
  *
  * @param <T> the type of elements stored in this queue
  * @author José Azevedo (8240127@estg.ipp.pt) */
-public interface QueueADT<T> {
+public interface QueueADT<T> extends Iterable<T> {
 
     /**
      * Adds one element to the rear of this queue.
@@ -34,6 +43,149 @@ public interface QueueADT<T> {
      * @throws EmptyCollectionException if the queue is empty */
     public T first() throws EmptyCollectionException;
 
+    /**
+     * Removes and returns the element at the front of this queue,
+     * or returns {@code null} if the queue is empty.
+     * Unlike {@link #dequeue()}, an empty queue is reported without
+     * creating an exception, which makes this the preferred call in
+     * loops that drain the queue. In queues that hold {@code null}
+     * elements, use {@link #isEmpty()} to tell the two cases apart.
+     *
+     * @return the element at the front of this queue, or {@code null} if it is empty */
+    public default T poll() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return dequeue();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns without removing the element at the front of this queue,
+     * or returns {@code null} if the queue is empty.
+     * Unlike {@link #first()}, an empty queue is reported without
+     * creating an exception.
+     *
+     * @return the first element in this queue, or {@code null} if it is empty */
+    public default T peekOrNull() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return first();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in order.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    public default void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        for (int i = off; i < off + len; i++) {
+            enqueue(src[i]);
+        }
+    }
+
+    /**
+     * Removes up to {@code max} elements from the front of this queue and
+     * stores them in an array, in queue order.
+     *
+     * @param dst the array that receives the removed elements, from index zero
+     * @param max the largest number of elements to be removed
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater
+     * than the length of {@code dst} */
+    public default int drainTo(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            try {
+                dst[count] = dequeue();
+            } catch (EmptyCollectionException e) {
+                break;
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes every element of this queue and adds it to the rear of the
+     * destination queue, in queue order.
+     *
+     * @param dst the queue that receives the elements
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if {@code dst} is this queue */
+    public default int drainTo(QueueADT<? super T> dst) {
+        if (dst == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself.");
+        }
+
+        int count = 0;
+        while (!isEmpty()) {
+            try {
+                dst.enqueue(dequeue());
+            } catch (EmptyCollectionException e) {
+                break;
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue, from the front to
+     * the rear. Unless an implementation states otherwise, the iterator is
+     * fail-fast and does not support removal.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator();
+
+    /**
+     * Returns a {@code SIZED}, {@code SUBSIZED} and {@code ORDERED}
+     * spliterator over the elements in this queue, from the front to the rear.
+     * This default splits off batches of the elements returned by
+     * {@link #iterator()}; array-backed queues override it to split their
+     * index range evenly, and concurrent queues to drop {@code SIZED}.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this queue, from the front to the rear.
+     *
+     * @return a sequential stream over the elements in this queue */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel stream over the elements in this queue.
+     *
+     * @return a parallel stream over the elements in this queue */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /**
      * Returns true if this queue contains no elements.
      *
@@ -0,0 +1,29 @@
+package ed.collections;
+
+/**
+ * {@code Resizable} is implemented by the collections that keep their
+ * elements in an array and reallocate it as they grow and shrink, such as
+ * {@link ArrayStack} and {@link CircularArrayQueue}.
+ * Every reallocation is reported as a {@link ResizeEvent} to Java Flight
+ * Recorder, when it is recording them, and to the {@link ResizeListener}, if
+ * one is set. With neither, the only cost is a pair of checks on each
+ * reallocation; the ordinary operations are not affected.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface Resizable {
+
+    /**
+     * Returns the listener notified after every reallocation of the array.
+     *
+     * @return the listener, or {@code null} if none is set */
+    public ResizeListener getResizeListener();
+
+    /**
+     * Sets the listener notified after every reallocation of the array,
+     * replacing any previous one. To add a listener while keeping the current
+     * one, chain them with {@link ResizeListener#andThen(ResizeListener)}.
+     *
+     * @param listener the listener to be notified, or {@code null} to notify none */
+    public void setResizeListener(ResizeListener listener);
+
+}
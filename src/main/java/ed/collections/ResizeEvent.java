@@ -0,0 +1,106 @@
+package ed.collections;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * {@code ResizeEvent} is the Java Flight Recorder event committed every time
+ * a {@link Resizable} collection moves its elements to a new array. It is
+ * disabled unless a recording enables {@code ed.collections.Resize}, for
+ * example with {@code -XX:StartFlightRecording:ed.collections.Resize#enabled=true},
+ * and while it is disabled creating and checking it is optimized away.
+ * The number of bytes copied counts element references only, using the size
+ * of a reference in the running virtual machine, so it ignores the elements
+ * themselves, which are never copied.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@Name("ed.collections.Resize")
+@Label("Collection Resize")
+@Category("Collections")
+@Description("An array-backed collection moved its elements to a new array")
+public final class ResizeEvent extends Event {
+
+    /** the class of the collection that was resized */
+    @Label("Collection Class")
+    Class<?> collectionClass;
+
+    /** the length of the array that was replaced */
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    /** the length of the new array */
+    @Label("New Capacity")
+    int newCapacity;
+
+    /** the number of elements that were copied */
+    @Label("Elements Copied")
+    int elementsCopied;
+
+    /** the number of bytes of element references that were copied */
+    @Label("Bytes Copied")
+    @DataAmount
+    long bytesCopied;
+
+    /**
+     * Reports a reallocation to Flight Recorder, if it is recording these
+     * events, and to the listener, if there is one.
+     *
+     * @param collection the collection that was resized
+     * @param oldCapacity the length of the array that was replaced
+     * @param newCapacity the length of the new array
+     * @param elementsCopied the number of elements that were copied
+     * @param listener the listener to be notified, or {@code null} */
+    static void record(Object collection, int oldCapacity, int newCapacity, int elementsCopied, ResizeListener listener) {
+        ResizeEvent event = new ResizeEvent();
+        boolean commit = event.shouldCommit();
+        if (!commit && listener == null) {
+            return;
+        }
+
+        long bytesCopied = (long) elementsCopied * ReferenceSize.BYTES;
+        if (commit) {
+            event.collectionClass = collection.getClass();
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.elementsCopied = elementsCopied;
+            event.bytesCopied = bytesCopied;
+            event.commit();
+        }
+        if (listener != null) {
+            listener.resized(oldCapacity, newCapacity, bytesCopied);
+        }
+    }
+
+    /**
+     * {@code ReferenceSize} finds the size of an object reference the first
+     * time a reallocation is recorded, so collections that are never observed
+     * do not load the management classes it relies on. */
+    private static final class ReferenceSize {
+
+        /** the size of an object reference, in bytes */
+        static final int BYTES = detect();
+
+        /**
+         * Asks the virtual machine whether it compresses object references.
+         *
+         * @return the size of an object reference, in bytes */
+        private static int detect() {
+            try {
+                HotSpotDiagnosticMXBean diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+                return Boolean.parseBoolean(diagnostics.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+            } catch (RuntimeException | LinkageError e) {
+                return "32".equals(System.getProperty("sun.arch.data.model")) ? 4 : 8;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package ed.collections;
+
+import java.util.Objects;
+
+/**
+ * {@code ResizeListener} is notified by a {@link Resizable} collection every
+ * time it moves its elements to a new array, whether to grow or to shrink.
+ * It is called on the thread that triggered the reallocation, after the new
+ * array is in place, so it should return quickly.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+@FunctionalInterface
+public interface ResizeListener {
+
+    /**
+     * Called after a collection has moved its elements to a new array.
+     *
+     * @param oldCapacity the length of the array that was replaced
+     * @param newCapacity the length of the new array
+     * @param bytesCopied the approximate number of bytes of element references that were copied */
+    public void resized(int oldCapacity, int newCapacity, long bytesCopied);
+
+    /**
+     * Returns a listener that notifies this listener and then the specified one.
+     *
+     * @param after the listener to be notified after this one
+     * @return a listener that notifies both, in order
+     * @throws NullPointerException if {@code after} is {@code null} */
+    public default ResizeListener andThen(ResizeListener after) {
+        Objects.requireNonNull(after);
+
+        return (oldCapacity, newCapacity, bytesCopied) -> {
+            resized(oldCapacity, newCapacity, bytesCopied);
+            after.resized(oldCapacity, newCapacity, bytesCopied);
+        };
+    }
+
+}
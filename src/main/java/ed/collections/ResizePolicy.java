@@ -0,0 +1,150 @@
+package ed.collections;
+
+/**
+ * {@code ResizePolicy} decides how array-backed collections such as
+ * {@link ArrayStack} and {@link CircularArrayQueue} grow and shrink.
+ * A collection that runs out of room grows its array by the growth factor.
+ * Shrinking is optional: when enabled, a collection whose number of elements
+ * drops to the shrink threshold (a fraction of its capacity) divides its
+ * capacity by the growth factor, never going below the minimum capacity.
+ * The threshold must be lower than the inverse of the growth factor, so a
+ * collection that has just shrunk is not full, and one that has just grown
+ * does not shrink again until many elements have been removed.
+ * Policies are immutable and can be shared between collections.
+ * {@link #DEFAULT_CAPACITY} is the initial capacity every such collection
+ * uses when none is specified, so they all start with the same array length.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class ResizePolicy {
+
+    /** constant to represent the largest array length that can safely be requested */
+    public static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+    /** constant to represent the initial capacity of array-backed collections created without one */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /** the policy used when none is specified: capacity doubles and never shrinks */
+    public static final ResizePolicy DEFAULT = new ResizePolicy(2.0);
+
+    /** the factor by which the capacity is multiplied when growing and divided when shrinking */
+    private final double growthFactor;
+    /** the fraction of the capacity at or below which the collection shrinks, or zero to never shrink */
+    private final double shrinkThreshold;
+    /** the capacity below which the collection never shrinks */
+    private final int minimumCapacity;
+
+    /**
+     * Creates a policy that grows by the specified factor and never shrinks.
+     *
+     * @param growthFactor the factor by which the capacity is multiplied when growing
+     * @throws IllegalArgumentException if {@code growthFactor} is not greater than one */
+    public ResizePolicy(double growthFactor) {
+        this(growthFactor, 0, 1);
+    }
+
+    /**
+     * Creates a policy that grows by the specified factor and shrinks when the
+     * number of elements drops to the given fraction of the capacity.
+     *
+     * @param growthFactor the factor by which the capacity is multiplied when growing
+     * and divided when shrinking
+     * @param shrinkThreshold the fraction of the capacity at or below which the
+     * collection shrinks, or zero to never shrink
+     * @param minimumCapacity the capacity below which the collection never shrinks
+     * @throws IllegalArgumentException if {@code growthFactor} is not greater than one,
+     * if {@code shrinkThreshold} is negative or not lower than {@code 1 / growthFactor},
+     * or if {@code minimumCapacity} is less than or equal to zero */
+    public ResizePolicy(double growthFactor, double shrinkThreshold, int minimumCapacity) {
+        if (!(growthFactor > 1.0)) {
+            throw new IllegalArgumentException("Growth factor must be greater than one.");
+        }
+        if (!(shrinkThreshold >= 0.0) || shrinkThreshold >= 1.0 / growthFactor) {
+            throw new IllegalArgumentException("Shrink threshold must be between zero and the inverse of the growth factor.");
+        }
+        if (minimumCapacity <= 0) {
+            throw new IllegalArgumentException("Minimum capacity cannot be negative or zero.");
+        }
+
+        this.growthFactor = growthFactor;
+        this.shrinkThreshold = shrinkThreshold;
+        this.minimumCapacity = minimumCapacity;
+    }
+
+    /**
+     * Returns the factor by which the capacity is multiplied when growing.
+     *
+     * @return the growth factor of this policy */
+    public double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    /**
+     * Returns the fraction of the capacity at or below which collections shrink.
+     *
+     * @return the shrink threshold of this policy, or zero if it never shrinks */
+    public double getShrinkThreshold() {
+        return shrinkThreshold;
+    }
+
+    /**
+     * Returns the capacity below which collections never shrink.
+     *
+     * @return the minimum capacity of this policy */
+    public int getMinimumCapacity() {
+        return minimumCapacity;
+    }
+
+    /**
+     * Returns the capacity a collection should grow to.
+     *
+     * @param capacity the current capacity of the collection
+     * @param required the smallest capacity that is acceptable
+     * @return the new capacity, at least {@code required} and greater than {@code capacity}
+     * @throws IllegalStateException if {@code required} exceeds {@link #MAXIMUM_CAPACITY} */
+    public int grow(int capacity, int required) {
+        if (required < 0 || required > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Capacity cannot exceed " + MAXIMUM_CAPACITY + ".");
+        }
+
+        long grown = Math.max((long) Math.ceil(capacity * growthFactor), (long) capacity + 1);
+
+        return (int) Math.max(required, Math.min(grown, MAXIMUM_CAPACITY));
+    }
+
+    /**
+     * Returns the number of elements at or below which a collection with the
+     * specified capacity should shrink. Collections compare their size against
+     * this value after every removal, so it is computed once per resize.
+     *
+     * @param capacity the current capacity of the collection
+     * @return the size that triggers a shrink, or {@code -1} if the collection must not shrink */
+    public int shrinkLimit(int capacity) {
+        if (shrinkThreshold == 0.0 || capacity <= minimumCapacity) {
+            return -1;
+        }
+
+        return (int) (capacity * shrinkThreshold);
+    }
+
+    /**
+     * Returns the capacity a collection should shrink to.
+     *
+     * @param capacity the current capacity of the collection
+     * @param size the number of elements in the collection
+     * @return the new capacity, at least {@code size} and {@link #getMinimumCapacity()} */
+    public int shrink(int capacity, int size) {
+        int shrunk = (int) (capacity / growthFactor);
+
+        return Math.max(Math.max(shrunk, size), Math.min(minimumCapacity, capacity));
+    }
+
+    /**
+     * Returns a string representation of this policy.
+     *
+     * @return String representation of this policy */
+    @Override
+    public String toString() {
+        return "ResizePolicy{ growthFactor = " + growthFactor + ", shrinkThreshold = " + shrinkThreshold
+                + ", minimumCapacity = " + minimumCapacity + " }";
+    }
+
+}
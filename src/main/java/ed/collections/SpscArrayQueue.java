@@ -0,0 +1,332 @@
+package ed.collections;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code SpscArrayQueue} class provides a bounded, lock-free implementation
+ * of the {@link QueueADT} interface for a strict one-to-one hand-off between
+ * threads (single-producer, single-consumer).
+ * Exactly one thread may call {@link #enqueue(Object)} and {@link #offer(Object)},
+ * and exactly one other thread may call {@link #dequeue()}, {@link #poll()} and
+ * {@link #first()}; {@link #size()} and {@link #isEmpty()} may be called from anywhere.
+ * The {@code head} and {@code tail} counters are published with release/acquire
+ * semantics and kept on separate, padded cache lines. Each side also caches the
+ * last value it has seen of the other side's counter, so in the common case an
+ * operation touches only the cache line owned by the calling thread.
+ * The capacity is rounded up to a power of two and slots are addressed with a bitmask.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class SpscArrayQueue<T> implements QueueADT<T> {
+
+    /** constant to represent the default capacity of the ring buffer */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /** constant to represent the largest power of two that can be used as a capacity */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** bitmask that maps a position onto an index of the ring buffer */
+    private final int mask;
+    /** array of generic elements used to represent the ring buffer */
+    private final T[] buffer;
+    /** position of the next element to be dequeued, owned by the consumer */
+    private final PaddedIndex head;
+    /** position of the next slot to be enqueued into, owned by the producer */
+    private final PaddedIndex tail;
+
+    /** Creates an empty queue with the default capacity. */
+    public SpscArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue able to hold at least the specified number of elements.
+     * The effective capacity is rounded up to the next power of two.
+     *
+     * @param capacity the minimum capacity of the ring buffer
+     * @throws IllegalArgumentException if {@code capacity} is less than or equal to zero
+     * or greater than {@code 2^30} */
+    @SuppressWarnings("unchecked")
+    public SpscArrayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity cannot be greater than " + MAXIMUM_CAPACITY + ".");
+        }
+
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        mask = length - 1;
+        buffer = (T[]) new Object[length];
+        head = new PaddedIndex();
+        tail = new PaddedIndex();
+    }
+
+    /**
+     * Returns the number of elements this queue can hold.
+     *
+     * @return the capacity of the ring buffer */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Inserts the specified element at the rear of this queue if there is room for it.
+     * Must only be called by the producer thread.
+     *
+     * @param element the element to be added to the queue
+     * @return {@code true} if the element was added, {@code false} if the queue is full
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        long position = tail.getPlain();
+        if (position - tail.peerCache >= buffer.length) {
+            tail.peerCache = head.getAcquire();
+            if (position - tail.peerCache >= buffer.length) {
+                return false;
+            }
+        }
+
+        buffer[(int) position & mask] = element;
+        tail.setRelease(position + 1);
+
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, or returns
+     * {@code null} if the queue is empty. Must only be called by the consumer thread.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        long position = head.getPlain();
+        if (position >= head.peerCache) {
+            head.peerCache = tail.getAcquire();
+            if (position >= head.peerCache) {
+                return null;
+            }
+        }
+
+        int index = (int) position & mask;
+        T result = buffer[index];
+        buffer[index] = null;
+        head.setRelease(position + 1);
+
+        return result;
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue.
+     * Must only be called by the producer thread.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws IllegalStateException if the queue is full */
+    @Override
+    public void enqueue(T element) {
+        if (!offer(element)) {
+            throw new IllegalStateException("Queue is full.");
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        T result = poll();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue,
+     * or {@code null} if the queue is empty.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        long position = head.getPlain();
+        if (position >= head.peerCache) {
+            head.peerCache = tail.getAcquire();
+            if (position >= head.peerCache) {
+                return null;
+            }
+        }
+
+        return buffer[(int) position & mask];
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     * When called while the other threads are active the value is a snapshot
+     * that may already be stale.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        long after = head.getAcquire();
+        while (true) {
+            long before = after;
+            long currentTail = tail.getAcquire();
+            after = head.getAcquire();
+            if (before == after) {
+                long size = currentTail - after;
+                return (int) Math.max(0, Math.min(size, buffer.length));
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this queue,
+     * from the front to the rear. It never throws a
+     * {@link java.util.ConcurrentModificationException}; elements dequeued
+     * while it is in use are skipped, and it stops at the {@code tail} it
+     * observes.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new SpscArrayQueueIterator();
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in this queue.
+     * Its size is unknown, since the producer and the consumer may change it at any
+     * time, so it splits in batches.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the ring buffer capacity
+     * and the elements in logical order, as observed at the time of the call.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("SpscArrayQueue{ size = " + size() + ", capacity = " + buffer.length + "\n");
+
+        long start = head.getAcquire();
+        long end = tail.getAcquire();
+        for (long position = start, i = 1; position < end && i <= buffer.length; position++, i++) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i, buffer[(int) position & mask]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code SpscArrayQueueIterator} walks the positions of the ring buffer
+     * between {@code head} and {@code tail}, reading a slot only after the
+     * producer has released it and trusting it only while the consumer has not
+     * moved past it. The next element is read ahead so that
+     * {@link #hasNext()} and {@link #next()} always agree.
+     *
+     * @author José Azevedo (8240127@estg.ipp.pt) */
+    private final class SpscArrayQueueIterator implements Iterator<T> {
+
+        /** long that represents the position after the one holding the next element */
+        private long position;
+        /** the next element to be returned, or {@code null} if there is none */
+        private T nextElement;
+
+        /** Creates an iterator positioned before the current front of the queue. */
+        SpscArrayQueueIterator() {
+            position = head.getAcquire();
+            advance();
+        }
+
+        /** Reads ahead to the next position that the consumer has not dequeued yet. */
+        private void advance() {
+            while (true) {
+                position = Math.max(position, head.getAcquire());
+                if (position >= tail.getAcquire()) {
+                    nextElement = null;
+                    return;
+                }
+
+                T element = buffer[(int) position & mask];
+                if (element != null && head.getAcquire() <= position) {
+                    nextElement = element;
+                    position++;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return nextElement != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            T result = nextElement;
+            advance();
+
+            return result;
+        }
+
+    }
+
+}
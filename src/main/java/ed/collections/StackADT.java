@@ -1,15 +1,24 @@
 package ed.collections;
 
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import ed.collections.exceptions.EmptyCollectionException;
 
 /**
  * {@code StackADT} defines the basic operations of a generic stack
  * abstract data type (ADT), including methods for adding, removing,
  * and inspecting elements.
+ * A stack is {@link Iterable}: its elements are traversed from the top to
+ * the bottom, the order in which they would be popped, without removing them.
  *
  * @param <T> the type of elements stored in this stack
  * @author José Azevedo (8240127@estg.ipp.pt) */
-public interface StackADT<T> {
+public interface StackADT<T> extends Iterable<T> {
 
     /** Adds one element to the top of this stack.
      *  @param element element to be pushed onto stack */
@@ -23,6 +32,106 @@ public interface StackADT<T> {
      *  @return T element on top of the stack */
     public T peek() throws EmptyCollectionException;
 
+    /** Removes and returns the top element from this stack, or returns
+     *  {@code null} if the stack is empty. Unlike {@link #pop()}, an empty
+     *  stack is reported without creating an exception, which makes this the
+     *  preferred call in loops that drain the stack. In stacks that hold
+     *  {@code null} elements, use {@link #isEmpty()} to tell the two cases apart.
+     *  @return T element removed from the top of the stack, or {@code null} if it is empty */
+    public default T tryPop() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return pop();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /** Returns without removing the top element of this stack, or returns
+     *  {@code null} if the stack is empty. Unlike {@link #peek()}, an empty
+     *  stack is reported without creating an exception.
+     *  @return T element on top of the stack, or {@code null} if it is empty */
+    public default T peekOrNull() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        try {
+            return peek();
+        } catch (EmptyCollectionException e) {
+            return null;
+        }
+    }
+
+    /** Pushes a range of elements from an array onto this stack, in order,
+     *  so that the last element of the range ends up on top.
+     *  @param src the array holding the elements to be pushed
+     *  @param off the index of the first element to be pushed
+     *  @param len the number of elements to be pushed
+     *  @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    public default void pushAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        for (int i = off; i < off + len; i++) {
+            push(src[i]);
+        }
+    }
+
+    /** Pops up to {@code max} elements from this stack into an array, in the
+     *  order they are popped, so that the former top element is stored first.
+     *  @param dst the array that receives the popped elements, from index zero
+     *  @param max the largest number of elements to be popped
+     *  @return int number of elements popped
+     *  @throws IndexOutOfBoundsException if {@code max} is negative or greater than the length of {@code dst} */
+    public default int popN(T[] dst, int max) {
+        Objects.checkFromIndexSize(0, max, dst.length);
+
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            try {
+                dst[count] = pop();
+            } catch (EmptyCollectionException e) {
+                break;
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    /** Returns an iterator over the elements in this stack, from the top to
+     *  the bottom. Unless an implementation states otherwise, the iterator is
+     *  fail-fast and does not support removal.
+     *  @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator();
+
+    /** Returns a {@code SIZED}, {@code SUBSIZED} and {@code ORDERED}
+     *  spliterator over the elements in this stack, from the top to the
+     *  bottom. This default splits off batches of the elements returned by
+     *  {@link #iterator()}; array-backed stacks override it to split their
+     *  index range evenly, and concurrent stacks to drop {@code SIZED}.
+     *  @return a spliterator over the elements in this stack */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /** Returns a sequential stream over the elements in this stack, from the top to the bottom.
+     *  @return a sequential stream over the elements in this stack */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /** Returns a possibly parallel stream over the elements in this stack.
+     *  @return a parallel stream over the elements in this stack */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /** Returns true if this stack contains no elements.
      *  @return boolean whether this stack is empty */
     public boolean isEmpty();
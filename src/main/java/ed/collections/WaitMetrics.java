@@ -0,0 +1,120 @@
+package ed.collections;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code WaitMetrics} accumulates how often and for how long threads had to
+ * wait in a {@link BlockingQueueADT}: producers waiting for space in a full
+ * queue and consumers waiting for an element in an empty one.
+ * Only operations that actually waited are counted, so the average wait is
+ * the total wait time divided by the number of waits. The counters are kept in
+ * {@link LongAdder} objects, so recording them does not add contention between
+ * the waiting threads; the values read are therefore only snapshots.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class WaitMetrics {
+
+    /** number of insertions that had to wait for space */
+    private final LongAdder putWaits;
+    /** total time, in nanoseconds, spent by insertions waiting for space */
+    private final LongAdder putWaitNanos;
+    /** number of removals that had to wait for an element */
+    private final LongAdder takeWaits;
+    /** total time, in nanoseconds, spent by removals waiting for an element */
+    private final LongAdder takeWaitNanos;
+    /** number of timed operations that gave up because their time elapsed */
+    private final LongAdder timeouts;
+
+    /** Creates a set of counters that are all zero. */
+    WaitMetrics() {
+        putWaits = new LongAdder();
+        putWaitNanos = new LongAdder();
+        takeWaits = new LongAdder();
+        takeWaitNanos = new LongAdder();
+        timeouts = new LongAdder();
+    }
+
+    /**
+     * Records an insertion that waited for space.
+     *
+     * @param nanos the time waited, in nanoseconds */
+    void recordPutWait(long nanos) {
+        putWaits.increment();
+        putWaitNanos.add(nanos);
+    }
+
+    /**
+     * Records a removal that waited for an element.
+     *
+     * @param nanos the time waited, in nanoseconds */
+    void recordTakeWait(long nanos) {
+        takeWaits.increment();
+        takeWaitNanos.add(nanos);
+    }
+
+    /** Records a timed operation that gave up because its time elapsed. */
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Returns the number of insertions that had to wait for space.
+     *
+     * @return the number of waiting insertions */
+    public long getPutWaits() {
+        return putWaits.sum();
+    }
+
+    /**
+     * Returns the total time spent by insertions waiting for space.
+     *
+     * @return the total wait time of insertions, in nanoseconds */
+    public long getPutWaitNanos() {
+        return putWaitNanos.sum();
+    }
+
+    /**
+     * Returns the number of removals that had to wait for an element.
+     *
+     * @return the number of waiting removals */
+    public long getTakeWaits() {
+        return takeWaits.sum();
+    }
+
+    /**
+     * Returns the total time spent by removals waiting for an element.
+     *
+     * @return the total wait time of removals, in nanoseconds */
+    public long getTakeWaitNanos() {
+        return takeWaitNanos.sum();
+    }
+
+    /**
+     * Returns the number of timed operations that gave up because their time elapsed.
+     *
+     * @return the number of timeouts */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /** Resets all counters to zero. */
+    public void reset() {
+        putWaits.reset();
+        putWaitNanos.reset();
+        takeWaits.reset();
+        takeWaitNanos.reset();
+        timeouts.reset();
+    }
+
+    /**
+     * Returns a string representation of these counters.
+     *
+     * @return String representation of these counters */
+    @Override
+    public String toString() {
+        return "WaitMetrics{ putWaits = " + getPutWaits() + ", putWaitNanos = " + getPutWaitNanos()
+                + ", takeWaits = " + getTakeWaits() + ", takeWaitNanos = " + getTakeWaitNanos()
+                + ", timeouts = " + getTimeouts() + " }";
+    }
+
+}
@@ -0,0 +1,395 @@
+package ed.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code WorkStealingDeque} is a Chase-Lev work-stealing deque: an unbounded,
+ * array-based stack owned by a single thread from which any number of other
+ * threads may steal.
+ * The owner thread pushes and pops at the bottom through the {@link StackADT}
+ * operations; these only take a CAS when the owner and a thief compete for the
+ * last remaining element. Other threads call {@link #steal()}, which removes
+ * the element at the top (the oldest one) with a CAS on {@code top}.
+ * The elements are kept in a circular array whose length is a power of two.
+ * When it becomes full, the owner copies the elements into an array of twice
+ * the length and publishes it, so thieves still reading the old array only
+ * ever see elements that are also in the new one.
+ * Only the owner ever writes to the array. A thief claims an element by
+ * moving {@code top} past it and leaves its slot as it is: once {@code top}
+ * has moved, the owner may already be reusing that slot for a new push, so
+ * clearing it afterwards could erase a live element. A stolen element is
+ * therefore referenced by the array until the owner writes over its slot.
+ * {@link #isEmpty()}, {@link #size()} and {@link #toString()} may be called from
+ * any thread, but under concurrent access they are only snapshots.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this deque
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class WorkStealingDeque<T> implements StackADT<T> {
+
+    /** constant to represent the default capacity of the array */
+    private static final int DEFAULT_CAPACITY = 32;
+    /** constant to represent the largest power of two that can be used as a capacity */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** handle used to read and CAS the {@code top} counter */
+    private static final VarHandle TOP;
+    /** handle used to publish the {@code bottom} counter */
+    private static final VarHandle BOTTOM;
+    /** handle used by the owner to publish and clear the slots of the array, and by thieves to read them */
+    private static final VarHandle SLOT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TOP = lookup.findVarHandle(WorkStealingDeque.class, "top", long.class);
+            BOTTOM = lookup.findVarHandle(WorkStealingDeque.class, "bottom", long.class);
+            SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** long that represents the position of the oldest element, advanced by thieves */
+    private volatile long top;
+    /** long that represents the position of the next slot to be pushed into, owned by the owner */
+    private volatile long bottom;
+    /** the circular array of elements, with a power-of-two length */
+    private volatile Object[] slots;
+
+    /** Creates an empty deque with the default capacity. */
+    public WorkStealingDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque able to hold at least the specified number of
+     * elements before expanding. The capacity is rounded up to the next power of two.
+     *
+     * @param initialCapacity the minimum initial capacity of the underlying array
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero
+     * or greater than {@code 2^30} */
+    public WorkStealingDeque(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity cannot be greater than " + MAXIMUM_CAPACITY + ".");
+        }
+
+        int length = initialCapacity == 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+
+        top = bottom = 0;
+        slots = new Object[length];
+    }
+
+    /**
+     * Doubles the length of the array, copying the elements between the
+     * specified positions. Only called by the owner thread.
+     *
+     * @param current the array currently in use
+     * @param from the position of the oldest element
+     * @param to the position after the newest element
+     * @return the new array, already published to thieves
+     * @throws IllegalStateException if the array already has the largest possible length */
+    private Object[] expandCapacity(Object[] current, long from, long to) {
+        if (current.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Deque is full.");
+        }
+
+        Object[] expanded = new Object[current.length << 1];
+        int currentMask = current.length - 1;
+        int expandedMask = expanded.length - 1;
+        for (long position = from; position < to; position++) {
+            expanded[(int) position & expandedMask] = SLOT.getAcquire(current, (int) position & currentMask);
+        }
+
+        slots = expanded;
+
+        return expanded;
+    }
+
+    /**
+     * Adds the specified element to the bottom of this deque, expanding the
+     * array if necessary. Must only be called by the owner thread.
+     *
+     * @param element generic element to be pushed onto stack
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public void push(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        long b = (long) BOTTOM.getOpaque(this);
+        long t = (long) TOP.getAcquire(this);
+        Object[] array = slots;
+
+        if (b - t >= array.length) {
+            array = expandCapacity(array, t, b);
+        }
+
+        SLOT.setRelease(array, (int) b & (array.length - 1), element);
+        BOTTOM.setRelease(this, b + 1);
+    }
+
+    /**
+     * Removes the element at the bottom of this deque, which is the most
+     * recently pushed one, and returns a reference to it, or returns
+     * {@code null} if the deque is empty or its last element was stolen
+     * concurrently. Must only be called by the owner thread.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T tryPop() {
+        long b = (long) BOTTOM.getOpaque(this) - 1;
+        Object[] array = slots;
+
+        bottom = b;
+        long t = top;
+
+        if (t > b) {
+            BOTTOM.setOpaque(this, b + 1);
+            return null;
+        }
+
+        int index = (int) b & (array.length - 1);
+        T result = (T) SLOT.getAcquire(array, index);
+
+        if (t == b) {
+            if (!TOP.compareAndSet(this, t, t + 1)) {
+                result = null;
+            } else {
+                SLOT.setRelease(array, index, null);
+            }
+            BOTTOM.setOpaque(this, b + 1);
+        } else {
+            SLOT.setRelease(array, index, null);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the element at the top of this deque, which is the oldest one,
+     * and returns a reference to it, or returns {@code null} if the deque is
+     * empty. May be called by any thread; when several threads compete for
+     * the same element, the losers retry on the next one.
+     *
+     * @return T the stolen element, or {@code null} if the deque is empty */
+    @SuppressWarnings("unchecked")
+    public T steal() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+
+            if (t >= b) {
+                return null;
+            }
+
+            Object[] array = slots;
+            int index = (int) t & (array.length - 1);
+            T result = (T) SLOT.getAcquire(array, index);
+
+            if (result != null && TOP.compareAndSet(this, t, t + 1)) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Removes the element at the bottom of this deque and returns a reference to it.
+     * Must only be called by the owner thread.
+     *
+     * @return T element removed from top of stack
+     * @throws EmptyCollectionException if a pop is attempted
+     * on empty stack */
+    @Override
+    public T pop() throws EmptyCollectionException {
+        T result = tryPop();
+        if (result == null) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a reference to the element at the bottom of this deque.
+     * Must only be called by the owner thread; if it is the last element, it
+     * may already have been stolen by the time this method returns.
+     *
+     * @return T element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted
+     * on empty stack */
+    @Override
+    public T peek() throws EmptyCollectionException {
+        T result = peekOrNull();
+        if (result == null) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a reference to the element at the bottom of this deque, or
+     * {@code null} if the deque is empty. Must only be called by the owner thread.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T peekOrNull() {
+        long b = bottom - 1;
+        if (top > b) {
+            return null;
+        }
+
+        Object[] array = slots;
+        return (T) SLOT.getAcquire(array, (int) b & (array.length - 1));
+    }
+
+    /**
+     * Returns true if this deque contains no elements.
+     *
+     * @return boolean {@code true} if this deque is empty, {@code false} otherwise. */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements in this deque.
+     * Under concurrent access the value is a snapshot that may already be stale.
+     *
+     * @return int number of elements in this deque */
+    @Override
+    public int size() {
+        long size = bottom - top;
+        return (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this deque,
+     * from the bottom element to the top one, as observed when it was created.
+     * It may be used from any thread and never throws a
+     * {@link java.util.ConcurrentModificationException}; it stops at the
+     * current {@code top}, so elements stolen before it reaches them are skipped.
+     *
+     * @return an iterator over the elements in this deque */
+    @Override
+    public Iterator<T> iterator() {
+        return new WorkStealingDequeIterator();
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in this deque.
+     * Its size is unknown, since the owner and the thieves may change it at
+     * any time, so it splits in batches.
+     *
+     * @return a spliterator over the elements in this deque */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Returns a string representation of this deque, from the bottom element
+     * to the top one, as observed at the time of the call.
+     *
+     * @return String representation of this deque */
+    @Override
+    public String toString() {
+        Object[] array = slots;
+        StringBuilder stringBuilder = new StringBuilder("WorkStealingDeque { size = " + size() + ", capacity = " + array.length + "\n");
+
+        long t = top;
+        long b = bottom;
+        int i = (int) Math.min(b - t, array.length);
+        for (long position = b - 1; position >= t && i > 0; position--, i--) {
+            Object element = SLOT.getAcquire(array, (int) position & (array.length - 1));
+            if (element != null) {
+                stringBuilder.append(String.format("\t%d -> %s\n", i, element));
+            }
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code WorkStealingDequeIterator} walks the array that was published
+     * when it was created, from the position below {@code bottom} down to
+     * {@code top}, stopping as soon as the thieves have moved {@code top}
+     * past it. The next element is read ahead so that {@link #hasNext()} and
+     * {@link #next()} always agree.
+     *
+     * @author José Azevedo (8240127@estg.ipp.pt) */
+    private final class WorkStealingDequeIterator implements Iterator<T> {
+
+        /** the array observed when this iterator was created */
+        private final Object[] array;
+
+        /** long that represents the position below the one holding the next element */
+        private long position;
+        /** the next element to be returned, or {@code null} if there is none */
+        private T nextElement;
+
+        /** Creates an iterator positioned before the current bottom of the deque. */
+        WorkStealingDequeIterator() {
+            array = slots;
+            position = bottom - 1;
+            advance();
+        }
+
+        /** Reads ahead to the next position that has not been stolen yet. */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            for (; position >= top; position--) {
+                T element = (T) SLOT.getAcquire(array, (int) position & (array.length - 1));
+                if (element != null) {
+                    nextElement = element;
+                    position--;
+                    return;
+                }
+            }
+
+            nextElement = null;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return nextElement != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            T result = nextElement;
+            advance();
+
+            return result;
+        }
+
+    }
+
+}
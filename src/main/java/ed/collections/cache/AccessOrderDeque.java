@@ -0,0 +1,126 @@
+package ed.collections.cache;
+
+/**
+ * {@code AccessOrderDeque} is an intrusive doubly-linked list of
+ * {@link CacheNode} objects kept in the order they were last used: the first
+ * node is the least recently used one, the next to be evicted, and the last
+ * node the most recently used. Because the links live in the nodes, linking,
+ * unlinking and moving a node to the back all take constant time O(1), where
+ * an {@code UnorderedListADT} would first have to search for the element.
+ *
+ * @param <K> the type of keys held by the nodes
+ * @param <V> the type of values held by the nodes
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class AccessOrderDeque<K, V> {
+
+    /** reference to the least recently used node */
+    private CacheNode<K, V> head;
+    /** reference to the most recently used node */
+    private CacheNode<K, V> tail;
+    /** int that represents the number of nodes in the deque */
+    private int count;
+
+    /** Creates an empty deque. */
+    AccessOrderDeque() {
+        head = tail = null;
+        count = 0;
+    }
+
+    /**
+     * Links the specified node, which must not be in any deque, as the most recently used one.
+     *
+     * @param node the node to be linked */
+    void linkLast(CacheNode<K, V> node) {
+        node.setPrevious(tail);
+        node.setNext(null);
+
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.setNext(node);
+        }
+
+        tail = node;
+        count++;
+    }
+
+    /**
+     * Unlinks the specified node, which must be in this deque.
+     *
+     * @param node the node to be unlinked */
+    void unlink(CacheNode<K, V> node) {
+        CacheNode<K, V> previous = node.getPrevious();
+        CacheNode<K, V> next = node.getNext();
+
+        if (previous == null) {
+            head = next;
+        } else {
+            previous.setNext(next);
+        }
+        if (next == null) {
+            tail = previous;
+        } else {
+            next.setPrevious(previous);
+        }
+
+        node.setPrevious(null);
+        node.setNext(null);
+        count--;
+    }
+
+    /**
+     * Moves the specified node, which must be in this deque, to the most recently used end.
+     *
+     * @param node the node to be moved */
+    void moveToBack(CacheNode<K, V> node) {
+        if (node != tail) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    /**
+     * Returns the least recently used node without unlinking it.
+     *
+     * @return the first node, or {@code null} if the deque is empty */
+    CacheNode<K, V> peekFirst() {
+        return head;
+    }
+
+    /**
+     * Unlinks and returns the least recently used node.
+     *
+     * @return the first node, or {@code null} if the deque is empty */
+    CacheNode<K, V> pollFirst() {
+        CacheNode<K, V> first = head;
+        if (first != null) {
+            unlink(first);
+        }
+
+        return first;
+    }
+
+    /** Unlinks every node and marks it {@link CacheNode#RETIRED}. */
+    void clear() {
+        CacheNode<K, V> current = head;
+        while (current != null) {
+            CacheNode<K, V> next = current.getNext();
+            current.setPrevious(null);
+            current.setNext(null);
+            current.setQueue(CacheNode.RETIRED);
+            current = next;
+        }
+
+        head = tail = null;
+        count = 0;
+    }
+
+    /**
+     * Returns the number of nodes in this deque.
+     *
+     * @return the number of nodes in this deque */
+    int size() {
+        return count;
+    }
+
+}
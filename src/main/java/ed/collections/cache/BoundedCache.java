@@ -0,0 +1,227 @@
+package ed.collections.cache;
+
+import java.util.HashMap;
+
+/**
+ * {@code BoundedCache} is a {@link CacheADT} for use by a single thread.
+ * Keys are looked up in a hash map whose values are the {@link CacheNode}
+ * objects of the entries, and those same nodes are linked into the queues of
+ * the {@link EvictionPolicy}, so a hit moves its entry within the policy in
+ * constant time O(1) instead of searching a list for it and re-adding it at
+ * the front. {@code get}, {@code put} and {@code remove} all run in expected
+ * constant time. The cache is not thread-safe; see
+ * {@link ConcurrentBoundedCache} for one that can be shared.
+ *
+ * @param <K> the type of keys held by this cache
+ * @param <V> the type of values held by this cache
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class BoundedCache<K, V> implements CacheADT<K, V> {
+
+    /** the largest number of entries this cache holds */
+    private final int maximumSize;
+    /** the policy that chooses the entries to evict */
+    private final EvictionPolicy policy;
+    /** the state of the policy for this cache */
+    private final Evictor<K, V> evictor;
+    /** the node of every entry, by key */
+    private final HashMap<K, CacheNode<K, V>> data;
+
+    /** long that represents the number of lookups that found their key */
+    private long hitCount;
+    /** long that represents the number of lookups that did not find their key */
+    private long missCount;
+    /** long that represents the number of entries evicted by the policy */
+    private long evictionCount;
+
+    /**
+     * Creates an empty cache of the specified capacity that evicts with
+     * {@link EvictionPolicy#WINDOW_TINY_LFU}.
+     *
+     * @param maximumSize the largest number of entries the cache holds
+     * @throws IllegalArgumentException if {@code maximumSize} is less than or equal to zero */
+    public BoundedCache(int maximumSize) {
+        this(maximumSize, EvictionPolicy.WINDOW_TINY_LFU);
+    }
+
+    /**
+     * Creates an empty cache of the specified capacity that evicts with the given policy.
+     *
+     * @param maximumSize the largest number of entries the cache holds
+     * @param policy the policy that chooses the entries to evict
+     * @throws IllegalArgumentException if {@code maximumSize} is less than or equal to zero,
+     * or if {@code policy} is {@code null} */
+    public BoundedCache(int maximumSize, EvictionPolicy policy) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null.");
+        }
+
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        evictor = policy.newEvictor(maximumSize);
+        data = new HashMap<>();
+        hitCount = missCount = evictionCount = 0;
+    }
+
+    /**
+     * Returns the policy that chooses the entries to evict.
+     *
+     * @return the eviction policy of this cache */
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the value associated with the specified key, recording the
+     * access as a hit and handing it to the policy, or returns {@code null}
+     * and records a miss if the key is not in this cache.
+     *
+     * @param key the key whose value is to be returned
+     * @return the value associated with the key, or {@code null} if there is none
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    @Override
+    public V get(K key) {
+        checkKey(key);
+
+        CacheNode<K, V> node = data.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        evictor.recordAccess(node);
+        return node.getValue();
+    }
+
+    /**
+     * Associates the specified value with the specified key. Replacing the
+     * value of a key already in this cache counts as an access to it; a new
+     * key is admitted by the policy, which may evict another entry or the
+     * new one itself.
+     *
+     * @param key the key with which the value is to be associated
+     * @param value the value to be associated with the key
+     * @throws IllegalArgumentException if {@code key} or {@code value} is {@code null} */
+    @Override
+    public void put(K key, V value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+
+        CacheNode<K, V> node = data.get(key);
+        if (node != null) {
+            node.setValue(value);
+            evictor.recordAccess(node);
+            return;
+        }
+
+        node = new CacheNode<>(key, value);
+        data.put(key, node);
+
+        CacheNode<K, V> evicted = evictor.admit(node);
+        if (evicted != null) {
+            data.remove(evicted.getKey());
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes the entry of the specified key from this cache and from the policy.
+     *
+     * @param key the key whose entry is to be removed
+     * @return the value that was associated with the key, or {@code null} if there was none
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    @Override
+    public V remove(K key) {
+        checkKey(key);
+
+        CacheNode<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+
+        evictor.remove(node);
+        return node.getValue();
+    }
+
+    /**
+     * Returns true if this cache holds an entry for the specified key,
+     * without counting it as an access.
+     *
+     * @param key the key to be searched for
+     * @return true if this cache holds an entry for the key
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    @Override
+    public boolean containsKey(K key) {
+        checkKey(key);
+        return data.containsKey(key);
+    }
+
+    /**
+     * Removes every entry from this cache. The statistics are kept, and so
+     * is the frequency of every key if the policy tracks it. */
+    @Override
+    public void clear() {
+        data.clear();
+        evictor.clear();
+    }
+
+    /**
+     * Returns the number of entries in this cache.
+     *
+     * @return the number of entries in this cache */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Returns the largest number of entries this cache holds.
+     *
+     * @return the capacity of this cache */
+    @Override
+    public int capacity() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns a snapshot of the hits, misses and evictions counted so far.
+     *
+     * @return the statistics of this cache */
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Checks that the specified key is not {@code null}.
+     *
+     * @param key the key to be checked
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+    }
+
+    /**
+     * Returns a string representation of this cache.
+     *
+     * @return String representation of this cache */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("BoundedCache{ size = " + size() + ", capacity = " + maximumSize
+                + ", policy = " + policy + "\n");
+
+        for (CacheNode<K, V> node : data.values()) {
+            stringBuilder.append(String.format("\t%s -> %s\n", node.getKey(), node.getValue()));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
@@ -0,0 +1,83 @@
+package ed.collections.cache;
+
+/**
+ * {@code CacheADT} defines the basic operations of a bounded cache abstract
+ * data type (ADT): a map from keys to values that holds at most
+ * {@link #capacity()} entries and, when a new entry does not fit, evicts one
+ * chosen by its {@link EvictionPolicy}.
+ * Looking up a key with {@link #get(Object)} counts as an access to it, which
+ * the policy uses to decide what to keep; {@link #containsKey(Object)} does not.
+ * {@code null} keys and values are not permitted.
+ *
+ * @param <K> the type of keys held by this cache
+ * @param <V> the type of values held by this cache
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface CacheADT<K, V> {
+
+    /**
+     * Returns the value associated with the specified key, recording the
+     * access as a hit, or returns {@code null} and records a miss if the key
+     * is not in this cache.
+     *
+     * @param key the key whose value is to be returned
+     * @return the value associated with the key, or {@code null} if there is none
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    public V get(K key);
+
+    /**
+     * Associates the specified value with the specified key, replacing the
+     * value already associated with it. A new key may cause another entry,
+     * or the new one itself, to be evicted.
+     *
+     * @param key the key with which the value is to be associated
+     * @param value the value to be associated with the key
+     * @throws IllegalArgumentException if {@code key} or {@code value} is {@code null} */
+    public void put(K key, V value);
+
+    /**
+     * Removes the entry of the specified key from this cache.
+     *
+     * @param key the key whose entry is to be removed
+     * @return the value that was associated with the key, or {@code null} if there was none
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    public V remove(K key);
+
+    /**
+     * Returns true if this cache holds an entry for the specified key,
+     * without counting it as an access.
+     *
+     * @param key the key to be searched for
+     * @return true if this cache holds an entry for the key
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    public boolean containsKey(K key);
+
+    /** Removes every entry from this cache. The statistics are kept. */
+    public void clear();
+
+    /**
+     * Returns true if this cache holds no entries.
+     *
+     * @return true if this cache is empty */
+    public default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of entries in this cache.
+     *
+     * @return the number of entries in this cache */
+    public int size();
+
+    /**
+     * Returns the largest number of entries this cache holds.
+     *
+     * @return the capacity of this cache */
+    public int capacity();
+
+    /**
+     * Returns a snapshot of the hits, misses and evictions counted so far.
+     *
+     * @return the statistics of this cache */
+    public CacheStats stats();
+
+}
@@ -0,0 +1,114 @@
+package ed.collections.cache;
+
+/**
+ * {@code CacheNode} holds one entry of a cache and is, at the same time, the
+ * node that links it into the access-order queues of its eviction policy, so
+ * moving an entry within a queue never allocates or searches. The queue the
+ * node is in is recorded in it as well; a node that has been evicted or
+ * removed is {@link #RETIRED}, which tells a concurrent cache to ignore
+ * accesses to it that were buffered before it left.
+ *
+ * @param <K> the type of the key of the entry
+ * @param <V> the type of the value of the entry
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class CacheNode<K, V> {
+
+    /** constant to represent a node that is in no queue */
+    static final int RETIRED = 0;
+
+    /** the key of the entry */
+    private final K key;
+    /** the value of the entry, read without locks by a concurrent cache */
+    private volatile V value;
+    /** int that represents the queue of the policy this node is in, or {@link #RETIRED} */
+    private int queue;
+    /** reference to the previous node in the queue, towards the eviction end */
+    private CacheNode<K, V> previous;
+    /** reference to the next node in the queue, towards the most recently used end */
+    private CacheNode<K, V> next;
+
+    /**
+     * Creates a retired node holding the specified entry.
+     *
+     * @param key the key of the entry
+     * @param value the value of the entry */
+    CacheNode(K key, V value) {
+        this.key = key;
+        this.value = value;
+        queue = RETIRED;
+        previous = next = null;
+    }
+
+    /**
+     * Returns the key of the entry.
+     *
+     * @return the key of the entry */
+    K getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the value of the entry.
+     *
+     * @return the value of the entry */
+    V getValue() {
+        return value;
+    }
+
+    /**
+     * Replaces the value of the entry.
+     *
+     * @param value the new value of the entry */
+    void setValue(V value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the queue this node is in.
+     *
+     * @return the queue of the policy this node is in, or {@link #RETIRED} */
+    int getQueue() {
+        return queue;
+    }
+
+    /**
+     * Records the queue this node is in.
+     *
+     * @param queue the queue of the policy this node is in, or {@link #RETIRED} */
+    void setQueue(int queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Returns the node that precedes this one in its queue.
+     *
+     * @return the previous node, or {@code null} if this one is the first */
+    CacheNode<K, V> getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Sets the node that precedes this one in its queue.
+     *
+     * @param previous the node to precede this one */
+    void setPrevious(CacheNode<K, V> previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Returns the node that follows this one in its queue.
+     *
+     * @return the next node, or {@code null} if this one is the last */
+    CacheNode<K, V> getNext() {
+        return next;
+    }
+
+    /**
+     * Sets the node that follows this one in its queue.
+     *
+     * @param next the node to follow this one */
+    void setNext(CacheNode<K, V> next) {
+        this.next = next;
+    }
+
+}
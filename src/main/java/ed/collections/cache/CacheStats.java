@@ -0,0 +1,87 @@
+package ed.collections.cache;
+
+/**
+ * {@code CacheStats} is an immutable snapshot of the counters of a
+ * {@link CacheADT}: how many lookups found their key, how many did not, and
+ * how many entries were evicted to make room for new ones. Entries removed
+ * explicitly are not counted as evictions.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class CacheStats {
+
+    /** number of lookups that found their key */
+    private final long hitCount;
+    /** number of lookups that did not find their key */
+    private final long missCount;
+    /** number of entries evicted by the policy */
+    private final long evictionCount;
+
+    /**
+     * Creates a snapshot holding the specified counters.
+     *
+     * @param hitCount the number of lookups that found their key
+     * @param missCount the number of lookups that did not find their key
+     * @param evictionCount the number of entries evicted by the policy
+     * @throws IllegalArgumentException if any counter is negative */
+    public CacheStats(long hitCount, long missCount, long evictionCount) {
+        if (hitCount < 0 || missCount < 0 || evictionCount < 0) {
+            throw new IllegalArgumentException("Counters cannot be negative.");
+        }
+
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the number of lookups that found their key.
+     *
+     * @return the number of hits */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find their key.
+     *
+     * @return the number of misses */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted by the policy.
+     *
+     * @return the number of evictions */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of lookups, hits and misses alike.
+     *
+     * @return the number of lookups */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that found their key.
+     *
+     * @return the hit rate, or {@code 1.0} if there were no lookups */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Returns a string representation of these statistics.
+     *
+     * @return String representation of these statistics */
+    @Override
+    public String toString() {
+        return "CacheStats{ hits = " + hitCount + ", misses = " + missCount + ", evictions = " + evictionCount
+                + ", hitRate = " + String.format("%.4f", hitRate()) + " }";
+    }
+
+}
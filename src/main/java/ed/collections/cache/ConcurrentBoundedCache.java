@@ -0,0 +1,296 @@
+package ed.collections.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@code ConcurrentBoundedCache} is a thread-safe {@link CacheADT} in which
+ * hits never take a lock. Keys are looked up in a {@link ConcurrentHashMap}
+ * of {@link CacheNode} objects, so a reader finds its value without waiting;
+ * the access is then recorded in a {@link StripedReadBuffer} instead of
+ * being applied to the {@link EvictionPolicy} at once. The policy is only
+ * ever touched while holding a single lock: a writer takes it for every
+ * {@code put} and {@code remove}, and a reader that finds its stripe of the
+ * buffer full tries to take it, without waiting, to replay the buffered
+ * accesses in a batch. When the buffer is too busy, some accesses are
+ * dropped, which only makes the recency and frequency the policy sees
+ * approximate. Accesses to entries evicted or removed in the meantime are
+ * ignored. The counters are kept in {@link LongAdder} objects, so the
+ * statistics are snapshots.
+ *
+ * @param <K> the type of keys held by this cache
+ * @param <V> the type of values held by this cache
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class ConcurrentBoundedCache<K, V> implements CacheADT<K, V> {
+
+    /** the largest number of entries this cache holds */
+    private final int maximumSize;
+    /** the policy that chooses the entries to evict */
+    private final EvictionPolicy policy;
+    /** the state of the policy for this cache, guarded by {@code evictionLock} */
+    private final Evictor<K, V> evictor;
+    /** the node of every entry, by key, only changed while holding {@code evictionLock} */
+    private final ConcurrentHashMap<K, CacheNode<K, V>> data;
+    /** the lock that guards the policy */
+    private final ReentrantLock evictionLock;
+    /** the accesses not yet replayed to the policy */
+    private final StripedReadBuffer<CacheNode<K, V>> readBuffer;
+    /** replays one buffered access to the policy, unless its node has left the cache */
+    private final Consumer<CacheNode<K, V>> accessReplayer;
+
+    /** number of lookups that found their key */
+    private final LongAdder hitCount;
+    /** number of lookups that did not find their key */
+    private final LongAdder missCount;
+    /** number of entries evicted by the policy */
+    private final LongAdder evictionCount;
+
+    /**
+     * Creates an empty cache of the specified capacity that evicts with
+     * {@link EvictionPolicy#WINDOW_TINY_LFU}.
+     *
+     * @param maximumSize the largest number of entries the cache holds
+     * @throws IllegalArgumentException if {@code maximumSize} is less than or equal to zero */
+    public ConcurrentBoundedCache(int maximumSize) {
+        this(maximumSize, EvictionPolicy.WINDOW_TINY_LFU);
+    }
+
+    /**
+     * Creates an empty cache of the specified capacity that evicts with the given policy.
+     *
+     * @param maximumSize the largest number of entries the cache holds
+     * @param policy the policy that chooses the entries to evict
+     * @throws IllegalArgumentException if {@code maximumSize} is less than or equal to zero,
+     * or if {@code policy} is {@code null} */
+    public ConcurrentBoundedCache(int maximumSize, EvictionPolicy policy) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null.");
+        }
+
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        evictor = policy.newEvictor(maximumSize);
+        data = new ConcurrentHashMap<>();
+        evictionLock = new ReentrantLock();
+        readBuffer = new StripedReadBuffer<>();
+        accessReplayer = node -> {
+            if (node.getQueue() != CacheNode.RETIRED) {
+                evictor.recordAccess(node);
+            }
+        };
+
+        hitCount = new LongAdder();
+        missCount = new LongAdder();
+        evictionCount = new LongAdder();
+    }
+
+    /**
+     * Returns the policy that chooses the entries to evict.
+     *
+     * @return the eviction policy of this cache */
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the value associated with the specified key without taking a
+     * lock, and buffers the access for the policy.
+     *
+     * @param key the key whose value is to be returned
+     * @return the value associated with the key, or {@code null} if there is none
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    @Override
+    public V get(K key) {
+        checkKey(key);
+
+        CacheNode<K, V> node = data.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+
+        V value = node.getValue();
+        hitCount.increment();
+        if (!readBuffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                readBuffer.drainTo(accessReplayer);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Associates the specified value with the specified key while holding
+     * the lock of the policy, first replaying the buffered accesses.
+     * Replacing the value of a key already in this cache counts as an access
+     * to it; a new key is admitted by the policy, which may evict another
+     * entry or the new one itself.
+     *
+     * @param key the key with which the value is to be associated
+     * @param value the value to be associated with the key
+     * @throws IllegalArgumentException if {@code key} or {@code value} is {@code null} */
+    @Override
+    public void put(K key, V value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(accessReplayer);
+
+            CacheNode<K, V> node = data.get(key);
+            if (node != null) {
+                node.setValue(value);
+                evictor.recordAccess(node);
+                return;
+            }
+
+            node = new CacheNode<>(key, value);
+            data.put(key, node);
+
+            CacheNode<K, V> evicted = evictor.admit(node);
+            if (evicted != null) {
+                data.remove(evicted.getKey());
+                evictionCount.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry of the specified key from this cache and from the
+     * policy while holding the lock of the policy. A buffered access to the
+     * entry is ignored when it is replayed.
+     *
+     * @param key the key whose entry is to be removed
+     * @return the value that was associated with the key, or {@code null} if there was none
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    @Override
+    public V remove(K key) {
+        checkKey(key);
+
+        evictionLock.lock();
+        try {
+            CacheNode<K, V> node = data.remove(key);
+            if (node == null) {
+                return null;
+            }
+
+            evictor.remove(node);
+            return node.getValue();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns true if this cache holds an entry for the specified key,
+     * without taking a lock and without counting it as an access.
+     *
+     * @param key the key to be searched for
+     * @return true if this cache holds an entry for the key
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    @Override
+    public boolean containsKey(K key) {
+        checkKey(key);
+        return data.containsKey(key);
+    }
+
+    /**
+     * Removes every entry from this cache while holding the lock of the
+     * policy. The statistics are kept, and so is the frequency of every key
+     * if the policy tracks it. Entries put concurrently by other threads
+     * after the lock is released are not removed. */
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(accessReplayer);
+            data.clear();
+            evictor.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Replays every buffered access to the policy now, instead of waiting for
+     * the next write or for a stripe of the buffer to fill up. */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(accessReplayer);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries in this cache.
+     * Under concurrent access the value is a snapshot that may already be stale.
+     *
+     * @return the number of entries in this cache */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Returns the largest number of entries this cache holds.
+     *
+     * @return the capacity of this cache */
+    @Override
+    public int capacity() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns a snapshot of the hits, misses and evictions counted so far.
+     * The three counters are summed one after the other, so under concurrent
+     * access they may not describe the same instant.
+     *
+     * @return the statistics of this cache */
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    /**
+     * Checks that the specified key is not {@code null}.
+     *
+     * @param key the key to be checked
+     * @throws IllegalArgumentException if {@code key} is {@code null} */
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+    }
+
+    /**
+     * Returns a string representation of this cache.
+     *
+     * @return String representation of this cache */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("ConcurrentBoundedCache{ size = " + size() + ", capacity = "
+                + maximumSize + ", policy = " + policy + "\n");
+
+        for (CacheNode<K, V> node : data.values()) {
+            stringBuilder.append(String.format("\t%s -> %s\n", node.getKey(), node.getValue()));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
@@ -0,0 +1,49 @@
+package ed.collections.cache;
+
+/**
+ * {@code EvictionPolicy} selects how a bounded cache chooses the entry to
+ * evict when a new one does not fit. Both policies run in constant time O(1)
+ * per operation.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the least recently used entry. Every access moves its entry to
+     * the back of a single intrusive queue, and entries are evicted from the
+     * front. Simple and effective when recent keys are the likeliest to be
+     * requested again, but a scan of keys used only once flushes the whole cache. */
+    LRU {
+        @Override
+        <K, V> Evictor<K, V> newEvictor(int maximumSize) {
+            return new LruEvictor<>(maximumSize);
+        }
+    },
+
+    /**
+     * Window TinyLFU: new entries go through a small LRU window, about one
+     * percent of the capacity, and then have to win a place in the main area
+     * against its least recently used entry. The winner is the key requested
+     * more often, according to a count-min sketch that estimates the recent
+     * frequency of every key, including those no longer cached. The main area
+     * is a segmented LRU whose protected segment holds the entries accessed
+     * again after admission. Keys used once rarely displace popular ones, so
+     * the hit rate under skewed or scanning workloads is usually higher than
+     * with {@link #LRU}. */
+    WINDOW_TINY_LFU {
+        @Override
+        <K, V> Evictor<K, V> newEvictor(int maximumSize) {
+            return new WindowTinyLfuEvictor<>(maximumSize);
+        }
+    };
+
+    /**
+     * Creates the state of this policy for a cache of the specified capacity.
+     *
+     * @param maximumSize the largest number of entries the cache holds
+     * @param <K> the type of keys held by the cache
+     * @param <V> the type of values held by the cache
+     * @return a new evictor implementing this policy */
+    abstract <K, V> Evictor<K, V> newEvictor(int maximumSize);
+
+}
@@ -0,0 +1,41 @@
+package ed.collections.cache;
+
+/**
+ * {@code Evictor} is the state of an {@link EvictionPolicy} for one cache:
+ * the queues its nodes are linked into and whatever the policy learns from
+ * the accesses. The cache keeps the key lookup and hands every node to its
+ * evictor when it is accessed, admitted or removed; in return the evictor
+ * tells it which node, if any, must leave so the cache stays within its
+ * capacity. Every operation takes constant time O(1). An evictor is not
+ * thread-safe; a concurrent cache calls it only while holding its lock.
+ *
+ * @param <K> the type of keys held by the cache
+ * @param <V> the type of values held by the cache
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+interface Evictor<K, V> {
+
+    /**
+     * Records an access to the specified node, which is in one of the queues of this evictor.
+     *
+     * @param node the node that was accessed */
+    public void recordAccess(CacheNode<K, V> node);
+
+    /**
+     * Links a new node into the queues of this evictor and, if the cache is
+     * now over its capacity, unlinks and retires the node to be evicted,
+     * which may be the new one itself.
+     *
+     * @param node the node of the entry added to the cache
+     * @return the node that must be removed from the cache, or {@code null} if none */
+    public CacheNode<K, V> admit(CacheNode<K, V> node);
+
+    /**
+     * Unlinks and retires the specified node, which is in one of the queues of this evictor.
+     *
+     * @param node the node of the entry removed from the cache */
+    public void remove(CacheNode<K, V> node);
+
+    /** Unlinks and retires every node, keeping anything learnt about the keys. */
+    public void clear();
+
+}
@@ -0,0 +1,153 @@
+package ed.collections.cache;
+
+/**
+ * {@code FrequencySketch} estimates how often each key has been seen
+ * recently, in a fixed amount of memory, for {@link WindowTinyLfuEvictor}.
+ * It is a count-min sketch of four rows of 4-bit counters packed sixteen to a
+ * {@code long}: a key is hashed to one counter in each row, incrementing it
+ * increments those four counters, and its estimate is the smallest of them,
+ * which can only overstate the true count when other keys collide on all four.
+ * The table is split into blocks of eight words, one cache line, and the four
+ * counters of a key are all taken from the same block, two words per row, so
+ * an update or an estimate touches a single line and needs no per-row hash.
+ * Counters saturate at fifteen, which is enough to compare two keys. After
+ * ten increments per cached entry every counter is halved, so the sketch
+ * forgets old popularity and follows the workload as it changes.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class FrequencySketch {
+
+    /** constant to represent the lowest bit of every counter in a word */
+    private static final long ONE_MASK = 0x1111111111111111L;
+    /** constant to represent every counter in a word without its highest bit */
+    private static final long RESET_MASK = 0x7777777777777777L;
+    /** constant to represent the number of increments per entry between two halvings */
+    private static final int SAMPLE_FACTOR = 10;
+    /** constant to represent the largest number of words in the table */
+    private static final int MAXIMUM_LENGTH = 1 << 30;
+
+    /** the counters, sixteen per word */
+    private final long[] table;
+    /** bitmask that maps a hash onto a block of eight words of the table */
+    private final int blockMask;
+    /** int that represents the number of increments after which the counters are halved */
+    private final int sampleSize;
+    /** int that represents the number of increments since the counters were last halved */
+    private int size;
+
+    /**
+     * Creates a sketch with all counters at zero, sized for a cache of the specified capacity.
+     *
+     * @param maximumSize the largest number of entries the cache holds */
+    FrequencySketch(int maximumSize) {
+        int length = Math.min(Math.max(maximumSize, 8), MAXIMUM_LENGTH);
+        length = Integer.highestOneBit(length - 1) << 1;
+
+        table = new long[length];
+        blockMask = (length >>> 3) - 1;
+        sampleSize = (int) Math.min((long) SAMPLE_FACTOR * maximumSize, Integer.MAX_VALUE);
+        size = 0;
+    }
+
+    /**
+     * Returns the estimated number of times the specified key has been seen recently.
+     *
+     * @param key the key whose frequency is to be estimated
+     * @return the estimate, from zero to fifteen */
+    int frequency(Object key) {
+        int blockHash = spread(key.hashCode());
+        int counterHash = rehash(blockHash);
+        int block = (blockHash & blockMask) << 3;
+
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int h = counterHash >>> (i << 3);
+            int counter = (h >>> 1) & 15;
+            int index = block + (h & 1) + (i << 1);
+            frequency = Math.min(frequency, (int) (table[index] >>> (counter << 2)) & 0xf);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Increments the counters of the specified key, halving every counter once
+     * enough increments have been made.
+     *
+     * @param key the key that was seen */
+    void increment(Object key) {
+        int blockHash = spread(key.hashCode());
+        int counterHash = rehash(blockHash);
+        int block = (blockHash & blockMask) << 3;
+
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int h = counterHash >>> (i << 3);
+            added |= incrementAt(block + (h & 1) + (i << 1), (h >>> 1) & 15);
+        }
+
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Increments the specified counter of a word, unless it is saturated.
+     *
+     * @param index the index of the word in the table
+     * @param counter the number of the counter within the word, from zero to fifteen
+     * @return true if the counter was incremented */
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) == mask) {
+            return false;
+        }
+
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    /**
+     * Halves every counter. The number of increments is halved as well, less
+     * the ones lost by rounding odd counters down. */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    /**
+     * Derives a second hash from the spread hash of a key, whose bytes choose
+     * the counter of each row within the block.
+     *
+     * @param x the spread hash of the key
+     * @return the counter hash */
+    private static int rehash(int x) {
+        x *= 0x31848bab;
+        x ^= x >>> 14;
+        return x;
+    }
+
+    /**
+     * Mixes the bits of a hash code, so keys with similar hash codes such as
+     * consecutive integers are spread over the whole table.
+     *
+     * @param x the hash code of the key
+     * @return the spread hash */
+    private static int spread(int x) {
+        x ^= x >>> 17;
+        x *= 0xed5ad4bb;
+        x ^= x >>> 11;
+        x *= 0xac4c1b51;
+        x ^= x >>> 15;
+        x *= 0x31848bab;
+        x ^= x >>> 14;
+        return x;
+    }
+
+}
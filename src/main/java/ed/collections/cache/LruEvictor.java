@@ -0,0 +1,76 @@
+package ed.collections.cache;
+
+/**
+ * {@code LruEvictor} implements {@link EvictionPolicy#LRU} with a single
+ * {@link AccessOrderDeque}: accessed nodes move to the back and, once the
+ * cache is over its capacity, the node at the front is evicted.
+ *
+ * @param <K> the type of keys held by the cache
+ * @param <V> the type of values held by the cache
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class LruEvictor<K, V> implements Evictor<K, V> {
+
+    /** constant to represent the only queue of this policy */
+    private static final int ACCESS_ORDER = 1;
+
+    /** the largest number of entries the cache holds */
+    private final int maximumSize;
+    /** the nodes of the cache, from the least to the most recently used */
+    private final AccessOrderDeque<K, V> deque;
+
+    /**
+     * Creates an empty evictor for a cache of the specified capacity.
+     *
+     * @param maximumSize the largest number of entries the cache holds */
+    LruEvictor(int maximumSize) {
+        this.maximumSize = maximumSize;
+        deque = new AccessOrderDeque<>();
+    }
+
+    /**
+     * Moves the specified node to the back of the queue, as the most recently used.
+     *
+     * @param node the node that was accessed */
+    @Override
+    public void recordAccess(CacheNode<K, V> node) {
+        deque.moveToBack(node);
+    }
+
+    /**
+     * Links a new node at the back of the queue and, if the cache is now
+     * over its capacity, unlinks and retires the least recently used node
+     * at the front.
+     *
+     * @param node the node of the entry added to the cache
+     * @return the node that must be removed from the cache, or {@code null} if none */
+    @Override
+    public CacheNode<K, V> admit(CacheNode<K, V> node) {
+        node.setQueue(ACCESS_ORDER);
+        deque.linkLast(node);
+
+        if (deque.size() <= maximumSize) {
+            return null;
+        }
+
+        CacheNode<K, V> victim = deque.pollFirst();
+        victim.setQueue(CacheNode.RETIRED);
+        return victim;
+    }
+
+    /**
+     * Unlinks and retires the specified node.
+     *
+     * @param node the node of the entry removed from the cache */
+    @Override
+    public void remove(CacheNode<K, V> node) {
+        deque.unlink(node);
+        node.setQueue(CacheNode.RETIRED);
+    }
+
+    /** Unlinks and retires every node. There is nothing else to forget. */
+    @Override
+    public void clear() {
+        deque.clear();
+    }
+
+}
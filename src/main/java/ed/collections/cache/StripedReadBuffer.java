@@ -0,0 +1,145 @@
+package ed.collections.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * {@code StripedReadBuffer} collects the accesses that readers of a
+ * {@link ConcurrentBoundedCache} make, so the policy can be told about them
+ * later, in a batch, by whichever thread holds the lock of the cache. It is
+ * split into stripes, small ring buffers chosen by a hash of the thread, so
+ * readers on different processors rarely touch the same counters. A reader
+ * claims a slot with a single CAS and never waits: if the CAS fails, or if
+ * its stripe is full, the access is simply dropped. Losing a few accesses
+ * only makes the recency and frequency the policy sees slightly less exact,
+ * which costs far less than making every hit take a lock.
+ * Only one thread at a time may drain the buffer.
+ *
+ * @param <E> the type of elements buffered
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class StripedReadBuffer<E> {
+
+    /** constant to represent the number of slots in each stripe, a power of two */
+    static final int STRIPE_CAPACITY = 16;
+    /** bitmask that maps a position onto a slot of a stripe */
+    private static final int STRIPE_MASK = STRIPE_CAPACITY - 1;
+    /** constant to represent the largest number of stripes */
+    private static final int MAXIMUM_STRIPES = 1 << 8;
+
+    /** handle used to read and CAS the {@code writes} counter of a stripe */
+    private static final VarHandle WRITES;
+    /** handle used to publish and read the {@code reads} counter of a stripe */
+    private static final VarHandle READS;
+    /** handle used to publish and read the slots of a stripe */
+    private static final VarHandle SLOT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            WRITES = lookup.findVarHandle(Stripe.class, "writes", long.class);
+            READS = lookup.findVarHandle(Stripe.class, "reads", long.class);
+            SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * {@code Stripe} is one ring buffer of the read buffer. Its counters are
+     * surrounded by padding so that the stripes of different threads never
+     * share a cache line. */
+    private static final class Stripe {
+
+        /** padding that keeps the counters away from the preceding object */
+        long p01, p02, p03, p04, p05, p06, p07, p08;
+        /** long that represents the position of the next slot to be claimed by a reader */
+        long writes;
+        /** long that represents the position of the next slot to be drained */
+        long reads;
+        /** padding that keeps the counters away from the following object */
+        long p11, p12, p13, p14, p15, p16, p17, p18;
+
+        /** the slots of the ring buffer */
+        final Object[] slots = new Object[STRIPE_CAPACITY];
+
+    }
+
+    /** bitmask that maps a thread's hash onto a stripe */
+    private final int mask;
+    /** the stripes of the buffer */
+    private final Stripe[] stripes;
+
+    /**
+     * Creates an empty buffer with four stripes per available processor,
+     * rounded up to a power of two. */
+    StripedReadBuffer() {
+        int wanted = Math.min(4 * Runtime.getRuntime().availableProcessors(), MAXIMUM_STRIPES);
+        int length = wanted == 1 ? 1 : Integer.highestOneBit(wanted - 1) << 1;
+
+        mask = length - 1;
+        stripes = new Stripe[length];
+        for (int i = 0; i < length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Records an element in the stripe of the calling thread, or drops it if
+     * another reader claimed the same slot first or the stripe is full.
+     *
+     * @param element the element to be recorded
+     * @return {@code false} if the stripe is full and should be drained, {@code true} otherwise */
+    boolean offer(E element) {
+        Stripe stripe = stripes[stripeIndex()];
+
+        long tail = (long) WRITES.getVolatile(stripe);
+        long head = (long) READS.getAcquire(stripe);
+        if (tail - head >= STRIPE_CAPACITY) {
+            return false;
+        }
+
+        if (WRITES.compareAndSet(stripe, tail, tail + 1)) {
+            SLOT.setRelease(stripe.slots, (int) tail & STRIPE_MASK, element);
+        }
+        return true;
+    }
+
+    /**
+     * Hands every recorded element to the specified consumer and empties the
+     * stripes. A slot that has been claimed but not yet written ends the
+     * drain of its stripe; the element will be handed over by the next drain.
+     * Must not be called by two threads at the same time.
+     *
+     * @param consumer the consumer of the recorded elements */
+    @SuppressWarnings("unchecked")
+    void drainTo(Consumer<? super E> consumer) {
+        for (Stripe stripe : stripes) {
+            long head = stripe.reads;
+            long tail = (long) WRITES.getVolatile(stripe);
+
+            for (; head < tail; head++) {
+                int index = (int) head & STRIPE_MASK;
+                E element = (E) SLOT.getAcquire(stripe.slots, index);
+                if (element == null) {
+                    break;
+                }
+
+                SLOT.setRelease(stripe.slots, index, null);
+                consumer.accept(element);
+            }
+
+            READS.setRelease(stripe, head);
+        }
+    }
+
+    /**
+     * Returns the stripe of the calling thread, by a Fibonacci hash of its identifier.
+     *
+     * @return the index of the stripe */
+    private int stripeIndex() {
+        int id = (int) Thread.currentThread().getId();
+        return ((id * 0x9E3779B9) >>> 16) & mask;
+    }
+
+}
@@ -0,0 +1,165 @@
+package ed.collections.cache;
+
+/**
+ * {@code WindowTinyLfuEvictor} implements {@link EvictionPolicy#WINDOW_TINY_LFU}
+ * with three {@link AccessOrderDeque} objects and a {@link FrequencySketch}.
+ * New nodes enter the window, which holds about one percent of the capacity.
+ * The node pushed out of the window becomes a candidate for the main area and
+ * joins its probation segment; if that leaves the cache over its capacity,
+ * the candidate and the least recently used node of probation are compared
+ * by the sketch and the less frequent one is evicted, the candidate losing
+ * ties. A node accessed while on probation is promoted to the protected
+ * segment, which holds up to eighty percent of the main area; when it
+ * overflows, its least recently used node is demoted back to probation.
+ * Every access and admission is counted in the sketch.
+ *
+ * @param <K> the type of keys held by the cache
+ * @param <V> the type of values held by the cache
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+final class WindowTinyLfuEvictor<K, V> implements Evictor<K, V> {
+
+    /** constant to represent the queue of the nodes in the window */
+    private static final int WINDOW = 1;
+    /** constant to represent the queue of the nodes on probation in the main area */
+    private static final int PROBATION = 2;
+    /** constant to represent the queue of the protected nodes in the main area */
+    private static final int PROTECTED = 3;
+
+    /** constant to represent the fraction of the capacity given to the window */
+    private static final double WINDOW_FRACTION = 0.01;
+    /** constant to represent the fraction of the main area given to the protected segment */
+    private static final double PROTECTED_FRACTION = 0.8;
+
+    /** the largest number of entries the cache holds */
+    private final int maximumSize;
+    /** the largest number of nodes in the window */
+    private final int maximumWindowSize;
+    /** the largest number of nodes in the protected segment */
+    private final int maximumProtectedSize;
+
+    /** the nodes admitted most recently, from the least to the most recently used */
+    private final AccessOrderDeque<K, V> window;
+    /** the nodes of the main area not accessed since they entered it */
+    private final AccessOrderDeque<K, V> probation;
+    /** the nodes of the main area accessed since they entered it */
+    private final AccessOrderDeque<K, V> protectedSegment;
+    /** the estimated recent frequency of every key */
+    private final FrequencySketch sketch;
+
+    /**
+     * Creates an empty evictor for a cache of the specified capacity.
+     *
+     * @param maximumSize the largest number of entries the cache holds */
+    WindowTinyLfuEvictor(int maximumSize) {
+        this.maximumSize = maximumSize;
+        maximumWindowSize = Math.max(1, (int) (maximumSize * WINDOW_FRACTION));
+        maximumProtectedSize = (int) ((maximumSize - maximumWindowSize) * PROTECTED_FRACTION);
+
+        window = new AccessOrderDeque<>();
+        probation = new AccessOrderDeque<>();
+        protectedSegment = new AccessOrderDeque<>();
+        sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Counts an access to the key of the specified node in the sketch and
+     * moves the node within its segment. A node on probation is promoted to
+     * the protected segment, and the least recently used protected node is
+     * demoted to probation if that segment is now over its share.
+     *
+     * @param node the node that was accessed
+     * @throws IllegalStateException if the node is not in any segment */
+    @Override
+    public void recordAccess(CacheNode<K, V> node) {
+        sketch.increment(node.getKey());
+
+        switch (node.getQueue()) {
+            case WINDOW:
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                probation.unlink(node);
+                node.setQueue(PROTECTED);
+                protectedSegment.linkLast(node);
+
+                if (protectedSegment.size() > maximumProtectedSize) {
+                    CacheNode<K, V> demoted = protectedSegment.pollFirst();
+                    demoted.setQueue(PROBATION);
+                    probation.linkLast(demoted);
+                }
+                break;
+            case PROTECTED:
+                protectedSegment.moveToBack(node);
+                break;
+            default:
+                throw new IllegalStateException("Node is not in a queue.");
+        }
+    }
+
+    /**
+     * Links a new node into the window and moves the node it pushes out to
+     * probation. The main area can only be over its share of the capacity
+     * right after such a move, so whenever the cache is over its capacity
+     * there is a candidate, and it is the last node on probation.
+     *
+     * @param node the node of the entry added to the cache
+     * @return the node that must be removed from the cache, or {@code null} if none */
+    @Override
+    public CacheNode<K, V> admit(CacheNode<K, V> node) {
+        sketch.increment(node.getKey());
+
+        node.setQueue(WINDOW);
+        window.linkLast(node);
+        if (window.size() <= maximumWindowSize) {
+            return null;
+        }
+
+        CacheNode<K, V> candidate = window.pollFirst();
+        candidate.setQueue(PROBATION);
+        probation.linkLast(candidate);
+        if (window.size() + probation.size() + protectedSegment.size() <= maximumSize) {
+            return null;
+        }
+
+        CacheNode<K, V> victim = probation.peekFirst();
+        CacheNode<K, V> evicted = victim != candidate
+                && sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey()) ? victim : candidate;
+
+        probation.unlink(evicted);
+        evicted.setQueue(CacheNode.RETIRED);
+        return evicted;
+    }
+
+    /**
+     * Unlinks the specified node from its segment and retires it.
+     *
+     * @param node the node of the entry removed from the cache
+     * @throws IllegalStateException if the node is not in any segment */
+    @Override
+    public void remove(CacheNode<K, V> node) {
+        switch (node.getQueue()) {
+            case WINDOW:
+                window.unlink(node);
+                break;
+            case PROBATION:
+                probation.unlink(node);
+                break;
+            case PROTECTED:
+                protectedSegment.unlink(node);
+                break;
+            default:
+                throw new IllegalStateException("Node is not in a queue.");
+        }
+
+        node.setQueue(CacheNode.RETIRED);
+    }
+
+    /** Unlinks and retires every node of the three segments, keeping the frequencies in the sketch. */
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+}
@@ -0,0 +1,319 @@
+package ed.collections.candidates;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+
+import ed.collections.ResizePolicy;
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code ArrayList} provides the array-based operations shared by every list
+ * implementation of {@link ListADT}: the elements are stored contiguously from
+ * index zero to {@code rear - 1}, so removing an element shifts the elements
+ * after it with a single block copy.
+ * Subclasses decide where new elements are added and may replace
+ * {@link #find(Object)} with a faster search.
+ * The iterator is fail-fast: if the list is structurally modified after the
+ * iterator is created, other than through the iterator's own {@code remove},
+ * it throws a {@link ConcurrentModificationException}.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public abstract class ArrayList<T> implements ListADT<T> {
+
+    /** constant to represent the default capacity of the array, the one of {@link ResizePolicy#DEFAULT_CAPACITY} */
+    protected static final int DEFAULT_CAPACITY = ResizePolicy.DEFAULT_CAPACITY;
+
+    /** int that represents both the number of elements and the next available position in the array */
+    protected int rear;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    protected int modCount;
+    /** array of generic elements to represent the list */
+    protected T[] list;
+
+    /** Creates an empty list using the default capacity. */
+    protected ArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list using the specified capacity.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    @SuppressWarnings("unchecked")
+    protected ArrayList(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+
+        rear = modCount = 0;
+        list = (T[]) new Object[initialCapacity];
+    }
+
+    /**
+     * Makes room for one more element, expanding the array if it is full.
+     * The new capacity is chosen by the default resize policy. */
+    protected void ensureRoom() {
+        if (rear == list.length) {
+            list = Arrays.copyOf(list, ResizePolicy.DEFAULT.grow(list.length, rear + 1));
+        }
+    }
+
+    /**
+     * Opens a gap at the specified index by shifting the elements from that
+     * index onwards one position to the right with a single block copy, and
+     * stores the element in it.
+     *
+     * @param index the index at which the element is stored, between zero and {@code rear}
+     * @param element the element to be stored */
+    protected void insertAt(int index, T element) {
+        ensureRoom();
+
+        System.arraycopy(list, index, list, index + 1, rear - index);
+        list[index] = element;
+
+        rear++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element at the specified index by shifting the elements after
+     * it one position to the left with a single block copy.
+     *
+     * @param index the index of the element to be removed
+     * @return the removed element */
+    protected T removeAt(int index) {
+        T result = list[index];
+
+        System.arraycopy(list, index + 1, list, index, rear - index - 1);
+        list[--rear] = null;
+
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Returns the index of the first element equal to the specified target.
+     *
+     * @param target the element being sought
+     * @return the index of the target, or -1 if it is not in the list */
+    protected int find(T target) {
+        for (int i = 0; i < rear; i++) {
+            if (Objects.equals(list[i], target)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return removeAt(0);
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return removeAt(rear - 1);
+    }
+
+    /**
+     * Removes and returns the specified element from this list.
+     *
+     * @param element the element to be removed from the list
+     * @return the specified element from this list
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the element is not in the list */
+    @Override
+    public T remove(T element) throws EmptyCollectionException, NoSuchElementException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        int index = find(element);
+        if (index == -1) {
+            throw new NoSuchElementException("List");
+        }
+
+        return removeAt(index);
+    }
+
+    /**
+     * Returns a reference to the first element in this list.
+     *
+     * @return a reference to the first element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return list[0];
+    }
+
+    /**
+     * Returns a reference to the last element in this list.
+     *
+     * @return a reference to the last element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return list[rear - 1];
+    }
+
+    /**
+     * Returns true if this list contains the specified target element.
+     *
+     * @param target the target that is being sought in the list
+     * @return true if this list contains the specified target, false otherwise */
+    @Override
+    public boolean contains(T target) {
+        return find(target) != -1;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     *
+     * @return true if this list contains no elements */
+    @Override
+    public boolean isEmpty() {
+        return rear == 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the integer representation of the number of elements in this list */
+    @Override
+    public int size() {
+        return rear;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this list, from first to last.
+     *
+     * @return an iterator over the elements in this list */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayListIterator();
+    }
+
+    /**
+     * Returns a string representation of this list.
+     *
+     * @return a string representation of this list */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder(getClass().getSimpleName() + "{ size = " + rear + ", array.length = " + list.length + "\n");
+
+        for (int i = 0; i < rear; i++) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i + 1, list[i]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code ArrayListIterator} walks the array from index zero, checking on
+     * every step that the list has not been modified behind its back. */
+    private class ArrayListIterator implements Iterator<T> {
+
+        /** int that represents the index of the next element to be returned */
+        private int current;
+        /** int that represents the index of the last element returned, or -1 */
+        private int lastReturned;
+        /** the modification count the list is expected to have */
+        private int expectedModCount;
+
+        /** Creates an iterator positioned before the first element. */
+        private ArrayListIterator() {
+            current = 0;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return current < rear;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the list was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            lastReturned = current;
+            return list[current++];
+        }
+
+        /**
+         * Removes from the list the last element returned by this iterator.
+         *
+         * @throws IllegalStateException if {@code next} has not been called since the last removal
+         * @throws ConcurrentModificationException if the list was modified outside this iterator */
+        @Override
+        public void remove() {
+            if (lastReturned == -1) {
+                throw new IllegalStateException("Next has not been called.");
+            }
+            checkForComodification();
+
+            removeAt(lastReturned);
+            current = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that the list has not been structurally modified outside this iterator.
+         *
+         * @throws ConcurrentModificationException if it has */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+    }
+
+}
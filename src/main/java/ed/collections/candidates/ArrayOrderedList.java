@@ -0,0 +1,115 @@
+package ed.collections.candidates;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * {@code ArrayOrderedList} represents an array implementation of an ordered
+ * list, in which the elements are kept sorted by a {@link Comparator}, or by
+ * their natural ordering if none is given.
+ * The position of a new element is found with a binary search and the
+ * elements after it are shifted with a single block copy; elements that
+ * compare as equal keep the order in which they were added.
+ * Searching ({@link #contains(Object)} and {@link #remove(Object)}) is also a
+ * binary search, so it runs in O(log n) as long as the ordering is consistent
+ * with {@code equals}; otherwise every element that compares as equal to the
+ * target is checked with {@code equals}.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class ArrayOrderedList<T> extends ArrayList<T> implements OrderedListADT<T> {
+
+    /** the ordering of the elements in this list */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Creates an empty list, using the default capacity, whose elements are
+     * kept in their natural ordering. The elements must implement {@link Comparable}. */
+    public ArrayOrderedList() {
+        this(DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Creates an empty list, using the default capacity, whose elements are
+     * kept in the order defined by the specified comparator.
+     *
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering */
+    public ArrayOrderedList(Comparator<? super T> comparator) {
+        this(DEFAULT_CAPACITY, comparator);
+    }
+
+    /**
+     * Creates an empty list, using the specified capacity, whose elements are
+     * kept in the order defined by the specified comparator.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    @SuppressWarnings("unchecked")
+    public ArrayOrderedList(int initialCapacity, Comparator<? super T> comparator) {
+        super(initialCapacity);
+
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+    }
+
+    /**
+     * Adds the specified element to this list at the proper location,
+     * after any elements that compare as equal to it.
+     *
+     * @param element the element to be added to this list
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws ClassCastException if no comparator was given and the element is not {@link Comparable} */
+    @Override
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        int low = 0;
+        int high = rear;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(list[middle], element) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        insertAt(low, element);
+    }
+
+    /**
+     * Returns the index of an element equal to the specified target, found by
+     * a binary search for the first element that does not compare as less than it.
+     *
+     * @param target the element being sought
+     * @return the index of the target, or -1 if it is not in the list */
+    @Override
+    protected int find(T target) {
+        if (target == null) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = rear;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(list[middle], target) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int i = low; i < rear && comparator.compare(list[i], target) == 0; i++) {
+            if (Objects.equals(list[i], target)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
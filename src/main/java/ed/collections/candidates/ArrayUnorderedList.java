@@ -0,0 +1,63 @@
+package ed.collections.candidates;
+
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code ArrayUnorderedList} represents an array implementation of an
+ * unordered list, in which the user decides where each element is placed.
+ * Adding to the rear runs in amortized constant time O(1); adding to the
+ * front or after a target shifts the following elements with a single block copy.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class ArrayUnorderedList<T> extends ArrayList<T> implements UnorderedListADT<T> {
+
+    /** Creates an empty list using the default capacity. */
+    public ArrayUnorderedList() {
+        super();
+    }
+
+    /**
+     * Creates an empty list using the specified capacity.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public ArrayUnorderedList(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param element the element to be added to the front of this list */
+    @Override
+    public void addToFront(T element) {
+        insertAt(0, element);
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element the element to be added to the rear of this list */
+    @Override
+    public void addToRear(T element) {
+        insertAt(rear, element);
+    }
+
+    /**
+     * Adds the specified element after the first occurrence of the specified target.
+     *
+     * @param element the element to be added after the target
+     * @param target the target is the item that the element will be added after
+     * @throws NoSuchElementException if the target is not in the list */
+    @Override
+    public void addAfter(T element, T target) throws NoSuchElementException {
+        int index = find(target);
+        if (index == -1) {
+            throw new NoSuchElementException("List");
+        }
+
+        insertAt(index + 1, element);
+    }
+
+}
@@ -0,0 +1,552 @@
+package ed.collections.candidates;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code ConcurrentSkipListOrderedList} represents a thread-safe, lock-free
+ * skip-list implementation of an ordered list, in which the elements are kept
+ * sorted by a {@link Comparator}, or by their natural ordering if none is given.
+ * Every forward reference is an {@link AtomicMarkableReference} whose mark
+ * means that the node owning it is being removed. A removal first marks the
+ * node on its upper levels and then on the bottom one; the thread that marks
+ * the bottom level owns the removal, and the marked node is physically
+ * unlinked, by the remover or by any thread that walks past it, with a
+ * compare-and-set on its predecessor. An insertion links the node into the
+ * bottom level with a single compare-and-set, which is the point where it
+ * becomes part of the list, and then into its upper levels.
+ * So that equal elements can coexist, every node is ordered by its element
+ * and then by a sequence number taken when it was added; elements that
+ * compare as equal therefore keep the order in which they were added.
+ * {@link #add(Object)}, {@link #remove(Object)} and {@link #contains(Object)}
+ * run in expected O(log n) time and {@link #first()} in constant time O(1),
+ * apart from skipping nodes that are being removed.
+ * The iterator is weakly consistent: it never throws
+ * {@link java.util.ConcurrentModificationException}, never blocks writers,
+ * returns every element present for the whole traversal exactly once, and
+ * may or may not return elements added or removed meanwhile.
+ * {@link #size()} is a sum of counters and is only exact while the list is
+ * not being modified.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class ConcurrentSkipListOrderedList<T> implements OrderedListADT<T> {
+
+    /** constant to represent the largest number of levels a node can be linked into */
+    private static final int MAXIMUM_LEVEL = 32;
+
+    /** the ordering of the elements in this list */
+    private final Comparator<? super T> comparator;
+    /** sentinel node that precedes the first node on every level */
+    private final Node<T> head;
+    /** source of the sequence numbers that tell equal elements apart */
+    private final AtomicLong sequence;
+    /** counter of the elements in this list */
+    private final LongAdder count;
+
+    /**
+     * Creates an empty list whose elements are kept in their natural ordering.
+     * The elements must implement {@link Comparable}. */
+    public ConcurrentSkipListOrderedList() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty list whose elements are kept in the order defined by
+     * the specified comparator.
+     *
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering */
+    @SuppressWarnings("unchecked")
+    public ConcurrentSkipListOrderedList(Comparator<? super T> comparator) {
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+        head = new Node<>(null, Long.MIN_VALUE, MAXIMUM_LEVEL);
+        sequence = new AtomicLong();
+        count = new LongAdder();
+    }
+
+    /**
+     * Picks the number of levels of a new node, which is {@code k} with probability {@code 2^-k}.
+     *
+     * @return int number of levels between one and {@value #MAXIMUM_LEVEL} */
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAXIMUM_LEVEL - 1))) + 1;
+    }
+
+    /**
+     * Compares the key of a node, made of its element and its sequence number,
+     * with the specified key.
+     *
+     * @param node the node being compared, which is not the head sentinel
+     * @param element the element of the key
+     * @param sequenceNumber the sequence number of the key
+     * @return a negative integer, zero, or a positive integer as the node is less than, equal to, or greater than the key */
+    private int compare(Node<T> node, T element, long sequenceNumber) {
+        int comparison = comparator.compare(node.element, element);
+        return comparison != 0 ? comparison : Long.compare(node.sequence, sequenceNumber);
+    }
+
+    /**
+     * Fills {@code predecessors} and {@code successors} with, for every level,
+     * the last node whose key is less than the specified key and the node that
+     * follows it. Every marked node found on the way is unlinked; if that fails
+     * because the predecessor changed, the search starts over from the top.
+     *
+     * @param element the element of the key
+     * @param sequenceNumber the sequence number of the key
+     * @param predecessors the array that receives one predecessor per level
+     * @param successors the array that receives one successor per level */
+    private void find(T element, long sequenceNumber, Node<T>[] predecessors, Node<T>[] successors) {
+        boolean[] marked = new boolean[1];
+
+        retry:
+        while (true) {
+            Node<T> predecessor = head;
+            for (int level = MAXIMUM_LEVEL - 1; level >= 0; level--) {
+                Node<T> current = predecessor.next[level].getReference();
+                while (current != null) {
+                    Node<T> successor = current.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!predecessor.next[level].compareAndSet(current, successor, false, false)) {
+                            continue retry;
+                        }
+                        current = successor;
+                    } else if (compare(current, element, sequenceNumber) < 0) {
+                        predecessor = current;
+                        current = successor;
+                    } else {
+                        break;
+                    }
+                }
+                predecessors[level] = predecessor;
+                successors[level] = current;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Returns the first node on the bottom level, in order, that is not being
+     * removed and whose element is equal to the target, starting the search
+     * from the specified node.
+     *
+     * @param from the first node to be checked, or {@code null}
+     * @param target the element being sought
+     * @return the node holding the target, or {@code null} if there is none */
+    private Node<T> scanEqual(Node<T> from, T target) {
+        Node<T> current = from;
+        while (current != null && comparator.compare(current.element, target) == 0) {
+            if (!current.isMarked() && Objects.equals(current.element, target)) {
+                return current;
+            }
+            current = current.next[0].getReference();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the first node whose element does not compare as less than the
+     * target, walking the levels down without modifying the list.
+     *
+     * @param target the element being sought
+     * @return the first node not less than the target, or {@code null} if there is none */
+    private Node<T> lowerBound(T target) {
+        Node<T> predecessor = head;
+        Node<T> current = null;
+        for (int level = MAXIMUM_LEVEL - 1; level >= 0; level--) {
+            current = predecessor.next[level].getReference();
+            while (current != null && (current.isMarkedAt(level) || comparator.compare(current.element, target) < 0)) {
+                if (!current.isMarkedAt(level)) {
+                    predecessor = current;
+                }
+                current = current.next[level].getReference();
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the first node on the bottom level that is not being removed.
+     *
+     * @return the first node of the list, or {@code null} if it is empty */
+    private Node<T> firstNode() {
+        Node<T> current = head.next[0].getReference();
+        while (current != null && current.isMarked()) {
+            current = current.next[0].getReference();
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the last node that is not being removed, found by walking every
+     * level as far as it goes before dropping to the one below. The walk starts
+     * over if the node it ends on is removed meanwhile.
+     *
+     * @return the last node of the list, or {@code null} if it is empty */
+    private Node<T> lastNode() {
+        while (true) {
+            Node<T> predecessor = head;
+            for (int level = MAXIMUM_LEVEL - 1; level >= 0; level--) {
+                Node<T> current = predecessor.next[level].getReference();
+                while (current != null) {
+                    if (!current.isMarkedAt(level)) {
+                        predecessor = current;
+                    }
+                    current = current.next[level].getReference();
+                }
+            }
+
+            if (predecessor == head) {
+                return null;
+            }
+            if (!predecessor.isMarked()) {
+                return predecessor;
+            }
+        }
+    }
+
+    /**
+     * Removes the specified node from the list, unless another thread removes it first.
+     *
+     * @param node the node to be removed
+     * @return {@code true} if this thread removed the node, {@code false} if it was already being removed */
+    private boolean delete(Node<T> node) {
+        boolean[] marked = new boolean[1];
+
+        for (int level = node.next.length - 1; level > 0; level--) {
+            Node<T> successor = node.next[level].get(marked);
+            while (!marked[0]) {
+                node.next[level].attemptMark(successor, true);
+                successor = node.next[level].get(marked);
+            }
+        }
+
+        Node<T> successor = node.next[0].get(marked);
+        while (!marked[0]) {
+            if (node.next[0].compareAndSet(successor, successor, false, true)) {
+                count.decrement();
+
+                @SuppressWarnings("unchecked")
+                Node<T>[] predecessors = (Node<T>[]) new Node<?>[MAXIMUM_LEVEL];
+                @SuppressWarnings("unchecked")
+                Node<T>[] successors = (Node<T>[]) new Node<?>[MAXIMUM_LEVEL];
+                find(node.element, node.sequence, predecessors, successors);
+
+                return true;
+            }
+            successor = node.next[0].get(marked);
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the specified element to this list at the proper location,
+     * after any elements that compare as equal to it.
+     *
+     * @param element the element to be added to this list
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws ClassCastException if no comparator was given and the element is not {@link Comparable} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        long sequenceNumber = sequence.getAndIncrement();
+        Node<T> newNode = new Node<>(element, sequenceNumber, randomLevel());
+        Node<T>[] predecessors = (Node<T>[]) new Node<?>[MAXIMUM_LEVEL];
+        Node<T>[] successors = (Node<T>[]) new Node<?>[MAXIMUM_LEVEL];
+
+        do {
+            find(element, sequenceNumber, predecessors, successors);
+            newNode.next[0].set(successors[0], false);
+        } while (!predecessors[0].next[0].compareAndSet(successors[0], newNode, false, false));
+        count.increment();
+
+        for (int level = 1; level < newNode.next.length; level++) {
+            while (true) {
+                Node<T> successor = successors[level];
+                Node<T> current = newNode.next[level].getReference();
+                if (!newNode.next[level].compareAndSet(current, successor, false, false)) {
+                    return;
+                }
+                if (predecessors[level].next[level].compareAndSet(successor, newNode, false, false)) {
+                    break;
+                }
+                find(element, sequenceNumber, predecessors, successors);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        Node<T> node;
+        do {
+            node = firstNode();
+            if (node == null) {
+                throw EmptyCollectionException.of("List");
+            }
+        } while (!delete(node));
+
+        return node.element;
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        Node<T> node;
+        do {
+            node = lastNode();
+            if (node == null) {
+                throw EmptyCollectionException.of("List");
+            }
+        } while (!delete(node));
+
+        return node.element;
+    }
+
+    /**
+     * Removes and returns the first occurrence of the specified element from this list.
+     *
+     * @param element the element to be removed from the list
+     * @return the specified element from this list
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the element is not in the list */
+    @Override
+    public T remove(T element) throws EmptyCollectionException, NoSuchElementException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        if (element != null) {
+            Node<T> node = scanEqual(lowerBound(element), element);
+            while (node != null) {
+                if (delete(node)) {
+                    return node.element;
+                }
+                node = scanEqual(node.next[0].getReference(), element);
+            }
+        }
+
+        throw new NoSuchElementException("List");
+    }
+
+    /**
+     * Returns a reference to the first element in this list.
+     *
+     * @return a reference to the first element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        Node<T> node = firstNode();
+        if (node == null) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return node.element;
+    }
+
+    /**
+     * Returns a reference to the last element in this list.
+     *
+     * @return a reference to the last element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T last() throws EmptyCollectionException {
+        Node<T> node = lastNode();
+        if (node == null) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return node.element;
+    }
+
+    /**
+     * Returns true if this list contains the specified target element.
+     * The search never modifies the list, so it is wait-free.
+     *
+     * @param target the target that is being sought in the list
+     * @return true if this list contains the specified target, false otherwise */
+    @Override
+    public boolean contains(T target) {
+        return target != null && scanEqual(lowerBound(target), target) != null;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     *
+     * @return true if this list contains no elements */
+    @Override
+    public boolean isEmpty() {
+        return firstNode() == null;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the integer representation of the number of elements in this list */
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this list, in order.
+     *
+     * @return an iterator over the elements in this list */
+    @Override
+    public Iterator<T> iterator() {
+        return new WeaklyConsistentIterator();
+    }
+
+    /**
+     * Returns a string representation of this list.
+     *
+     * @return a string representation of this list */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("ConcurrentSkipListOrderedList{ size = " + size() + "\n");
+
+        int i = 1;
+        for (T element : this) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i++, element));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code Node} stores an element, its sequence number and its markable
+     * forward references, one for every level the node is linked into.
+     *
+     * @param <T> the type of element stored in this node */
+    private static final class Node<T> {
+
+        /** element stored in this node, or {@code null} for the head sentinel */
+        private final T element;
+        /** long that tells this node apart from others holding equal elements */
+        private final long sequence;
+        /** references to the next node on each level, marked once this node is being removed */
+        private final AtomicMarkableReference<Node<T>>[] next;
+
+        /**
+         * Creates a node storing the specified element, linked into the specified number of levels.
+         *
+         * @param element element to be stored
+         * @param sequence the sequence number of the node
+         * @param levels the number of levels the node is linked into */
+        @SuppressWarnings("unchecked")
+        private Node(T element, long sequence, int levels) {
+            this.element = element;
+            this.sequence = sequence;
+            next = (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference<?>[levels];
+            for (int level = 0; level < levels; level++) {
+                next[level] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        /**
+         * Returns true if this node has been removed from the list.
+         *
+         * @return true if the bottom level of this node is marked */
+        private boolean isMarked() {
+            return next[0].isMarked();
+        }
+
+        /**
+         * Returns true if this node is being unlinked from the specified level.
+         *
+         * @param level the level being checked
+         * @return true if the specified level of this node is marked */
+        private boolean isMarkedAt(int level) {
+            return next[level].isMarked();
+        }
+
+    }
+
+    /**
+     * {@code WeaklyConsistentIterator} follows the bottom level from the first
+     * node, skipping the nodes that are being removed, without ever taking a lock. */
+    private class WeaklyConsistentIterator implements Iterator<T> {
+
+        /** reference to the node holding the next element to be returned */
+        private Node<T> current;
+        /** reference to the node holding the last element returned, or {@code null} */
+        private Node<T> lastReturned;
+
+        /** Creates an iterator positioned before the first element. */
+        private WeaklyConsistentIterator() {
+            current = firstNode();
+            lastReturned = null;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            lastReturned = current;
+            current = current.next[0].getReference();
+            while (current != null && current.isMarked()) {
+                current = current.next[0].getReference();
+            }
+
+            return lastReturned.element;
+        }
+
+        /**
+         * Removes from the list the last element returned by this iterator,
+         * unless another thread has already removed it.
+         *
+         * @throws IllegalStateException if {@code next} has not been called since the last removal */
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Next has not been called.");
+            }
+
+            delete(lastReturned);
+            lastReturned = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,329 @@
+package ed.collections.candidates;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+
+import ed.collections.DoubleNode;
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code DoubleLinkedList} provides the doubly-linked operations shared by
+ * the linked implementations of {@link ListADT}. Internally, the list is
+ * represented using {@link DoubleNode} objects: {@code front} refers to the
+ * node holding the first element and {@code rear} to the node holding the
+ * last one, so both ends can be removed in constant time O(1), and a node
+ * found by a search is unlinked without walking the list again.
+ * The iterator is fail-fast: if the list is structurally modified after the
+ * iterator is created, other than through the iterator's own {@code remove},
+ * it throws a {@link ConcurrentModificationException}.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public abstract class DoubleLinkedList<T> implements ListADT<T> {
+
+    /** int that represents the number of elements in this list */
+    protected int count;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    protected int modCount;
+    /** reference to the first node in the list */
+    protected DoubleNode<T> front;
+    /** reference to the last node in the list */
+    protected DoubleNode<T> rear;
+
+    /** Creates an empty list. */
+    protected DoubleLinkedList() {
+        count = modCount = 0;
+        front = rear = null;
+    }
+
+    /**
+     * Links a new node holding the specified element after the specified node,
+     * or at the front of the list if the node is {@code null}.
+     *
+     * @param previous the node after which the element is added, or {@code null}
+     * @param element the element to be added
+     * @return the node holding the added element */
+    protected DoubleNode<T> linkAfter(DoubleNode<T> previous, T element) {
+        DoubleNode<T> newNode = new DoubleNode<>(element);
+        DoubleNode<T> next = previous == null ? front : previous.getNext();
+
+        newNode.setPrevious(previous);
+        newNode.setNext(next);
+
+        if (previous == null) {
+            front = newNode;
+        } else {
+            previous.setNext(newNode);
+        }
+
+        if (next == null) {
+            rear = newNode;
+        } else {
+            next.setPrevious(newNode);
+        }
+
+        count++;
+        modCount++;
+
+        return newNode;
+    }
+
+    /**
+     * Unlinks the specified node from the list.
+     *
+     * @param node the node to be removed, which must belong to this list
+     * @return the element stored in the removed node */
+    protected T unlink(DoubleNode<T> node) {
+        DoubleNode<T> previous = node.getPrevious();
+        DoubleNode<T> next = node.getNext();
+
+        if (previous == null) {
+            front = next;
+        } else {
+            previous.setNext(next);
+        }
+
+        if (next == null) {
+            rear = previous;
+        } else {
+            next.setPrevious(previous);
+        }
+
+        node.setPrevious(null);
+        node.setNext(null);
+
+        count--;
+        modCount++;
+
+        return node.getElement();
+    }
+
+    /**
+     * Returns the first node holding an element equal to the specified target.
+     *
+     * @param target the element being sought
+     * @return the node holding the target, or {@code null} if it is not in the list */
+    protected DoubleNode<T> find(T target) {
+        DoubleNode<T> current = front;
+        while (current != null) {
+            if (Objects.equals(current.getElement(), target)) {
+                return current;
+            }
+            current = current.getNext();
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return unlink(front);
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return unlink(rear);
+    }
+
+    /**
+     * Removes and returns the specified element from this list.
+     *
+     * @param element the element to be removed from the list
+     * @return the specified element from this list
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the element is not in the list */
+    @Override
+    public T remove(T element) throws EmptyCollectionException, NoSuchElementException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        DoubleNode<T> node = find(element);
+        if (node == null) {
+            throw new NoSuchElementException("List");
+        }
+
+        return unlink(node);
+    }
+
+    /**
+     * Returns a reference to the first element in this list.
+     *
+     * @return a reference to the first element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return front.getElement();
+    }
+
+    /**
+     * Returns a reference to the last element in this list.
+     *
+     * @return a reference to the last element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return rear.getElement();
+    }
+
+    /**
+     * Returns true if this list contains the specified target element.
+     *
+     * @param target the target that is being sought in the list
+     * @return true if this list contains the specified target, false otherwise */
+    @Override
+    public boolean contains(T target) {
+        return find(target) != null;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     *
+     * @return true if this list contains no elements */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the integer representation of the number of elements in this list */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this list, from first to last.
+     *
+     * @return an iterator over the elements in this list */
+    @Override
+    public Iterator<T> iterator() {
+        return new DoubleLinkedListIterator();
+    }
+
+    /**
+     * Returns a string representation of this list.
+     *
+     * @return a string representation of this list */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder(getClass().getSimpleName() + "{ size = " + count + "\n");
+
+        DoubleNode<T> current = front;
+        int i = 1;
+        while (current != null) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i++, current.getElement()));
+            current = current.getNext();
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code DoubleLinkedListIterator} follows the {@code next} references from
+     * {@code front}, checking on every step that the list has not been modified
+     * behind its back. */
+    private class DoubleLinkedListIterator implements Iterator<T> {
+
+        /** reference to the node holding the next element to be returned */
+        private DoubleNode<T> current;
+        /** reference to the node holding the last element returned, or {@code null} */
+        private DoubleNode<T> lastReturned;
+        /** the modification count the list is expected to have */
+        private int expectedModCount;
+
+        /** Creates an iterator positioned before the first element. */
+        private DoubleLinkedListIterator() {
+            current = front;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the list was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            lastReturned = current;
+            current = current.getNext();
+
+            return lastReturned.getElement();
+        }
+
+        /**
+         * Removes from the list the last element returned by this iterator.
+         *
+         * @throws IllegalStateException if {@code next} has not been called since the last removal
+         * @throws ConcurrentModificationException if the list was modified outside this iterator */
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Next has not been called.");
+            }
+            checkForComodification();
+
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that the list has not been structurally modified outside this iterator.
+         *
+         * @throws ConcurrentModificationException if it has */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package ed.collections.candidates;
+
+import ed.collections.DoubleNode;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code DoubleLinkedUnorderedList} represents a doubly-linked implementation
+ * of an unordered list, in which the user decides where each element is placed.
+ * Adding to either end runs in constant time O(1); adding after a target
+ * runs in linear time, spent finding the target.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class DoubleLinkedUnorderedList<T> extends DoubleLinkedList<T> implements UnorderedListADT<T> {
+
+    /** Creates an empty list. */
+    public DoubleLinkedUnorderedList() {
+        super();
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param element the element to be added to the front of this list */
+    @Override
+    public void addToFront(T element) {
+        linkAfter(null, element);
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element the element to be added to the rear of this list */
+    @Override
+    public void addToRear(T element) {
+        linkAfter(rear, element);
+    }
+
+    /**
+     * Adds the specified element after the first occurrence of the specified target.
+     *
+     * @param element the element to be added after the target
+     * @param target the target is the item that the element will be added after
+     * @throws NoSuchElementException if the target is not in the list */
+    @Override
+    public void addAfter(T element, T target) throws NoSuchElementException {
+        DoubleNode<T> node = find(target);
+        if (node == null) {
+            throw new NoSuchElementException("List");
+        }
+
+        linkAfter(node, element);
+    }
+
+}
@@ -0,0 +1,207 @@
+package ed.collections.candidates;
+
+import ed.collections.DoubleNode;
+
+/**
+ * {@code HashIndexedUnorderedList} represents an unordered list whose
+ * elements are also indexed by an open-addressing hash table that maps each
+ * element to the {@link DoubleNode} holding it. The list keeps the order
+ * chosen by the user, exactly as {@link DoubleLinkedUnorderedList} does,
+ * while {@code contains}, {@code remove(element)} and {@code addAfter} find
+ * their node through the index in expected constant time O(1) instead of
+ * walking the list.
+ * The index is an array of node references with a power-of-two length that
+ * is kept at most half full: an element is placed with Fibonacci hashing and
+ * linear probing, and a removed element's slot is refilled by shifting the
+ * following entries back, so no tombstones are left behind. The only memory
+ * per element is therefore its node and, on average, three slots of the
+ * array, against the larger entry and bucket of a {@link java.util.LinkedHashSet}.
+ * Because the index maps each element to a single node, the list cannot hold
+ * two equal elements, and it rejects {@code null} ones. Elements must not
+ * change their {@code hashCode} while they are in the list.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class HashIndexedUnorderedList<T> extends DoubleLinkedUnorderedList<T> {
+
+    /** constant to represent the number of elements the index can hold by default */
+    private static final int DEFAULT_CAPACITY = 8;
+    /** constant to represent the largest power of two that can be used as the length of the index */
+    private static final int MAXIMUM_LENGTH = 1 << 30;
+    /** constant to represent 2^32 divided by the golden ratio, used to spread the hash codes */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** the open-addressing table mapping each element to its node, with a power-of-two length */
+    private DoubleNode<T>[] index;
+    /** int that represents how far a spread hash code is shifted to become a slot of the index */
+    private int shift;
+
+    /** Creates an empty list with the default capacity. */
+    public HashIndexedUnorderedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list whose index can hold the specified number of
+     * elements before it is expanded.
+     *
+     * @param initialCapacity the number of elements the index can hold before expanding
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero
+     * or greater than {@code 2^29} */
+    public HashIndexedUnorderedList(int initialCapacity) {
+        super();
+
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (initialCapacity > MAXIMUM_LENGTH >>> 1) {
+            throw new IllegalArgumentException("Capacity cannot be greater than " + (MAXIMUM_LENGTH >>> 1) + ".");
+        }
+
+        allocate(Integer.highestOneBit(initialCapacity * 2 - 1) << 1);
+    }
+
+    /**
+     * Replaces the index with an empty one of the specified length.
+     *
+     * @param length the length of the new index, a power of two not less than two */
+    @SuppressWarnings("unchecked")
+    private void allocate(int length) {
+        index = (DoubleNode<T>[]) new DoubleNode<?>[length];
+        shift = Integer.numberOfLeadingZeros(length) + 1;
+    }
+
+    /**
+     * Returns the slot of the index where the search for the specified element starts.
+     *
+     * @param element the element being placed or sought
+     * @return the home slot of the element */
+    private int slotOf(Object element) {
+        return (element.hashCode() * GOLDEN_RATIO) >>> shift;
+    }
+
+    /**
+     * Checks whether the specified node holds an element equal to the target,
+     * trying the cheaper identity comparison first.
+     *
+     * @param node the node being examined
+     * @param target the element being sought
+     * @return true if the node holds the target, false otherwise */
+    private static boolean matches(DoubleNode<?> node, Object target) {
+        Object element = node.getElement();
+        return element == target || element.equals(target);
+    }
+
+    /**
+     * Places the specified node in the first free slot from its element's home slot.
+     *
+     * @param node the node to be placed, whose element is not in the index */
+    private void place(DoubleNode<T> node) {
+        int mask = index.length - 1;
+        int slot = slotOf(node.getElement());
+        while (index[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+
+        index[slot] = node;
+    }
+
+    /** Doubles the length of the index and places every node in it again. */
+    private void expandIndex() {
+        DoubleNode<T>[] old = index;
+        allocate(old.length << 1);
+        for (DoubleNode<T> node : old) {
+            if (node != null) {
+                place(node);
+            }
+        }
+    }
+
+    /**
+     * Returns the node holding the specified target, looked up in the index.
+     *
+     * @param target the element being sought
+     * @return the node holding the target, or {@code null} if it is not in the list */
+    @Override
+    protected DoubleNode<T> find(T target) {
+        if (target == null) {
+            return null;
+        }
+
+        int mask = index.length - 1;
+        for (int slot = slotOf(target); index[slot] != null; slot = (slot + 1) & mask) {
+            if (matches(index[slot], target)) {
+                return index[slot];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Links a new node holding the specified element after the specified node,
+     * or at the front of the list if the node is {@code null}, and indexes it.
+     *
+     * @param previous the node after which the element is added, or {@code null}
+     * @param element the element to be added
+     * @return the node holding the added element
+     * @throws IllegalArgumentException if {@code element} is {@code null} or already in the list
+     * @throws IllegalStateException if the index cannot grow any further */
+    @Override
+    protected DoubleNode<T> linkAfter(DoubleNode<T> previous, T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        int mask = index.length - 1;
+        int slot = slotOf(element);
+        for (DoubleNode<T> current; (current = index[slot]) != null; slot = (slot + 1) & mask) {
+            if (matches(current, element)) {
+                throw new IllegalArgumentException("Element is already in the list.");
+            }
+        }
+
+        boolean expand = count + 1 > index.length >>> 1;
+        if (expand && index.length == MAXIMUM_LENGTH) {
+            throw new IllegalStateException("List is full.");
+        }
+
+        DoubleNode<T> node = super.linkAfter(previous, element);
+        if (expand) {
+            expandIndex();
+            place(node);
+        } else {
+            index[slot] = node;
+        }
+
+        return node;
+    }
+
+    /**
+     * Removes the specified node from the index and unlinks it from the list.
+     * The entries that follow it in its probe run are shifted back, so that
+     * every remaining element can still be reached from its home slot.
+     *
+     * @param node the node to be removed, which must belong to this list
+     * @return the element stored in the removed node */
+    @Override
+    protected T unlink(DoubleNode<T> node) {
+        int mask = index.length - 1;
+        int hole = slotOf(node.getElement());
+        while (index[hole] != node) {
+            hole = (hole + 1) & mask;
+        }
+
+        for (int slot = (hole + 1) & mask; index[slot] != null; slot = (slot + 1) & mask) {
+            int home = slotOf(index[slot].getElement());
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                index[hole] = index[slot];
+                hole = slot;
+            }
+        }
+        index[hole] = null;
+
+        return super.unlink(node);
+    }
+
+}
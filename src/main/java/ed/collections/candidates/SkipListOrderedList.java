@@ -0,0 +1,475 @@
+package ed.collections.candidates;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import ed.collections.exceptions.EmptyCollectionException;
+import ed.collections.exceptions.NoSuchElementException;
+
+/**
+ * {@code SkipListOrderedList} represents a skip-list implementation of an
+ * ordered list, in which the elements are kept sorted by a {@link Comparator},
+ * or by their natural ordering if none is given.
+ * Every element lives in a node that is linked into the bottom level, which
+ * holds all elements in order, and into a random number of the levels above
+ * it, each holding about half of the nodes of the level below. A search starts
+ * at the top level and drops a level whenever the next node would overshoot,
+ * so {@link #add(Object)}, {@link #remove(Object)} and {@link #contains(Object)}
+ * run in expected O(log n) time, while {@link #first()} and {@link #last()}
+ * run in constant time O(1).
+ * Elements that compare as equal keep the order in which they were added.
+ * The iterator is fail-fast: if the list is structurally modified after the
+ * iterator is created, other than through the iterator's own {@code remove},
+ * it throws a {@link ConcurrentModificationException}.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class SkipListOrderedList<T> implements OrderedListADT<T> {
+
+    /** constant to represent the largest number of levels a node can be linked into */
+    private static final int MAXIMUM_LEVEL = 32;
+
+    /** the ordering of the elements in this list */
+    private final Comparator<? super T> comparator;
+    /** sentinel node that precedes the first node on every level */
+    private final SkipNode<T> head;
+
+    /** int that represents the number of elements in this list */
+    private int count;
+    /** int that represents the number of levels currently in use */
+    private int levels;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** reference to the node holding the last element, or {@code null} if the list is empty */
+    private SkipNode<T> tail;
+
+    /**
+     * Creates an empty list whose elements are kept in their natural ordering.
+     * The elements must implement {@link Comparable}. */
+    public SkipListOrderedList() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty list whose elements are kept in the order defined by
+     * the specified comparator.
+     *
+     * @param comparator the ordering of the elements, or {@code null} for their natural ordering */
+    @SuppressWarnings("unchecked")
+    public SkipListOrderedList(Comparator<? super T> comparator) {
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+        head = new SkipNode<>(null, MAXIMUM_LEVEL);
+        count = modCount = 0;
+        levels = 1;
+        tail = null;
+    }
+
+    /**
+     * Picks the number of levels of a new node, which is {@code k} with probability {@code 2^-k}.
+     *
+     * @return int number of levels between one and {@value #MAXIMUM_LEVEL} */
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAXIMUM_LEVEL - 1))) + 1;
+    }
+
+    /**
+     * Fills {@code predecessors} with, for every level in use, the last node
+     * whose element compares as less than the target (or, when {@code inclusive},
+     * as less than or equal to it).
+     *
+     * @param target the element being sought
+     * @param inclusive whether nodes comparing as equal to the target are passed over
+     * @param predecessors the array that receives one node per level */
+    private void findPredecessors(T target, boolean inclusive, SkipNode<T>[] predecessors) {
+        SkipNode<T> current = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            SkipNode<T> next = current.next[level];
+            while (next != null) {
+                int comparison = comparator.compare(next.element, target);
+                if (comparison > 0 || comparison == 0 && !inclusive) {
+                    break;
+                }
+                current = next;
+                next = current.next[level];
+            }
+            predecessors[level] = current;
+        }
+    }
+
+    /**
+     * Returns the first node, in order, whose element is equal to the target.
+     * If {@code predecessors} is not {@code null}, it receives, for every level
+     * in use, the last node whose element compares as less than the target,
+     * so that the node found can be unlinked without searching again.
+     *
+     * @param target the element being sought
+     * @param predecessors the array that receives one node per level, or {@code null}
+     * @return the node holding the target, or {@code null} if it is not in the list */
+    private SkipNode<T> find(T target, SkipNode<T>[] predecessors) {
+        if (target == null) {
+            return null;
+        }
+
+        SkipNode<T> current = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            SkipNode<T> next = current.next[level];
+            while (next != null && comparator.compare(next.element, target) < 0) {
+                current = next;
+                next = current.next[level];
+            }
+            if (predecessors != null) {
+                predecessors[level] = current;
+            }
+        }
+
+        SkipNode<T> candidate = current.next[0];
+        while (candidate != null && comparator.compare(candidate.element, target) == 0) {
+            if (Objects.equals(candidate.element, target)) {
+                return candidate;
+            }
+            candidate = candidate.next[0];
+        }
+
+        return null;
+    }
+
+    /**
+     * Unlinks the specified node from every level it belongs to.
+     *
+     * @param node the node to be removed, which must belong to this list
+     * @return the element stored in the removed node */
+    @SuppressWarnings("unchecked")
+    private T unlink(SkipNode<T> node) {
+        SkipNode<T>[] predecessors = (SkipNode<T>[]) new SkipNode<?>[levels];
+        findPredecessors(node.element, false, predecessors);
+
+        return unlink(node, predecessors);
+    }
+
+    /**
+     * Unlinks the specified node from every level it belongs to, starting the
+     * walk on each level from the node recorded for it, which must precede
+     * the node to be removed.
+     *
+     * @param node the node to be removed, which must belong to this list
+     * @param predecessors one node per level in use, each preceding {@code node}
+     * @return the element stored in the removed node */
+    private T unlink(SkipNode<T> node, SkipNode<T>[] predecessors) {
+        for (int level = 0; level < node.next.length; level++) {
+            SkipNode<T> predecessor = predecessors[level];
+            while (predecessor.next[level] != node) {
+                predecessor = predecessor.next[level];
+            }
+            predecessor.next[level] = node.next[level];
+        }
+
+        if (tail == node) {
+            SkipNode<T> current = predecessors[0];
+            while (current.next[0] != null) {
+                current = current.next[0];
+            }
+            tail = current == head ? null : current;
+        }
+
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+
+        count--;
+        modCount++;
+
+        return node.element;
+    }
+
+    /**
+     * Adds the specified element to this list at the proper location,
+     * after any elements that compare as equal to it.
+     *
+     * @param element the element to be added to this list
+     * @throws IllegalArgumentException if {@code element} is {@code null}
+     * @throws ClassCastException if no comparator was given and the element is not {@link Comparable} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        int nodeLevels = randomLevel();
+        if (nodeLevels > levels) {
+            levels = nodeLevels;
+        }
+
+        SkipNode<T>[] predecessors = (SkipNode<T>[]) new SkipNode<?>[levels];
+        findPredecessors(element, true, predecessors);
+
+        SkipNode<T> newNode = new SkipNode<>(element, nodeLevels);
+        for (int level = 0; level < nodeLevels; level++) {
+            newNode.next[level] = predecessors[level].next[level];
+            predecessors[level].next[level] = newNode;
+        }
+
+        if (newNode.next[0] == null) {
+            tail = newNode;
+        }
+
+        count++;
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        SkipNode<T> node = head.next[0];
+        for (int level = 0; level < node.next.length; level++) {
+            head.next[level] = node.next[level];
+        }
+
+        if (tail == node) {
+            tail = null;
+        }
+
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+
+        count--;
+        modCount++;
+
+        return node.element;
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element from this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return unlink(tail);
+    }
+
+    /**
+     * Removes and returns the first occurrence of the specified element from this list.
+     *
+     * @param element the element to be removed from the list
+     * @return the specified element from this list
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the element is not in the list */
+    @Override
+    public T remove(T element) throws EmptyCollectionException, NoSuchElementException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        @SuppressWarnings("unchecked")
+        SkipNode<T>[] predecessors = (SkipNode<T>[]) new SkipNode<?>[levels];
+        SkipNode<T> node = find(element, predecessors);
+        if (node == null) {
+            throw new NoSuchElementException("List");
+        }
+
+        return unlink(node, predecessors);
+    }
+
+    /**
+     * Returns a reference to the first element in this list.
+     *
+     * @return a reference to the first element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return head.next[0].element;
+    }
+
+    /**
+     * Returns a reference to the last element in this list.
+     *
+     * @return a reference to the last element in this list
+     * @throws EmptyCollectionException if the list is empty */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("List");
+        }
+
+        return tail.element;
+    }
+
+    /**
+     * Returns true if this list contains the specified target element.
+     *
+     * @param target the target that is being sought in the list
+     * @return true if this list contains the specified target, false otherwise */
+    @Override
+    public boolean contains(T target) {
+        return find(target, null) != null;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     *
+     * @return true if this list contains no elements */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the integer representation of the number of elements in this list */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this list, in order.
+     *
+     * @return an iterator over the elements in this list */
+    @Override
+    public Iterator<T> iterator() {
+        return new SkipListIterator();
+    }
+
+    /**
+     * Returns a string representation of this list.
+     *
+     * @return a string representation of this list */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("SkipListOrderedList{ size = " + count + ", levels = " + levels + "\n");
+
+        SkipNode<T> current = head.next[0];
+        int i = 1;
+        while (current != null) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i++, current.element));
+            current = current.next[0];
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code SkipNode} stores an element together with its forward references,
+     * one for every level the node is linked into.
+     *
+     * @param <T> the type of element stored in this node */
+    private static final class SkipNode<T> {
+
+        /** element stored in this node, or {@code null} for the head sentinel */
+        private final T element;
+        /** references to the next node on each level, from the bottom one up */
+        private final SkipNode<T>[] next;
+
+        /**
+         * Creates a node storing the specified element, linked into the specified number of levels.
+         *
+         * @param element element to be stored
+         * @param levels the number of levels the node is linked into */
+        @SuppressWarnings("unchecked")
+        private SkipNode(T element, int levels) {
+            this.element = element;
+            next = (SkipNode<T>[]) new SkipNode<?>[levels];
+        }
+
+    }
+
+    /**
+     * {@code SkipListIterator} follows the bottom level from the first node,
+     * checking on every step that the list has not been modified behind its back. */
+    private class SkipListIterator implements Iterator<T> {
+
+        /** reference to the node holding the next element to be returned */
+        private SkipNode<T> current;
+        /** reference to the node holding the last element returned, or {@code null} */
+        private SkipNode<T> lastReturned;
+        /** the modification count the list is expected to have */
+        private int expectedModCount;
+
+        /** Creates an iterator positioned before the first element. */
+        private SkipListIterator() {
+            current = head.next[0];
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the list was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            lastReturned = current;
+            current = current.next[0];
+
+            return lastReturned.element;
+        }
+
+        /**
+         * Removes from the list the last element returned by this iterator.
+         *
+         * @throws IllegalStateException if {@code next} has not been called since the last removal
+         * @throws ConcurrentModificationException if the list was modified outside this iterator */
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Next has not been called.");
+            }
+            checkForComodification();
+
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that the list has not been structurally modified outside this iterator.
+         *
+         * @throws ConcurrentModificationException if it has */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+    }
+
+}
@@ -1,14 +1,31 @@
 package ed.collections.exceptions;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * {@code EmptyCollectionException} is thrown to indicate that an operation
  * requiring elements in a collection was attempted on an empty collection.
  * This exception is used by data structures to signal invalid operations
  * due to emptiness.
+ * Collections obtain their instances through {@link #of(String)}. When the
+ * {@value #STACKLESS_PROPERTY} system property is set to {@code true}, it
+ * returns a preallocated instance per message that has no stack trace, so
+ * code that reaches an empty collection routinely does not pay for capturing
+ * one. Code that wants to avoid the exception altogether should use the
+ * non-throwing methods of the collections, such as {@code tryPop} and {@code poll}.
  *
  * @author José Azevedo (8240127@estg.ipp.pt) */
 public class EmptyCollectionException extends Exception {
 
+    /** name of the system property that enables the stackless, preallocated mode */
+    public static final String STACKLESS_PROPERTY = "ed.collections.stacklessEmptyCollectionException";
+
+    /** whether {@link #of(String)} returns preallocated, stackless instances */
+    private static final boolean STACKLESS = Boolean.getBoolean(STACKLESS_PROPERTY);
+    /** the preallocated, stackless instances, by message */
+    private static final ConcurrentMap<String, EmptyCollectionException> PREALLOCATED = new ConcurrentHashMap<>();
+
     /**
      * Constructs a new {@code EmptyCollectionException} with no detail message. */
     public EmptyCollectionException() {
@@ -23,4 +40,37 @@ public class EmptyCollectionException extends Exception {
         super(message);
     }
 
-}
\ No newline at end of file
+    /**
+     * Constructs a new {@code EmptyCollectionException} with the specified detail
+     * message and, optionally, without a stack trace.
+     * An exception without a stack trace does not capture one when created and
+     * ignores suppressed exceptions, so a single instance can be thrown repeatedly.
+     *
+     * @param message the detail message to provide additional context about the exception
+     * @param writableStackTrace whether the stack trace should be captured */
+    protected EmptyCollectionException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Returns an exception with the specified detail message, to be thrown by a
+     * collection. In the stackless mode the same preallocated instance is
+     * returned for every call with the same message; otherwise a new one is created.
+     *
+     * @param message the detail message to provide additional context about the exception
+     * @return an exception with the specified detail message */
+    public static EmptyCollectionException of(String message) {
+        return STACKLESS ? stackless(message) : new EmptyCollectionException(message);
+    }
+
+    /**
+     * Returns the preallocated, stackless exception with the specified detail
+     * message, regardless of the mode.
+     *
+     * @param message the detail message to provide additional context about the exception
+     * @return the shared exception for the specified detail message */
+    public static EmptyCollectionException stackless(String message) {
+        return PREALLOCATED.computeIfAbsent(message, key -> new EmptyCollectionException(key, false));
+    }
+
+}
@@ -0,0 +1,259 @@
+package ed.collections.instrument;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import ed.collections.QueueADT;
+import ed.collections.Resizable;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code InstrumentedQueue} decorates any {@link QueueADT} and records every
+ * operation in an {@link OperationMetrics}, leaving the work itself to the
+ * wrapped queue. If the wrapped queue is {@link Resizable}, the metrics also
+ * listen to the reallocations of its array, after any listener it already had.
+ * {@link #poll()} and {@link #peekOrNull()} count a {@code null} result as an
+ * empty access, even when the queue held a {@code null} element, and
+ * traversals through the iterator, spliterator and streams are not counted.
+ * The high-water mark is exact unless the wrapped queue is slow to report
+ * its size, in which case it is only sampled, as {@link OperationMetrics} explains.
+ * The decorator is as thread-safe as the queue it wraps.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class InstrumentedQueue<T> implements QueueADT<T> {
+
+    /** the queue that stores the elements */
+    private final QueueADT<T> queue;
+    /** the metrics every operation is recorded in */
+    private final OperationMetrics metrics;
+    /** whether the size is only sampled for the high-water mark, because the wrapped queue is slow to report it */
+    private final boolean sampleSize;
+
+    /**
+     * Creates a decorator that records the operations on the specified queue in new metrics.
+     *
+     * @param queue the queue to be instrumented */
+    public InstrumentedQueue(QueueADT<T> queue) {
+        this(queue, new OperationMetrics());
+    }
+
+    /**
+     * Creates a decorator that records the operations on the specified queue
+     * in the given metrics, which may be shared with other collections.
+     *
+     * @param queue the queue to be instrumented
+     * @param metrics the metrics every operation is recorded in */
+    public InstrumentedQueue(QueueADT<T> queue, OperationMetrics metrics) {
+        this(queue, metrics, OperationMetrics.hasExpensiveSize(queue));
+    }
+
+    /**
+     * Creates a decorator that records the operations on the specified queue
+     * in the given metrics, reading the size of the queue for the high-water
+     * mark after every insertion or, if {@code sampleSize} is set, after
+     * every bulk insertion and about one single insertion in sixteen.
+     *
+     * @param queue the queue to be instrumented
+     * @param metrics the metrics every operation is recorded in
+     * @param sampleSize whether the size is too expensive to read after every single insertion */
+    public InstrumentedQueue(QueueADT<T> queue, OperationMetrics metrics, boolean sampleSize) {
+        this.queue = queue;
+        this.metrics = metrics;
+        this.sampleSize = sampleSize;
+
+        if (queue instanceof Resizable) {
+            metrics.listenTo((Resizable) queue);
+        }
+    }
+
+    /**
+     * Returns the metrics the operations on this queue are recorded in.
+     *
+     * @return the metrics of this queue */
+    public OperationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Adds the specified element to the rear of the wrapped queue.
+     *
+     * @param element the element to be added to the queue */
+    @Override
+    public void enqueue(T element) {
+        queue.enqueue(element);
+        metrics.recordInsertions(1);
+        if (!sampleSize || metrics.shouldSampleSize()) {
+            metrics.recordSize(queue.size());
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the wrapped queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        try {
+            T result = queue.dequeue();
+            metrics.recordRemovals(1);
+            return result;
+        } catch (EmptyCollectionException e) {
+            metrics.recordEmptyAccess();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns, without removing, the element at the front of the wrapped queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        try {
+            T result = queue.first();
+            metrics.recordInspection();
+            return result;
+        } catch (EmptyCollectionException e) {
+            metrics.recordEmptyAccess();
+            throw e;
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the wrapped queue, or
+     * returns {@code null} if it is empty.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        T result = queue.poll();
+        if (result == null) {
+            metrics.recordEmptyAccess();
+        } else {
+            metrics.recordRemovals(1);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of the wrapped
+     * queue, or {@code null} if it is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        T result = queue.peekOrNull();
+        if (result == null) {
+            metrics.recordEmptyAccess();
+        } else {
+            metrics.recordInspection();
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of the wrapped queue.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        queue.enqueueAll(src, off, len);
+        metrics.recordInsertions(len);
+        metrics.recordSize(queue.size());
+    }
+
+    /**
+     * Removes up to {@code max} elements from the front of the wrapped queue
+     * and stores them in an array. A call that asks for elements but finds
+     * none counts as an empty access.
+     *
+     * @param dst the array that receives the removed elements, from index zero
+     * @param max the largest number of elements to be removed
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater
+     * than the length of {@code dst} */
+    @Override
+    public int drainTo(T[] dst, int max) {
+        int count = queue.drainTo(dst, max);
+        if (count == 0 && max > 0) {
+            metrics.recordEmptyAccess();
+        } else {
+            metrics.recordRemovals(count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes every element of the wrapped queue and adds it to the rear of
+     * the destination queue.
+     *
+     * @param dst the queue that receives the elements
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if {@code dst} is this queue or the wrapped one */
+    @Override
+    public int drainTo(QueueADT<? super T> dst) {
+        if (dst == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself.");
+        }
+
+        int count = queue.drainTo(dst);
+        metrics.recordRemovals(count);
+
+        return count;
+    }
+
+    /**
+     * Returns the iterator of the wrapped queue.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return queue.iterator();
+    }
+
+    /**
+     * Returns the spliterator of the wrapped queue.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return queue.spliterator();
+    }
+
+    /**
+     * Checks whether the wrapped queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in the wrapped queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Returns a string representation of the wrapped queue.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        return queue.toString();
+    }
+
+}
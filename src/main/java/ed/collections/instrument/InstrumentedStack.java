@@ -0,0 +1,239 @@
+package ed.collections.instrument;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import ed.collections.Resizable;
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code InstrumentedStack} decorates any {@link StackADT} and records every
+ * operation in an {@link OperationMetrics} before handing back the result of
+ * the wrapped stack, which keeps doing all the work. If the wrapped stack is
+ * {@link Resizable}, the metrics are also chained after its resize listener,
+ * so a listener set before the stack was wrapped keeps being notified.
+ * {@link #tryPop()} and {@link #peekOrNull()} count a {@code null} result as
+ * an empty access, even when the stack held a {@code null} element.
+ * Traversals through the iterator, spliterator and streams are not counted.
+ * The high-water mark is exact unless the wrapped stack is slow to report
+ * its size, in which case it is only sampled, as {@link OperationMetrics} explains.
+ * The decorator is as thread-safe as the stack it wraps.
+ *
+ * @param <T> the type of elements stored in this stack
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class InstrumentedStack<T> implements StackADT<T> {
+
+    /** the stack that stores the elements */
+    private final StackADT<T> stack;
+    /** the metrics every operation is recorded in */
+    private final OperationMetrics metrics;
+    /** whether the size is only sampled for the high-water mark, because the wrapped stack is slow to report it */
+    private final boolean sampleSize;
+
+    /**
+     * Creates a decorator that records the operations on the specified stack in new metrics.
+     *
+     * @param stack the stack to be instrumented */
+    public InstrumentedStack(StackADT<T> stack) {
+        this(stack, new OperationMetrics());
+    }
+
+    /**
+     * Creates a decorator that records the operations on the specified stack
+     * in the given metrics, which may be shared with other collections.
+     *
+     * @param stack the stack to be instrumented
+     * @param metrics the metrics every operation is recorded in */
+    public InstrumentedStack(StackADT<T> stack, OperationMetrics metrics) {
+        this(stack, metrics, OperationMetrics.hasExpensiveSize(stack));
+    }
+
+    /**
+     * Creates a decorator that records the operations on the specified stack
+     * in the given metrics, reading the size of the stack for the high-water
+     * mark after every insertion or, if {@code sampleSize} is set, after
+     * every bulk insertion and about one single insertion in sixteen.
+     *
+     * @param stack the stack to be instrumented
+     * @param metrics the metrics every operation is recorded in
+     * @param sampleSize whether the size is too expensive to read after every single insertion */
+    public InstrumentedStack(StackADT<T> stack, OperationMetrics metrics, boolean sampleSize) {
+        this.stack = stack;
+        this.metrics = metrics;
+        this.sampleSize = sampleSize;
+
+        if (stack instanceof Resizable) {
+            metrics.listenTo((Resizable) stack);
+        }
+    }
+
+    /**
+     * Returns the metrics the operations on this stack are recorded in.
+     *
+     * @return the metrics of this stack */
+    public OperationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Adds the specified element to the top of the wrapped stack.
+     *
+     * @param element generic element to be pushed onto stack */
+    @Override
+    public void push(T element) {
+        stack.push(element);
+        metrics.recordInsertions(1);
+        if (!sampleSize || metrics.shouldSampleSize()) {
+            metrics.recordSize(stack.size());
+        }
+    }
+
+    /**
+     * Removes and returns the element at the top of the wrapped stack.
+     *
+     * @return T element removed from top of stack
+     * @throws EmptyCollectionException if a pop is attempted on empty stack */
+    @Override
+    public T pop() throws EmptyCollectionException {
+        try {
+            T result = stack.pop();
+            metrics.recordRemovals(1);
+            return result;
+        } catch (EmptyCollectionException e) {
+            metrics.recordEmptyAccess();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the element at the top of the wrapped stack without removing it.
+     *
+     * @return T element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted on empty stack */
+    @Override
+    public T peek() throws EmptyCollectionException {
+        try {
+            T result = stack.peek();
+            metrics.recordInspection();
+            return result;
+        } catch (EmptyCollectionException e) {
+            metrics.recordEmptyAccess();
+            throw e;
+        }
+    }
+
+    /**
+     * Removes and returns the element at the top of the wrapped stack, or
+     * returns {@code null} if it is empty.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    public T tryPop() {
+        T result = stack.tryPop();
+        if (result == null) {
+            metrics.recordEmptyAccess();
+        } else {
+            metrics.recordRemovals(1);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the element at the top of the wrapped stack without removing
+     * it, or {@code null} if it is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        T result = stack.peekOrNull();
+        if (result == null) {
+            metrics.recordEmptyAccess();
+        } else {
+            metrics.recordInspection();
+        }
+
+        return result;
+    }
+
+    /**
+     * Pushes a range of elements from an array onto the wrapped stack.
+     *
+     * @param src the array holding the elements to be pushed
+     * @param off the index of the first element to be pushed
+     * @param len the number of elements to be pushed
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src} */
+    @Override
+    public void pushAll(T[] src, int off, int len) {
+        stack.pushAll(src, off, len);
+        metrics.recordInsertions(len);
+        metrics.recordSize(stack.size());
+    }
+
+    /**
+     * Pops up to {@code max} elements from the wrapped stack into an array.
+     * A call that asks for elements but finds none counts as an empty access.
+     *
+     * @param dst the array that receives the popped elements, from index zero
+     * @param max the largest number of elements to be popped
+     * @return int number of elements popped
+     * @throws IndexOutOfBoundsException if {@code max} is negative or greater than the length of {@code dst} */
+    @Override
+    public int popN(T[] dst, int max) {
+        int count = stack.popN(dst, max);
+        if (count == 0 && max > 0) {
+            metrics.recordEmptyAccess();
+        } else {
+            metrics.recordRemovals(count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the iterator of the wrapped stack.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return stack.iterator();
+    }
+
+    /**
+     * Returns the spliterator of the wrapped stack.
+     *
+     * @return a spliterator over the elements in this stack */
+    @Override
+    public Spliterator<T> spliterator() {
+        return stack.spliterator();
+    }
+
+    /**
+     * Returns true if the wrapped stack contains no elements.
+     *
+     * @return boolean true if this stack is empty, false otherwise. */
+    @Override
+    public boolean isEmpty() {
+        return stack.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in the wrapped stack.
+     *
+     * @return int number of elements in this stack */
+    @Override
+    public int size() {
+        return stack.size();
+    }
+
+    /**
+     * Returns a string representation of the wrapped stack.
+     *
+     * @return String representation of this stack */
+    @Override
+    public String toString() {
+        return stack.toString();
+    }
+
+}
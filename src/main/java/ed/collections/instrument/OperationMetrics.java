@@ -0,0 +1,291 @@
+package ed.collections.instrument;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import ed.collections.BlockingCircularArrayQueue;
+import ed.collections.LockFreeLinkedQueue;
+import ed.collections.LockFreeLinkedStack;
+import ed.collections.MpmcArrayQueue;
+import ed.collections.Resizable;
+import ed.collections.ResizeListener;
+import ed.collections.SpscArrayQueue;
+
+/**
+ * {@code OperationMetrics} accumulates what happens to a stack or queue
+ * wrapped by an {@link InstrumentedStack} or {@link InstrumentedQueue}: how
+ * many elements were added, removed and inspected, how often a removal or an
+ * inspection found it empty, and the largest size it reached. When the
+ * wrapped collection is {@link Resizable}, the metrics also listen to its
+ * reallocations and count expansions, shrinks and the bytes they copied.
+ * The counters are kept in {@link LongAdder} objects, and the high-water mark
+ * in a {@link LongAccumulator}, so threads sharing a concurrent collection do
+ * not contend on them; the values read are therefore only snapshots.
+ * The decorators read the size of the collection after every insertion, so
+ * the high-water mark is exact, unless asking it for its size is far dearer
+ * than the insertion itself: the lock-free stacks and queues sum their counter
+ * cells or reread both of their indices, and {@link BlockingCircularArrayQueue}
+ * takes its lock again. For those the size is read on every bulk insertion
+ * but only on about one single-element insertion in sixteen, picked at random
+ * so the threads share no counter. Their mark is a lower bound: a peak
+ * reached by a run of {@code n} single insertions goes unrecorded with
+ * probability {@code (15/16)^n}, about one in two for ten insertions and one
+ * in six hundred for a hundred.
+ * The metrics can be published as an MXBean with {@link #register(String)}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class OperationMetrics implements OperationMetricsMXBean, ResizeListener {
+
+    /** constant to represent the JMX domain the metrics are registered under */
+    private static final String DOMAIN = "ed.collections";
+    /** constant to represent, as a power of two, one in how many single insertions reads an expensive size */
+    private static final int SIZE_SAMPLE_PERIOD = 16;
+
+    /** number of elements added */
+    private final LongAdder insertions;
+    /** number of elements removed */
+    private final LongAdder removals;
+    /** number of elements inspected without being removed */
+    private final LongAdder inspections;
+    /** number of removals and inspections that found the collection empty */
+    private final LongAdder emptyAccesses;
+    /** largest number of elements observed after an insertion */
+    private final LongAccumulator highWaterMark;
+    /** number of reallocations to a larger array */
+    private final LongAdder expansions;
+    /** number of reallocations to a smaller array */
+    private final LongAdder shrinks;
+    /** number of bytes of element references copied by reallocations */
+    private final LongAdder bytesCopied;
+
+    /** Creates a set of counters that are all zero. */
+    public OperationMetrics() {
+        insertions = new LongAdder();
+        removals = new LongAdder();
+        inspections = new LongAdder();
+        emptyAccesses = new LongAdder();
+        highWaterMark = new LongAccumulator(Math::max, 0);
+        expansions = new LongAdder();
+        shrinks = new LongAdder();
+        bytesCopied = new LongAdder();
+    }
+
+    /**
+     * Records elements added to the collection.
+     *
+     * @param count the number of elements added */
+    void recordInsertions(int count) {
+        insertions.add(count);
+    }
+
+    /**
+     * Checks whether asking the specified collection for its size costs more
+     * than reading a field, so that its high-water mark should only be sampled.
+     *
+     * @param collection the collection to be checked
+     * @return true for the lock-free stacks and queues and for {@link BlockingCircularArrayQueue} */
+    static boolean hasExpensiveSize(Object collection) {
+        return collection instanceof LockFreeLinkedQueue || collection instanceof LockFreeLinkedStack
+                || collection instanceof MpmcArrayQueue || collection instanceof SpscArrayQueue
+                || collection instanceof BlockingCircularArrayQueue;
+    }
+
+    /**
+     * Decides whether a single-element insertion into a collection whose
+     * size is expensive should read its size for the high-water mark.
+     *
+     * @return true for about one insertion in sixteen */
+    boolean shouldSampleSize() {
+        return (ThreadLocalRandom.current().nextInt() & (SIZE_SAMPLE_PERIOD - 1)) == 0;
+    }
+
+    /**
+     * Records the size of the collection after an insertion in the high-water mark.
+     *
+     * @param size the number of elements in the collection */
+    void recordSize(int size) {
+        highWaterMark.accumulate(size);
+    }
+
+    /**
+     * Makes these metrics listen to the reallocations of the specified
+     * collection, after any listener it already has.
+     *
+     * @param collection the collection whose reallocations are counted */
+    void listenTo(Resizable collection) {
+        ResizeListener current = collection.getResizeListener();
+        collection.setResizeListener(current == null ? this : current.andThen(this));
+    }
+
+    /**
+     * Records elements removed from the collection.
+     *
+     * @param count the number of elements removed */
+    void recordRemovals(int count) {
+        removals.add(count);
+    }
+
+    /** Records an element inspected without being removed. */
+    void recordInspection() {
+        inspections.increment();
+    }
+
+    /** Records a removal or an inspection that found the collection empty. */
+    void recordEmptyAccess() {
+        emptyAccesses.increment();
+    }
+
+    /**
+     * Records a reallocation of the array of the collection.
+     *
+     * @param oldCapacity the length of the array that was replaced
+     * @param newCapacity the length of the new array
+     * @param bytesCopied the approximate number of bytes of element references that were copied */
+    @Override
+    public void resized(int oldCapacity, int newCapacity, long bytesCopied) {
+        if (newCapacity > oldCapacity) {
+            expansions.increment();
+        } else {
+            shrinks.increment();
+        }
+        this.bytesCopied.add(bytesCopied);
+    }
+
+    /**
+     * Returns the number of elements added to the collection.
+     *
+     * @return the number of insertions */
+    @Override
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Returns the number of elements removed from the collection.
+     *
+     * @return the number of removals */
+    @Override
+    public long getRemovals() {
+        return removals.sum();
+    }
+
+    /**
+     * Returns the number of times an element was inspected without being removed.
+     *
+     * @return the number of inspections */
+    @Override
+    public long getInspections() {
+        return inspections.sum();
+    }
+
+    /**
+     * Returns the number of removals and inspections that found the collection empty.
+     *
+     * @return the number of empty accesses */
+    @Override
+    public long getEmptyAccesses() {
+        return emptyAccesses.sum();
+    }
+
+    /**
+     * Returns the largest sampled number of elements the collection has held.
+     *
+     * @return the high-water mark of the size of the collection */
+    @Override
+    public long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Returns the number of times the collection moved its elements to a larger array.
+     *
+     * @return the number of expansions */
+    @Override
+    public long getExpansions() {
+        return expansions.sum();
+    }
+
+    /**
+     * Returns the number of times the collection moved its elements to a smaller array.
+     *
+     * @return the number of shrinks */
+    @Override
+    public long getShrinks() {
+        return shrinks.sum();
+    }
+
+    /**
+     * Returns the approximate number of bytes of element references copied by reallocations.
+     *
+     * @return the number of bytes copied when resizing */
+    @Override
+    public long getBytesCopied() {
+        return bytesCopied.sum();
+    }
+
+    /** Resets all counters to zero. */
+    @Override
+    public void reset() {
+        insertions.reset();
+        removals.reset();
+        inspections.reset();
+        emptyAccesses.reset();
+        highWaterMark.reset();
+        expansions.reset();
+        shrinks.reset();
+        bytesCopied.reset();
+    }
+
+    /**
+     * Returns the name these metrics are registered under in the platform MBean server.
+     *
+     * @param name the name that identifies the collection
+     * @return the object name {@code ed.collections:type=OperationMetrics,name=<name>}
+     * @throws JMException if the name is not a valid object name */
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=OperationMetrics,name=" + ObjectName.quote(name));
+    }
+
+    /**
+     * Publishes these metrics as an MXBean in the platform MBean server, so
+     * that they can be read with JConsole or any other JMX client.
+     *
+     * @param name the name that identifies the collection
+     * @return the object name the metrics were registered under
+     * @throws JMException if the name is not valid or is already registered */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+        return objectName;
+    }
+
+    /**
+     * Removes the metrics registered under the specified name from the platform MBean server.
+     *
+     * @param name the name that identifies the collection
+     * @throws JMException if the name is not valid or nothing is registered under it */
+    public static void unregister(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.unregisterMBean(objectName(name));
+    }
+
+    /**
+     * Returns a string representation of these counters.
+     *
+     * @return String representation of these counters */
+    @Override
+    public String toString() {
+        return "OperationMetrics{ insertions = " + getInsertions() + ", removals = " + getRemovals()
+                + ", inspections = " + getInspections() + ", emptyAccesses = " + getEmptyAccesses()
+                + ", highWaterMark = " + getHighWaterMark() + ", expansions = " + getExpansions()
+                + ", shrinks = " + getShrinks() + ", bytesCopied = " + getBytesCopied() + " }";
+    }
+
+}
@@ -0,0 +1,62 @@
+package ed.collections.instrument;
+
+/**
+ * {@code OperationMetricsMXBean} is the management interface through which
+ * the counters of an {@link OperationMetrics} are exposed over JMX.
+ * Every attribute is read-only; {@link #reset()} is the only operation.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface OperationMetricsMXBean {
+
+    /**
+     * Returns the number of elements added to the collection.
+     *
+     * @return the number of insertions */
+    public long getInsertions();
+
+    /**
+     * Returns the number of elements removed from the collection.
+     *
+     * @return the number of removals */
+    public long getRemovals();
+
+    /**
+     * Returns the number of times an element was inspected without being removed.
+     *
+     * @return the number of inspections */
+    public long getInspections();
+
+    /**
+     * Returns the number of removals and inspections that found the collection empty.
+     *
+     * @return the number of empty accesses */
+    public long getEmptyAccesses();
+
+    /**
+     * Returns the largest number of elements the collection has held.
+     *
+     * @return the high-water mark of the size of the collection */
+    public long getHighWaterMark();
+
+    /**
+     * Returns the number of times the collection moved its elements to a larger array.
+     *
+     * @return the number of expansions */
+    public long getExpansions();
+
+    /**
+     * Returns the number of times the collection moved its elements to a smaller array.
+     *
+     * @return the number of shrinks */
+    public long getShrinks();
+
+    /**
+     * Returns the approximate number of bytes copied by expansions and shrinks.
+     *
+     * @return the number of bytes copied when resizing */
+    public long getBytesCopied();
+
+    /** Resets all counters to zero. */
+    public void reset();
+
+}
@@ -0,0 +1,398 @@
+package ed.collections.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import ed.collections.CircularArrayQueue;
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code DirectRecordQueue} class provides a circular queue of fixed-size
+ * records stored off the Java heap, in a direct {@link ByteBuffer}.
+ * It follows the FIFO behaviour of {@link CircularArrayQueue}, but instead of
+ * keeping references to objects it copies each record into the buffer through
+ * a {@link RecordCodec}, so a queue of millions of records costs only the
+ * payload bytes and creates no garbage.
+ * {@link #enqueue(Object)} encodes the given record, and {@link #dequeue(Object)}
+ * and {@link #first(Object)} decode into a caller-supplied flyweight.
+ * When the buffer is full, a larger one is allocated and the records are moved
+ * with at most two block copies.
+ * {@link #asQueue(Supplier)} exposes the queue through the {@link QueueADT}
+ * interface for code that expects it, at the cost of one allocation per dequeue
+ * and per element returned by its fail-fast iterator.
+ *
+ * @param <T> the type of records stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class DirectRecordQueue<T> {
+
+    /** constant to represent the default capacity of the buffer, in records */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /** constant to represent the expanding factor of the buffer capacity */
+    private static final int EXPAND_FACTOR = 2;
+
+    /** the codec used to copy records in and out of the buffer */
+    private final RecordCodec<T> codec;
+    /** the number of bytes each record occupies */
+    private final int recordSize;
+
+    /** int that represents the number of records currently stored in this queue */
+    private int size;
+    /** int that represents the slot of the record at the front of the queue */
+    private int front;
+    /** int that represents the next available slot at the rear of the queue */
+    private int rear;
+    /** int that represents the number of records the buffer can hold */
+    private int capacity;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+    /** the off-heap buffer used to store the records */
+    private ByteBuffer buffer;
+
+    /**
+     * Creates an empty queue with the default capacity.
+     *
+     * @param codec the codec used to copy records in and out of the buffer */
+    public DirectRecordQueue(RecordCodec<T> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue with the specified initial capacity.
+     *
+     * @param codec the codec used to copy records in and out of the buffer
+     * @param initialCapacity the initial capacity of the buffer, in records
+     * @throws IllegalArgumentException if {@code initialCapacity} or the codec's
+     * record size is less than or equal to zero, or if the buffer would exceed 2 GiB */
+    public DirectRecordQueue(RecordCodec<T> codec, int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+        if (codec.recordSize() <= 0) {
+            throw new IllegalArgumentException("Record size cannot be negative or zero.");
+        }
+        if ((long) initialCapacity * codec.recordSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity cannot exceed " + Integer.MAX_VALUE + " bytes.");
+        }
+
+        this.codec = codec;
+        recordSize = codec.recordSize();
+        size = front = rear = modCount = 0;
+        capacity = initialCapacity;
+        buffer = allocate(initialCapacity);
+    }
+
+    /**
+     * Allocates a direct buffer able to hold the given number of records.
+     *
+     * @param records the number of records the buffer must hold
+     * @return a new direct buffer in native byte order */
+    private ByteBuffer allocate(int records) {
+        return ByteBuffer.allocateDirect(records * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Expands the capacity of this queue when the buffer is full.
+     * The new capacity is determined by multiplying the current one by
+     * {@link #EXPAND_FACTOR}, limited to what fits in a single buffer.
+     * The records are moved to the new buffer in their logical order with at
+     * most two block copies.
+     *
+     * @throws IllegalStateException if the buffer cannot grow any further */
+    private void expandCapacity() {
+        int maximum = Integer.MAX_VALUE / recordSize;
+        if (capacity == maximum) {
+            throw new IllegalStateException("Queue is full.");
+        }
+
+        int larger = (int) Math.min((long) capacity * EXPAND_FACTOR, maximum);
+        ByteBuffer expanded = allocate(larger);
+        int headRecords = capacity - front;
+
+        expanded.put(0, buffer, front * recordSize, headRecords * recordSize);
+        expanded.put(headRecords * recordSize, buffer, 0, front * recordSize);
+
+        buffer = expanded;
+        capacity = larger;
+        front = 0;
+        rear = size;
+    }
+
+    /**
+     * Copies the specified record to the rear of this queue.
+     * Expands the buffer if the queue is full.
+     *
+     * @param record the record to be added to the queue */
+    public void enqueue(T record) {
+        if (size == capacity) {
+            expandCapacity();
+        }
+
+        codec.encode(record, buffer, rear * recordSize);
+
+        if (++rear == capacity) {
+            rear = 0;
+        }
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the record at the front of this queue and decodes it into the target.
+     *
+     * @param target the instance that receives the removed record
+     * @throws EmptyCollectionException if the queue is empty */
+    public void dequeue(T target) throws EmptyCollectionException {
+        if (!poll(target)) {
+            throw EmptyCollectionException.of("Queue");
+        }
+    }
+
+    /**
+     * Removes the record at the front of this queue, if any, and decodes it into
+     * the target. Unlike {@link #dequeue(Object)}, an empty queue is reported
+     * without creating an exception.
+     *
+     * @param target the instance that receives the removed record
+     * @return {@code true} if a record was removed, {@code false} if the queue is empty */
+    public boolean poll(T target) {
+        if (isEmpty()) {
+            return false;
+        }
+
+        codec.decode(buffer, front * recordSize, target);
+
+        if (++front == capacity) {
+            front = 0;
+        }
+
+        size--;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Decodes, without removing, the record at the front of this queue into the target.
+     *
+     * @param target the instance that receives the record at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    public void first(T target) throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        codec.decode(buffer, front * recordSize, target);
+    }
+
+    /**
+     * Checks whether this queue contains no records.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of records currently stored in this queue.
+     *
+     * @return the number of records in this queue */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of records the buffer can hold before it is expanded.
+     *
+     * @return the capacity of the buffer, in records */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns a {@link QueueADT} view of this queue. Records enqueued through the
+     * view are copied into the buffer, and every record dequeued or inspected
+     * through it is decoded into a new instance obtained from the factory.
+     *
+     * @param factory the supplier of instances to decode records into
+     * @return a {@code QueueADT} backed by this queue */
+    public QueueADT<T> asQueue(Supplier<? extends T> factory) {
+        return new QueueView(factory);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the capacity of the buffer
+     * and the record size; the records themselves are not decoded.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        return "DirectRecordQueue{ size = " + size + ", capacity = " + capacity + ", recordSize = " + recordSize + " }";
+    }
+
+    /**
+     * {@code QueueView} adapts the enclosing {@code DirectRecordQueue} to the
+     * {@link QueueADT} interface, allocating one instance per record read. */
+    private final class QueueView implements QueueADT<T> {
+
+        /** the supplier of instances to decode records into */
+        private final Supplier<? extends T> factory;
+
+        /**
+         * Creates a view that decodes records into instances from the factory.
+         *
+         * @param factory the supplier of instances to decode records into */
+        private QueueView(Supplier<? extends T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Copies the specified element into the buffer as a record at the rear
+         * of the queue, expanding the buffer if necessary.
+         *
+         * @param element the element to be added to the rear of the queue */
+        @Override
+        public void enqueue(T element) {
+            DirectRecordQueue.this.enqueue(element);
+        }
+
+        /**
+         * Removes the record at the front of the queue and returns it decoded
+         * into a new instance obtained from the factory.
+         *
+         * @return a new instance holding the removed record
+         * @throws EmptyCollectionException if the queue is empty */
+        @Override
+        public T dequeue() throws EmptyCollectionException {
+            if (DirectRecordQueue.this.isEmpty()) {
+                throw EmptyCollectionException.of("Queue");
+            }
+
+            T result = factory.get();
+            DirectRecordQueue.this.dequeue(result);
+            return result;
+        }
+
+        /**
+         * Returns the record at the front of the queue, without removing it,
+         * decoded into a new instance obtained from the factory. Changing the
+         * instance does not change the record.
+         *
+         * @return a new instance holding the first record
+         * @throws EmptyCollectionException if the queue is empty */
+        @Override
+        public T first() throws EmptyCollectionException {
+            if (DirectRecordQueue.this.isEmpty()) {
+                throw EmptyCollectionException.of("Queue");
+            }
+
+            T result = factory.get();
+            DirectRecordQueue.this.first(result);
+            return result;
+        }
+
+        /**
+         * Returns true if the queue holds no records.
+         *
+         * @return true if the queue is empty */
+        @Override
+        public boolean isEmpty() {
+            return DirectRecordQueue.this.isEmpty();
+        }
+
+        /**
+         * Returns the number of records in the queue.
+         *
+         * @return the number of records in the queue */
+        @Override
+        public int size() {
+            return DirectRecordQueue.this.size();
+        }
+
+        /**
+         * Returns a fail-fast iterator that decodes the records from the front to
+         * the rear, each into a new instance obtained from the factory.
+         *
+         * @return an iterator over the records of the queue */
+        @Override
+        public Iterator<T> iterator() {
+            return new RecordIterator(factory);
+        }
+
+        /**
+         * Returns the string representation of the queue, which does not decode the records.
+         *
+         * @return a string representation of the queue */
+        @Override
+        public String toString() {
+            return DirectRecordQueue.this.toString();
+        }
+
+    }
+
+    /**
+     * {@code RecordIterator} decodes the records of the enclosing queue from the
+     * front to the rear, each into a new instance obtained from a factory, and
+     * is fail-fast. Records cannot be removed through it. */
+    private final class RecordIterator implements Iterator<T> {
+
+        /** the supplier of instances to decode records into */
+        private final Supplier<? extends T> factory;
+        /** the modification count the queue is expected to have */
+        private final int expectedModCount;
+
+        /** int that represents the number of records already returned */
+        private int index;
+
+        /**
+         * Creates an iterator positioned before the record at the front of the queue.
+         *
+         * @param factory the supplier of instances to decode records into */
+        private RecordIterator(Supplier<? extends T> factory) {
+            this.factory = factory;
+            expectedModCount = modCount;
+            index = 0;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the queue was modified outside this iterator
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            int slot = front + index++;
+            if (slot >= capacity) {
+                slot -= capacity;
+            }
+
+            T result = factory.get();
+            codec.decode(buffer, slot * recordSize, result);
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package ed.collections.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@code ElementSerializer} defines how elements of a given type are turned into
+ * bytes and back, so they can be stored outside the Java heap.
+ * Unlike {@link RecordCodec}, elements may have any serialized size.
+ *
+ * @param <T> the type of elements handled by this serializer
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface ElementSerializer<T> {
+
+    /**
+     * Returns the exact number of bytes {@link #write(Object, ByteBuffer)} will
+     * produce for the specified element.
+     *
+     * @param element the element to be measured
+     * @return the serialized size of the element, in bytes */
+    public int serializedSize(T element);
+
+    /**
+     * Writes the specified element to the buffer. The buffer is positioned at
+     * zero and its remaining bytes are exactly {@link #serializedSize(Object)}.
+     *
+     * @param element the element to be written
+     * @param buffer the buffer to write to */
+    public void write(T element, ByteBuffer buffer);
+
+    /**
+     * Reads an element from the buffer. The buffer is positioned at zero and its
+     * remaining bytes are exactly those written for the element.
+     * The buffer is a read-only view over the storage itself, so implementations
+     * may return an element that wraps it instead of copying its contents.
+     *
+     * @param buffer the buffer to read from
+     * @return the element read from the buffer */
+    public T read(ByteBuffer buffer);
+
+}
@@ -0,0 +1,628 @@
+package ed.collections.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import ed.collections.LinkedQueue;
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code MappedQueue} class provides a persistent, file-backed implementation
+ * of the {@link QueueADT} interface. Unlike {@link LinkedQueue}, its contents
+ * live in memory-mapped files, so they survive process restarts and are not
+ * limited by the size of the Java heap.
+ * Elements are appended, through an {@link ElementSerializer}, to segment files
+ * of a fixed size that are mapped with {@link FileChannel#map}. Each record is
+ * stored as its length followed by its bytes. When a record does not fit in the
+ * current segment, the writer rolls over to a new one, and a segment is deleted
+ * as soon as the reader has consumed it.
+ * The read and write cursors are kept in a small mapped header file and are
+ * updated after every operation. Each cursor packs its segment and position
+ * into a single {@code long} that is written with one store, after the record
+ * it points past, so a crash can leave the header one operation behind but
+ * never with half a cursor. The number of elements is not stored: it follows
+ * from the cursors, and it is counted again, checking every record between
+ * them, when the queue is opened.
+ * Elements are read through a read-only view over the mapped segment, so a
+ * serializer that wraps the view instead of copying it reads without copying.
+ * This class is not thread-safe and a directory must only be opened by one
+ * {@code MappedQueue} at a time.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class MappedQueue<T> implements QueueADT<T>, Closeable {
+
+    /** constant to represent the default size of a segment file, in bytes */
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    /** constant to represent the size of the length prefix of a record */
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    /** constant written in place of a length to mark the end of the records of a segment */
+    private static final int END_OF_SEGMENT = -1;
+
+    /** constant to represent the name of the header file */
+    private static final String HEADER_FILE = "queue.header";
+    /** constant to represent the extension of the segment files */
+    private static final String SEGMENT_EXTENSION = ".segment";
+    /** constant used to recognise a valid header file */
+    private static final int HEADER_MAGIC = 0x4D514832;
+    /** constant to represent the size of the header file, in bytes */
+    private static final int HEADER_SIZE = 64;
+    /** offset of the magic number in the header */
+    private static final int MAGIC_OFFSET = 0;
+    /** offset of the segment size in the header */
+    private static final int SEGMENT_SIZE_OFFSET = 4;
+    /** offset of the packed read cursor in the header */
+    private static final int READ_CURSOR_OFFSET = 8;
+    /** offset of the packed write cursor in the header */
+    private static final int WRITE_CURSOR_OFFSET = 16;
+    /** constant to represent the largest index a segment can have */
+    private static final long MAXIMUM_SEGMENT = Integer.MAX_VALUE;
+
+    /** the directory that holds the header and segment files */
+    private final Path directory;
+    /** the serializer used to convert elements to and from bytes */
+    private final ElementSerializer<T> serializer;
+    /** the size of each segment file, in bytes */
+    private final int segmentSize;
+    /** the mapped header holding the cursors */
+    private MappedByteBuffer header;
+
+    /** long that represents the number of elements currently stored in this queue */
+    private long size;
+    /** long that represents the index of the segment being read */
+    private long readSegment;
+    /** int that represents the offset of the next record to be read */
+    private int readPosition;
+    /** long that represents the index of the segment being written */
+    private long writeSegment;
+    /** int that represents the offset where the next record will be written */
+    private int writePosition;
+    /** the mapping of the segment being read */
+    private MappedByteBuffer readBuffer;
+    /** the mapping of the segment being written */
+    private MappedByteBuffer writeBuffer;
+    /** int that counts the structural modifications, used by the iterators to detect concurrent changes */
+    private int modCount;
+
+    /**
+     * Opens the queue stored in the specified directory, creating it with the
+     * default segment size if it does not exist yet.
+     *
+     * @param directory the directory that holds the queue files
+     * @param serializer the serializer used to convert elements to and from bytes
+     * @throws IOException if the queue files cannot be created or mapped */
+    public MappedQueue(Path directory, ElementSerializer<T> serializer) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, serializer);
+    }
+
+    /**
+     * Opens the queue stored in the specified directory, creating it with the
+     * given segment size if it does not exist yet. An existing queue keeps the
+     * segment size it was created with.
+     *
+     * @param directory the directory that holds the queue files
+     * @param segmentSize the size of each segment file, in bytes, for a new queue
+     * @param serializer the serializer used to convert elements to and from bytes
+     * @throws IllegalArgumentException if {@code segmentSize} cannot hold at least one record
+     * @throws IOException if the queue files cannot be created or mapped, if the
+     * header file is not a valid queue header, or if the records between its
+     * cursors are missing or corrupt */
+    public MappedQueue(Path directory, int segmentSize, ElementSerializer<T> serializer) throws IOException {
+        if (segmentSize <= 2 * LENGTH_SIZE) {
+            throw new IllegalArgumentException("Segment size must be greater than " + 2 * LENGTH_SIZE + " bytes.");
+        }
+
+        Files.createDirectories(directory);
+
+        this.directory = directory;
+        this.serializer = serializer;
+
+        Path headerPath = directory.resolve(HEADER_FILE);
+        header = map(headerPath, HEADER_SIZE);
+
+        int magic = header.getInt(MAGIC_OFFSET);
+        if (magic == HEADER_MAGIC) {
+            this.segmentSize = header.getInt(SEGMENT_SIZE_OFFSET);
+            long readCursor = header.getLong(READ_CURSOR_OFFSET);
+            long writeCursor = header.getLong(WRITE_CURSOR_OFFSET);
+            readSegment = readCursor >>> 32;
+            readPosition = (int) readCursor;
+            writeSegment = writeCursor >>> 32;
+            writePosition = (int) writeCursor;
+            checkCursors(headerPath);
+        } else if (magic == 0) {
+            // a new header, or one whose creation was interrupted before the magic number was written
+            this.segmentSize = segmentSize;
+            readSegment = writeSegment = 0;
+            readPosition = writePosition = 0;
+            header.putInt(SEGMENT_SIZE_OFFSET, segmentSize);
+            writeReadCursor();
+            writeWriteCursor();
+            header.putInt(MAGIC_OFFSET, HEADER_MAGIC);
+        } else {
+            throw new IOException("Not a queue header: " + headerPath);
+        }
+
+        deleteSegmentsBefore(readSegment);
+        size = countRecords();
+        writeBuffer = mapSegment(writeSegment);
+        readBuffer = readSegment == writeSegment ? writeBuffer : mapSegment(readSegment);
+    }
+
+    /**
+     * Checks that the cursors read from the header are within their segments
+     * and that the read cursor is not past the write cursor.
+     *
+     * @param headerPath the path of the header, for the error message
+     * @throws IOException if the cursors are not consistent */
+    private void checkCursors(Path headerPath) throws IOException {
+        boolean valid = segmentSize > 2 * LENGTH_SIZE
+                && readPosition >= 0 && readPosition <= segmentSize
+                && writePosition >= 0 && writePosition <= segmentSize
+                && writeSegment <= MAXIMUM_SEGMENT
+                && (readSegment < writeSegment || readSegment == writeSegment && readPosition <= writePosition);
+
+        if (!valid) {
+            throw new IOException("Inconsistent cursors in queue header: " + headerPath);
+        }
+    }
+
+    /**
+     * Counts the records between the read and the write cursor, checking that
+     * every segment between them exists and that every record length stays
+     * within its segment and does not run past the write cursor.
+     *
+     * @return the number of records between the cursors
+     * @throws IOException if a segment is missing or cannot be mapped, or if a record is corrupt */
+    private long countRecords() throws IOException {
+        long count = 0;
+        long segment = readSegment;
+        int position = readPosition;
+        MappedByteBuffer buffer = segment == writeSegment ? null : mapExistingSegment(segment);
+
+        while (segment < writeSegment) {
+            if (position + LENGTH_SIZE > segmentSize || buffer.getInt(position) == END_OF_SEGMENT) {
+                segment++;
+                position = 0;
+                buffer = segment == writeSegment ? null : mapExistingSegment(segment);
+                continue;
+            }
+
+            int length = buffer.getInt(position);
+            if (length < 0 || length > segmentSize - position - LENGTH_SIZE) {
+                throw new IOException("Corrupt record in " + segmentPath(segment) + " at offset " + position + ".");
+            }
+            position += LENGTH_SIZE + length;
+            count++;
+        }
+
+        if (position < writePosition) {
+            buffer = mapSegment(segment);
+        }
+        while (position < writePosition) {
+            int length = buffer.getInt(position);
+            if (length < 0 || length > writePosition - position - LENGTH_SIZE) {
+                throw new IOException("Corrupt record in " + segmentPath(segment) + " at offset " + position + ".");
+            }
+            position += LENGTH_SIZE + length;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Maps the specified file in read-write mode, creating it if necessary.
+     *
+     * @param path the file to be mapped
+     * @param length the number of bytes to be mapped
+     * @return the mapping of the file
+     * @throws IOException if the file cannot be created or mapped */
+    private static MappedByteBuffer map(Path path, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+
+    /**
+     * Returns the path of the segment file with the specified index.
+     *
+     * @param segment the index of the segment
+     * @return the path of the segment file */
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%019d%s", segment, SEGMENT_EXTENSION));
+    }
+
+    /**
+     * Maps the segment file with the specified index.
+     *
+     * @param segment the index of the segment
+     * @return the mapping of the segment
+     * @throws IOException if the segment cannot be created or mapped */
+    private MappedByteBuffer mapSegment(long segment) throws IOException {
+        return map(segmentPath(segment), segmentSize);
+    }
+
+    /**
+     * Maps the segment file with the specified index, which must already exist.
+     *
+     * @param segment the index of the segment
+     * @return the mapping of the segment
+     * @throws IOException if the segment does not exist or cannot be mapped */
+    private MappedByteBuffer mapExistingSegment(long segment) throws IOException {
+        Path path = segmentPath(segment);
+        if (!Files.exists(path)) {
+            throw new IOException("Missing segment: " + path);
+        }
+
+        return map(path, segmentSize);
+    }
+
+    /**
+     * Returns the index of the segment stored in the specified file.
+     *
+     * @param file the file to be examined
+     * @return the index of the segment, or {@code -1} if the name of the file
+     * is not the nineteen digits of a segment index followed by the extension */
+    private static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        int digits = name.length() - SEGMENT_EXTENSION.length();
+        if (digits != 19 || !name.endsWith(SEGMENT_EXTENSION)) {
+            return -1;
+        }
+        for (int i = 0; i < digits; i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+
+        return Long.parseLong(name.substring(0, digits));
+    }
+
+    /**
+     * Deletes every segment file whose index is lower than the specified one:
+     * those left behind if the process stopped right after consuming them, and
+     * those a previous deletion could not remove. Files in the directory whose
+     * names are not segment names are left alone.
+     *
+     * @param segment the index of the oldest segment still in use
+     * @throws IOException if the directory cannot be listed or a file cannot be deleted */
+    private void deleteSegmentsBefore(long segment) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_EXTENSION)) {
+            for (Path file : files) {
+                long index = segmentIndex(file);
+                if (index >= 0 && index < segment) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs a cursor into the single {@code long} stored in the header.
+     *
+     * @param segment the index of the segment
+     * @param position the position within the segment
+     * @return the segment in the high half and the position in the low half */
+    private static long packCursor(long segment, int position) {
+        return segment << 32 | position;
+    }
+
+    /** Stores the read cursor in the mapped header with a single write. */
+    private void writeReadCursor() {
+        header.putLong(READ_CURSOR_OFFSET, packCursor(readSegment, readPosition));
+    }
+
+    /** Stores the write cursor in the mapped header with a single write. */
+    private void writeWriteCursor() {
+        header.putLong(WRITE_CURSOR_OFFSET, packCursor(writeSegment, writePosition));
+    }
+
+    /**
+     * Checks that this queue has not been closed.
+     *
+     * @throws IllegalStateException if the queue has been closed */
+    private void ensureOpen() {
+        if (header == null) {
+            throw new IllegalStateException("Queue is closed.");
+        }
+    }
+
+    /**
+     * Moves the write cursor to a new segment, marking the end of the records of
+     * the current one if there is room for the marker.
+     *
+     * @throws IOException if the new segment cannot be created or mapped
+     * @throws IllegalStateException if the largest segment index has been reached */
+    private void rollWriteSegment() throws IOException {
+        if (writeSegment == MAXIMUM_SEGMENT) {
+            throw new IllegalStateException("Queue is full.");
+        }
+        if (writePosition + LENGTH_SIZE <= segmentSize) {
+            writeBuffer.putInt(writePosition, END_OF_SEGMENT);
+        }
+
+        writeSegment++;
+        writePosition = 0;
+        writeBuffer = mapSegment(writeSegment);
+    }
+
+    /**
+     * Moves the read cursor past the end of the current segment when it has no
+     * more records, and then deletes the consumed segment.
+     * The header is forced to disk before the segment is deleted, so even a
+     * crash of the operating system cannot leave a cursor that points into a
+     * deleted file. Deleting is best effort: the consumed segment may still
+     * be mapped, which some platforms do not allow, so a segment that cannot
+     * be deleted now is deleted by the next roll-over or the next time the
+     * queue is opened. Must only be called when the queue is not empty.
+     *
+     * @throws IOException if the next segment cannot be mapped */
+    private void skipEndOfSegment() throws IOException {
+        if (readPosition + LENGTH_SIZE <= segmentSize && readBuffer.getInt(readPosition) != END_OF_SEGMENT) {
+            return;
+        }
+
+        MappedByteBuffer next = readSegment + 1 == writeSegment ? writeBuffer : mapSegment(readSegment + 1);
+
+        readSegment++;
+        readPosition = 0;
+        readBuffer = next;
+        writeReadCursor();
+        header.force();
+
+        try {
+            deleteSegmentsBefore(readSegment);
+        } catch (IOException e) {
+            // retried by the next roll-over and when the queue is opened again
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue, rolling over to a
+     * new segment if the current one cannot hold it.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if the serialized element does not fit in a segment
+     * @throws UncheckedIOException if a new segment cannot be created or mapped */
+    @Override
+    public void enqueue(T element) {
+        ensureOpen();
+
+        int length = serializer.serializedSize(element);
+        if (length < 0 || length > segmentSize - LENGTH_SIZE) {
+            throw new IllegalArgumentException("Element of " + length + " bytes does not fit in a segment.");
+        }
+
+        try {
+            if (writePosition + LENGTH_SIZE + length > segmentSize) {
+                rollWriteSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int dataPosition = writePosition + LENGTH_SIZE;
+        serializer.write(element, writeBuffer.slice(dataPosition, length));
+        writeBuffer.putInt(writePosition, length);
+
+        writePosition = dataPosition + length;
+        size++;
+        modCount++;
+        writeWriteCursor();
+    }
+
+    /**
+     * Returns a read-only view of the record at the read cursor, moving to the
+     * next segment first if the current one has no more records.
+     *
+     * @return a view of the bytes of the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty
+     * @throws UncheckedIOException if the next segment cannot be mapped */
+    private ByteBuffer frontRecord() throws EmptyCollectionException {
+        ensureOpen();
+
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        try {
+            skipEndOfSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int length = readBuffer.getInt(readPosition);
+        return readBuffer.slice(readPosition + LENGTH_SIZE, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty
+     * @throws UncheckedIOException if the next segment cannot be mapped */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        ByteBuffer record = frontRecord();
+        T result = serializer.read(record);
+
+        readPosition += LENGTH_SIZE + record.capacity();
+        size--;
+        modCount++;
+        writeReadCursor();
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty
+     * @throws UncheckedIOException if the next segment cannot be mapped */
+    @Override
+    public T first() throws EmptyCollectionException {
+        return serializer.read(frontRecord());
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty; {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue,
+     * or {@link Integer#MAX_VALUE} if there are more than that.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a fail-fast iterator over the elements in this queue, from the
+     * front to the rear. It reads the records in place, mapping the segments
+     * between the read and write cursors as it reaches them, and never moves
+     * the cursors or changes the header.
+     *
+     * @return an iterator over the elements in this queue
+     * @throws IllegalStateException if the queue has been closed */
+    @Override
+    public Iterator<T> iterator() {
+        ensureOpen();
+
+        return new MappedQueueIterator();
+    }
+
+    /**
+     * Forces the header and the segment being written to be stored on disk.
+     * Without it, the contents survive a crash of the process but not of the
+     * operating system. */
+    public void sync() {
+        ensureOpen();
+
+        writeBuffer.force();
+        header.force();
+    }
+
+    /**
+     * Stores the header on disk and releases the mappings held by this queue.
+     * The queue cannot be used after it has been closed. */
+    @Override
+    public void close() {
+        if (header == null) {
+            return;
+        }
+
+        sync();
+        header = null;
+        readBuffer = writeBuffer = null;
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, the directory and the segments
+     * currently being read and written; the elements are not deserialized.
+     *
+     * @return a string representation of this {@code MappedQueue} */
+    @Override
+    public String toString() {
+        return "MappedQueue{ size = " + size + ", directory = " + directory
+                + ", readSegment = " + readSegment + ", writeSegment = " + writeSegment + " }";
+    }
+
+    /**
+     * {@code MappedQueueIterator} follows the records of the enclosing queue
+     * from its read cursor, moving to the next segment whenever it finds the end
+     * of the records of the current one. Elements cannot be removed through it. */
+    private final class MappedQueueIterator implements Iterator<T> {
+
+        /** the modification count the queue is expected to have */
+        private final int expectedModCount;
+
+        /** long that represents the index of the segment being iterated */
+        private long segment;
+        /** int that represents the offset of the next record to be read */
+        private int position;
+        /** long that represents the number of elements still to be returned */
+        private long remaining;
+        /** the mapping of the segment being iterated */
+        private MappedByteBuffer buffer;
+
+        /** Creates an iterator positioned at the read cursor of the queue. */
+        private MappedQueueIterator() {
+            expectedModCount = modCount;
+            segment = readSegment;
+            position = readPosition;
+            remaining = size;
+            buffer = readBuffer;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws ConcurrentModificationException if the queue was modified outside this iterator
+         * @throws IllegalStateException if the queue has been closed
+         * @throws UncheckedIOException if the next segment cannot be mapped
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            ensureOpen();
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            if (position + LENGTH_SIZE > segmentSize || buffer.getInt(position) == END_OF_SEGMENT) {
+                segment++;
+                position = 0;
+                try {
+                    buffer = segment == writeSegment ? writeBuffer : mapSegment(segment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int length = buffer.getInt(position);
+            T result = serializer.read(buffer.slice(position + LENGTH_SIZE, length).asReadOnlyBuffer());
+
+            position += LENGTH_SIZE + length;
+            remaining--;
+
+            return result;
+        }
+
+    }
+
+}
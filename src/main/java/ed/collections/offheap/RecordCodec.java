@@ -0,0 +1,42 @@
+package ed.collections.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@code RecordCodec} defines how records of a given type are written to and
+ * read from a fixed-size region of a {@link ByteBuffer}.
+ * Every record of the type occupies exactly {@link #recordSize()} bytes.
+ * Decoding copies the bytes into an existing, caller-supplied instance
+ * (a flyweight), so reading records does not allocate.
+ *
+ * @param <T> the type of records handled by this codec
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface RecordCodec<T> {
+
+    /**
+     * Returns the number of bytes every encoded record occupies.
+     *
+     * @return the fixed size of a record, in bytes */
+    public int recordSize();
+
+    /**
+     * Writes the specified record to the buffer, starting at the given offset.
+     * Implementations must use absolute accessors and write at most
+     * {@link #recordSize()} bytes.
+     *
+     * @param record the record to be written
+     * @param buffer the buffer to write to
+     * @param offset the absolute offset of the first byte of the record */
+    public void encode(T record, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads the record that starts at the given offset into the specified target.
+     * Implementations must use absolute accessors and read at most
+     * {@link #recordSize()} bytes.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the absolute offset of the first byte of the record
+     * @param target the instance that receives the decoded values */
+    public void decode(ByteBuffer buffer, int offset, T target);
+
+}
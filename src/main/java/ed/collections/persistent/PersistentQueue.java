@@ -0,0 +1,443 @@
+package ed.collections.persistent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code PersistentQueue} represents an immutable queue, implemented as
+ * Okasaki's real-time queue. The elements are split between a lazily
+ * evaluated front list, read from the front of the queue, and a
+ * {@link PersistentStack} rear, onto which new elements are pushed. When the
+ * rear becomes one element longer than the front, the front is replaced by a
+ * suspended rotation that appends the reversed rear to it one cell at a
+ * time, and a schedule pointing into the new front makes every later
+ * operation evaluate exactly one more cell of the rotation. The reversal is
+ * therefore spread over the operations that follow it, so
+ * {@link #enqueue(Object)}, {@link #dequeue()} and {@link #first()} run in
+ * constant time O(1) in the worst case, however many versions are derived
+ * from the same queue; a plain two-list queue is only amortized O(1) when
+ * each version is used once.
+ * Every operation leaves this queue unchanged and returns a new version that
+ * shares almost all of its structure with it. Evaluated cells are published
+ * with a CAS, so any number of threads may read and iterate the same
+ * queue without locks; when two threads evaluate the same cell at once, only
+ * the first result is kept and both go on from it, so the schedule of every
+ * version keeps pointing into its front. {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class PersistentQueue<T> implements Iterable<T> {
+
+    /** the empty queue, shared by every element type */
+    private static final PersistentQueue<?> EMPTY =
+            new PersistentQueue<>(LazyList.empty(), PersistentStack.empty(), LazyList.empty(), 0);
+
+    /** the lazily evaluated list holding the elements at the front of this queue */
+    private final LazyList<T> front;
+    /** the stack holding the elements at the rear of this queue, with the last one on top */
+    private final PersistentStack<T> rear;
+    /** the suffix of {@code front} whose cells have not been evaluated yet */
+    private final LazyList<T> schedule;
+    /** int that represents the number of elements in this queue */
+    private final int size;
+
+    /**
+     * Creates a queue from its parts.
+     *
+     * @param front the list holding the elements at the front
+     * @param rear the stack holding the elements at the rear
+     * @param schedule the suffix of the front that has not been evaluated yet
+     * @param size the number of elements in the queue */
+    private PersistentQueue(LazyList<T> front, PersistentStack<T> rear, LazyList<T> schedule, int size) {
+        this.front = front;
+        this.rear = rear;
+        this.schedule = schedule;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty queue.
+     *
+     * @param <T> the type of elements stored in the queue
+     * @return the empty queue */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentQueue<T> empty() {
+        return (PersistentQueue<T>) EMPTY;
+    }
+
+    /**
+     * Returns a queue holding the specified elements, with the first one at the front.
+     *
+     * @param elements the elements to be enqueued, in order
+     * @param <T> the type of elements stored in the queue
+     * @return a queue holding the elements
+     * @throws IllegalArgumentException if any element is {@code null} */
+    @SafeVarargs
+    public static <T> PersistentQueue<T> of(T... elements) {
+        PersistentQueue<T> queue = empty();
+        for (T element : elements) {
+            queue = queue.enqueue(element);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Evaluates one more cell of the pending rotation, or starts a new
+     * rotation if there is none, and returns the resulting queue.
+     *
+     * @param front the list holding the elements at the front
+     * @param rear the stack holding the elements at the rear
+     * @param schedule the suffix of the front that has not been evaluated yet
+     * @param size the number of elements in the queue
+     * @param <T> the type of elements stored in the queue
+     * @return the queue made of the specified parts */
+    private static <T> PersistentQueue<T> exec(LazyList<T> front, PersistentStack<T> rear, LazyList<T> schedule, int size) {
+        Cell<T> next = schedule.force();
+        if (next != null) {
+            return new PersistentQueue<>(front, rear, next.rest, size);
+        }
+
+        LazyList<T> rotated = rotate(front, rear, LazyList.empty());
+        return new PersistentQueue<>(rotated, PersistentStack.empty(), rotated, size);
+    }
+
+    /**
+     * Returns a suspended list holding the front, then the reversed rear, then
+     * the accumulator. Each cell is built only when it is evaluated.
+     * The rear must hold exactly one element more than the front.
+     *
+     * @param front the list to be placed first
+     * @param rear the stack whose elements are placed next, from the bottom to the top
+     * @param accumulator the list of already reversed elements placed last
+     * @param <T> the type of elements stored in the list
+     * @return the suspended list */
+    private static <T> LazyList<T> rotate(LazyList<T> front, PersistentStack<T> rear, LazyList<T> accumulator) {
+        return new LazyList<>(null, () -> {
+            Cell<T> first = front.force();
+            Cell<T> reversed = new Cell<>(rear.peekOrNull(), accumulator);
+            if (first == null) {
+                return reversed;
+            }
+
+            return new Cell<>(first.element, rotate(first.rest, rear.rest(), LazyList.of(reversed)));
+        });
+    }
+
+    /**
+     * Returns a queue with the specified element at the rear of this one, which is left unchanged.
+     *
+     * @param element the element to be added to the queue
+     * @return the new queue
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    public PersistentQueue<T> enqueue(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        return exec(front, rear.push(element), schedule, size + 1);
+    }
+
+    /**
+     * Returns a queue without the element at the front of this one, which is left unchanged.
+     *
+     * @return the queue without its front element
+     * @throws EmptyCollectionException if the queue is empty */
+    public PersistentQueue<T> dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return rest();
+    }
+
+    /**
+     * Returns the queue without the element at the front, or this queue if it is empty.
+     * Used by the other persistent structures, which check for emptiness themselves.
+     *
+     * @return the queue without its front element */
+    PersistentQueue<T> rest() {
+        Cell<T> first = front.force();
+        if (first == null) {
+            return this;
+        }
+
+        return exec(first.rest, rear, schedule, size - 1);
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    public T first() throws EmptyCollectionException {
+        Cell<T> first = front.force();
+        if (first == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return first.element;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue, or {@code null} if it is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    public T peekOrNull() {
+        Cell<T> first = front.force();
+        return first == null ? null : first.element;
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue, from the front to
+     * the rear. Since the queue never changes, the iterator never fails; it
+     * evaluates the cells of the front it reaches and reverses the rear, which
+     * is never longer than the front, once it gets there.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return new PersistentQueueIterator<>(front, rear);
+    }
+
+    /**
+     * Returns a spliterator over the elements in this queue, from the front
+     * to the rear, which splits in batches.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this queue, from the front to the rear.
+     *
+     * @return a sequential stream over the elements in this queue */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("PersistentQueue{ size = " + size + "\n");
+
+        int i = 1;
+        for (T element : this) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i++, element));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code Cell} is an evaluated cell of a {@link LazyList}: an element and the rest of the list.
+     *
+     * @param <T> the type of element stored in this cell */
+    private static final class Cell<T> {
+
+        /** the element stored in this cell */
+        private final T element;
+        /** the rest of the list */
+        private final LazyList<T> rest;
+
+        /**
+         * Creates a cell holding the specified element before the rest of the list.
+         *
+         * @param element the element to be stored
+         * @param rest the rest of the list */
+        private Cell(T element, LazyList<T> rest) {
+            this.element = element;
+            this.rest = rest;
+        }
+
+    }
+
+    /**
+     * {@code LazyList} is a list whose first cell is computed the first time
+     * it is asked for and remembered afterwards. The computation is pure, so
+     * a thread that finds the cell not yet evaluated computes it itself
+     * instead of waiting for another one; the first result is then published
+     * with a CAS and every other thread adopts it, so each position of the
+     * list has a single cell whose {@code rest} every version shares.
+     *
+     * @param <T> the type of elements stored in this list */
+    private static final class LazyList<T> {
+
+        /** marker stored in {@code cell} until the first cell has been published */
+        private static final Cell<?> UNEVALUATED = new Cell<>(null, null);
+
+        /** handle used to publish the first cell with a CAS */
+        private static final VarHandle CELL;
+
+        static {
+            try {
+                CELL = MethodHandles.lookup().findVarHandle(LazyList.class, "cell", Cell.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /** the empty list, shared by every element type */
+        private static final LazyList<?> EMPTY = new LazyList<>(null, null);
+
+        /** the computation of the first cell, or {@code null} once it has been published */
+        private volatile Supplier<Cell<T>> suspension;
+        /** the first cell of this list, {@code null} if it is empty, or {@code UNEVALUATED} */
+        private volatile Cell<T> cell;
+
+        /**
+         * Creates a list whose first cell is either already evaluated or
+         * computed by the specified suspension.
+         *
+         * @param cell the first cell, or {@code null} if it is empty or not evaluated yet
+         * @param suspension the computation of the first cell, or {@code null} if it is evaluated */
+        @SuppressWarnings("unchecked")
+        private LazyList(Cell<T> cell, Supplier<Cell<T>> suspension) {
+            this.cell = suspension == null ? cell : (Cell<T>) UNEVALUATED;
+            this.suspension = suspension;
+        }
+
+        /**
+         * Returns the empty list.
+         *
+         * @param <T> the type of elements stored in the list
+         * @return the empty list */
+        @SuppressWarnings("unchecked")
+        private static <T> LazyList<T> empty() {
+            return (LazyList<T>) EMPTY;
+        }
+
+        /**
+         * Returns a list whose first cell is the specified one.
+         *
+         * @param cell the first cell
+         * @param <T> the type of elements stored in the list
+         * @return the evaluated list */
+        private static <T> LazyList<T> of(Cell<T> cell) {
+            return new LazyList<>(cell, null);
+        }
+
+        /**
+         * Returns the first cell of this list, evaluating it if necessary.
+         * When several threads evaluate it at once, all of them return the
+         * cell published by the first one to finish.
+         *
+         * @return the first cell, or {@code null} if the list is empty */
+        @SuppressWarnings("unchecked")
+        private Cell<T> force() {
+            Cell<T> current = cell;
+            if (current != UNEVALUATED) {
+                return current;
+            }
+
+            Supplier<Cell<T>> pending = suspension;
+            if (pending == null) {
+                return cell;
+            }
+
+            Cell<T> computed = pending.get();
+            Cell<T> witness = (Cell<T>) CELL.compareAndExchange(this, UNEVALUATED, computed);
+            if (witness != UNEVALUATED) {
+                return witness;
+            }
+
+            suspension = null;
+            return computed;
+        }
+
+    }
+
+    /**
+     * {@code PersistentQueueIterator} follows the cells of the front of a
+     * queue and then the elements of its rear, from the bottom to the top.
+     *
+     * @param <T> the type of elements returned by this iterator */
+    private static final class PersistentQueueIterator<T> implements Iterator<T> {
+
+        /** the part of the front still to be traversed */
+        private LazyList<T> front;
+        /** the rear, until the front has been traversed */
+        private PersistentStack<T> rear;
+        /** the reversed rear, once the front has been traversed */
+        private Iterator<T> rearIterator;
+
+        /**
+         * Creates an iterator positioned before the front of the specified queue.
+         *
+         * @param front the list holding the elements at the front
+         * @param rear the stack holding the elements at the rear */
+        private PersistentQueueIterator(LazyList<T> front, PersistentStack<T> rear) {
+            this.front = front;
+            this.rear = rear;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            if (rearIterator == null) {
+                if (front.force() != null) {
+                    return true;
+                }
+                rearIterator = rear.reverse().iterator();
+                rear = null;
+            }
+
+            return rearIterator.hasNext();
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+            if (rearIterator != null) {
+                return rearIterator.next();
+            }
+
+            Cell<T> first = front.force();
+            front = first.rest;
+
+            return first.element;
+        }
+
+    }
+
+}
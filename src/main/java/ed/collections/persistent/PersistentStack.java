@@ -0,0 +1,253 @@
+package ed.collections.persistent;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ed.collections.LinkedStack;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code PersistentStack} represents an immutable stack built as a cons
+ * list. Like the chain of nodes of a {@link LinkedStack}, every stack is a
+ * cell holding its top element and a reference to the stack below it, but
+ * the cells are never modified: {@link #push(Object)} returns a new stack
+ * whose cell points to this one, and {@link #pop()} returns the stack below
+ * the top, so every version shares all of its cells with the versions it was
+ * derived from. Every operation runs in constant time O(1), and any number
+ * of threads may read, iterate and derive new versions from the same stack
+ * without synchronization. {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this stack
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public final class PersistentStack<T> implements Iterable<T> {
+
+    /** the empty stack, shared by every element type */
+    private static final PersistentStack<?> EMPTY = new PersistentStack<>(null, null, 0);
+
+    /** the element on top of this stack, or {@code null} if it is empty */
+    private final T top;
+    /** the stack below the top element, or {@code null} if this stack is empty */
+    private final PersistentStack<T> rest;
+    /** int that represents the number of elements in this stack */
+    private final int size;
+
+    /**
+     * Creates a stack with the specified top element on top of the specified stack.
+     *
+     * @param top the element on top of the stack
+     * @param rest the stack below the top element
+     * @param size the number of elements in the stack */
+    private PersistentStack(T top, PersistentStack<T> rest, int size) {
+        this.top = top;
+        this.rest = rest;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty stack.
+     *
+     * @param <T> the type of elements stored in the stack
+     * @return the empty stack */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentStack<T> empty() {
+        return (PersistentStack<T>) EMPTY;
+    }
+
+    /**
+     * Returns a stack holding the specified elements, with the last one on top.
+     *
+     * @param elements the elements to be pushed, in order
+     * @param <T> the type of elements stored in the stack
+     * @return a stack holding the elements
+     * @throws IllegalArgumentException if any element is {@code null} */
+    @SafeVarargs
+    public static <T> PersistentStack<T> of(T... elements) {
+        PersistentStack<T> stack = empty();
+        for (T element : elements) {
+            stack = stack.push(element);
+        }
+
+        return stack;
+    }
+
+    /**
+     * Returns a stack with the specified element on top of this one, which is left unchanged.
+     *
+     * @param element generic element to be pushed onto stack
+     * @return the new stack
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    public PersistentStack<T> push(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+
+        return new PersistentStack<>(element, this, size + 1);
+    }
+
+    /**
+     * Returns the stack below the top element of this one, which is left unchanged.
+     *
+     * @return the stack without its top element
+     * @throws EmptyCollectionException if a pop is attempted on empty stack */
+    public PersistentStack<T> pop() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return rest;
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack.
+     *
+     * @return T element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted on empty stack */
+    public T peek() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return top;
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack, or {@code null} if it is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    public T peekOrNull() {
+        return top;
+    }
+
+    /**
+     * Returns the stack below the top element, or this stack if it is empty.
+     * Used by the other persistent structures, which check for emptiness themselves.
+     *
+     * @return the stack without its top element */
+    PersistentStack<T> rest() {
+        return isEmpty() ? this : rest;
+    }
+
+    /**
+     * Returns a stack holding the elements of this one in the opposite order.
+     * It runs in linear time O(n) and shares no cells with this stack.
+     *
+     * @return the reversed stack */
+    public PersistentStack<T> reverse() {
+        PersistentStack<T> reversed = empty();
+        for (PersistentStack<T> current = this; !current.isEmpty(); current = current.rest) {
+            reversed = reversed.push(current.top);
+        }
+
+        return reversed;
+    }
+
+    /**
+     * Returns true if this stack contains no elements.
+     *
+     * @return boolean true if this stack is empty, false otherwise. */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in this stack.
+     *
+     * @return int number of elements in this stack */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the elements in this stack, from the top to
+     * the bottom. Since the stack never changes, the iterator never fails.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return new PersistentStackIterator<>(this);
+    }
+
+    /**
+     * Returns a spliterator over the elements in this stack, from the top to
+     * the bottom, which splits in batches.
+     *
+     * @return a spliterator over the elements in this stack */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this stack, from the top to the bottom.
+     *
+     * @return a sequential stream over the elements in this stack */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a string representation of this stack.
+     *
+     * @return String representation of this stack */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("PersistentStack { size = " + size + "\n");
+
+        int i = size;
+        for (T element : this) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i--, element));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+    /**
+     * {@code PersistentStackIterator} follows the cells of a stack from the top to the bottom.
+     *
+     * @param <T> the type of elements returned by this iterator */
+    private static final class PersistentStackIterator<T> implements Iterator<T> {
+
+        /** the stack whose top element is the next one to be returned */
+        private PersistentStack<T> current;
+
+        /**
+         * Creates an iterator positioned before the top element of the specified stack.
+         *
+         * @param stack the stack to be traversed */
+        private PersistentStackIterator(PersistentStack<T> stack) {
+            current = stack;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iteration has more elements */
+        @Override
+        public boolean hasNext() {
+            return !current.isEmpty();
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws java.util.NoSuchElementException if the iteration has no more elements */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+
+            T result = current.top;
+            current = current.rest;
+
+            return result;
+        }
+
+    }
+
+}
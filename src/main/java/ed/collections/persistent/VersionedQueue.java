@@ -0,0 +1,198 @@
+package ed.collections.persistent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code VersionedQueue} is a mutable {@link QueueADT} whose contents are
+ * always a {@link PersistentQueue}. Producers and consumers derive the next
+ * version from the current one and install it with a CAS, retrying if
+ * another thread got there first, and {@link #snapshot()} hands out the
+ * current version in constant time O(1). Readers can therefore traverse a
+ * consistent snapshot without locks or copies; the iterator and the
+ * spliterator of the queue itself do exactly that, and never fail.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this queue
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class VersionedQueue<T> implements QueueADT<T> {
+
+    /** handle used to CAS the {@code current} reference */
+    private static final VarHandle CURRENT;
+
+    static {
+        try {
+            CURRENT = MethodHandles.lookup().findVarHandle(VersionedQueue.class, "current", PersistentQueue.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** the current version of this queue */
+    private volatile PersistentQueue<T> current;
+
+    /** Creates an empty queue. */
+    public VersionedQueue() {
+        this(PersistentQueue.empty());
+    }
+
+    /**
+     * Creates a queue whose first version is the specified persistent queue.
+     *
+     * @param initial the first version of the queue */
+    public VersionedQueue(PersistentQueue<T> initial) {
+        current = Objects.requireNonNull(initial);
+    }
+
+    /**
+     * Returns the current version of this queue, which later changes leave untouched.
+     *
+     * @return the current version of this queue */
+    public PersistentQueue<T> snapshot() {
+        return current;
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue.
+     *
+     * @param element the element to be added to the queue
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public void enqueue(T element) {
+        while (true) {
+            PersistentQueue<T> version = current;
+            if (CURRENT.compareAndSet(this, version, version.enqueue(element))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a range of elements from an array to the rear of this queue, in
+     * order, as a single new version, so a snapshot holds either all of them or none.
+     *
+     * @param src the array holding the elements to be added
+     * @param off the index of the first element to be added
+     * @param len the number of elements to be added
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src}
+     * @throws IllegalArgumentException if any element of the range is {@code null} */
+    @Override
+    public void enqueueAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        while (true) {
+            PersistentQueue<T> version = current;
+            PersistentQueue<T> next = version;
+            for (int i = off; i < off + len; i++) {
+                next = next.enqueue(src[i]);
+            }
+            if (CURRENT.compareAndSet(this, version, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        T result = poll();
+        if (result == null) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue, or returns
+     * {@code null} if the queue is empty.
+     *
+     * @return the element removed from the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T poll() {
+        while (true) {
+            PersistentQueue<T> version = current;
+            if (version.isEmpty()) {
+                return null;
+            }
+            if (CURRENT.compareAndSet(this, version, version.rest())) {
+                return version.peekOrNull();
+            }
+        }
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public T first() throws EmptyCollectionException {
+        return current.first();
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue, or {@code null} if it is empty.
+     *
+     * @return the element at the front of the queue, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return current.peekOrNull();
+    }
+
+    /**
+     * Returns an iterator over the current version of this queue, from the front to the rear.
+     *
+     * @return an iterator over the elements in this queue */
+    @Override
+    public Iterator<T> iterator() {
+        return current.iterator();
+    }
+
+    /**
+     * Returns a spliterator over the current version of this queue.
+     *
+     * @return a spliterator over the elements in this queue */
+    @Override
+    public Spliterator<T> spliterator() {
+        return current.spliterator();
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Returns a string representation of the current version of this queue.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        return "Versioned" + current;
+    }
+
+}
@@ -0,0 +1,199 @@
+package ed.collections.persistent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code VersionedStack} is a mutable {@link StackADT} whose contents are
+ * always a {@link PersistentStack}. Every change builds the next version from
+ * the current one and installs it with a CAS, so writers never block each
+ * other or the readers, and {@link #snapshot()} simply returns the current
+ * version in constant time O(1). A snapshot never changes, so readers can
+ * iterate it without locks or copies while writers carry on; the iterator
+ * and the spliterator of the stack itself traverse the version that was
+ * current when they were created, and never fail.
+ * {@code null} elements are not permitted.
+ *
+ * @param <T> the type of elements stored in this stack
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class VersionedStack<T> implements StackADT<T> {
+
+    /** handle used to CAS the {@code current} reference */
+    private static final VarHandle CURRENT;
+
+    static {
+        try {
+            CURRENT = MethodHandles.lookup().findVarHandle(VersionedStack.class, "current", PersistentStack.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** the current version of this stack */
+    private volatile PersistentStack<T> current;
+
+    /** Creates an empty stack. */
+    public VersionedStack() {
+        this(PersistentStack.empty());
+    }
+
+    /**
+     * Creates a stack whose first version is the specified persistent stack.
+     *
+     * @param initial the first version of the stack */
+    public VersionedStack(PersistentStack<T> initial) {
+        current = Objects.requireNonNull(initial);
+    }
+
+    /**
+     * Returns the current version of this stack, which later changes leave untouched.
+     *
+     * @return the current version of this stack */
+    public PersistentStack<T> snapshot() {
+        return current;
+    }
+
+    /**
+     * Adds the specified element to the top of this stack.
+     *
+     * @param element generic element to be pushed onto stack
+     * @throws IllegalArgumentException if {@code element} is {@code null} */
+    @Override
+    public void push(T element) {
+        while (true) {
+            PersistentStack<T> version = current;
+            if (CURRENT.compareAndSet(this, version, version.push(element))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pushes a range of elements from an array onto this stack, in order, as
+     * a single new version, so a snapshot holds either all of them or none.
+     *
+     * @param src the array holding the elements to be pushed
+     * @param off the index of the first element to be pushed
+     * @param len the number of elements to be pushed
+     * @throws IndexOutOfBoundsException if the range is outside the bounds of {@code src}
+     * @throws IllegalArgumentException if any element of the range is {@code null} */
+    @Override
+    public void pushAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+
+        while (true) {
+            PersistentStack<T> version = current;
+            PersistentStack<T> next = version;
+            for (int i = off; i < off + len; i++) {
+                next = next.push(src[i]);
+            }
+            if (CURRENT.compareAndSet(this, version, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns a reference to it.
+     *
+     * @return T element removed from top of stack
+     * @throws EmptyCollectionException if a pop is attempted on empty stack */
+    @Override
+    public T pop() throws EmptyCollectionException {
+        T result = tryPop();
+        if (result == null) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns a reference
+     * to it, or returns {@code null} if the stack is empty.
+     *
+     * @return T element removed from top of stack, or {@code null} if it is empty */
+    @Override
+    public T tryPop() {
+        while (true) {
+            PersistentStack<T> version = current;
+            if (version.isEmpty()) {
+                return null;
+            }
+            if (CURRENT.compareAndSet(this, version, version.rest())) {
+                return version.peekOrNull();
+            }
+        }
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack.
+     *
+     * @return T element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted on empty stack */
+    @Override
+    public T peek() throws EmptyCollectionException {
+        return current.peek();
+    }
+
+    /**
+     * Returns a reference to the element at the top of this stack, or {@code null} if it is empty.
+     *
+     * @return T element on top of stack, or {@code null} if it is empty */
+    @Override
+    public T peekOrNull() {
+        return current.peekOrNull();
+    }
+
+    /**
+     * Returns an iterator over the current version of this stack, from the top to the bottom.
+     *
+     * @return an iterator over the elements in this stack */
+    @Override
+    public Iterator<T> iterator() {
+        return current.iterator();
+    }
+
+    /**
+     * Returns a spliterator over the current version of this stack.
+     *
+     * @return a spliterator over the elements in this stack */
+    @Override
+    public Spliterator<T> spliterator() {
+        return current.spliterator();
+    }
+
+    /**
+     * Returns true if this stack contains no elements.
+     *
+     * @return boolean true if this stack is empty, false otherwise. */
+    @Override
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in this stack.
+     *
+     * @return int number of elements in this stack */
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Returns a string representation of the current version of this stack.
+     *
+     * @return String representation of this stack */
+    @Override
+    public String toString() {
+        return "Versioned" + current;
+    }
+
+}
@@ -0,0 +1,213 @@
+package ed.collections.primitives;
+
+import ed.collections.CircularArrayQueue;
+import ed.collections.ResizePolicy;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * The {@code DoubleCircularArrayQueue} class provides a circular array
+ * implementation of a queue of {@code double} values. It is the primitive
+ * counterpart of {@link CircularArrayQueue}: elements are stored directly in
+ * a {@code double[]}, so enqueueing and dequeueing never allocates a box nor
+ * follows a reference.
+ * The array grows and shrinks according to a {@link ResizePolicy}, exactly
+ * like the one of {@link CircularArrayQueue}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class DoubleCircularArrayQueue implements DoubleQueueADT {
+
+    /** the policy that decides how the array grows and shrinks */
+    private final ResizePolicy resizePolicy;
+
+    /** int that represents the number of elements currently stored in this queue */
+    private int size;
+    /** int that represents the number of elements at or below which the array shrinks, or -1 */
+    private int shrinkLimit;
+    /** int that represents the index of the element at the front of the queue. */
+    private int front;
+    /** int that represents the index of the next available position at the rear of the queue */
+    private int rear;
+    /** the array of double elements used to represent the queue. */
+    private double[] queue;
+
+    /** Creates an empty queue with the default capacity. */
+    public DoubleCircularArrayQueue() {
+        this(ResizePolicy.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the underlying array
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public DoubleCircularArrayQueue(int initialCapacity) {
+        this(initialCapacity, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates an empty queue with the specified initial capacity and resize policy.
+     *
+     * @param initialCapacity the initial capacity of the underlying array
+     * @param resizePolicy the policy that decides how the array grows and shrinks
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public DoubleCircularArrayQueue(int initialCapacity, ResizePolicy resizePolicy) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+
+        this.resizePolicy = resizePolicy;
+        size = front = rear = 0;
+        queue = new double[initialCapacity];
+        shrinkLimit = resizePolicy.shrinkLimit(initialCapacity);
+    }
+
+    /**
+     * Expands the capacity of this queue when the underlying array is full.
+     * The new capacity is chosen by the resize policy. */
+    private void expandCapacity() {
+        resize(resizePolicy.grow(queue.length, size + 1));
+    }
+
+    /**
+     * Shrinks the capacity of this queue once enough elements have been removed.
+     * The new capacity is chosen by the resize policy. */
+    private void shrinkCapacity() {
+        resize(resizePolicy.shrink(queue.length, size));
+    }
+
+    /**
+     * Moves the elements of this queue to an array of the specified length.
+     * The elements are copied in their logical order, starting from the current
+     * {@code front} position, with at most two block copies.
+     *
+     * @param capacity the length of the new array, not less than the number of elements */
+    private void resize(int capacity) {
+        double[] resized = new double[capacity];
+        int headLength = Math.min(size, queue.length - front);
+
+        System.arraycopy(queue, front, resized, 0, headLength);
+        System.arraycopy(queue, 0, resized, headLength, size - headLength);
+
+        queue = resized;
+        front = 0;
+        rear = size == capacity ? 0 : size;
+        shrinkLimit = resizePolicy.shrinkLimit(capacity);
+    }
+
+    /**
+     * Increases the capacity of this queue, if necessary, so that it can hold
+     * at least the specified number of elements without expanding again.
+     *
+     * @param minCapacity the desired minimum capacity */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > queue.length) {
+            resize(resizePolicy.grow(queue.length, minCapacity));
+        }
+    }
+
+    /**
+     * Reduces the capacity of this queue's underlying array to its current
+     * number of elements, keeping room for at least one element. */
+    public void trimToSize() {
+        int capacity = Math.max(size, 1);
+        if (capacity < queue.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue.
+     * Expands the internal capacity if the queue is full.
+     *
+     * @param element the element to be added to the queue */
+    @Override
+    public void enqueue(double element) {
+        if (size == queue.length) {
+            expandCapacity();
+        }
+
+        queue[rear] = element;
+
+        if (++rear == queue.length) {
+            rear = 0;
+        }
+
+        size++;
+    }
+
+    /**
+     * Removes and returns the element at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public double dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        double result = queue[front];
+
+        if (++front == queue.length) {
+            front = 0;
+        }
+
+        size--;
+
+        if (size <= shrinkLimit) {
+            shrinkCapacity();
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, without removing, the element at the front of this queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty */
+    @Override
+    public double first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Queue");
+        }
+
+        return queue[front];
+    }
+
+    /**
+     * Checks whether this queue contains no elements.
+     *
+     * @return {@code true} if this queue is empty, {@code false} otherwise */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements currently stored in this queue.
+     *
+     * @return the number of elements in this queue */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a string representation of this queue.
+     * The string includes the current size, array capacity,
+     * and a list of the elements in logical order.
+     *
+     * @return a string representation of this queue */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("DoubleCircularArrayQueue{ size = " + size() + ", arrayQueue.length = " + queue.length + "\n");
+
+        for (int i = 0 ; i < size; i++) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i + 1, queue[(front + i) % queue.length]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}
@@ -0,0 +1,39 @@
+package ed.collections.primitives;
+
+import ed.collections.StackADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code DoubleStackADT} defines the basic operations of a stack of {@code double}
+ * values. It mirrors {@link StackADT}, but elements are passed and returned as
+ * primitives, so no boxing takes place.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface DoubleStackADT {
+
+    /** Adds one element to the top of this stack.
+     *  @param element element to be pushed onto stack */
+    public void push(double element);
+
+    /** Removes and returns the top element from this stack.
+     *  @return double element removed from the top of the stack */
+    public double pop() throws EmptyCollectionException;
+
+    /** Returns without removing the top element of this stack.
+     *  @return double element on top of the stack */
+    public double peek() throws EmptyCollectionException;
+
+    /** Returns true if this stack contains no elements.
+     *  @return boolean whether this stack is empty */
+    public boolean isEmpty();
+
+    /** Returns the number of elements in this stack.
+     *  @return int number of elements in this stack */
+    public int size();
+
+    /** Returns a string representation of this stack.
+     *  @return String representation of this stack */
+    @Override
+    public String toString();
+
+}
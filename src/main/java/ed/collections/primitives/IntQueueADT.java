@@ -0,0 +1,56 @@
+package ed.collections.primitives;
+
+import ed.collections.QueueADT;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code IntQueueADT} defines the basic operations of a queue of {@code int}
+ * values. It mirrors {@link QueueADT}, but elements are passed and returned as
+ * primitives, so no boxing takes place.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public interface IntQueueADT {
+
+    /**
+     * Adds one element to the rear of this queue.
+     *
+     * @param element the element to be added to
+     * the rear of this queue */
+    public void enqueue(int element);
+
+    /**
+     * Removes and returns the element at the front of
+     * this queue.
+     *
+     * @return the element at the front of this queue
+     * @throws EmptyCollectionException if the queue is empty */
+    public int dequeue() throws EmptyCollectionException;
+
+    /**
+     * Returns without removing the element at the front of
+     * this queue.
+     *
+     * @return the first element in this queue
+     * @throws EmptyCollectionException if the queue is empty */
+    public int first() throws EmptyCollectionException;
+
+    /**
+     * Returns true if this queue contains no elements.
+     *
+     * @return true if this queue is empty, false otherwise */
+    public boolean isEmpty();
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the integer representation of the size
+     * of this queue */
+    public int size();
+
+    /**
+     * Returns a string representation of this queue.
+     *
+     * @return the string representation of this queue */
+    public String toString();
+
+}
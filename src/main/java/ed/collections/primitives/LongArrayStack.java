@@ -0,0 +1,191 @@
+package ed.collections.primitives;
+
+import java.util.Arrays;
+
+import ed.collections.ArrayStack;
+import ed.collections.ResizePolicy;
+import ed.collections.exceptions.EmptyCollectionException;
+
+/**
+ * {@code LongArrayStack} represents an array implementation of a stack of
+ * {@code long} values. It is the primitive counterpart of {@link ArrayStack}:
+ * elements are stored directly in a {@code long[]}, so pushing and popping
+ * never allocates a box nor follows a reference.
+ * The array grows and shrinks according to a {@link ResizePolicy}, exactly
+ * like the one of {@link ArrayStack}.
+ *
+ * @author José Azevedo (8240127@estg.ipp.pt) */
+public class LongArrayStack implements LongStackADT {
+
+    /** the policy that decides how the array grows and shrinks */
+    private final ResizePolicy resizePolicy;
+
+    /** int that represents both the number of elements and the next available position in the array */
+    private int top;
+    /** int that represents the number of elements at or below which the array shrinks, or -1 */
+    private int shrinkLimit;
+    /** array of long elements to represent the stack */
+    private long[] stack;
+
+    /** Creates an empty stack using the default constructor. */
+    public LongArrayStack() {
+        this(ResizePolicy.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty stack using the specified capacity.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public LongArrayStack(int initialCapacity) {
+        this(initialCapacity, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates an empty stack using the specified capacity and resize policy.
+     *
+     * @param initialCapacity represents the specified capacity
+     * @param resizePolicy the policy that decides how the array grows and shrinks
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than or equal to zero */
+    public LongArrayStack(int initialCapacity, ResizePolicy resizePolicy) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative or zero.");
+        }
+
+        this.resizePolicy = resizePolicy;
+        top = 0;
+        stack = new long[initialCapacity];
+        shrinkLimit = resizePolicy.shrinkLimit(initialCapacity);
+    }
+
+    /**
+     * Expands the capacity of this stack's underlying array when it becomes full.
+     * The new capacity is chosen by the resize policy. */
+    private void expandCapacity() {
+        resize(resizePolicy.grow(stack.length, top + 1));
+    }
+
+    /**
+     * Shrinks the capacity of this stack's underlying array once enough
+     * elements have been removed. The new capacity is chosen by the resize policy. */
+    private void shrinkCapacity() {
+        resize(resizePolicy.shrink(stack.length, top));
+    }
+
+    /**
+     * Moves the elements of this stack to an array of the specified length.
+     *
+     * @param capacity the length of the new array, not less than the number of elements */
+    private void resize(int capacity) {
+        stack = Arrays.copyOf(stack, capacity);
+        shrinkLimit = resizePolicy.shrinkLimit(capacity);
+    }
+
+    /**
+     * Increases the capacity of this stack, if necessary, so that it can hold
+     * at least the specified number of elements without expanding again.
+     *
+     * @param minCapacity the desired minimum capacity */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > stack.length) {
+            resize(resizePolicy.grow(stack.length, minCapacity));
+        }
+    }
+
+    /**
+     * Reduces the capacity of this stack's underlying array to its current
+     * number of elements, keeping room for at least one element. */
+    public void trimToSize() {
+        int capacity = Math.max(top, 1);
+        if (capacity < stack.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Adds the specified element to the top of this stack,
+     * expanding the capacity of the stack array if necessary.
+     *
+     * @param element long element to be pushed onto stack */
+    @Override
+    public void push(long element) {
+        if (top == stack.length) {
+            expandCapacity();
+        }
+
+        stack[top++] = element;
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns it.
+     * Throws an EmptyCollectionException if the stack is empty.
+     *
+     * @return long element removed from top of stack
+     * @throws EmptyCollectionException if a pop is attempted
+     * on empty stack */
+    @Override
+    public long pop() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        long result = stack[--top];
+
+        if (top <= shrinkLimit) {
+            shrinkCapacity();
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the element at the top of this stack.
+     * The element is not removed from the stack.
+     * Throws an EmptyCollectionException if the stack is empty.
+     *
+     * @return long element on top of stack
+     * @throws EmptyCollectionException if a peek is attempted
+     * on empty stack */
+    @Override
+    public long peek() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw EmptyCollectionException.of("Stack");
+        }
+
+        return stack[top - 1];
+    }
+
+    /**
+     * Returns true if this stack contains no elements.
+     *
+     * @return boolean true if this stack is empty, false otherwise. */
+    @Override
+    public boolean isEmpty() {
+        return top == 0;
+    }
+
+    /**
+     * Returns the number of elements in this stack.
+     *
+     * @return int number of elements in this stack */
+    @Override
+    public int size() {
+        return top;
+    }
+
+    /**
+     * Returns a string representation of this stack.
+     *
+     * @return String representation of this stack */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("LongArrayStack { size = " + size() + ", arrayStack.length = " + stack.length + "\n");
+
+        for (int i = top - 1 ; i >= 0; i--) {
+            stringBuilder.append(String.format("\t%d -> %s\n", i + 1, stack[i]));
+        }
+
+        return stringBuilder.append("}").toString();
+    }
+
+}